@@ -0,0 +1,71 @@
+package org.desha.app.helper;
+
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import org.desha.app.domain.dto.CriteriaDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le coût de passage d'une requête de recherche de films à une requête HQL liée à ses paramètres.
+ * <p>
+ * {@code compiled} reconstruit la requête à chaque appel (clauses, tri, liaison des paramètres), comme avant la mise
+ * en cache ; {@code cached} lit le modèle précompilé et ne fait que lier les valeurs.
+ * <p>
+ * Exécution : {@code mvn -Pbenchmark test-compile exec:java -Dexec.args="QueryTemplateBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryTemplateBenchmark {
+
+    private static final String FIND_MOVIES_QUERY = """
+            SELECT m, m.awardsNumber AS awardsNumber%3$s
+            FROM Movie m
+            WHERE m.searchTitle LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    @Param({"term", "dates", "all"})
+    public String shape;
+
+    private CriteriaDTO criteriaDTO;
+
+    @Setup
+    public void setUp() {
+        CriteriaDTO.CriteriaDTOBuilder builder = CriteriaDTO.builder().term("star");
+        if (!"term".equals(shape)) {
+            builder
+                    .fromReleaseDate(LocalDate.of(1990, 1, 1))
+                    .toReleaseDate(LocalDate.of(2010, 12, 31));
+        }
+        if ("all".equals(shape)) {
+            builder
+                    .categoryIds(List.of(1, 4, 7))
+                    .countryIds(List.of(2, 3));
+        }
+        criteriaDTO = builder.build();
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        QueryTemplate template = MovieRepositoryHelper.TEMPLATES.compile(FIND_MOVIES_QUERY, criteriaDTO, "releaseDate", Sort.Direction.Descending, true);
+        blackhole.consume(template.query());
+        blackhole.consume(template.bind(Parameters.with("term", "%star%"), criteriaDTO));
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_QUERY, criteriaDTO, "releaseDate", Sort.Direction.Descending, true);
+        blackhole.consume(template.query());
+        blackhole.consume(template.bind(Parameters.with("term", "%star%"), criteriaDTO));
+    }
+}
@@ -0,0 +1,147 @@
+package org.desha.app.repository;
+
+import org.desha.app.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la recherche de films par titre sur un jeu de données généré, dans un serveur PostgreSQL démarré pour
+ * l'occasion (Docker requis).
+ * <p>
+ * {@code unaccent} reprend le filtre utilisé avant les colonnes de recherche
+ * ({@code LOWER(unaccent(titre)) LIKE LOWER(unaccent(:term))}), évalué sur chaque ligne ; {@code trigram} filtre la
+ * colonne normalisée {@code titre_recherche} avec le motif construit par {@link Utils#toSearchPattern(String)}, servi
+ * par l'index GIN {@code pg_trgm} de {@code db/migration/searchTrigramIndexes.sql}. Les deux exécutent la requête de
+ * comptage émise à chaque saisie dans la recherche.
+ * <p>
+ * Les titres combinent trois mots d'un vocabulaire de 100 mots accentués ; leur forme normalisée est calculée par
+ * {@link Utils#normalizeForSearch(String)}, comme pour les films enregistrés par l'application. Le mode
+ * {@link Mode#SampleTime} donne la distribution des temps de réponse, dont le p99 ({@code p0.99}).
+ * <p>
+ * Exécution : {@code mvn -Pbenchmark test-compile exec:java -Dexec.args="SearchQueryBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SearchQueryBenchmark {
+
+    private static final List<String> WORDS = List.of(
+            "étoile", "nuit", "éclair", "rivière", "fenêtre", "château", "forêt", "été", "hôtel", "mémoire",
+            "cœur", "âme", "île", "goûter", "fièvre", "légende", "reçu", "naïf", "théâtre", "planète"
+    );
+    private static final List<String> SUFFIXES = List.of("", "s", "tte", "ment", "rie");
+    private static final String UNACCENT_QUERY = "SELECT COUNT(*) FROM film WHERE LOWER(unaccent(titre)) LIKE LOWER(unaccent(?))";
+    private static final String TRIGRAM_QUERY = "SELECT COUNT(*) FROM film WHERE titre_recherche LIKE ?";
+
+    @Param({"1000000"})
+    public int rows;
+
+    // Terme fréquent saisi sans accent, suite de mots plus rare, terme absent
+    @Param({"etoile", "nuits éclair", "introuvable"})
+    public String term;
+
+    private GenericContainer<?> container;
+    private Connection connection;
+    private PreparedStatement unaccentStatement;
+    private PreparedStatement trigramStatement;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        container = new GenericContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withEnv("POSTGRES_DB", "pmdb")
+                .withEnv("POSTGRES_USER", "pmdb")
+                .withEnv("POSTGRES_PASSWORD", "pmdb")
+                .withExposedPorts(5432)
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 2));
+        container.start();
+        connection = DriverManager.getConnection("jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432) + "/pmdb", "pmdb", "pmdb");
+        generateDataset();
+
+        unaccentStatement = connection.prepareStatement(UNACCENT_QUERY);
+        unaccentStatement.setString(1, "%" + term + "%");
+        trigramStatement = connection.prepareStatement(TRIGRAM_QUERY);
+        trigramStatement.setString(1, Utils.toSearchPattern(term));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        container.stop();
+    }
+
+    @Benchmark
+    public long unaccent() throws SQLException {
+        return count(unaccentStatement);
+    }
+
+    @Benchmark
+    public long trigram() throws SQLException {
+        return count(trigramStatement);
+    }
+
+    private static long count(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void generateDataset() throws SQLException {
+        final List<String> vocabulary = new ArrayList<>();
+        WORDS.forEach(word -> SUFFIXES.forEach(suffix -> vocabulary.add(word + suffix)));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS unaccent");
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("CREATE TABLE mot (id INTEGER PRIMARY KEY, mot VARCHAR(64), mot_recherche VARCHAR(64))");
+            statement.execute("CREATE TABLE film (id BIGINT PRIMARY KEY, titre VARCHAR(255), titre_recherche VARCHAR(255))");
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO mot (id, mot, mot_recherche) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < vocabulary.size(); i++) {
+                final String word = i % 2 == 0 ? capitalize(vocabulary.get(i)) : vocabulary.get(i);
+                insert.setInt(1, i);
+                insert.setString(2, word);
+                insert.setString(3, Utils.normalizeForSearch(word));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        // Chaque identifiant désigne une combinaison distincte de trois mots tant que rows <= taille du vocabulaire ^ 3
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO film (id, titre, titre_recherche)
+                SELECT g, m1.mot || ' ' || m2.mot || ' ' || m3.mot, m1.mot_recherche || ' ' || m2.mot_recherche || ' ' || m3.mot_recherche
+                FROM generate_series(1, ?) AS g
+                JOIN mot m1 ON m1.id = g % ?
+                JOIN mot m2 ON m2.id = (g / ?) % ?
+                JOIN mot m3 ON m3.id = (g / (? * ?)) % ?
+                """)) {
+            final int size = vocabulary.size();
+            insert.setInt(1, rows);
+            for (int parameter = 2; parameter <= 8; parameter++) {
+                insert.setInt(parameter, size);
+            }
+            insert.executeUpdate();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_film_titre_recherche_trgm ON film USING gin (titre_recherche gin_trgm_ops)");
+            statement.execute("VACUUM ANALYZE film");
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -5,6 +5,8 @@ import io.vertx.mutiny.core.http.HttpHeaders;
 public class CustomHttpHeaders extends HttpHeaders {
 
     public static final String X_TOTAL_COUNT = "X-Total-Count";
+    public static final String X_TOTAL_COUNT_EXACT = "X-Total-Count-Exact";
+    public static final String X_NEXT_CURSOR = "X-Next-Cursor";
 
     public CustomHttpHeaders(io.vertx.core.http.HttpHeaders delegate) {
         super(delegate);
@@ -8,6 +8,8 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.desha.app.service.FileMigrationService;
+import org.desha.app.service.OrphanFileCleanupService;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.resteasy.reactive.RestPath;
 import org.keycloak.admin.client.Keycloak;
@@ -29,10 +31,40 @@ public class AdminResource {
     String realm;
 
     private final Keycloak keycloak;
+    private final FileMigrationService fileMigrationService;
+    private final OrphanFileCleanupService orphanFileCleanupService;
 
     @Inject
-    public AdminResource(Keycloak keycloak) {
+    public AdminResource(Keycloak keycloak, FileMigrationService fileMigrationService, OrphanFileCleanupService orphanFileCleanupService) {
         this.keycloak = keycloak;
+        this.fileMigrationService = fileMigrationService;
+        this.orphanFileCleanupService = orphanFileCleanupService;
+    }
+
+    /**
+     * Migre les affiches et les photos stockées sous leur ancien nom vers l'adressage par contenu. Peut être relancé
+     * sans risque.
+     */
+    @POST
+    @Path("/files/migrate")
+    public Uni<Response> migrateFiles() {
+        return
+                fileMigrationService.migrate()
+                        .map(report -> Response.ok(report).build())
+                ;
+    }
+
+    /**
+     * Lance immédiatement le nettoyage des fichiers orphelins, sans attendre sa planification. Répond 409 si un
+     * nettoyage est déjà en cours.
+     */
+    @POST
+    @Path("/files/orphans/cleanup")
+    public Uni<Response> cleanupOrphanFiles() {
+        return
+                orphanFileCleanupService.cleanup()
+                        .map(report -> Response.ok(report).build())
+                ;
     }
 
     @GET
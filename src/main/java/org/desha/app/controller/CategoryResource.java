@@ -8,7 +8,9 @@ import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import org.desha.app.config.CustomHttpHeaders;
 import org.desha.app.domain.dto.CategoryDTO;
@@ -101,6 +103,10 @@ public class CategoryResource {
                             schema = @Schema(implementation = CategoryDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Catégorie non modifiée depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "400",
                     description = "Identifiant invalide"
@@ -111,12 +117,14 @@ public class CategoryResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant de la catégorie", required = true, in = ParameterIn.PATH)
-    public Uni<Response> getCategory(@RestPath @NotNull Long id) {
+    public Uni<Response> getCategory(@RestPath @NotNull Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_CATEGORY_ID);
 
         return
-                categoryService.getById(id)
-                        .map(categoryDTO -> Response.ok(categoryDTO).build())
+                ConditionalRequestUtils.conditionalGet(request, categoryService.getLastUpdate(id), () ->
+                        categoryService.getById(id)
+                                .map(categoryDTO -> Response.ok(categoryDTO).build())
+                )
                 ;
     }
 
@@ -160,13 +168,10 @@ public class CategoryResource {
 
         return
                 categoryService.getCategories(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), queryParams.getTerm())
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(categoryDTOS -> categoryService.count(queryParams.getTerm())
-                                .map(aLong ->
-                                        categoryDTOS.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, aLong).build()
-                                                : Response.ok(categoryDTOS).header(CustomHttpHeaders.X_TOTAL_COUNT, aLong).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -217,13 +222,10 @@ public class CategoryResource {
 
         return
                 categoryService.getMoviesByCategory(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(movieList ->
-                                categoryService.countMoviesByCategory(id, queryParams.getTerm()).map(total ->
-                                        movieList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
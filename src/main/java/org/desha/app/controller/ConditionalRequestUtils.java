@@ -0,0 +1,77 @@
+package org.desha.app.controller;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Prise en charge des requêtes GET conditionnelles ({@code If-None-Match} / {@code If-Modified-Since}).
+ * <p>
+ * Le validateur d'une ressource est sa date de dernière modification, obtenue par une requête légère qui ne charge
+ * pas la ressource. L'ETag (faible) en est dérivé : deux réponses de même date de modification sont considérées
+ * comme équivalentes.
+ */
+@UtilityClass
+public class ConditionalRequestUtils {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.valueOf("private, no-cache");
+
+    /**
+     * Répond à une requête GET en tenant compte de ses préconditions.
+     * <p>
+     * Si le client possède déjà la version courante de la ressource, une réponse {@code 304 Not Modified} est
+     * retournée sans appeler {@code response} : la ressource n'est ni chargée ni convertie en DTO. Sinon, la réponse
+     * construite par {@code response} est complétée par les en-têtes {@code ETag}, {@code Last-Modified} et
+     * {@code Cache-Control}. Si la date de modification est inconnue ({@code null}, par exemple pour une ressource
+     * inexistante), la réponse est retournée telle quelle.
+     *
+     * @param request    La requête HTTP en cours.
+     * @param lastUpdate La date de dernière modification de la ressource.
+     * @param response   La construction de la réponse complète.
+     * @return Un {@link Uni} contenant la réponse HTTP.
+     */
+    public Uni<Response> conditionalGet(Request request, Uni<LocalDateTime> lastUpdate, Supplier<Uni<Response>> response) {
+        return
+                lastUpdate.chain(date -> {
+                            if (Objects.isNull(date)) {
+                                return response.get();
+                            }
+
+                            final Date lastModified = Date.from(date.atZone(ZoneId.systemDefault()).toInstant());
+                            final EntityTag entityTag = new EntityTag(Long.toHexString(lastModified.getTime()), true);
+
+                            Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, entityTag);
+                            if (Objects.nonNull(notModified)) {
+                                return Uni.createFrom().item(
+                                        notModified
+                                                .tag(entityTag)
+                                                .lastModified(lastModified)
+                                                .cacheControl(CACHE_CONTROL)
+                                                .build()
+                                );
+                            }
+
+                            return
+                                    response.get()
+                                            .map(built ->
+                                                    built.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL
+                                                            ? Response.fromResponse(built)
+                                                            .tag(entityTag)
+                                                            .lastModified(lastModified)
+                                                            .cacheControl(CACHE_CONTROL)
+                                                            .build()
+                                                            : built
+                                            );
+                        }
+                );
+    }
+}
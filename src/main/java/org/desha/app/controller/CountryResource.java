@@ -160,13 +160,10 @@ public class CountryResource {
 
         return
                 countryService.getCountries(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), queryParams.getTerm(), finalLang)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(countryDTOList ->
-                                countryService.countCountries(queryParams.getTerm(), finalLang).map(total ->
-                                        countryDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(countryDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -180,12 +177,10 @@ public class CountryResource {
         return
                 countryService.getCountries(finalSort, queryParams.validateSortDirection(), queryParams.getTerm())
                         .onItem().ifNull().continueWith(List::of)
-                        .flatMap(countryList ->
-                                countryService.countCountries(queryParams.getTerm(), queryParams.validateLang()).map(total ->
-                                        countryList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(countryList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(countryList ->
+                                countryList.isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, 0).build()
+                                        : Response.ok(countryList).header(CustomHttpHeaders.X_TOTAL_COUNT, countryList.size()).build()
                         )
                 ;
     }
@@ -232,13 +227,10 @@ public class CountryResource {
 
         return
                 countryService.getMoviesByCountry(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(movieList ->
-                                countryService.countMoviesByCountry(id, queryParams.getTerm()).map(total ->
-                                        movieList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -287,13 +279,10 @@ public class CountryResource {
 
         return
                 countryService.getPersonsByCountry(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(personDTOList ->
-                                countryService.countPersonsByCountry(id, criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
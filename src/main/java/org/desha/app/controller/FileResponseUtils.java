@@ -0,0 +1,136 @@
+package org.desha.app.controller;
+
+import jakarta.annotation.Nullable;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import lombok.experimental.UtilityClass;
+import org.desha.app.domain.record.StoredFile;
+import org.jboss.resteasy.reactive.PathPart;
+
+import java.util.Date;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Envoi d'un fichier stocké (affiches, photos), avec prise en charge des requêtes conditionnelles
+ * ({@code If-None-Match} / {@code If-Modified-Since}) et des requêtes de plage ({@code Range} / {@code If-Range}).
+ * <p>
+ * Le contenu n'est jamais chargé en mémoire : la réponse porte le chemin du fichier ({@link java.nio.file.Path}, ou
+ * {@link PathPart} pour une plage), que RESTEasy Reactive transmet par {@code sendFile} (copie directe du fichier vers
+ * la connexion lorsque le système le permet).
+ * <p>
+ * Un nom généré au téléversement (empreinte du contenu, ou UUID pour les fichiers antérieurs) désigne un contenu qui
+ * ne change jamais : l'ETag est cet identifiant, suivi de la taille pour distinguer les déclinaisons redimensionnées
+ * d'une même image, et la réponse est mise en cache un an sans revalidation. Les fichiers par défaut (également servis
+ * à la place d'un fichier introuvable) doivent être revalidés : leur ETag est dérivé du nom, de la taille et de la date
+ * de modification du fichier.
+ * <p>
+ * Une seule plage d'octets est prise en charge ; une demande de plusieurs plages reçoit le fichier complet.
+ * <p>
+ * Un fichier stocké à distance ({@link StoredFile#location()}) n'est pas envoyé : le client est redirigé vers son
+ * adresse temporaire, qui gère elle-même les requêtes conditionnelles et de plage. La redirection n'est pas mise en
+ * cache, l'adresse expirant.
+ */
+@UtilityClass
+public class FileResponseUtils {
+
+    private static final CacheControl IMMUTABLE_CACHE_CONTROL = CacheControl.valueOf("public, max-age=31536000, immutable");
+    private static final CacheControl REVALIDATE_CACHE_CONTROL = CacheControl.valueOf("public, no-cache");
+    private static final CacheControl NO_STORE_CACHE_CONTROL = CacheControl.valueOf("no-store");
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String BYTES = "bytes";
+    // Sépare l'identifiant d'un nom généré au téléversement (empreinte ou UUID) de l'extension ou du nom d'origine
+    private static final Pattern IDENTIFIER_SEPARATOR = Pattern.compile("[._]");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    /**
+     * Construit la réponse d'envoi d'un fichier.
+     *
+     * @param request La requête HTTP en cours.
+     * @param file    Le fichier à envoyer.
+     * @param range   L'en-tête {@code Range} de la requête, ou {@code null}.
+     * @param ifRange L'en-tête {@code If-Range} de la requête, ou {@code null}.
+     * @return Une réponse 307 vers l'adresse d'un fichier stocké à distance, 304 si le client possède déjà la version
+     * courante du fichier, 206 pour une plage valide, 416 pour une plage hors du fichier, 200 sinon.
+     */
+    public Response sendFile(Request request, StoredFile file, @Nullable String range, @Nullable String ifRange) {
+        if (Objects.nonNull(file.location())) {
+            return Response.temporaryRedirect(file.location()).cacheControl(NO_STORE_CACHE_CONTROL).build();
+        }
+
+        final EntityTag entityTag = entityTag(file);
+        final Date lastModified = new Date(file.lastModified());
+        final CacheControl cacheControl = file.immutable() ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL;
+
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(lastModified, entityTag);
+        if (Objects.nonNull(notModified)) {
+            return notModified.tag(entityTag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+
+        Response.ResponseBuilder builder = null;
+        // Une plage n'est servie que si la version connue du client (If-Range) est toujours la version courante
+        if (Objects.nonNull(range) && (Objects.isNull(ifRange) || Objects.equals(ifRange.trim(), "\"" + entityTag.getValue() + "\""))) {
+            final Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                builder = rangeResponse(file, matcher.group(1), matcher.group(2));
+            }
+        }
+        if (Objects.isNull(builder)) {
+            builder = Response.ok(file.path()).type(file.mimeType());
+        }
+
+        return
+                builder
+                        .header(ACCEPT_RANGES, BYTES)
+                        .tag(entityTag)
+                        .lastModified(lastModified)
+                        .cacheControl(cacheControl)
+                        .build()
+                ;
+    }
+
+    private Response.ResponseBuilder rangeResponse(StoredFile file, String first, String last) {
+        final long size = file.size();
+        final long start;
+        final long end;
+        try {
+            if (first.isEmpty()) {
+                // Suffixe : les N derniers octets
+                start = Math.max(0, size - Long.parseLong(last));
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+        } catch (NumberFormatException e) {
+            // Borne trop grande : la plage est ignorée et le fichier envoyé en entier
+            return null;
+        }
+
+        if (start >= size || start > end) {
+            return
+                    Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(CONTENT_RANGE, BYTES + " */" + size)
+                    ;
+        }
+
+        return
+                Response.status(Response.Status.PARTIAL_CONTENT)
+                        .entity(new PathPart(file.path(), start, end - start + 1))
+                        .type(file.mimeType())
+                        .header(CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + size)
+                ;
+    }
+
+    private EntityTag entityTag(StoredFile file) {
+        // Le nom d'origine d'un fichier téléversé peut contenir des caractères interdits dans un ETag : seul l'identifiant
+        // (empreinte du contenu ou UUID) est repris
+        return file.immutable()
+                ? new EntityTag(IDENTIFIER_SEPARATOR.split(file.fileName(), 2)[0] + "-" + Long.toHexString(file.size()))
+                : new EntityTag(Integer.toHexString(file.fileName().hashCode()) + "-" + Long.toHexString(file.size()) + "-" + Long.toHexString(file.lastModified()));
+    }
+}
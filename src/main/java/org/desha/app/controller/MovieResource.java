@@ -1,6 +1,7 @@
 package org.desha.app.controller;
 
 import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -8,7 +9,9 @@ import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -16,9 +19,11 @@ import org.desha.app.config.CustomHttpHeaders;
 import org.desha.app.domain.dto.*;
 import org.desha.app.domain.entity.*;
 import org.desha.app.domain.enums.PersonType;
+import org.desha.app.domain.record.KeysetCursor;
 import org.desha.app.domain.record.Repartition;
 import org.desha.app.service.MovieService;
 import org.desha.app.service.PersonService;
+import org.desha.app.service.TotalCountService;
 import org.desha.app.utils.Messages;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.ParameterIn;
@@ -37,8 +42,6 @@ import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.RestPath;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -68,11 +71,13 @@ public class MovieResource {
 
     private final MovieService movieService;
     private final PersonService personService;
+    private final TotalCountService totalCountService;
 
     @Inject
-    public MovieResource(MovieService movieService, PersonService personService) {
+    public MovieResource(MovieService movieService, PersonService personService, TotalCountService totalCountService) {
         this.movieService = movieService;
         this.personService = personService;
+        this.totalCountService = totalCountService;
     }
 
     @GET
@@ -116,6 +121,10 @@ public class MovieResource {
                             schema = @Schema(implementation = MovieDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Film non modifié depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "400",
                     description = "Identifiant de film invalide"
@@ -126,12 +135,14 @@ public class MovieResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant unique du film", required = true, example = "123", in = ParameterIn.PATH)
-    public Uni<Response> getMovie(@RestPath Long id) {
+    public Uni<Response> getMovie(@RestPath Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_MOVIE_ID);
 
         return
-                movieService.getById(id)
-                        .onItem().ifNotNull().transform(movie -> Response.ok(movie).build())
+                ConditionalRequestUtils.conditionalGet(request, movieService.getLastUpdate(id), () ->
+                        movieService.getById(id)
+                                .onItem().ifNotNull().transform(movie -> Response.ok(movie).build())
+                )
                 ;
     }
 
@@ -149,11 +160,21 @@ public class MovieResource {
                     headers = {
                             @Header(
                                     name = CustomHttpHeaders.X_TOTAL_COUNT,
-                                    description = "Nombre total d’éléments correspondant à la recherche",
+                                    description = "Nombre total d’éléments correspondant à la recherche (pagination par page uniquement)",
                                     schema = @Schema(
                                             type = SchemaType.INTEGER,
                                             examples = "124"
                                     )
+                            ),
+                            @Header(
+                                    name = CustomHttpHeaders.X_TOTAL_COUNT_EXACT,
+                                    description = "Vaut false lorsque X-Total-Count est une estimation ou une valeur mise en cache (absent si le total est exact)",
+                                    schema = @Schema(type = SchemaType.BOOLEAN)
+                            ),
+                            @Header(
+                                    name = CustomHttpHeaders.X_NEXT_CURSOR,
+                                    description = "Curseur de la page suivante (pagination par curseur uniquement, absent sur la dernière page)",
+                                    schema = @Schema(type = SchemaType.STRING)
                             )
                     },
                     content = @Content(
@@ -182,16 +203,27 @@ public class MovieResource {
 
         CriteriaDTO criteriaDTO = CriteriaDTO.build(queryParams);
 
+        if (queryParams.isKeysetPagination()) {
+            queryParams.validateSortField(finalSort, Movie.KEYSET_SORT_FIELDS.keySet());
+            Sort.Direction direction = queryParams.validateSortDirection();
+
+            return
+                    movieService.getMovies(KeysetCursor.decode(queryParams.getAfter(), finalSort, direction), queryParams.getSize(), finalSort, direction, criteriaDTO)
+                            .map(keysetPage ->
+                                    keysetPage.content().isEmpty()
+                                            ? Response.noContent().build()
+                                            : Response.ok(keysetPage.content()).header(CustomHttpHeaders.X_NEXT_CURSOR, keysetPage.nextCursor()).build()
+                            )
+                    ;
+        }
+
         return
-                movieService.getMovies(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(movieList ->
-                                movieService.count(criteriaDTO)
-                                        .map(total ->
-                                                movieList.isEmpty()
-                                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                        : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                        )
+                movieService.getMovies(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO, totalCountService.getStrategy(TotalCountService.MOVIES))
+                        .map(pagedResult ->
+                                (pagedResult.content().isEmpty() ? Response.noContent() : Response.ok(pagedResult.content()))
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total())
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT_EXACT, pagedResult.exact() ? null : Boolean.FALSE)
+                                        .build()
                         )
                 ;
     }
@@ -208,12 +240,10 @@ public class MovieResource {
 
         return
                 movieService.getMovies(finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(movieList ->
-                                movieService.count(criteriaDTO).map(total ->
-                                        movieList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(movieList ->
+                                movieList.isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, 0).build()
+                                        : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, movieList.size()).build()
                         )
                 ;
     }
@@ -259,13 +289,10 @@ public class MovieResource {
 
         return
                 movieService.getCountriesInMovies(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), term, finalLang)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(countryList ->
-                                movieService.countCountriesInMovies(term, finalLang).map(total ->
-                                        countryList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(countryList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -313,13 +340,10 @@ public class MovieResource {
 
         return
                 movieService.getCategoriesInMovies(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), term)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(categoryDTOList ->
-                                movieService.countCategoriesInMovies(term).map(total ->
-                                        categoryDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(categoryDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -395,13 +419,10 @@ public class MovieResource {
 
         return
                 movieService.getPersonsByMovie(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .onItem().ifNull().continueWith(List::of)
-                        .flatMap(personDTOList ->
-                                movieService.countPersonsByMovie(id, criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -421,6 +442,10 @@ public class MovieResource {
                             schema = @Schema(implementation = TechnicalTeamDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Équipe technique non modifiée depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "204",
                     description = "Aucune donnée technique trouvée pour ce film"
@@ -435,12 +460,14 @@ public class MovieResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant unique du film", required = true, example = "123", in = ParameterIn.PATH)
-    public Uni<Response> getTechnicalTeam(@RestPath @NotNull Long id) {
+    public Uni<Response> getTechnicalTeam(@RestPath @NotNull Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_MOVIE_ID);
 
         return
-                movieService.getTechnicalTeam(id)
-                        .map(technicalTeam -> Response.ok(technicalTeam).build())
+                ConditionalRequestUtils.conditionalGet(request, movieService.getTechnicalTeamLastUpdate(id), () ->
+                        movieService.getTechnicalTeam(id)
+                                .map(technicalTeam -> Response.ok(technicalTeam).build())
+                )
                 ;
     }
 
@@ -459,6 +486,10 @@ public class MovieResource {
                             schema = @Schema(implementation = PersonDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Acteurs non modifiés depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "204",
                     description = "Aucun acteur trouvé pour ce film"
@@ -473,17 +504,19 @@ public class MovieResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant unique du film", required = true, example = "123", in = ParameterIn.PATH)
-    public Uni<Response> getActorsByMovie(@RestPath @NotNull Long id) {
+    public Uni<Response> getActorsByMovie(@RestPath @NotNull Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_MOVIE_ID);
 
         return
-                movieService.getActorsByMovie(id)
-                        .onItem().ifNull().continueWith(List::of)
-                        .map(movieActors ->
-                                movieActors.isEmpty()
-                                        ? Response.noContent().build()
-                                        : Response.ok(movieActors).build()
-                        )
+                ConditionalRequestUtils.conditionalGet(request, movieService.getActorsLastUpdate(id), () ->
+                        movieService.getActorsByMovie(id)
+                                .onItem().ifNull().continueWith(List::of)
+                                .map(movieActors ->
+                                        movieActors.isEmpty()
+                                                ? Response.noContent().build()
+                                                : Response.ok(movieActors).build()
+                                )
+                )
                 ;
     }
 
@@ -705,8 +738,10 @@ public class MovieResource {
     @Operation(
             summary = "Récupère l'affiche d'un film",
             description = """
-                    Renvoie l'image de l'affiche du film correspondant au nom de fichier fourni.
-                    Le type MIME est détecté automatiquement."""
+                    Renvoie l'image de l'affiche du film correspondant au nom de fichier fourni, sans la charger en mémoire.
+                    Le type MIME est détecté automatiquement. Les requêtes de plage (Range) et conditionnelles (If-None-Match)
+                    sont prises en charge ; les affiches téléversées sont mises en cache sans limite de durée. Le paramètre w
+                    demande une version redimensionnée à la plus proche des largeurs disponibles."""
     )
     @APIResponses(value = {
             @APIResponse(
@@ -722,35 +757,32 @@ public class MovieResource {
             ),
             @APIResponse(
                     responseCode = "400",
-                    description = "Nom de fichier invalide"
+                    description = "Nom de fichier ou largeur invalide"
             ),
             @APIResponse(
                     responseCode = "404",
                     description = "Affiche introuvable"
             )
     })
-    public Uni<Response> getPoster(String fileName) {
+    public Uni<Response> getPoster(
+            @PathParam("fileName") String fileName,
+            @Parameter(name = "w", description = "Largeur souhaitée, en pixels, pour recevoir une version redimensionnée", in = ParameterIn.QUERY, example = "320")
+            @QueryParam("w") Integer width,
+            @HeaderParam("Range") String range,
+            @HeaderParam("If-Range") String ifRange,
+            @Context Request request
+    ) {
         if (Objects.isNull(fileName) || fileName.isEmpty() || Objects.equals("undefined", fileName)) {
             log.warn("Invalid file request: {}", fileName);
             throw new BadRequestException("Invalid file name");
         }
+        if (Objects.nonNull(width) && width <= 0) {
+            throw new BadRequestException("La largeur doit être strictement positive");
+        }
 
         return
-                movieService.getPoster(fileName)
-                        .onItem().ifNotNull().transform(
-                                file -> {
-                                    try {
-                                        byte[] fileBytes = Files.readAllBytes(file.toPath());
-                                        String mimeType = Files.probeContentType(file.toPath()); // Détecte automatiquement le type MIME
-
-                                        log.info("Serving poster: {}", fileName);
-                                        return Response.ok(fileBytes).type(mimeType).build();
-                                    } catch (IOException e) {
-                                        log.error("Error loading poster {}: {}", fileName, e.getMessage());
-                                        return Response.serverError().entity("Erreur lors du chargement de l'affiche").build();
-                                    }
-                                }
-                        )
+                movieService.getPoster(fileName, width)
+                        .onItem().ifNotNull().transform(file -> FileResponseUtils.sendFile(request, file, range, ifRange))
                         .onItem().ifNull().continueWith(() -> {
                             log.warn("Poster not found: {}", fileName);
                             return Response.status(Response.Status.NOT_FOUND).entity("Affiche introuvable").build();
@@ -1,6 +1,7 @@
 package org.desha.app.controller;
 
 import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -8,7 +9,9 @@ import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -16,7 +19,9 @@ import org.desha.app.config.CustomHttpHeaders;
 import org.desha.app.domain.dto.*;
 import org.desha.app.domain.entity.*;
 import org.desha.app.domain.enums.PersonType;
+import org.desha.app.domain.record.KeysetCursor;
 import org.desha.app.service.PersonService;
+import org.desha.app.service.TotalCountService;
 import org.desha.app.utils.Messages;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.ParameterIn;
@@ -32,8 +37,6 @@ import org.jboss.resteasy.reactive.RestForm;
 import org.jboss.resteasy.reactive.RestPath;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -61,10 +64,12 @@ import static jakarta.ws.rs.core.Response.Status.CREATED;
 public class PersonResource {
 
     private final PersonService personService;
+    private final TotalCountService totalCountService;
 
     @Inject
-    public PersonResource(PersonService personService) {
+    public PersonResource(PersonService personService, TotalCountService totalCountService) {
         this.personService = personService;
+        this.totalCountService = totalCountService;
     }
 
     @GET
@@ -82,6 +87,10 @@ public class PersonResource {
                             schema = @Schema(implementation = PersonDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Personne non modifiée depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "400",
                     description = "Identifiant de personne invalide"
@@ -92,12 +101,14 @@ public class PersonResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant unique de la personne", required = true, example = "123", in = ParameterIn.PATH)
-    public Uni<Response> getPersonById(@RestPath @NotNull Long id) {
+    public Uni<Response> getPersonById(@RestPath @NotNull Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_PERSON_ID);
 
         return
-                personService.getById(id)
-                        .map(personDTO -> Response.ok(personDTO).build())
+                ConditionalRequestUtils.conditionalGet(request, personService.getLastUpdate(id), () ->
+                        personService.getById(id)
+                                .map(personDTO -> Response.ok(personDTO).build())
+                )
                 ;
     }
 
@@ -116,6 +127,10 @@ public class PersonResource {
                             schema = @Schema(implementation = LitePersonDTO.class)
                     )
             ),
+            @APIResponse(
+                    responseCode = "304",
+                    description = "Personne non modifiée depuis la version détenue par le client"
+            ),
             @APIResponse(
                     responseCode = "400",
                     description = "Identifiant de personne invalide"
@@ -126,12 +141,14 @@ public class PersonResource {
             )
     })
     @Parameter(name = "id", description = "Identifiant unique de la personne", required = true, example = "123", in = ParameterIn.PATH)
-    public Uni<Response> getLitePersonById(@RestPath @NotNull Long id) {
+    public Uni<Response> getLitePersonById(@RestPath @NotNull Long id, @Context Request request) {
         ValidationUtils.validateIdOrThrow(id, Messages.INVALID_PERSON_ID);
 
         return
-                personService.getLightById(id)
-                        .map(lightPersonDTO -> Response.ok(lightPersonDTO).build())
+                ConditionalRequestUtils.conditionalGet(request, personService.getLastUpdate(id), () ->
+                        personService.getLightById(id)
+                                .map(lightPersonDTO -> Response.ok(lightPersonDTO).build())
+                )
                 ;
     }
 
@@ -171,14 +188,27 @@ public class PersonResource {
 
         CriteriaDTO criteriaDTO = CriteriaDTO.build(queryParams);
 
+        if (queryParams.isKeysetPagination()) {
+            queryParams.validateSortField(finalSort, Person.KEYSET_SORT_FIELDS.keySet());
+            Sort.Direction direction = queryParams.validateSortDirection();
+
+            return
+                    personService.getLightPersons(KeysetCursor.decode(queryParams.getAfter(), finalSort, direction), queryParams.getSize(), finalSort, direction, criteriaDTO)
+                            .map(keysetPage ->
+                                    keysetPage.content().isEmpty()
+                                            ? Response.noContent().build()
+                                            : Response.ok(keysetPage.content()).header(CustomHttpHeaders.X_NEXT_CURSOR, keysetPage.nextCursor()).build()
+                            )
+                    ;
+        }
+
         return
-                personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO, totalCountService.getStrategy(TotalCountService.LIGHT_PERSONS))
+                        .map(pagedResult ->
+                                (pagedResult.content().isEmpty() ? Response.noContent() : Response.ok(pagedResult.content()))
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total())
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT_EXACT, pagedResult.exact() ? null : Boolean.FALSE)
+                                        .build()
                         )
                 ;
     }
@@ -219,14 +249,27 @@ public class PersonResource {
 
         CriteriaDTO criteriaDTO = CriteriaDTO.build(queryParams);
 
+        if (queryParams.isKeysetPagination()) {
+            queryParams.validateSortField(finalSort, Person.KEYSET_SORT_FIELDS.keySet());
+            Sort.Direction direction = queryParams.validateSortDirection();
+
+            return
+                    personService.getPersons(KeysetCursor.decode(queryParams.getAfter(), finalSort, direction), queryParams.getSize(), finalSort, direction, criteriaDTO)
+                            .map(keysetPage ->
+                                    keysetPage.content().isEmpty()
+                                            ? Response.noContent().build()
+                                            : Response.ok(keysetPage.content()).header(CustomHttpHeaders.X_NEXT_CURSOR, keysetPage.nextCursor()).build()
+                            )
+                    ;
+        }
+
         return
-                personService.getPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                personService.getPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO, totalCountService.getStrategy(TotalCountService.PERSONS))
+                        .map(pagedResult ->
+                                (pagedResult.content().isEmpty() ? Response.noContent() : Response.ok(pagedResult.content()))
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total())
+                                        .header(CustomHttpHeaders.X_TOTAL_COUNT_EXACT, pagedResult.exact() ? null : Boolean.FALSE)
+                                        .build()
                         )
                 ;
     }
@@ -273,12 +316,10 @@ public class PersonResource {
 
         return
                 personService.getRoles(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection())
-                        .flatMap(personDTOList ->
-                                personService.countRolesByPerson(id).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -322,12 +363,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -368,12 +407,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -417,12 +454,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -470,12 +505,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -519,12 +552,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -568,12 +599,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -617,12 +646,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -666,12 +693,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -715,12 +740,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -764,12 +787,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -813,12 +834,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -862,12 +881,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -911,12 +928,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -960,12 +975,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1009,12 +1022,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1058,12 +1069,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1107,12 +1116,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1156,12 +1163,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1205,12 +1210,10 @@ public class PersonResource {
 
         return
                 personService.getLightPersons(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(personDTOList ->
-                                personService.countPersons(criteriaDTO).map(total ->
-                                        personDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(personDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1261,13 +1264,10 @@ public class PersonResource {
 
         return
                 personService.getMoviesByPerson(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), criteriaDTO)
-                        .flatMap(movieList ->
-                                personService.countMoviesByPerson(id, criteriaDTO)
-                                        .map(total ->
-                                                movieList.isEmpty()
-                                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                        : Response.ok(movieList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                        )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1278,8 +1278,10 @@ public class PersonResource {
     @Operation(
             summary = "Récupère la photo d'une personne",
             description = """
-                    Permet de récupérer l'image associée à une personne à partir du nom de fichier fourni.
-                    Si le fichier n'existe pas ou est invalide, une réponse appropriée est renvoyée."""
+                    Permet de récupérer l'image associée à une personne à partir du nom de fichier fourni, sans la charger en mémoire.
+                    Si le fichier n'existe pas ou est invalide, une réponse appropriée est renvoyée. Les requêtes de plage (Range)
+                    et conditionnelles (If-None-Match) sont prises en charge ; les photos téléversées sont mises en cache sans
+                    limite de durée. Le paramètre w demande une version redimensionnée à la plus proche des largeurs disponibles."""
     )
     @APIResponses(value = {
             @APIResponse(
@@ -1295,32 +1297,30 @@ public class PersonResource {
             ),
             @APIResponse(
                     responseCode = "400",
-                    description = "Nom de fichier invalide ou non fourni"
+                    description = "Nom de fichier invalide ou non fourni, ou largeur invalide"
             )
     })
-    public Uni<Response> getPhoto(@PathParam("fileName") String fileName) {
+    public Uni<Response> getPhoto(
+            @PathParam("fileName") String fileName,
+            @Parameter(name = "w", description = "Largeur souhaitée, en pixels, pour recevoir une version redimensionnée", in = ParameterIn.QUERY, example = "320")
+            @QueryParam("w") Integer width,
+            @HeaderParam("Range") String range,
+            @HeaderParam("If-Range") String ifRange,
+            @Context Request request
+    ) {
         if (Objects.isNull(fileName) || fileName.isEmpty() || Objects.equals("undefined", fileName)) {
             log.warn("Invalid file request: {}", fileName);
             return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
                     .entity("Invalid file name").build());
         }
+        if (Objects.nonNull(width) && width <= 0) {
+            return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("La largeur doit être strictement positive").build());
+        }
 
         return
-                personService.getPhoto(fileName)
-                        .onItem().ifNotNull().transformToUni(
-                                file -> Uni.createFrom().item(() -> {
-                                    try {
-                                        byte[] fileBytes = Files.readAllBytes(file.toPath());
-                                        String mimeType = Files.probeContentType(file.toPath());
-
-                                        log.info("Serving photo: {}", fileName);
-                                        return Response.ok(fileBytes).type(mimeType).build();
-                                    } catch (IOException e) {
-                                        log.error("Error loading photo {}: {}", fileName, e.getMessage());
-                                        return Response.serverError().entity("Erreur lors du chargement de la photo").build();
-                                    }
-                                })
-                        )
+                personService.getPhoto(fileName, width)
+                        .onItem().ifNotNull().transform(file -> FileResponseUtils.sendFile(request, file, range, ifRange))
                         .onItem().ifNull().continueWith(() -> {
                             log.warn("Photo not found: {}", fileName);
                             return Response.status(Response.Status.NOT_FOUND).entity("Photo introuvable").build();
@@ -1364,12 +1364,10 @@ public class PersonResource {
 
         return
                 personService.getCountries(Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), term, finalLang)
-                        .flatMap(countryList ->
-                                personService.countCountries(term, finalLang).map(total ->
-                                        countryList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(countryList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1418,12 +1416,10 @@ public class PersonResource {
 
         return
                 personService.getMovieCountriesByPerson(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), term, finalLang)
-                        .flatMap(countryDTOList ->
-                                personService.countMovieCountriesByPerson(id, term, finalLang).map(total ->
-                                        countryDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(countryDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1471,12 +1467,10 @@ public class PersonResource {
 
         return
                 personService.getMovieCategoriesByPerson(id, Page.of(queryParams.getPageIndex(), queryParams.getSize()), finalSort, queryParams.validateSortDirection(), term)
-                        .flatMap(categoryDTOList ->
-                                personService.countMovieCategoriesByPerson(id, term).map(total ->
-                                        categoryDTOList.isEmpty()
-                                                ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                                : Response.ok(categoryDTOList).header(CustomHttpHeaders.X_TOTAL_COUNT, total).build()
-                                )
+                        .map(pagedResult ->
+                                pagedResult.content().isEmpty()
+                                        ? Response.noContent().header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
+                                        : Response.ok(pagedResult.content()).header(CustomHttpHeaders.X_TOTAL_COUNT, pagedResult.total()).build()
                         )
                 ;
     }
@@ -1,48 +1,198 @@
 package org.desha.app.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.ws.rs.GET;
-import jakarta.ws.rs.Path;
-import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.sse.OutboundSseEvent;
 import jakarta.ws.rs.sse.Sse;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.dto.MovieStatsDTO;
+import org.desha.app.domain.enums.Granularity;
+import org.desha.app.domain.enums.PersonType;
+import org.desha.app.domain.enums.StatsSeries;
 import org.desha.app.domain.record.Repartition;
 import org.desha.app.service.StatsService;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.ParameterIn;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Flux SSE des statistiques, et évolution du nombre d'éléments créés dans le temps ({@code /stats/evolution}).
+ * <p>
+ * À la connexion, un client reçoit toutes les séries (un événement nommé par série). Il ne reçoit ensuite, à chaque
+ * diffusion des statistiques (au plus une par fenêtre de {@code pmdb.stats.stream.throttle}), que les séries qui ont
+ * changé depuis son dernier envoi ; chaque événement contient la série complète, qui remplace la précédente.
+ * <p>
+ * Un client lent ne conserve que la diffusion la plus récente : les diffusions plus anciennes en attente sont
+ * abandonnées, sans perte d'information puisque la différence est calculée par rapport au dernier envoi.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.stats.stream.clients} : clients connectés ;</li>
+ *     <li>{@code pmdb.stats.stream.bytes} : octets de données envoyés ;</li>
+ *     <li>{@code pmdb.stats.stream.dropped} : diffusions abandonnées pour un client lent.</li>
+ * </ul>
+ */
+@Slf4j
 @Path("/stats")
 @ApplicationScoped
 public class StatsResource {
 
+    private final AtomicInteger connectedClients = new AtomicInteger(0);
+
     private final Sse sse;
     private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final Counter bytesSent;
+    private final Counter dropped;
 
     @Inject
-    public StatsResource(StatsService statsService, Sse sse) {
+    public StatsResource(StatsService statsService, Sse sse, ObjectMapper objectMapper, MeterRegistry registry) {
         this.statsService = statsService;
         this.sse = sse;
+        this.objectMapper = objectMapper;
+        this.bytesSent = registry.counter("pmdb.stats.stream.bytes");
+        this.dropped = registry.counter("pmdb.stats.stream.dropped");
+        registry.gauge("pmdb.stats.stream.clients", connectedClients);
     }
 
     @GET
     @Produces(MediaType.SERVER_SENT_EVENTS)
     public Multi<OutboundSseEvent> stream() {
         return
-                Multi.createFrom().publisher(statsService.getStatsPublisher())
-                        .flatMap(stats ->
-                                Multi.createFrom().items(
-                                        sse.newEventBuilder().name("movie-count").mediaType(MediaType.APPLICATION_JSON_TYPE).data(stats.movieCount()).build(),
-                                        sse.newEventBuilder().name("actor-count").mediaType(MediaType.APPLICATION_JSON_TYPE).data(stats.actorCount()).build(),
-                                        sse.newEventBuilder().name("movies-by-release-date").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.byReleaseDate()).build(),
-                                        sse.newEventBuilder().name("movies-by-country").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.byCountry()).build(),
-                                        sse.newEventBuilder().name("movies-by-category").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.byCategory()).build(),
-                                        sse.newEventBuilder().name("movies-by-user").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.byUser()).build(),
-                                        sse.newEventBuilder().name("movies-number-by-creation-date").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.byCreationDate()).build(),
-                                        sse.newEventBuilder().name("movies-number-evolution").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.moviesNumberEvolution()).build(),
-                                        sse.newEventBuilder().name("actors-number-evolution").mediaType(MediaType.APPLICATION_JSON_TYPE).data(Repartition.class, stats.actorsNumberEvolution()).build()
-                                )
-                        )
+                Multi.createFrom().deferred(() -> {
+                    // Dernières statistiques envoyées à ce client
+                    final AtomicReference<MovieStatsDTO> lastSent = new AtomicReference<>();
+                    return
+                            Multi.createFrom().publisher(statsService.getStatsPublisher())
+                                    .onSubscription().invoke(connectedClients::incrementAndGet)
+                                    .onOverflow().invoke(() -> dropped.increment()).dropPreviousItems()
+                                    .concatMap(stats -> Multi.createFrom().iterable(toEvents(lastSent.getAndSet(stats), stats)))
+                                    .onTermination().invoke(connectedClients::decrementAndGet);
+                });
+    }
+
+    @GET
+    @Path("/evolution")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+            summary = "Évolution du nombre de films, de personnes ou de récompenses créés dans le temps",
+            description = """
+                    Renvoie le nombre d'éléments d'une série créés par jour, par mois ou par année sur un intervalle de dates,
+                    ou leur nombre cumulé à la fin de chaque période. Les libellés des périodes (YYYY-MM-DD, YYYY-MM ou YYYY)
+                    sont triés dans l'ordre chronologique."""
+    )
+    @APIResponses(value = {
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Évolution récupérée avec succès",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(
+                                    type = SchemaType.ARRAY,
+                                    implementation = Repartition.class
+                            )
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Paramètres de requête invalides (ex: type de personne manquant ou dates incohérentes)"
+            )
+    })
+    public Uni<Response> getEvolution(
+            @Parameter(name = "series", description = "Série : MOVIES, PERSONS ou AWARDS", in = ParameterIn.QUERY, example = "MOVIES")
+            @QueryParam("series") @DefaultValue("MOVIES") StatsSeries series,
+            @Parameter(name = "type", description = "Type de personne, obligatoire pour la série PERSONS", in = ParameterIn.QUERY, example = "ACTOR")
+            @QueryParam("type") PersonType personType,
+            @Parameter(name = "granularity", description = "Granularité : DAY, MONTH ou YEAR (YEAR uniquement pour AWARDS)", in = ParameterIn.QUERY, example = "MONTH")
+            @QueryParam("granularity") @DefaultValue("MONTH") Granularity granularity,
+            @Parameter(name = "from", description = "Date de début (format : yyyy-MM-dd)", in = ParameterIn.QUERY, example = "2024-01-01")
+            @QueryParam("from") LocalDate from,
+            @Parameter(name = "to", description = "Date de fin (format : yyyy-MM-dd)", in = ParameterIn.QUERY, example = "2024-12-31")
+            @QueryParam("to") LocalDate to,
+            @Parameter(name = "cumulative", description = "Nombre cumulé à la fin de chaque période plutôt que nombre créé pendant la période", in = ParameterIn.QUERY)
+            @QueryParam("cumulative") @DefaultValue("true") boolean cumulative
+    ) {
+        if (series == StatsSeries.PERSONS && Objects.isNull(personType)) {
+            throw new BadRequestException("Le type de personne est obligatoire pour la série des personnes");
+        }
+        if (series == StatsSeries.AWARDS && granularity != Granularity.YEAR) {
+            throw new BadRequestException("Les récompenses ne sont historisées que par année");
+        }
+        if (Objects.nonNull(from) && Objects.nonNull(to) && from.isAfter(to)) {
+            throw new BadRequestException("La date de début doit être antérieure à la date de fin");
+        }
+
+        return
+                statsService.getEvolution(series, personType, granularity, from, to, cumulative)
+                        .map(repartition -> Response.ok(repartition).build())
                 ;
     }
+
+    /**
+     * Construit les événements des séries modifiées entre deux diffusions.
+     *
+     * @param previous Les statistiques précédemment envoyées, ou {@code null} pour un premier envoi.
+     * @param current  Les statistiques à envoyer.
+     * @return Un événement par série modifiée.
+     */
+    private List<OutboundSseEvent> toEvents(MovieStatsDTO previous, MovieStatsDTO current) {
+        final Map<String, Object> sent = Objects.isNull(previous) ? Map.of() : series(previous);
+        final List<OutboundSseEvent> events = new ArrayList<>();
+        series(current).forEach((name, data) -> {
+                    if (!sent.containsKey(name) || !Objects.equals(sent.get(name), data)) {
+                        events.add(toEvent(name, data));
+                    }
+                }
+        );
+        return events;
+    }
+
+    private static Map<String, Object> series(MovieStatsDTO stats) {
+        final Map<String, Object> series = new LinkedHashMap<>();
+        series.put("movie-count", stats.movieCount());
+        series.put("actor-count", stats.actorCount());
+        series.put("movies-by-release-date", stats.byReleaseDate());
+        series.put("movies-by-country", stats.byCountry());
+        series.put("movies-by-category", stats.byCategory());
+        series.put("movies-by-user", stats.byUser());
+        series.put("movies-number-by-creation-date", stats.byCreationDate());
+        series.put("movies-number-evolution", stats.moviesNumberEvolution());
+        series.put("actors-number-evolution", stats.actorsNumberEvolution());
+        return series;
+    }
+
+    private OutboundSseEvent toEvent(String name, Object data) {
+        try {
+            // Sérialisé ici pour mesurer le volume envoyé ; le contenu est identique à celui produit par le writer JSON
+            final String json = objectMapper.writeValueAsString(data);
+            bytesSent.increment(json.getBytes(StandardCharsets.UTF_8).length);
+            return sse.newEventBuilder().name(name).data(String.class, json).build();
+        } catch (JsonProcessingException e) {
+            log.error("Erreur lors de la sérialisation de la série {}", name, e);
+            throw new IllegalStateException(e);
+        }
+    }
 }
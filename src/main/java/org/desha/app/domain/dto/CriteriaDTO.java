@@ -5,14 +5,15 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.desha.app.domain.enums.PersonType;
+import org.desha.app.utils.Utils;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Builder
 @Getter
@@ -116,4 +117,58 @@ public class CriteriaDTO {
                         .build();
     }
 
+    /**
+     * Indique si le seul filtre renseigné est le terme de recherche libre.
+     * <p>
+     * Dans ce cas, le nombre de résultats peut être estimé directement sur la colonne de recherche normalisée,
+     * sans reconstruire les jointures des autres filtres.
+     *
+     * @return {@code true} si aucun filtre autre que {@link #term} n'est renseigné.
+     */
+    public boolean hasOnlyTermFilter() {
+        return
+                Stream.of(countryIds, categoryIds, userIds, personTypes).allMatch(c -> Objects.isNull(c) || c.isEmpty())
+                        && Stream.of(
+                        fromBirthDate, toBirthDate, fromDeathDate, toDeathDate, fromReleaseDate, toReleaseDate,
+                        fromCreationDate, toCreationDate, fromLastUpdate, toLastUpdate
+                ).allMatch(Objects::isNull);
+    }
+
+    /**
+     * Construit une clé normalisée représentant ces critères, utilisée pour mettre en cache les comptages.
+     * <p>
+     * Le terme est normalisé comme pour la recherche (accents, casse, espaces) et les collections sont triées,
+     * de sorte que deux requêtes équivalentes produisent la même clé.
+     *
+     * @return La clé normalisée des critères.
+     */
+    public String toCacheKey() {
+        return String.join("|",
+                Utils.normalizeForSearch(term),
+                sortedKey(countryIds),
+                sortedKey(categoryIds),
+                sortedKey(userIds),
+                sortedKey(personTypes),
+                Objects.toString(fromBirthDate, ""),
+                Objects.toString(toBirthDate, ""),
+                Objects.toString(fromDeathDate, ""),
+                Objects.toString(toDeathDate, ""),
+                Objects.toString(fromReleaseDate, ""),
+                Objects.toString(toReleaseDate, ""),
+                Objects.toString(fromCreationDate, ""),
+                Objects.toString(toCreationDate, ""),
+                Objects.toString(fromLastUpdate, ""),
+                Objects.toString(toLastUpdate, "")
+        );
+    }
+
+    private static String sortedKey(Collection<?> values) {
+        return
+                Optional.ofNullable(values).orElse(Collections.emptyList())
+                        .stream()
+                        .map(String::valueOf)
+                        .sorted()
+                        .collect(Collectors.joining(","));
+    }
+
 }
@@ -39,6 +39,17 @@ public class QueryParamsDTO {
     @DefaultValue("50")
     private int size;
 
+    @Parameter(
+            name = "after",
+            description = """
+                    Curseur opaque de pagination (valeur de l'en-tête X-Next-Cursor de la page précédente).
+                    Sa présence active la pagination par curseur, une valeur vide désignant la première page ;
+                    le paramètre page est alors ignoré.""",
+            in = ParameterIn.QUERY
+    )
+    @QueryParam("after")
+    private String after;
+
     @Parameter(
             name = "sort",
             description = "Champ sur lequel appliquer le tri",
@@ -123,6 +134,15 @@ public class QueryParamsDTO {
         }
     }
 
+    /**
+     * Indique si la pagination par curseur (« keyset ») est demandée, c'est-à-dire si le paramètre {@code after} est présent.
+     *
+     * @return {@code true} si le paramètre {@code after} est fourni, même vide ; {@code false} sinon.
+     */
+    public boolean isKeysetPagination() {
+        return Objects.nonNull(after);
+    }
+
     /**
      * Valide et retourne la direction de tri spécifiée par l'utilisateur.
      * <p>
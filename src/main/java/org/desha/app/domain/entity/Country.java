@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.desha.app.domain.dto.CountryDTO;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -39,12 +40,21 @@ public class Country extends PanacheEntityBase {
     @Column(name = "nom_fr_fr")
     private String nomFrFr;
 
+    @Column(name = "date_mise_a_jour")
+    private LocalDateTime lastUpdate;
+
     @ManyToMany(mappedBy = "countries")
     private final Set<Movie> movies = new HashSet<>();
 
     @ManyToMany(mappedBy = "countries")
     private final Set<Person> persons = new HashSet<>();
 
+    @PrePersist
+    @PreUpdate
+    public void onUpdate() {
+        this.lastUpdate = LocalDateTime.now();
+    }
+
     public void updateCountry(CountryDTO countryDTO) {
         setCode(countryDTO.getCode());
         setAlpha2(countryDTO.getAlpha2());
@@ -0,0 +1,50 @@
+package org.desha.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Nombre de références à un fichier stocké (affiche d'un film, photo d'une personne).
+ * <p>
+ * La table {@code fichier_reference} est maintenue par trigger à chaque création, suppression ou changement d'affiche
+ * d'un film ou de photo d'une personne : elle n'est jamais écrite par l'application. Un fichier absent de la table
+ * n'est plus référencé.
+ * <p>
+ * La suppression d'un fichier stocké est décidée sur ces nombres. Les triggers ne sont créés que par
+ * {@code db/migration/fileReferences.sql} : sur une base où le script n'a pas été exécuté, la table est créée vide par
+ * Hibernate, et n'est pas utilisée ({@link org.desha.app.service.FileReferenceService#ensureReady()}).
+ */
+@Entity
+@Getter
+@Builder
+@Immutable
+@Table(name = "fichier_reference")
+@IdClass(FileReference.FileReferenceId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileReference {
+
+    @Id
+    @Column(name = "repertoire", length = 32)
+    String directory;
+
+    @Id
+    @Column(name = "nom")
+    String fileName;
+
+    @Column(name = "nombre_references", nullable = false)
+    Integer references;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FileReferenceId implements Serializable {
+        private String directory;
+        private String fileName;
+    }
+}
@@ -10,6 +10,8 @@ import lombok.*;
 import org.desha.app.domain.dto.MovieActorDTO;
 import org.desha.app.domain.dto.MovieDTO;
 import org.desha.app.domain.dto.MovieTechnicianDTO;
+import org.desha.app.utils.Utils;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,13 +26,29 @@ import java.util.function.Function;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "film", uniqueConstraints = {@UniqueConstraint(columnNames = {"titre", "titre_original"})})
+@Table(
+        name = "film",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"titre", "titre_original"})},
+        indexes = {
+                @Index(name = "idx_film_nombre_recompenses", columnList = "nombre_recompenses, id"),
+                // Vérification qu'une affiche n'est plus référencée avant sa suppression
+                @Index(name = "idx_film_chemin_affiche", columnList = "chemin_affiche")
+        }
+)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Movie extends PanacheEntityBase {
 
     public static final String DEFAULT_POSTER = "default-poster.jpg";
     public static final String DEFAULT_SORT = "title";
     public static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", DEFAULT_SORT, "originalTitle", "releaseDate", "runningTime", "budget", "boxOffice", "user.username", "awardsCount", "creationDate", "lastUpdate");
+    // Champs indexés (db/migration/keysetPaginationIndexes.sql) : seuls utilisables en pagination par curseur
+    public static final Map<String, Function<Movie, Object>> KEYSET_SORT_FIELDS = Map.of(
+            "id", Movie::getId,
+            DEFAULT_SORT, Movie::getTitle,
+            "releaseDate", Movie::getReleaseDate,
+            "creationDate", Movie::getCreationDate,
+            "lastUpdate", Movie::getLastUpdate
+    );
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
@@ -43,6 +61,9 @@ public class Movie extends PanacheEntityBase {
     @Column(name = "titre_original")
     private String originalTitle;
 
+    @Column(name = "titre_recherche")
+    private String searchTitle;
+
     @Column(columnDefinition = "TEXT")
     private String synopsis;
 
@@ -70,6 +91,17 @@ public class Movie extends PanacheEntityBase {
     @Column(name = "chemin_affiche")
     private String posterFileName;
 
+    /**
+     * Nombre de récompenses du film, dénormalisé depuis {@code ceremonie_recompenses}/{@code recompense}.
+     * <p>
+     * La colonne n'est jamais écrite par l'entité : elle est recalculée en base par
+     * {@link org.desha.app.repository.MovieRepository#updateAwardsNumber(Long)} après chaque modification des
+     * récompenses du film, et réconciliée périodiquement par {@code AwardsNumberReconciliationService}.
+     */
+    @ColumnDefault("0")
+    @Column(name = "nombre_recompenses", nullable = false, insertable = false, updatable = false)
+    private Long awardsNumber;
+
     @Column(name = "date_creation", updatable = false)
     private LocalDateTime creationDate;
 
@@ -109,11 +141,13 @@ public class Movie extends PanacheEntityBase {
     protected void onCreate() {
         this.creationDate = LocalDateTime.now();
         this.lastUpdate = LocalDateTime.now();
+        this.searchTitle = Utils.normalizeForSearch(title);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.lastUpdate = LocalDateTime.now();
+        this.searchTitle = Utils.normalizeForSearch(title);
     }
 
     /**
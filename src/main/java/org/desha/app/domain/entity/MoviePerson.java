@@ -1,22 +1,23 @@
 package org.desha.app.domain.entity;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import lombok.*;
 import org.hibernate.annotations.Immutable;
-import org.hibernate.annotations.Subselect;
 
+import java.io.Serializable;
+
+/**
+ * Couple (film, personne), tous rôles confondus.
+ * <p>
+ * La table {@code film_personne} est maintenue par trigger à partir de {@link MoviePersonRole} et rafraîchie
+ * périodiquement : elle n'est jamais écrite par l'application.
+ */
 @Entity
 @Getter
 @Builder
 @Immutable
-@Table(name = "film_personne_vue")
-@Subselect("SELECT * FROM film_personne_vue")
+@Table(name = "film_personne")
+@IdClass(MoviePerson.MoviePersonId.class)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MoviePerson {
@@ -25,6 +26,20 @@ public class MoviePerson {
     @Column(name = "fk_film")
     Long movieId;
 
+    @Id
     @Column(name = "fk_personne")
     Long personId;
+
+    @Column(name = "nombre_roles")
+    Integer rolesNumber;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MoviePersonId implements Serializable {
+        private Long movieId;
+        private Long personId;
+    }
 }
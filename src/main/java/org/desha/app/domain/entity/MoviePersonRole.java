@@ -0,0 +1,53 @@
+package org.desha.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.desha.app.domain.enums.PersonType;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Index unifié des participations d'une personne aux films, tous rôles confondus.
+ * <p>
+ * La table {@code film_personne_role} est alimentée par des triggers sur les tables {@code lnk_film_acteur} et
+ * {@code lnk_film_technicien} : elle n'est jamais écrite par l'application. Sa clé primaire {@code (fk_personne, fk_film, role_type)} permet de retrouver
+ * les films d'une personne par un simple parcours d'index.
+ */
+@Entity
+@Getter
+@Builder
+@Immutable
+@Table(name = "film_personne_role")
+@IdClass(MoviePersonRole.MoviePersonRoleId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoviePersonRole {
+
+    @Id
+    @Column(name = "fk_personne")
+    Long personId;
+
+    @Id
+    @Column(name = "fk_film")
+    Long movieId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role_type")
+    PersonType type;
+
+    @Column(name = "nombre_liens")
+    Integer linksNumber;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MoviePersonRoleId implements Serializable {
+        private Long personId;
+        private Long movieId;
+        private PersonType type;
+    }
+}
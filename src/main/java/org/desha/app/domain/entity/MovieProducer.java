@@ -1,15 +1,15 @@
 package org.desha.app.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @Entity
 @SuperBuilder
 @NoArgsConstructor
-@Table(name = "lnk_film_producteur")
+@DiscriminatorValue("PRODUCER")
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class MovieProducer extends MovieTechnician {
 
@@ -7,14 +7,31 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DiscriminatorOptions;
 
+/**
+ * Participation d'une personne à un film en tant que technicien.
+ * <p>
+ * Tous les types de techniciens partagent la table {@code lnk_film_technicien} ; la colonne {@code role_type} porte
+ * le type (valeur de {@link org.desha.app.domain.enums.PersonType}) et détermine la sous-classe instanciée.
+ * La colonne {@code role} reste le libellé libre du rôle tenu dans le film.
+ */
 @Entity
 @SuperBuilder
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+@Table(
+        name = "lnk_film_technicien",
+        indexes = {
+                @Index(name = "idx_lnk_film_technicien_film", columnList = "fk_film, role_type"),
+                @Index(name = "idx_lnk_film_technicien_personne", columnList = "fk_personne, role_type")
+        }
+)
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@DiscriminatorColumn(name = "role_type", length = 32)
+@DiscriminatorOptions(force = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public abstract class MovieTechnician {
 
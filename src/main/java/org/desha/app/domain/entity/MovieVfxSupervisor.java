@@ -2,15 +2,15 @@
 package org.desha.app.domain.entity;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Table;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @SuperBuilder
 @Entity
 @NoArgsConstructor
-@Table(name = "lnk_film_specialiste_effets_visuels")
+@DiscriminatorValue("VFX_SUPERVISOR")
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class MovieVfxSupervisor extends MovieTechnician {
 
@@ -7,12 +7,18 @@ import lombok.*;
 import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.dto.PersonDTO;
 import org.desha.app.domain.enums.PersonType;
+import org.desha.app.utils.Utils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 
-@Table(name = "personne")
+@Table(
+        name = "personne",
+        // Vérification qu'une photo n'est plus référencée avant sa suppression
+        indexes = {@Index(name = "idx_personne_photo", columnList = "photo")}
+)
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +31,14 @@ public class Person extends PanacheEntityBase {
     public static final String DEFAULT_PHOTO = "default-photo.jpg";
     public static final String DEFAULT_SORT = "name";
     public static final Set<String> ALLOWED_SORT_FIELDS = Set.of("id", DEFAULT_SORT, "dateOfBirth", "dateOfDeath", "moviesCount", "awardsCount", "creationDate", "lastUpdate");
+    // Champs indexés (db/migration/keysetPaginationIndexes.sql) : seuls utilisables en pagination par curseur
+    public static final Map<String, Function<Person, Object>> KEYSET_SORT_FIELDS = Map.of(
+            "id", Person::getId,
+            DEFAULT_SORT, Person::getName,
+            "dateOfBirth", Person::getDateOfBirth,
+            "creationDate", Person::getCreationDate,
+            "lastUpdate", Person::getLastUpdate
+    );
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
@@ -33,6 +47,9 @@ public class Person extends PanacheEntityBase {
     @Column(name = "nom", nullable = false)
     private String name;
 
+    @Column(name = "nom_recherche")
+    private String searchName;
+
     @Column(name = "photo")
     private String photoFileName;
 
@@ -72,11 +89,13 @@ public class Person extends PanacheEntityBase {
     private void onCreate() {
         this.creationDate = LocalDateTime.now();
         this.lastUpdate = LocalDateTime.now();
+        this.searchName = Utils.normalizeForSearch(name);
     }
 
     @PreUpdate
     private void onUpdate() {
         this.lastUpdate = LocalDateTime.now();
+        this.searchName = Utils.normalizeForSearch(name);
     }
 
     public static Person build(String name, String photoFileName) {
@@ -9,14 +9,18 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.Immutable;
-import org.hibernate.annotations.Subselect;
 
+/**
+ * Nombre de films d'une personne.
+ * <p>
+ * La table {@code personne_nombre_films} est maintenue par trigger à partir de {@link MoviePerson} et rafraîchie
+ * périodiquement : elle n'est jamais écrite par l'application. Une personne sans film n'y figure pas.
+ */
 @Entity
 @Getter
 @Builder
 @Immutable
-@Table(name = "personne_nombre_films_vue")
-@Subselect("SELECT * FROM personne_nombre_films_vue")
+@Table(name = "personne_nombre_films")
 @NoArgsConstructor
 @AllArgsConstructor
 public class PersonMoviesNumber {
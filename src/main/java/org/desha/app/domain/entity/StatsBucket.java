@@ -0,0 +1,54 @@
+package org.desha.app.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.desha.app.domain.enums.Granularity;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Nombre d'éléments d'une série ({@link org.desha.app.domain.enums.StatsSeries}) créés pendant une période (jour, mois
+ * ou année, voir {@link Granularity}).
+ * <p>
+ * La table {@code statistiques_creation} est maintenue par trigger à chaque création ou suppression d'un film, d'un
+ * type de personne ou d'une récompense, et rafraîchie périodiquement : elle n'est jamais écrite par l'application.
+ */
+@Entity
+@Getter
+@Builder
+@Immutable
+@Table(name = "statistiques_creation")
+@IdClass(StatsBucket.StatsBucketId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsBucket {
+
+    @Id
+    @Column(name = "serie", length = 64)
+    String series;
+
+    @Id
+    @Column(name = "granularite", length = 8)
+    @Enumerated(EnumType.STRING)
+    Granularity granularity;
+
+    @Id
+    @Column(name = "periode")
+    LocalDate period;
+
+    @Column(name = "total", nullable = false)
+    Long total;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatsBucketId implements Serializable {
+        private String series;
+        private Granularity granularity;
+        private LocalDate period;
+    }
+}
@@ -0,0 +1,36 @@
+package org.desha.app.domain.entity;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dernières statistiques calculées ({@link org.desha.app.domain.dto.MovieStatsDTO} sérialisé en JSON), chargées au
+ * démarrage de l'application en attendant leur recalcul. La table ne contient qu'une ligne, d'identifiant {@link #ID}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "statistiques_snapshot")
+public class StatsSnapshot extends PanacheEntityBase {
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "donnees", nullable = false)
+    private String data;
+
+    @Column(name = "date_calcul", nullable = false)
+    private LocalDateTime computedAt;
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.OneToMany;
 import lombok.*;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Embeddable
@@ -70,4 +71,44 @@ public class TechnicalTeam {
     @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MovieStuntman> movieStuntmen = new ArrayList<>();
 
+    /**
+     * Construit une équipe technique détachée à partir d'une liste de techniciens de tous types.
+     * <p>
+     * Chaque technicien est rangé dans la liste correspondant à son type concret, dans l'ordre de la liste fournie.
+     * Utilisé pour assembler en mémoire le résultat d'une requête polymorphe sur {@link MovieTechnician}, sans
+     * initialiser les collections de l'entité {@link Movie}.
+     *
+     * @param technicians Les techniciens d'un film, tous types confondus.
+     * @return Une nouvelle {@link TechnicalTeam} contenant les techniciens répartis par type.
+     */
+    public static TechnicalTeam of(Collection<? extends MovieTechnician> technicians) {
+        TechnicalTeam technicalTeam = new TechnicalTeam();
+        technicians.forEach(technicalTeam::add);
+        return technicalTeam;
+    }
+
+    private void add(MovieTechnician technician) {
+        switch (technician) {
+            case MovieProducer movieProducer -> movieProducers.add(movieProducer);
+            case MovieDirector movieDirector -> movieDirectors.add(movieDirector);
+            case MovieAssistantDirector movieAssistantDirector -> movieAssistantDirectors.add(movieAssistantDirector);
+            case MovieScreenwriter movieScreenwriter -> movieScreenwriters.add(movieScreenwriter);
+            case MovieComposer movieComposer -> movieComposers.add(movieComposer);
+            case MovieMusician movieMusician -> movieMusicians.add(movieMusician);
+            case MoviePhotographer moviePhotographer -> moviePhotographers.add(moviePhotographer);
+            case MovieCostumeDesigner movieCostumeDesigner -> movieCostumeDesigners.add(movieCostumeDesigner);
+            case MovieSetDesigner movieSetDesigner -> movieSetDesigners.add(movieSetDesigner);
+            case MovieEditor movieEditor -> movieEditors.add(movieEditor);
+            case MovieCaster movieCaster -> movieCasters.add(movieCaster);
+            case MovieArtist movieArtist -> movieArtists.add(movieArtist);
+            case MovieSoundEditor movieSoundEditor -> movieSoundEditors.add(movieSoundEditor);
+            case MovieVfxSupervisor movieVfxSupervisor -> movieVfxSupervisors.add(movieVfxSupervisor);
+            case MovieSfxSupervisor movieSfxSupervisor -> movieSfxSupervisors.add(movieSfxSupervisor);
+            case MovieMakeupArtist movieMakeupArtist -> movieMakeupArtists.add(movieMakeupArtist);
+            case MovieHairDresser movieHairDresser -> movieHairDressers.add(movieHairDresser);
+            case MovieStuntman movieStuntman -> movieStuntmen.add(movieStuntman);
+            default -> throw new IllegalArgumentException("Type de technicien inconnu : " + technician.getClass().getSimpleName());
+        }
+    }
+
 }
@@ -0,0 +1,19 @@
+package org.desha.app.domain.enums;
+
+/**
+ * Stratégie de calcul du nombre total de résultats d'une liste paginée (en-tête {@code X-Total-Count}).
+ */
+public enum CountStrategy {
+    /**
+     * Comptage exact, calculé dans la même requête que la page.
+     */
+    EXACT,
+    /**
+     * Estimation fournie par le planificateur de PostgreSQL ({@code EXPLAIN}), sans parcourir les lignes.
+     */
+    ESTIMATED,
+    /**
+     * Comptage exact mis en cache pour une durée limitée, par endpoint et par critères normalisés.
+     */
+    CACHED
+}
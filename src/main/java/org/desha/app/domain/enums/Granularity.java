@@ -0,0 +1,41 @@
+package org.desha.app.domain.enums;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularité des périodes de l'historique des créations ({@link org.desha.app.domain.entity.StatsBucket}).
+ * <p>
+ * Le nom est aussi l'unité passée à {@code DATE_TRUNC} par les triggers (en minuscules). Le format des libellés
+ * ({@link #getPattern()}, format {@code TO_CHAR}) respecte l'ordre chronologique lorsqu'il est trié comme une chaîne.
+ */
+public enum Granularity {
+    DAY("YYYY-MM-DD"),
+    MONTH("YYYY-MM"),
+    YEAR("YYYY");
+
+    private final String pattern;
+
+    Granularity(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * @return Le format {@code TO_CHAR} des libellés des périodes.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @param date Une date.
+     * @return Le premier jour de la période contenant la date.
+     */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.with(TemporalAdjusters.firstDayOfYear());
+        };
+    }
+}
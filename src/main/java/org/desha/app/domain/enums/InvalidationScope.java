@@ -0,0 +1,27 @@
+package org.desha.app.domain.enums;
+
+/**
+ * Portée d'une invalidation des données conservées en mémoire par chaque instance de l'application.
+ */
+public enum InvalidationScope {
+    /**
+     * Toutes les données en mémoire, après une interruption de l'écoute des invalidations.
+     */
+    ALL,
+    /**
+     * Le cache des détails d'un film, ou de tous les films en l'absence d'identifiant.
+     */
+    MOVIE,
+    /**
+     * Le cache des pays.
+     */
+    COUNTRY,
+    /**
+     * Le cache des catégories.
+     */
+    CATEGORY,
+    /**
+     * Les statistiques (compteurs et répartitions).
+     */
+    STATS
+}
@@ -0,0 +1,35 @@
+package org.desha.app.domain.enums;
+
+/**
+ * Statistique des films concernée par une variation ({@link org.desha.app.domain.record.StatsDelta}).
+ */
+public enum StatsDimension {
+    /**
+     * Le nombre total de films (sans libellé).
+     */
+    MOVIES,
+    /**
+     * La répartition des films par décennie de sortie.
+     */
+    RELEASE_DATE,
+    /**
+     * La répartition des films par mois de création.
+     */
+    CREATION_DATE,
+    /**
+     * La répartition des films par utilisateur.
+     */
+    USER,
+    /**
+     * La répartition des films par catégorie.
+     */
+    CATEGORY,
+    /**
+     * La répartition des films par pays.
+     */
+    COUNTRY,
+    /**
+     * Les statistiques des acteurs, recalculées en base (sans libellé ni variation).
+     */
+    ACTORS
+}
@@ -0,0 +1,36 @@
+package org.desha.app.domain.enums;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Série de l'historique des créations ({@link org.desha.app.domain.entity.StatsBucket}).
+ */
+public enum StatsSeries {
+    /**
+     * Les films, par date de création.
+     */
+    MOVIES,
+    /**
+     * Les personnes d'un type donné ({@link PersonType}), par date de création de la personne.
+     */
+    PERSONS,
+    /**
+     * Les récompenses, par année de la récompense (granularité {@link Granularity#YEAR} uniquement).
+     */
+    AWARDS;
+
+    /**
+     * Construit la clé de la série telle qu'enregistrée par les triggers ({@code PERSONS:ACTOR} pour les acteurs).
+     *
+     * @param personType Le type de personne, obligatoire pour {@link #PERSONS} et ignoré sinon.
+     * @return La clé de la série.
+     */
+    public String key(@Nullable PersonType personType) {
+        if (this != PERSONS) {
+            return name();
+        }
+        return name() + ":" + Objects.requireNonNull(personType, "Le type de personne est obligatoire").name();
+    }
+}
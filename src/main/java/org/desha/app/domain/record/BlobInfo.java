@@ -0,0 +1,11 @@
+package org.desha.app.domain.record;
+
+/**
+ * Objet stocké par un {@link org.desha.app.service.storage.BlobStore}.
+ *
+ * @param key          La clé de l'objet ({@code posters/ab/cd/abcd….jpg}).
+ * @param size         La taille de l'objet, en octets.
+ * @param lastModified La date de dernière écriture de l'objet, en millisecondes depuis l'epoch.
+ */
+public record BlobInfo(String key, long size, long lastModified) {
+}
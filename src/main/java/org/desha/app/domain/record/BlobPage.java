@@ -0,0 +1,14 @@
+package org.desha.app.domain.record;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Page d'objets listés par un {@link org.desha.app.service.storage.BlobStore}.
+ *
+ * @param blobs  Les objets de la page.
+ * @param cursor Le curseur de la page suivante, ou {@code null} s'il s'agit de la dernière page.
+ */
+public record BlobPage(List<BlobInfo> blobs, @Nullable String cursor) {
+}
@@ -0,0 +1,12 @@
+package org.desha.app.domain.record;
+
+/**
+ * Résultat de la migration des fichiers stockés vers l'adressage par contenu.
+ *
+ * @param migrated     Le nombre de fichiers copiés sous le nom de leur contenu, dont les références ont été mises à jour.
+ * @param unreferenced Le nombre de fichiers ignorés car plus référencés (laissés au nettoyage des fichiers orphelins).
+ * @param failed       Le nombre de fichiers qui n'ont pas pu être migrés (type non autorisé, fichier trop volumineux,
+ *                     erreur d'écriture), conservés sous leur ancien nom.
+ */
+public record FileMigrationReport(int migrated, int unreferenced, int failed) {
+}
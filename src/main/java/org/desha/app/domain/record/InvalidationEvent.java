@@ -0,0 +1,23 @@
+package org.desha.app.domain.record;
+
+import jakarta.annotation.Nullable;
+import org.desha.app.domain.enums.InvalidationScope;
+
+/**
+ * Invalidation reçue d'une autre instance de l'application.
+ *
+ * @param scope La portée de l'invalidation.
+ * @param id    L'identifiant de l'élément modifié, ou {@code null} pour tous les éléments de la portée.
+ * @param data  Le contenu de la modification, propre à la portée (par exemple les variations des statistiques), ou
+ *              {@code null} si l'instance doit recharger les données de la portée.
+ */
+public record InvalidationEvent(InvalidationScope scope, @Nullable Long id, @Nullable String data) {
+
+    public InvalidationEvent(InvalidationScope scope, @Nullable Long id) {
+        this(scope, id, null);
+    }
+
+    public boolean concerns(InvalidationScope target) {
+        return scope == InvalidationScope.ALL || scope == target;
+    }
+}
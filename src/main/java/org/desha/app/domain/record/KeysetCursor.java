@@ -0,0 +1,92 @@
+package org.desha.app.domain.record;
+
+import io.quarkus.panache.common.Sort;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Curseur de pagination par clé (« keyset » ou « seek »).
+ * <p>
+ * Le curseur mémorise le champ et la direction de tri ainsi que la valeur de tri et l'identifiant du dernier élément
+ * retourné. Il est transmis au client sous une forme opaque (Base64 URL) et renvoyé tel quel via le paramètre
+ * {@code after} pour obtenir la page suivante.
+ *
+ * @param sort      Le champ de tri utilisé lors de la génération du curseur.
+ * @param direction La direction du tri.
+ * @param value     La valeur du champ de tri pour le dernier élément de la page. Peut être {@code null}.
+ * @param id        L'identifiant du dernier élément de la page.
+ */
+public record KeysetCursor(String sort, Sort.Direction direction, Object value, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode le curseur sous une forme opaque, utilisable dans une URL.
+     *
+     * @return La représentation encodée du curseur.
+     */
+    public String encode() {
+        final String raw = String.join(SEPARATOR, sort, direction.name(), typeOf(value), String.valueOf(id), Objects.toString(value, ""));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur précédemment produit par {@link #encode()} et vérifie qu'il correspond au tri demandé.
+     * <p>
+     * Une chaîne vide désigne la première page en mode curseur : la méthode retourne alors {@code null}.
+     *
+     * @param cursor    Le curseur encodé transmis par le client.
+     * @param sort      Le champ de tri de la requête courante.
+     * @param direction La direction de tri de la requête courante.
+     * @return Le curseur décodé, ou {@code null} s'il s'agit de la première page.
+     * @throws WebApplicationException avec un statut HTTP 400 si le curseur est invalide ou ne correspond pas au tri demandé.
+     */
+    public static KeysetCursor decode(String cursor, String sort, Sort.Direction direction) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+
+        final KeysetCursor keysetCursor;
+        try {
+            final String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 5);
+            keysetCursor = new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), parseValue(parts[2], parts[4]), Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            throw new WebApplicationException("Le curseur de pagination est invalide.", Response.Status.BAD_REQUEST);
+        }
+
+        if (!Objects.equals(keysetCursor.sort(), sort) || keysetCursor.direction() != direction) {
+            throw new WebApplicationException("Le curseur de pagination ne correspond pas au tri demandé.", Response.Status.BAD_REQUEST);
+        }
+        return keysetCursor;
+    }
+
+    private static String typeOf(Object value) {
+        return switch (value) {
+            case null -> "N";
+            case Long l -> "L";
+            case Integer i -> "I";
+            case LocalDateTime dt -> "T";
+            case LocalDate d -> "D";
+            default -> "S";
+        };
+    }
+
+    private static Object parseValue(String type, String value) {
+        return switch (type) {
+            case "N" -> null;
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "T" -> LocalDateTime.parse(value);
+            case "D" -> LocalDate.parse(value);
+            case "S" -> value;
+            default -> throw new IllegalArgumentException("Type de curseur inconnu : " + type);
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package org.desha.app.domain.record;
+
+import java.util.List;
+
+public record KeysetPage<T>(List<T> content, String nextCursor) {
+}
@@ -0,0 +1,15 @@
+package org.desha.app.domain.record;
+
+/**
+ * Résultat d'un nettoyage des fichiers orphelins (affiches et photos qui ne sont plus référencées).
+ *
+ * @param scanned          Le nombre de fichiers examinés.
+ * @param quarantined      Le nombre de fichiers orphelins mis de côté.
+ * @param quarantinedBytes La taille des fichiers mis de côté, en octets.
+ * @param purged           Le nombre de fichiers supprimés définitivement (fichiers mis de côté depuis plus longtemps
+ *                         que la durée de conservation, fichiers temporaires abandonnés).
+ * @param reclaimedBytes   La taille des fichiers supprimés définitivement, en octets.
+ * @param failed           Le nombre de fichiers qui n'ont pas pu être traités, laissés en place.
+ */
+public record OrphanCleanupReport(int scanned, int quarantined, long quarantinedBytes, int purged, long reclaimedBytes, int failed) {
+}
@@ -0,0 +1,19 @@
+package org.desha.app.domain.record;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record PagedResult<T>(List<T> content, long total, boolean exact) {
+
+    public PagedResult(List<T> content, long total) {
+        this(content, total, true);
+    }
+
+    public PagedResult(List<T> content, TotalCount totalCount) {
+        this(content, totalCount.value(), totalCount.exact());
+    }
+
+    public <R> PagedResult<R> map(Function<List<T>, List<R>> mapper) {
+        return new PagedResult<>(mapper.apply(content), total, exact);
+    }
+}
@@ -0,0 +1,13 @@
+package org.desha.app.domain.record;
+
+import org.desha.app.domain.enums.StatsDimension;
+
+/**
+ * Variation d'un compteur des statistiques des films.
+ *
+ * @param dimension La statistique concernée.
+ * @param label     Le libellé du compteur dans la répartition (décennie, mois, nom...). Peut être {@code null}.
+ * @param delta     La variation, négative pour un retrait.
+ */
+public record StatsDelta(StatsDimension dimension, String label, long delta) {
+}
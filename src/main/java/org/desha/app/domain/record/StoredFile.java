@@ -0,0 +1,22 @@
+package org.desha.app.domain.record;
+
+import jakarta.annotation.Nullable;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Fichier stocké (affiche, photo), prêt à être envoyé.
+ *
+ * @param path         Le chemin local du fichier, ou {@code null} si le fichier est servi par {@code location}.
+ * @param fileName     Le nom du fichier envoyé (celui du fichier par défaut si le fichier demandé est introuvable).
+ * @param mimeType     Le type MIME du fichier, ou {@code null} s'il n'a pas pu être déterminé.
+ * @param size         La taille du fichier, en octets.
+ * @param lastModified La date de dernière modification du fichier, en millisecondes depuis l'epoch.
+ * @param immutable    {@code true} si le nom du fichier identifie un contenu qui ne change jamais (nom généré au
+ *                     téléversement : empreinte du contenu, ou UUID pour les fichiers antérieurs).
+ * @param location     L'adresse temporaire vers laquelle rediriger le client lorsque le fichier est stocké à distance, ou
+ *                     {@code null} si le fichier est envoyé par l'application.
+ */
+public record StoredFile(@Nullable Path path, String fileName, String mimeType, long size, long lastModified, boolean immutable, @Nullable URI location) {
+}
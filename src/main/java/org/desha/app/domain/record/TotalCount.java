@@ -0,0 +1,4 @@
+package org.desha.app.domain.record;
+
+public record TotalCount(long value, boolean exact) {
+}
@@ -0,0 +1,12 @@
+package org.desha.app.domain.record;
+
+/**
+ * Fichier téléversé (affiche, photo), enregistré dans son répertoire de stockage.
+ *
+ * @param fileName Le nom sous lequel le fichier est stocké : son empreinte suivie de l'extension de son type.
+ * @param sha256   L'empreinte SHA-256 du contenu, en hexadécimal, calculée pendant l'écriture.
+ * @param size     La taille du fichier, en octets.
+ * @param mimeType Le type MIME déterminé à partir des premiers octets du contenu.
+ */
+public record UploadedFile(String fileName, String sha256, long size, String mimeType) {
+}
@@ -0,0 +1,42 @@
+package org.desha.app.health;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.desha.app.service.StatsService;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.util.Objects;
+
+/**
+ * Disponibilité des statistiques ({@code /q/health/ready}).
+ * <p>
+ * L'instance est prête dès que des statistiques peuvent être servies, y compris celles de l'instantané chargé au
+ * démarrage. La donnée {@code fresh} indique si elles ont déjà été recalculées depuis le démarrage, et
+ * {@code computedAt} la date de leur dernier calcul complet.
+ */
+@Readiness
+@ApplicationScoped
+public class StatsReadinessCheck implements HealthCheck {
+
+    private final StatsService statsService;
+
+    @Inject
+    public StatsReadinessCheck(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        final HealthCheckResponseBuilder builder =
+                HealthCheckResponse.named("stats")
+                        .status(statsService.isAvailable())
+                        .withData("fresh", statsService.isFresh());
+        if (Objects.nonNull(statsService.getComputedAt())) {
+            builder.withData("computedAt", statsService.getComputedAt().toString());
+        }
+        return builder.build();
+    }
+}
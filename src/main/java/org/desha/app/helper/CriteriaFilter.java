@@ -0,0 +1,45 @@
+package org.desha.app.helper;
+
+import io.quarkus.panache.common.Parameters;
+import org.desha.app.domain.dto.CriteriaDTO;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Filtre optionnel d'une requête de recherche.
+ * <p>
+ * Associe un critère de {@link CriteriaDTO} à la clause HQL ajoutée lorsqu'il est renseigné et au paramètre nommé
+ * qui porte sa valeur. Un critère de type collection n'est considéré comme renseigné que s'il n'est pas vide.
+ *
+ * @param clause    La clause HQL à ajouter après le {@code WHERE} (par exemple {@code " AND m.releaseDate >= :fromReleaseDate"}).
+ * @param parameter Le nom du paramètre utilisé dans la clause.
+ * @param value     La fonction lisant la valeur du critère dans le {@link CriteriaDTO}.
+ */
+public record CriteriaFilter(String clause, String parameter, Function<CriteriaDTO, Object> value) {
+
+    /**
+     * Indique si le critère est renseigné dans le {@link CriteriaDTO} fourni.
+     *
+     * @param criteriaDTO Les critères de la requête.
+     * @return {@code true} si la valeur est non nulle (et non vide pour une collection), {@code false} sinon.
+     */
+    public boolean isPresent(CriteriaDTO criteriaDTO) {
+        Object criteria = value.apply(criteriaDTO);
+        if (criteria instanceof Collection<?> collection) {
+            return !collection.isEmpty();
+        }
+        return Objects.nonNull(criteria);
+    }
+
+    /**
+     * Ajoute la valeur du critère aux paramètres de la requête.
+     *
+     * @param params      Les paramètres de la requête.
+     * @param criteriaDTO Les critères de la requête.
+     */
+    public void bind(Parameters params, CriteriaDTO criteriaDTO) {
+        params.and(parameter, value.apply(criteriaDTO));
+    }
+}
@@ -0,0 +1,132 @@
+package org.desha.app.helper;
+
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Nullable;
+import lombok.experimental.UtilityClass;
+import org.desha.app.domain.record.KeysetCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+@UtilityClass
+public class KeysetHelper {
+
+    private final String ID = "id";
+
+    /**
+     * Recherche les éléments situés après le curseur, en parcourant d'abord les valeurs non nulles du champ de tri,
+     * puis ses valeurs {@code NULL}.
+     * <p>
+     * Les deux intervalles sont interrogés séparément ({@link #buildClause(String, KeysetCursor)}) : une condition
+     * {@code champ IS NULL OR (champ, id) > (...)} ne peut pas être résolue par un seul parcours d'index. Les valeurs
+     * {@code NULL} ne sont lues que si la page n'est pas complète avec les valeurs non nulles.
+     *
+     * @param cursor Le curseur décodé. Peut être {@code null} pour la première page.
+     * @param size   Le nombre maximal d'éléments à retourner.
+     * @param query  La requête, exécutée avec un curseur et un nombre maximal d'éléments.
+     * @param <T>    Le type des éléments.
+     * @return Un {@link Uni} contenant les éléments situés après le curseur, dans l'ordre du tri.
+     */
+    public <T> Uni<List<T>> findAfter(@Nullable KeysetCursor cursor, int size, BiFunction<KeysetCursor, Integer, Uni<List<T>>> query) {
+        return
+                query.apply(cursor, size)
+                        .chain(items -> {
+                                    if (items.size() >= size || Objects.isNull(cursor) || Objects.equals(ID, cursor.sort()) || Objects.isNull(cursor.value())) {
+                                        return Uni.createFrom().item(items);
+                                    }
+                                    return
+                                            query.apply(new KeysetCursor(cursor.sort(), cursor.direction(), null, null), size - items.size())
+                                                    .map(nulls -> {
+                                                                final List<T> page = new ArrayList<>(items);
+                                                                page.addAll(nulls);
+                                                                return page;
+                                                            }
+                                                    );
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Construit la clause de positionnement après le curseur fourni.
+     * <p>
+     * L'ordre suivi est celui de {@link #buildOrderBy(String, String, Sort.Direction)} : les valeurs {@code NULL}
+     * sont placées en dernier quelle que soit la direction, puis l'identifiant départage les valeurs égales.
+     * La clause ne couvre qu'un seul intervalle, résolu par un simple parcours d'index {@code (champ, id)} dans le sens
+     * du tri :
+     * <ul>
+     *     <li>après une valeur non nulle, le couple {@code (champ, id)} est comparé à celui du curseur, ce qui exclut
+     *     les valeurs {@code NULL} ({@link #findAfter} les lit ensuite) ;</li>
+     *     <li>après une valeur {@code NULL}, seules les valeurs {@code NULL} suivantes sont retenues ;</li>
+     *     <li>un curseur sans identifiant désigne le début des valeurs {@code NULL}.</li>
+     * </ul>
+     *
+     * @param alias  L'alias de l'entité dans la requête (par exemple {@code m} ou {@code p}).
+     * @param cursor Le curseur décodé. Peut être {@code null} pour la première page.
+     * @return La clause à ajouter après le {@code WHERE}, ou une chaîne vide pour la première page.
+     */
+    public String buildClause(String alias, KeysetCursor cursor) {
+        if (Objects.isNull(cursor)) return "";
+
+        final String operator = (cursor.direction() == Sort.Direction.Ascending) ? ">" : "<";
+        final String field = alias + "." + cursor.sort();
+        final String id = alias + "." + ID;
+
+        if (Objects.equals(ID, cursor.sort())) {
+            return String.format(" AND %s %s :afterId", id, operator);
+        }
+
+        if (Objects.isNull(cursor.value())) {
+            return Objects.isNull(cursor.id())
+                    ? String.format(" AND %s IS NULL", field)
+                    : String.format(" AND %s IS NULL AND %s %s :afterId", field, id, operator);
+        }
+
+        return String.format(" AND (%s, %s) %s (:afterValue, :afterId)", field, id, operator);
+    }
+
+    /**
+     * Construit la clause de tri du mode curseur.
+     * <p>
+     * Elle reprend la sémantique du tri classique ({@code CASE WHEN ... IS NULL THEN 1 ELSE 0 END}) sous la forme
+     * {@code NULLS LAST}, et ajoute l'identifiant pour rendre l'ordre total. Le tri ascendant suit l'ordre des index
+     * {@code (champ, id)}, le tri descendant celui des index {@code (champ DESC NULLS LAST, id DESC)}.
+     *
+     * @param alias     L'alias de l'entité dans la requête.
+     * @param sort      Le champ de tri.
+     * @param direction La direction du tri.
+     * @return La clause {@code ORDER BY} complète.
+     */
+    public String buildOrderBy(String alias, String sort, Sort.Direction direction) {
+        final String dir = (direction == Sort.Direction.Ascending) ? "ASC" : "DESC";
+
+        if (Objects.equals(ID, sort)) {
+            return String.format(" ORDER BY %s.%s %s", alias, ID, dir);
+        }
+
+        return String.format(" ORDER BY %s.%s %s NULLS LAST, %s.%s %s", alias, sort, dir, alias, ID, dir);
+    }
+
+    /**
+     * Ajoute aux paramètres de la requête les valeurs issues du curseur.
+     *
+     * @param params Les paramètres de la requête.
+     * @param cursor Le curseur décodé. Peut être {@code null} pour la première page.
+     * @return Les paramètres complétés.
+     */
+    public Parameters addParameters(Parameters params, KeysetCursor cursor) {
+        if (Objects.isNull(cursor)) return params;
+
+        if (Objects.nonNull(cursor.id())) {
+            params.and("afterId", cursor.id());
+        }
+        if (!Objects.equals(ID, cursor.sort()) && Objects.nonNull(cursor.value())) {
+            params.and("afterValue", cursor.value());
+        }
+        return params;
+    }
+}
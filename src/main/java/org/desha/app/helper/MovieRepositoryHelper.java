@@ -3,56 +3,65 @@ package org.desha.app.helper;
 import io.quarkus.panache.common.Sort;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
-import org.desha.app.domain.enums.PersonType;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.entity.Movie;
-import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.entity.MoviePersonRole;
 
-import java.util.Map;
+import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @UtilityClass
-public class MovieRepositoryHelper extends SqlHelper {
-
-    private final Map<PersonType, String> ROLE_ENTITIES = Map.ofEntries(
-            Map.entry(PersonType.ACTOR, "MovieActor ma"),
-            Map.entry(PersonType.DIRECTOR, "MovieDirector md"),
-            Map.entry(PersonType.ASSISTANT_DIRECTOR, "MovieAssistantDirector mad"),
-            Map.entry(PersonType.SCREENWRITER, "MovieScreenwriter msc"),
-            Map.entry(PersonType.PRODUCER, "MovieProducer mpr"),
-            Map.entry(PersonType.COMPOSER, "MovieComposer mc"),
-            Map.entry(PersonType.MUSICIAN, "MovieMusician mm"),
-            Map.entry(PersonType.PHOTOGRAPHER, "MoviePhotographer mph"),
-            Map.entry(PersonType.COSTUME_DESIGNER, "MovieCostumeDesigner mcd"),
-            Map.entry(PersonType.SET_DESIGNER, "MovieSetDesigner msd"),
-            Map.entry(PersonType.EDITOR, "MovieEditor me"),
-            Map.entry(PersonType.CASTER, "MovieCaster mc"),
-            Map.entry(PersonType.ARTIST, "MovieArtist ma"),
-            Map.entry(PersonType.SOUND_EDITOR, "MovieSoundEditor mse"),
-            Map.entry(PersonType.VFX_SUPERVISOR, "MovieVfxSupervisor mvs"),
-            Map.entry(PersonType.SFX_SUPERVISOR, "MovieSfxSupervisor mss"),
-            Map.entry(PersonType.MAKEUP_ARTIST, "MovieMakeupArtist mma"),
-            Map.entry(PersonType.HAIR_DRESSER, "MovieHairDresser mhd"),
-            Map.entry(PersonType.STUNT_MAN, "MovieStuntman mst")
+public class MovieRepositoryHelper {
+
+    /**
+     * Condition restreignant les films (alias {@code m}) à ceux auxquels participe la personne d'identifiant
+     * {@code :personId}, quel que soit son rôle.
+     * <p>
+     * Elle s'appuie sur l'index {@link MoviePersonRole} : une seule lecture d'index sur {@code fk_personne}, quel que soit
+     * le nombre de types de la personne.
+     */
+    public final String PERSON_MOVIES_CLAUSE = "m.id IN (SELECT mpr.movieId FROM MoviePersonRole mpr WHERE mpr.personId = :personId)";
+
+    /**
+     * Filtres optionnels des recherches de films, dans l'ordre où leurs clauses sont ajoutées à la requête.
+     */
+    private final List<CriteriaFilter> FILTERS = List.of(
+            new CriteriaFilter(" AND m.releaseDate >= :fromReleaseDate", "fromReleaseDate", CriteriaDTO::getFromReleaseDate),
+            new CriteriaFilter(" AND m.releaseDate <= :toReleaseDate", "toReleaseDate", CriteriaDTO::getToReleaseDate),
+            new CriteriaFilter(" AND m.creationDate >= :fromCreationDate", "fromCreationDate", CriteriaDTO::getFromCreationDate),
+            new CriteriaFilter(" AND m.creationDate <= :toCreationDate", "toCreationDate", CriteriaDTO::getToCreationDate),
+            new CriteriaFilter(" AND m.lastUpdate >= :fromLastUpdate", "fromLastUpdate", CriteriaDTO::getFromLastUpdate),
+            new CriteriaFilter(" AND m.lastUpdate <= :toLastUpdate", "toLastUpdate", CriteriaDTO::getToLastUpdate),
+            new CriteriaFilter(" AND EXISTS (SELECT 1 FROM m.categories ca WHERE ca.id IN :categoryIds)", "categoryIds", CriteriaDTO::getCategoryIds),
+            new CriteriaFilter(" AND EXISTS (SELECT 1 FROM m.countries c WHERE c.id IN :countryIds)", "countryIds", CriteriaDTO::getCountryIds),
+            new CriteriaFilter(" AND m.user.id IN :userIds", "userIds", CriteriaDTO::getUserIds)
     );
 
-    public String buildExistsClause(Person person) {
-        return person.getTypes().stream()
-                .map(personType -> "EXISTS (SELECT 1 FROM " + ROLE_ENTITIES.get(personType) + " WHERE " + ROLE_ENTITIES.get(personType).split(" ")[1] + ".movie = m AND " + ROLE_ENTITIES.get(personType).split(" ")[1] + ".person = :person)")
-                .collect(Collectors.joining(" OR "));
-    }
-
+    /**
+     * Requêtes de recherche de films précompilées, par forme de critères et par tri.
+     */
+    public final QueryTemplateCache TEMPLATES = new QueryTemplateCache(FILTERS, MovieRepositoryHelper::addSort);
+
+    /**
+     * Construit la clause {@code ORDER BY} d'une recherche de films.
+     * <p>
+     * Le tri par nombre de récompenses s'appuie sur l'alias {@code awardsNumber} de la requête ; les autres champs
+     * doivent appartenir à {@link Movie#ALLOWED_SORT_FIELDS} et les valeurs {@code NULL} sont placées en dernier.
+     *
+     * @param sort      Le champ de tri. Peut être {@code null} ou vide pour ne pas trier.
+     * @param direction La direction du tri.
+     * @return La clause {@code ORDER BY}, ou une chaîne vide.
+     * @throws IllegalArgumentException si le champ de tri n'est pas autorisé.
+     */
     public String addSort(String sort, Sort.Direction direction) {
         if (StringUtils.isEmpty(sort)) return "";
 
         String dir = (direction == Sort.Direction.Ascending) ? "ASC" : "DESC";
 
         // Si le critère de tri est le nombre de récompenses
-        if ("awardsCount".equals(sort)) {
-            return String.format(" ORDER BY SIZE(m.awards) %s", dir);
+        if (Objects.equals("awardsCount", sort)) {
+            return String.format(" ORDER BY awardsNumber %s", dir);
         }
 
         // Protection basique contre injection ou champ non mappé
@@ -64,29 +73,4 @@ public class MovieRepositoryHelper extends SqlHelper {
         // Cas générique pour trier par un autre champ, avec gestion des NULL
         return String.format(" ORDER BY CASE WHEN m.%s IS NULL THEN 1 ELSE 0 END, m.%s %s", sort, sort, dir);
     }
-
-    public String addClauses(CriteriaDTO criteriaDTO) {
-        StringBuilder query = new StringBuilder();
-
-        Optional.ofNullable(criteriaDTO.getFromReleaseDate()).ifPresent(date -> query.append(" AND m.releaseDate >= :fromReleaseDate"));
-        Optional.ofNullable(criteriaDTO.getToReleaseDate()).ifPresent(date -> query.append(" AND m.releaseDate <= :toReleaseDate"));
-        Optional.ofNullable(criteriaDTO.getFromCreationDate()).ifPresent(date -> query.append(" AND m.creationDate >= :fromCreationDate"));
-        Optional.ofNullable(criteriaDTO.getToCreationDate()).ifPresent(date -> query.append(" AND m.creationDate <= :toCreationDate"));
-        Optional.ofNullable(criteriaDTO.getFromLastUpdate()).ifPresent(date -> query.append(" AND m.lastUpdate >= :fromLastUpdate"));
-        Optional.ofNullable(criteriaDTO.getToLastUpdate()).ifPresent(date -> query.append(" AND m.lastUpdate <= :toLastUpdate"));
-
-        if (Objects.nonNull(criteriaDTO.getCategoryIds()) && !criteriaDTO.getCategoryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM m.categories c WHERE c.id IN :categoryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM m.countries c WHERE c.id IN :countryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getUserIds()) && !criteriaDTO.getUserIds().isEmpty()) {
-            query.append(" AND m.user.id IN :userIds");
-        }
-
-        return query.toString();
-    }
 }
@@ -0,0 +1,99 @@
+package org.desha.app.helper;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Parameters;
+import io.smallrye.mutiny.Uni;
+import lombok.experimental.UtilityClass;
+import org.desha.app.domain.record.PagedResult;
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@UtilityClass
+public class PagedQueryHelper {
+
+    /**
+     * Colonne de fenêtrage à ajouter en dernière position de la clause {@code SELECT} d'une requête paginée.
+     * Elle est évaluée après le filtrage (et le {@code GROUP BY} éventuel) mais avant le {@code LIMIT}/{@code OFFSET},
+     * et porte donc le nombre total de lignes correspondant aux critères sur chaque ligne de la page.
+     */
+    public final String TOTAL_COLUMN = "COUNT(*) OVER() AS total";
+
+    /**
+     * Exécute une requête paginée et récupère, dans le même aller-retour, la page demandée et le nombre total de résultats.
+     * <p>
+     * La requête doit se terminer, dans sa clause {@code SELECT}, par {@link #TOTAL_COLUMN}. Chaque ligne est transmise
+     * au {@code rowMapper} sous forme de tableau, la dernière colonne étant le total.
+     * <p>
+     * Lorsqu'une page au-delà de la dernière est demandée, aucune ligne n'est retournée et le total ne peut pas être lu :
+     * le {@code countFallback} est alors utilisé. Pour la première page, une page vide signifie un total nul.
+     *
+     * @param query         La requête HQL, incluant le tri.
+     * @param params        Les paramètres nommés de la requête.
+     * @param page          La page à récupérer.
+     * @param rowMapper     La fonction construisant un élément à partir d'une ligne de résultat.
+     * @param countFallback Le comptage à utiliser lorsque la page demandée est vide et n'est pas la première.
+     * @param <T>           Le type des éléments de la page.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec les éléments de la page et le nombre total de résultats.
+     */
+    public <T> Uni<PagedResult<T>> findPage(String query, Parameters params, Page page, Function<Object[], T> rowMapper, Supplier<Uni<Long>> countFallback) {
+        return
+                findRows(query, params, page)
+                        .chain(rows -> {
+                                    List<T> content = rows.stream().map(rowMapper).toList();
+                                    if (!rows.isEmpty()) {
+                                        Object[] first = rows.getFirst();
+                                        return Uni.createFrom().item(new PagedResult<>(content, ((Number) first[first.length - 1]).longValue()));
+                                    }
+                                    if (page.index == 0) {
+                                        return Uni.createFrom().item(new PagedResult<>(content, 0L));
+                                    }
+                                    return countFallback.get().map(total -> new PagedResult<>(content, total));
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Exécute une requête paginée sans colonne de total et retourne uniquement les éléments de la page.
+     * <p>
+     * Utilisée lorsque le total est obtenu par un autre moyen (estimation ou cache), afin d'éviter le coût
+     * du comptage exact porté par {@link #TOTAL_COLUMN}.
+     *
+     * @param query     La requête HQL, incluant le tri.
+     * @param params    Les paramètres nommés de la requête.
+     * @param page      La page à récupérer.
+     * @param rowMapper La fonction construisant un élément à partir d'une ligne de résultat.
+     * @param <T>       Le type des éléments de la page.
+     * @return Un {@link Uni} contenant la {@link List} des éléments de la page.
+     */
+    public <T> Uni<List<T>> findContent(String query, Parameters params, Page page, Function<Object[], T> rowMapper) {
+        return findRows(query, params, page).map(rows -> rows.stream().map(rowMapper).toList());
+    }
+
+    /**
+     * Retourne la colonne de total à concaténer à la clause {@code SELECT}, ou une chaîne vide si le total n'est pas demandé.
+     *
+     * @param withTotal {@code true} pour ajouter {@link #TOTAL_COLUMN}.
+     * @return Le fragment de requête à insérer après la dernière colonne sélectionnée.
+     */
+    public String totalColumn(boolean withTotal) {
+        return withTotal ? ", " + TOTAL_COLUMN : "";
+    }
+
+    private Uni<List<Object[]>> findRows(String query, Parameters params, Page page) {
+        return
+                Panache.getSession()
+                        .chain(session -> {
+                                    Mutiny.SelectionQuery<Object[]> selectionQuery = session.createSelectionQuery(query, Object[].class)
+                                            .setFirstResult(page.index * page.size)
+                                            .setMaxResults(page.size);
+                                    params.map().forEach(selectionQuery::setParameter);
+                                    return selectionQuery.getResultList();
+                                }
+                        );
+    }
+}
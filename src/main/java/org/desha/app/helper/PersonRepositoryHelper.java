@@ -5,12 +5,44 @@ import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.entity.Person;
 
-import java.util.Objects;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 
-public class PersonRepositoryHelper extends SqlHelper {
+public class PersonRepositoryHelper {
 
+    /**
+     * Filtres optionnels des recherches de personnes, dans l'ordre où leurs clauses sont ajoutées à la requête.
+     */
+    private static final List<CriteriaFilter> FILTERS = List.of(
+            new CriteriaFilter(" AND p.dateOfBirth >= :fromBirthDate", "fromBirthDate", CriteriaDTO::getFromBirthDate),
+            new CriteriaFilter(" AND p.dateOfBirth <= :toBirthDate", "toBirthDate", CriteriaDTO::getToBirthDate),
+            new CriteriaFilter(" AND p.dateOfDeath >= :fromDeathDate", "fromDeathDate", CriteriaDTO::getFromDeathDate),
+            new CriteriaFilter(" AND p.dateOfDeath <= :toDeathDate", "toDeathDate", CriteriaDTO::getToDeathDate),
+            new CriteriaFilter(" AND p.creationDate >= :fromCreationDate", "fromCreationDate", CriteriaDTO::getFromCreationDate),
+            new CriteriaFilter(" AND p.creationDate <= :toCreationDate", "toCreationDate", CriteriaDTO::getToCreationDate),
+            new CriteriaFilter(" AND p.lastUpdate >= :fromLastUpdate", "fromLastUpdate", CriteriaDTO::getFromLastUpdate),
+            new CriteriaFilter(" AND p.lastUpdate <= :toLastUpdate", "toLastUpdate", CriteriaDTO::getToLastUpdate),
+            new CriteriaFilter(" AND EXISTS (SELECT 1 FROM p.countries c WHERE c.id IN :countryIds)", "countryIds", CriteriaDTO::getCountryIds),
+            new CriteriaFilter(" AND EXISTS (SELECT 1 FROM p.types t WHERE t IN :personTypes)", "personTypes", CriteriaDTO::getPersonTypes)
+    );
+
+    /**
+     * Requêtes de recherche de personnes précompilées, par forme de critères et par tri.
+     */
+    public static final QueryTemplateCache TEMPLATES = new QueryTemplateCache(FILTERS, PersonRepositoryHelper::addSort);
+
+    /**
+     * Construit la clause {@code ORDER BY} d'une recherche de personnes.
+     * <p>
+     * Les tris par nombre de films et par nombre de récompenses s'appuient sur les alias {@code moviesNumber} et
+     * {@code awardsNumber} de la requête ; les autres champs doivent appartenir à {@link Person#ALLOWED_SORT_FIELDS}
+     * et les valeurs {@code NULL} sont placées en dernier.
+     *
+     * @param sort      Le champ de tri. Peut être {@code null} ou vide pour ne pas trier.
+     * @param direction La direction du tri.
+     * @return La clause {@code ORDER BY}, ou une chaîne vide.
+     * @throws IllegalArgumentException si le champ de tri n'est pas autorisé.
+     */
     public static String addSort(String sort, Sort.Direction direction) {
         if (StringUtils.isEmpty(sort)) return "";
 
@@ -35,27 +67,4 @@ public class PersonRepositoryHelper extends SqlHelper {
         // Cas générique pour trier par un autre champ, avec gestion des NULL
         return String.format(" ORDER BY CASE WHEN p.%s IS NULL THEN 1 ELSE 0 END, p.%s %s", sort, sort, dir);
     }
-
-    public static String addClauses(CriteriaDTO criteriaDTO) {
-        StringBuilder query = new StringBuilder();
-
-        Optional.ofNullable(criteriaDTO.getFromBirthDate()).ifPresent(date -> query.append(" AND p.dateOfBirth >= :fromBirthDate"));
-        Optional.ofNullable(criteriaDTO.getToBirthDate()).ifPresent(date -> query.append(" AND p.dateOfBirth <= :toBirthDate"));
-        Optional.ofNullable(criteriaDTO.getFromDeathDate()).ifPresent(date -> query.append(" AND p.dateOfDeath >= :fromDeathDate"));
-        Optional.ofNullable(criteriaDTO.getToDeathDate()).ifPresent(date -> query.append(" AND p.dateOfDeath <= :toDeathDate"));
-        Optional.ofNullable(criteriaDTO.getFromCreationDate()).ifPresent(date -> query.append(" AND p.creationDate >= :fromCreationDate"));
-        Optional.ofNullable(criteriaDTO.getToCreationDate()).ifPresent(date -> query.append(" AND p.creationDate <= :toCreationDate"));
-        Optional.ofNullable(criteriaDTO.getFromLastUpdate()).ifPresent(date -> query.append(" AND p.lastUpdate >= :fromLastUpdate"));
-        Optional.ofNullable(criteriaDTO.getToLastUpdate()).ifPresent(date -> query.append(" AND p.lastUpdate <= :toLastUpdate"));
-
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM p.countries c WHERE c.id IN :countryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getPersonTypes()) && !criteriaDTO.getPersonTypes().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM p.types t WHERE t IN :personTypes)");
-        }
-
-        return query.toString();
-    }
 }
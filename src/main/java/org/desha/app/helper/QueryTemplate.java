@@ -0,0 +1,30 @@
+package org.desha.app.helper;
+
+import io.quarkus.panache.common.Parameters;
+import org.desha.app.domain.dto.CriteriaDTO;
+
+/**
+ * Requête HQL précompilée pour une forme de critères donnée.
+ * <p>
+ * Le texte de la requête est figé (clauses de filtrage et tri inclus) ; seules les valeurs des critères varient d'un appel
+ * à l'autre et sont ajoutées par les {@code binders}, dans l'ordre des clauses.
+ *
+ * @param query   La requête HQL complète.
+ * @param binders Les filtres présents dans la requête, chargés d'ajouter leur paramètre.
+ */
+public record QueryTemplate(String query, CriteriaFilter[] binders) {
+
+    /**
+     * Ajoute aux paramètres de la requête les valeurs des critères utilisés par ce modèle.
+     *
+     * @param params      Les paramètres de la requête (terme de recherche, identifiant, etc.).
+     * @param criteriaDTO Les critères de la requête. Ils doivent avoir la même forme que ceux ayant servi à construire le modèle.
+     * @return Les paramètres complétés.
+     */
+    public Parameters bind(Parameters params, CriteriaDTO criteriaDTO) {
+        for (CriteriaFilter binder : binders) {
+            binder.bind(params, criteriaDTO);
+        }
+        return params;
+    }
+}
@@ -0,0 +1,146 @@
+package org.desha.app.helper;
+
+import io.quarkus.panache.common.Sort;
+import org.desha.app.domain.dto.CriteriaDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Cache des requêtes de recherche précompilées, indexé par la forme des critères.
+ * <p>
+ * Une requête est décrite par un squelette {@link String#format(String, Object...)} dont les emplacements positionnels
+ * sont :
+ * <ul>
+ *     <li>{@code %1$s} : les clauses de filtrage des critères renseignés ;</li>
+ *     <li>{@code %2$s} : la clause {@code ORDER BY} ;</li>
+ *     <li>{@code %3$s} : la colonne de comptage {@link PagedQueryHelper#TOTAL_COLUMN}, précédée d'une virgule, si demandée.</li>
+ * </ul>
+ * La requête finale ne dépend que du squelette, du masque des critères renseignés, du champ et de la direction de tri :
+ * elle est construite une seule fois pour chaque combinaison, puis réutilisée. Le nombre d'entrées est borné car le champ
+ * de tri est validé avant l'insertion (un champ non autorisé lève une exception et n'est jamais mis en cache).
+ * <p>
+ * Les squelettes doivent être des constantes : la clé compare leur contenu, mais le calcul de leur empreinte n'est
+ * alors effectué qu'une fois.
+ */
+public class QueryTemplateCache {
+
+    /**
+     * Squelette réduit aux seules clauses de filtrage, pour les requêtes dont le reste du texte est construit à chaque appel
+     * (pagination par curseur, filtres par personne).
+     */
+    public static final String CLAUSES = "%1$s";
+
+    private record Key(String skeleton, int mask, String sort, Sort.Direction direction, boolean withTotal) {
+    }
+
+    private final CriteriaFilter[] filters;
+    private final BiFunction<String, Sort.Direction, String> orderBy;
+    private final Map<Key, QueryTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * @param filters Les filtres optionnels de l'entité, dans l'ordre où leurs clauses sont ajoutées (31 au maximum).
+     * @param orderBy La fonction construisant la clause {@code ORDER BY} à partir du champ et de la direction de tri.
+     *                Elle doit lever une {@link IllegalArgumentException} pour un champ non autorisé.
+     */
+    public QueryTemplateCache(List<CriteriaFilter> filters, BiFunction<String, Sort.Direction, String> orderBy) {
+        if (filters.size() >= Integer.SIZE) {
+            throw new IllegalArgumentException("Trop de filtres pour un masque de critères : " + filters.size());
+        }
+        this.filters = filters.toArray(CriteriaFilter[]::new);
+        this.orderBy = orderBy;
+    }
+
+    /**
+     * Retourne le modèle réduit aux clauses de filtrage correspondant aux critères fournis.
+     *
+     * @param criteriaDTO Les critères de la requête.
+     * @return Le {@link QueryTemplate} dont la requête contient uniquement les clauses des critères renseignés.
+     */
+    public QueryTemplate clauses(CriteriaDTO criteriaDTO) {
+        return get(CLAUSES, criteriaDTO, null, null, false);
+    }
+
+    /**
+     * Retourne le modèle d'une requête sans tri ni colonne de comptage (requêtes {@code COUNT}).
+     *
+     * @param skeleton    Le squelette de la requête.
+     * @param criteriaDTO Les critères de la requête.
+     * @return Le {@link QueryTemplate} correspondant à la forme des critères.
+     */
+    public QueryTemplate get(String skeleton, CriteriaDTO criteriaDTO) {
+        return get(skeleton, criteriaDTO, null, null, false);
+    }
+
+    /**
+     * Retourne le modèle de requête correspondant au squelette, à la forme des critères et au tri, en le construisant
+     * lors du premier appel.
+     *
+     * @param skeleton    Le squelette de la requête.
+     * @param criteriaDTO Les critères de la requête.
+     * @param sort        Le champ de tri. Peut être {@code null} ou vide pour ne pas trier.
+     * @param direction   La direction du tri.
+     * @param withTotal   {@code true} pour ajouter la colonne {@link PagedQueryHelper#TOTAL_COLUMN}.
+     * @return Le {@link QueryTemplate} correspondant.
+     * @throws IllegalArgumentException si le champ de tri n'est pas autorisé.
+     */
+    public QueryTemplate get(String skeleton, CriteriaDTO criteriaDTO, String sort, Sort.Direction direction, boolean withTotal) {
+        final int mask = mask(criteriaDTO);
+        return templates.computeIfAbsent(
+                new Key(skeleton, mask, sort, direction, withTotal),
+                key -> compile(key.skeleton(), key.mask(), key.sort(), key.direction(), key.withTotal())
+        );
+    }
+
+    /**
+     * Construit le modèle de requête sans passer par le cache.
+     * <p>
+     * Réservé aux mesures de performance : les repositories doivent utiliser
+     * {@link #get(String, CriteriaDTO, String, Sort.Direction, boolean)}.
+     *
+     * @param skeleton    Le squelette de la requête.
+     * @param criteriaDTO Les critères de la requête.
+     * @param sort        Le champ de tri.
+     * @param direction   La direction du tri.
+     * @param withTotal   {@code true} pour ajouter la colonne {@link PagedQueryHelper#TOTAL_COLUMN}.
+     * @return Le {@link QueryTemplate} construit.
+     */
+    public QueryTemplate compile(String skeleton, CriteriaDTO criteriaDTO, String sort, Sort.Direction direction, boolean withTotal) {
+        return compile(skeleton, mask(criteriaDTO), sort, direction, withTotal);
+    }
+
+    /**
+     * @return Le nombre de modèles actuellement en cache.
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    private int mask(CriteriaDTO criteriaDTO) {
+        int mask = 0;
+        for (int i = 0; i < filters.length; i++) {
+            if (filters[i].isPresent(criteriaDTO)) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    private QueryTemplate compile(String skeleton, int mask, String sort, Sort.Direction direction, boolean withTotal) {
+        StringBuilder clauses = new StringBuilder();
+        List<CriteriaFilter> binders = new ArrayList<>();
+
+        for (int i = 0; i < filters.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                clauses.append(filters[i].clause());
+                binders.add(filters[i]);
+            }
+        }
+
+        final String query = String.format(skeleton, clauses, orderBy.apply(sort, direction), PagedQueryHelper.totalColumn(withTotal));
+        return new QueryTemplate(query, binders.toArray(CriteriaFilter[]::new));
+    }
+}
@@ -0,0 +1,233 @@
+package org.desha.app.helper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.quarkus.panache.common.Page;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.utils.Utils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Cache en mémoire d'une table de référence de petite taille (pays, catégories), chargée entièrement.
+ * <p>
+ * Le contenu de la table est chargé au premier accès puis conservé jusqu'à son invalidation par les services qui
+ * la modifient ({@link #invalidate()}). La recherche, le tri et la pagination sont effectués en mémoire : chaque champ
+ * de recherche est indexé sous sa forme normalisée ({@link Utils#normalizeForSearch(String)}, sans accents ni
+ * majuscules), ce qui reproduit la comparaison {@code LOWER(unaccent(...)) LIKE} des requêtes SQL.
+ * <p>
+ * Les éléments retournés sont des entités détachées : ils ne doivent servir qu'en lecture et ne peuvent pas être
+ * associés à une entité gérée par une session.
+ * <p>
+ * Métriques exposées, avec le tag {@code cache} :
+ * <ul>
+ *     <li>{@code pmdb.reference_cache.hits} : accès servis par le contenu déjà chargé (ou en cours de chargement) ;</li>
+ *     <li>{@code pmdb.reference_cache.misses} : accès ayant déclenché un chargement ;</li>
+ *     <li>{@code pmdb.reference_cache.size} : nombre d'éléments en cache.</li>
+ * </ul>
+ *
+ * @param <T> Le type des éléments de la table.
+ */
+@Slf4j
+public class ReferenceDataCache<T> {
+
+    private final String name;
+    private final Supplier<Uni<List<T>>> loader;
+    private final Function<T, Long> idGetter;
+    private final Map<String, Function<T, String>> searchFields;
+    private final Map<String, Comparator<T>> sortFields;
+    private final AtomicReference<Uni<Snapshot<T>>> snapshot = new AtomicReference<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param name         Le nom du cache, utilisé comme tag des métriques.
+     * @param registry     Le registre des métriques.
+     * @param loader       Le chargement complet de la table.
+     * @param idGetter     L'accès à l'identifiant d'un élément.
+     * @param searchFields Les champs de recherche, indexés par nom de propriété.
+     * @param sortFields   Les comparateurs (ordre croissant) des champs de tri autorisés, indexés par nom de propriété.
+     */
+    public ReferenceDataCache(
+            String name,
+            MeterRegistry registry,
+            Supplier<Uni<List<T>>> loader,
+            Function<T, Long> idGetter,
+            Map<String, Function<T, String>> searchFields,
+            Map<String, Comparator<T>> sortFields
+    ) {
+        this.name = name;
+        this.loader = loader;
+        this.idGetter = idGetter;
+        this.searchFields = searchFields;
+        this.sortFields = sortFields;
+        this.hits = registry.counter("pmdb.reference_cache.hits", "cache", name);
+        this.misses = registry.counter("pmdb.reference_cache.misses", "cache", name);
+        registry.gauge("pmdb.reference_cache.size", List.of(Tag.of("cache", name)), size);
+    }
+
+    /**
+     * Comparateur croissant sur un champ texte, insensible à la casse et aux accents, les valeurs nulles en dernier.
+     */
+    public static <T> Comparator<T> text(Function<T, String> getter) {
+        return Comparator.comparing(
+                (T element) -> Optional.ofNullable(getter.apply(element)).map(Utils::normalizeForSearch).orElse(null),
+                Comparator.nullsLast(Comparator.naturalOrder())
+        );
+    }
+
+    /**
+     * Comparateur croissant selon l'ordre naturel d'un champ, les valeurs nulles en dernier.
+     */
+    public static <T, C extends Comparable<? super C>> Comparator<T> natural(Function<T, C> getter) {
+        return Comparator.comparing(getter, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    /**
+     * Vide le cache : le prochain accès rechargera la table.
+     * <p>
+     * À appeler après la validation de toute transaction modifiant la table. Un chargement en cours est abandonné pour
+     * les accès suivants, son résultat pouvant précéder la modification.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+        log.debug("Cache de référence {} invalidé", name);
+    }
+
+    /**
+     * @return Un {@link Uni} contenant tous les éléments, dans l'ordre de chargement.
+     */
+    public Uni<List<T>> findAll() {
+        return snapshot().map(Snapshot::elements);
+    }
+
+    /**
+     * @param id L'identifiant recherché.
+     * @return Un {@link Uni} contenant l'élément correspondant, ou {@code null} s'il n'existe pas.
+     */
+    public Uni<T> findById(Long id) {
+        return snapshot().map(current -> current.byId().get(id));
+    }
+
+    /**
+     * Compte les éléments dont le champ de recherche contient le terme, sans tenir compte de la casse ni des accents.
+     *
+     * @param term        Le terme recherché. Peut être {@code null} pour compter tous les éléments.
+     * @param searchField Le nom du champ de recherche.
+     * @return Un {@link Uni} contenant le nombre d'éléments correspondants.
+     */
+    public Uni<Long> count(@Nullable String term, String searchField) {
+        return snapshot().map(current -> (long) current.search(term, searchField).size());
+    }
+
+    /**
+     * Recherche et trie les éléments dont le champ de recherche contient le terme.
+     *
+     * @param sort        Le champ de tri. Un champ inconnu trie par identifiant.
+     * @param direction   La direction du tri.
+     * @param term        Le terme recherché. Peut être {@code null} pour retourner tous les éléments.
+     * @param searchField Le nom du champ de recherche.
+     * @return Un {@link Uni} contenant la liste triée des éléments correspondants.
+     */
+    public Uni<List<T>> find(String sort, Sort.Direction direction, @Nullable String term, String searchField) {
+        return snapshot().map(current -> sorted(current.search(term, searchField), sort, direction));
+    }
+
+    /**
+     * Recherche, trie et pagine les éléments dont le champ de recherche contient le terme.
+     *
+     * @param page        La page à retourner.
+     * @param sort        Le champ de tri. Un champ inconnu trie par identifiant.
+     * @param direction   La direction du tri.
+     * @param term        Le terme recherché. Peut être {@code null} pour retourner tous les éléments.
+     * @param searchField Le nom du champ de recherche.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page demandée et le nombre total d'éléments correspondants.
+     */
+    public Uni<PagedResult<T>> find(Page page, String sort, Sort.Direction direction, @Nullable String term, String searchField) {
+        return
+                snapshot().map(current -> {
+                            List<T> matching = sorted(current.search(term, searchField), sort, direction);
+                            int from = (int) Math.min((long) page.index * page.size, matching.size());
+                            int to = (int) Math.min((long) from + page.size, matching.size());
+                            return new PagedResult<>(List.copyOf(matching.subList(from, to)), matching.size());
+                        }
+                );
+    }
+
+    private List<T> sorted(List<T> elements, String sort, Sort.Direction direction) {
+        Comparator<T> comparator = Optional.ofNullable(sortFields.get(sort))
+                .orElseGet(() -> natural(idGetter));
+        if (direction == Sort.Direction.Descending) {
+            comparator = comparator.reversed();
+        }
+        // Départage par identifiant pour une pagination stable
+        return elements.stream().sorted(comparator.thenComparing(natural(idGetter))).toList();
+    }
+
+    private Uni<Snapshot<T>> snapshot() {
+        Uni<Snapshot<T>> current = snapshot.get();
+        if (Objects.nonNull(current)) {
+            hits.increment();
+            return current;
+        }
+
+        misses.increment();
+        AtomicReference<Uni<Snapshot<T>>> self = new AtomicReference<>();
+        Uni<Snapshot<T>> loading = Uni.createFrom().deferred(loader::get)
+                .map(this::build)
+                .onFailure().invoke(throwable -> {
+                            // Un échec de chargement ne doit pas rester en cache
+                            snapshot.compareAndSet(self.get(), null);
+                            log.error("Erreur lors du chargement du cache de référence {}", name, throwable);
+                        }
+                )
+                .memoize().indefinitely();
+        self.set(loading);
+
+        return snapshot.compareAndSet(null, loading) ? loading : snapshot();
+    }
+
+    private Snapshot<T> build(List<T> elements) {
+        Map<Long, T> byId = new HashMap<>();
+        elements.forEach(element -> byId.put(idGetter.apply(element), element));
+
+        Map<String, List<String>> folded = new HashMap<>();
+        searchFields.forEach((field, getter) ->
+                folded.put(field, elements.stream().map(getter).map(Utils::normalizeForSearch).toList())
+        );
+
+        size.set(elements.size());
+        log.debug("Cache de référence {} chargé : {} élément(s)", name, elements.size());
+        return new Snapshot<>(List.copyOf(elements), Map.copyOf(byId), Map.copyOf(folded));
+    }
+
+    private record Snapshot<T>(List<T> elements, Map<Long, T> byId, Map<String, List<String>> folded) {
+
+        List<T> search(@Nullable String term, String searchField) {
+            final String foldedTerm = Utils.normalizeForSearch(term);
+            if (foldedTerm.isEmpty()) {
+                return elements;
+            }
+
+            final List<String> names = Optional.ofNullable(folded.get(searchField))
+                    .orElseThrow(() -> new IllegalArgumentException("Champ de recherche inconnu : " + searchField));
+            return
+                    IntStream.range(0, elements.size())
+                            .filter(i -> names.get(i).contains(foldedTerm))
+                            .mapToObj(elements::get)
+                            .toList()
+                    ;
+        }
+    }
+}
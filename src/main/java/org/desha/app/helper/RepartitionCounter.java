@@ -0,0 +1,116 @@
+package org.desha.app.helper;
+
+import jakarta.annotation.Nullable;
+import org.desha.app.domain.record.Repartition;
+
+import java.util.*;
+
+/**
+ * Répartition tenue en mémoire sous forme de compteurs par libellé (décennie, mois, utilisateur, pays, catégorie).
+ * <p>
+ * Les écritures appliquent des variations unitaires ({@link #add(String, long)}) au lieu de recalculer la répartition
+ * par un {@code GROUP BY} ; la répartition complète n'est lue en base qu'au chargement ({@link #reset(List)}) et lors
+ * des réconciliations ({@link #reconcile(List)}). Un libellé dont le compteur revient à zéro disparaît de la
+ * répartition. Le libellé {@code null} (par exemple un film sans date de sortie) est un libellé comme un autre.
+ */
+public class RepartitionCounter {
+
+    /**
+     * Ordre croissant des libellés, les libellés nuls en dernier.
+     */
+    public static final Comparator<Repartition> BY_LABEL =
+            Comparator.comparing(Repartition::label, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /**
+     * Ordre décroissant des totaux, puis croissant des libellés.
+     */
+    public static final Comparator<Repartition> BY_TOTAL_DESC =
+            Comparator.comparing(Repartition::total).reversed().thenComparing(BY_LABEL);
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final Comparator<Repartition> order;
+
+    /**
+     * @param order L'ordre des éléments de la répartition retournée par {@link #snapshot()}.
+     */
+    public RepartitionCounter(Comparator<Repartition> order) {
+        this.order = order;
+    }
+
+    /**
+     * Ajoute une variation au compteur d'un libellé.
+     *
+     * @param label Le libellé. Peut être {@code null}.
+     * @param delta La variation, négative pour un retrait.
+     */
+    public synchronized void add(@Nullable String label, long delta) {
+        counts.merge(label, delta, (current, increment) -> current + increment == 0 ? null : current + increment);
+    }
+
+    /**
+     * Remplace tous les compteurs par une répartition lue en base.
+     *
+     * @param repartition La répartition de référence.
+     */
+    public synchronized void reset(List<Repartition> repartition) {
+        counts.clear();
+        counts.putAll(toMap(repartition));
+    }
+
+    /**
+     * Compare les compteurs à une répartition lue en base et les remplace en cas d'écart.
+     *
+     * @param repartition La répartition de référence.
+     * @return Le nombre de libellés dont le compteur était faux (absent, en trop ou de valeur différente).
+     */
+    public synchronized int reconcile(List<Repartition> repartition) {
+        final Map<String, Long> expected = toMap(repartition);
+        final Set<String> labels = new HashSet<>(expected.keySet());
+        labels.addAll(counts.keySet());
+
+        final int drift = (int) labels.stream()
+                .filter(label -> !Objects.equals(counts.get(label), expected.get(label)))
+                .count();
+        if (drift > 0) {
+            counts.clear();
+            counts.putAll(expected);
+        }
+        return drift;
+    }
+
+    /**
+     * @return La répartition courante, dans l'ordre du compteur.
+     */
+    public synchronized List<Repartition> snapshot() {
+        return
+                counts.entrySet().stream()
+                        .map(entry -> new Repartition(entry.getKey(), entry.getValue()))
+                        .sorted(order)
+                        .toList()
+                ;
+    }
+
+    /**
+     * @return Le cumul de la répartition courante dans l'ordre des libellés (évolution d'un nombre dans le temps).
+     */
+    public synchronized List<Repartition> cumulative() {
+        final List<Repartition> cumulative = new ArrayList<>(counts.size());
+        long total = 0;
+        for (Repartition repartition : counts.entrySet().stream()
+                .map(entry -> new Repartition(entry.getKey(), entry.getValue()))
+                .sorted(BY_LABEL)
+                .toList()) {
+            total += repartition.total();
+            cumulative.add(new Repartition(repartition.label(), total));
+        }
+        return cumulative;
+    }
+
+    private static Map<String, Long> toMap(List<Repartition> repartition) {
+        // HashMap plutôt que Collectors.toMap, qui refuse le libellé null
+        final Map<String, Long> map = new HashMap<>();
+        repartition.forEach(element -> map.merge(element.label(), element.total(), Long::sum));
+        map.values().removeIf(total -> total == 0);
+        return map;
+    }
+}
@@ -0,0 +1,128 @@
+package org.desha.app.helper;
+
+import jakarta.annotation.Nullable;
+import org.desha.app.domain.entity.Category;
+import org.desha.app.domain.entity.Country;
+import org.desha.app.domain.entity.Movie;
+import org.desha.app.domain.enums.StatsDimension;
+import org.desha.app.domain.record.StatsDelta;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Modifications des statistiques relevées au cours d'une écriture.
+ * <p>
+ * Les variations sont calculées dans la transaction de l'écriture, à partir de l'état des entités avant et après
+ * modification, mais ne sont transmises à {@link org.desha.app.service.StatsService#submit(StatsChanges)} qu'après
+ * la validation de la transaction : une écriture annulée ne modifie pas les statistiques.
+ */
+public class StatsChanges {
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final List<StatsDelta> deltas = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Relève la création d'un film. Ses collections (catégories, pays) doivent être chargées.
+     *
+     * @param movie Le film créé.
+     */
+    public void movieAdded(Movie movie) {
+        movieDelta(movie, 1);
+    }
+
+    /**
+     * Relève la suppression d'un film, avant que ses collections (catégories, pays) ne soient vidées.
+     *
+     * @param movie Le film supprimé.
+     */
+    public void movieRemoved(Movie movie) {
+        movieDelta(movie, -1);
+    }
+
+    /**
+     * Relève la modification de la date de sortie d'un film.
+     *
+     * @param before La date de sortie avant modification. Peut être {@code null}.
+     * @param after  La date de sortie après modification. Peut être {@code null}.
+     */
+    public void releaseDateChanged(@Nullable LocalDate before, @Nullable LocalDate after) {
+        final String beforeDecade = toDecade(before);
+        final String afterDecade = toDecade(after);
+        if (!Objects.equals(beforeDecade, afterDecade)) {
+            deltas.add(new StatsDelta(StatsDimension.RELEASE_DATE, beforeDecade, -1));
+            deltas.add(new StatsDelta(StatsDimension.RELEASE_DATE, afterDecade, 1));
+        }
+    }
+
+    /**
+     * Relève la modification des catégories d'un film.
+     *
+     * @param before Les catégories du film avant modification.
+     * @param after  Les catégories du film après modification.
+     */
+    public void categoriesChanged(Collection<Category> before, Collection<Category> after) {
+        diff(StatsDimension.CATEGORY, before, after, Category::getId, Category::getName);
+    }
+
+    /**
+     * Relève la modification des pays d'un film.
+     *
+     * @param before Les pays du film avant modification.
+     * @param after  Les pays du film après modification.
+     */
+    public void countriesChanged(Collection<Country> before, Collection<Country> after) {
+        diff(StatsDimension.COUNTRY, before, after, Country::getId, Country::getNomFrFr);
+    }
+
+    /**
+     * Relève une modification des acteurs (casting d'un film, suppression d'une personne).
+     */
+    public void actorsChanged() {
+        deltas.add(new StatsDelta(StatsDimension.ACTORS, null, 0));
+    }
+
+    /**
+     * @return Les variations relevées.
+     */
+    public List<StatsDelta> getDeltas() {
+        synchronized (deltas) {
+            return List.copyOf(deltas);
+        }
+    }
+
+    private void movieDelta(Movie movie, long delta) {
+        deltas.add(new StatsDelta(StatsDimension.MOVIES, null, delta));
+        deltas.add(new StatsDelta(StatsDimension.RELEASE_DATE, toDecade(movie.getReleaseDate()), delta));
+        deltas.add(new StatsDelta(StatsDimension.CREATION_DATE, toMonth(movie.getCreationDate()), delta));
+        if (Objects.nonNull(movie.getUser())) {
+            deltas.add(new StatsDelta(StatsDimension.USER, movie.getUser().getUsername(), delta));
+        }
+        Optional.ofNullable(movie.getCategories()).ifPresent(categories -> categories.forEach(category -> deltas.add(new StatsDelta(StatsDimension.CATEGORY, category.getName(), delta))));
+        Optional.ofNullable(movie.getCountries()).ifPresent(countries -> countries.forEach(country -> deltas.add(new StatsDelta(StatsDimension.COUNTRY, country.getNomFrFr(), delta))));
+    }
+
+    private <T> void diff(StatsDimension dimension, Collection<T> before, Collection<T> after, Function<T, Long> id, Function<T, String> label) {
+        final Set<Long> beforeIds = before.stream().map(id).collect(Collectors.toSet());
+        final Set<Long> afterIds = after.stream().map(id).collect(Collectors.toSet());
+        before.stream()
+                .filter(element -> !afterIds.contains(id.apply(element)))
+                .forEach(element -> deltas.add(new StatsDelta(dimension, label.apply(element), -1)));
+        after.stream()
+                .filter(element -> !beforeIds.contains(id.apply(element)))
+                .forEach(element -> deltas.add(new StatsDelta(dimension, label.apply(element), 1)));
+    }
+
+    private static String toDecade(LocalDate date) {
+        return Objects.isNull(date) ? null : String.valueOf(date.getYear() - date.getYear() % 10);
+    }
+
+    private static String toMonth(LocalDateTime dateTime) {
+        return Objects.isNull(dateTime) ? null : dateTime.format(MONTH_FORMATTER);
+    }
+}
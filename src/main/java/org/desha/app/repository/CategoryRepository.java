@@ -11,30 +11,15 @@ import jakarta.validation.constraints.NotNull;
 import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.entity.Category;
 import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.helper.MovieRepositoryHelper;
+import org.desha.app.helper.PagedQueryHelper;
 
 import java.util.List;
 
 @ApplicationScoped
 public class CategoryRepository implements PanacheRepository<Category> {
 
-    /**
-     * Compte le nombre de catégories dont le nom correspond éventuellement à un terme de recherche.
-     * <p>
-     * La recherche ignore la casse et les accents grâce à l'utilisation de la fonction SQL 'unaccent'.
-     * Si {@code term} est {@code null}, toutes les catégories sont comptées.
-     *
-     * @param term Un terme de recherche optionnel. Si {@code null}, toutes les catégories sont comptées.
-     * @return Un {@link Uni} émettant le nombre de catégories correspondant au terme fourni.
-     */
-    public Uni<Long> countCategories(@Nullable String term) {
-        return
-                count(
-                        "LOWER(FUNCTION('unaccent', name)) LIKE LOWER(FUNCTION('unaccent', :term))",
-                        Parameters.with("term", "%" + StringUtils.defaultString(term) + "%")
-                );
-    }
-
     /**
      * Compte le nombre de catégories associées à au moins un film et correspondant éventuellement à un terme de recherche.
      * <p>
@@ -83,10 +68,10 @@ public class CategoryRepository implements PanacheRepository<Category> {
                         WHERE (%s)
                             AND mc.id = c.id
                                 AND LOWER(FUNCTION('unaccent', c.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                )""", MovieRepositoryHelper.buildExistsClause(person)
+                )""", MovieRepositoryHelper.PERSON_MOVIES_CLAUSE
         );
 
-        return count(query, Parameters.with("person", person).and("term", "%" + StringUtils.defaultString(term) + "%"));
+        return count(query, Parameters.with("personId", person.getId()).and("term", "%" + StringUtils.defaultString(term) + "%"));
     }
 
     /**
@@ -99,28 +84,6 @@ public class CategoryRepository implements PanacheRepository<Category> {
         return list("id IN ?1", ids);
     }
 
-    /**
-     * Récupère une liste paginée et triée de catégories correspondant éventuellement à un terme de recherche.
-     * <p>
-     * La recherche ignore la casse et les accents grâce à l'utilisation de la fonction SQL 'unaccent'.
-     *
-     * @param page      Les informations de pagination à appliquer (index et taille de page).
-     * @param sort      Le champ sur lequel appliquer le tri.
-     * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
-     * @param term      Un terme de recherche optionnel. Si {@code null}, toutes les catégories sont retournées.
-     * @return Un {@link Uni} émettant une {@link List} de {@link Category} correspondant aux critères de recherche et de tri.
-     */
-    public Uni<List<Category>> findCategories(Page page, String sort, Sort.Direction direction, String term) {
-        return
-                find(
-                        "LOWER(FUNCTION('unaccent', name)) LIKE LOWER(FUNCTION('unaccent', :term))",
-                        Sort.by(sort, direction),
-                        Parameters.with("term", "%" + StringUtils.defaultString(term) + "%")
-                )
-                        .page(page)
-                        .list();
-    }
-
     /**
      * Récupère une liste paginée et triée de catégories associées à des films, correspondant éventuellement à un terme de recherche.
      * <p>
@@ -130,19 +93,32 @@ public class CategoryRepository implements PanacheRepository<Category> {
      * @param sort      Le champ sur lequel appliquer le tri.
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel. Si {@code null}, toutes les catégories associées à des films sont retournées.
-     * @return Un {@link Uni} émettant une {@link List} de {@link Category} correspondant aux critères de recherche et de tri.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link Category} correspondant aux critères de recherche
+     * et de tri, ainsi que leur nombre total.
      */
-    public Uni<List<Category>> findCategoriesInMovies(Page page, String sort, Sort.Direction direction, String term) {
-        String query = """
-                SELECT DISTINCT c
-                FROM Movie m
-                JOIN m.categories c
-                WHERE LOWER(FUNCTION('unaccent', c.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                """;
+    public Uni<PagedResult<Category>> findCategoriesInMovies(Page page, String sort, Sort.Direction direction, String term) {
+        String query = String.format("""
+                SELECT c, %s
+                FROM Category c
+                WHERE EXISTS (
+                    SELECT 1
+                    FROM Movie m
+                    JOIN m.categories mc
+                    WHERE mc.id = c.id
+                )
+                    AND LOWER(FUNCTION('unaccent', c.name)) LIKE LOWER(FUNCTION('unaccent', :term))
+                %s
+                """, PagedQueryHelper.TOTAL_COLUMN, addSort(sort, direction)
+        );
+
         return
-                find(query, Sort.by(sort, direction), Parameters.with("term", "%" + StringUtils.defaultString(term) + "%"))
-                        .page(page)
-                        .list();
+                PagedQueryHelper.findPage(
+                        query,
+                        Parameters.with("term", "%" + StringUtils.defaultString(term) + "%"),
+                        page,
+                        row -> (Category) row[0],
+                        () -> countCategoriesInMovies(term)
+                );
     }
 
     /**
@@ -157,25 +133,32 @@ public class CategoryRepository implements PanacheRepository<Category> {
      * @param sort      Le champ sur lequel appliquer le tri.
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel. Si {@code null}, toutes les catégories associées aux films de la personne sont retournées.
-     * @return Un {@link Uni} émettant une {@link List} de {@link Category} correspondant aux critères fournis.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link Category} correspondant aux critères fournis
+     * et leur nombre total.
      */
-    public Uni<List<Category>> findMovieCategoriesByPerson(Person person, Page page, String sort, Sort.Direction direction, String term) {
+    public Uni<PagedResult<Category>> findMovieCategoriesByPerson(Person person, Page page, String sort, Sort.Direction direction, String term) {
         final String query = String.format("""
-                    SELECT DISTINCT c
-                    FROM Movie m
-                    JOIN m.categories c
-                    WHERE (%s)
+                    SELECT c, %s
+                    FROM Category c
+                    WHERE EXISTS (
+                        SELECT 1
+                        FROM Movie m
+                        JOIN m.categories mc
+                        WHERE (%s)
+                            AND mc.id = c.id
+                    )
                     AND LOWER(FUNCTION('unaccent', c.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                """, MovieRepositoryHelper.buildExistsClause(person)
+                    %s
+                """, PagedQueryHelper.TOTAL_COLUMN, MovieRepositoryHelper.PERSON_MOVIES_CLAUSE, addSort(sort, direction)
         );
 
-        Parameters parameters = Parameters.with("person", person)
+        Parameters parameters = Parameters.with("personId", person.getId())
                 .and("term", "%" + StringUtils.defaultString(term) + "%");
 
-        return
-                find(query, Sort.by(sort, direction), parameters)
-                        .page(page)
-                        .list()
-                ;
+        return PagedQueryHelper.findPage(query, parameters, page, row -> (Category) row[0], () -> countMovieCategoriesByPerson(person, term));
+    }
+
+    private String addSort(String sort, Sort.Direction direction) {
+        return String.format(" ORDER BY c.%s %s", sort, (direction == Sort.Direction.Ascending) ? "ASC" : "DESC");
     }
 }
@@ -0,0 +1,142 @@
+package org.desha.app.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.desha.app.domain.entity.FileReference;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@ApplicationScoped
+public class FileReferenceRepository implements PanacheRepositoryBase<FileReference, FileReference.FileReferenceId> {
+
+    public static final String POSTERS = "posters";
+    public static final String PHOTOS = "photos";
+
+    private static final List<String> TRIGGERS = List.of("trg_film_reference_fichier", "trg_personne_reference_fichier");
+
+    /**
+     * Lit le nombre de références à un fichier dans {@code fichier_reference}. Les triggers mettent la table à jour dans
+     * la transaction qui modifie les films ou les personnes : le décompte tient compte des modifications non encore
+     * validées de cette transaction.
+     *
+     * @param directory Le répertoire du fichier ({@link #POSTERS} ou {@link #PHOTOS}).
+     * @param fileName  Le nom du fichier.
+     * @return Un {@link Uni} contenant le nombre de films ou de personnes qui référencent le fichier (0 s'il n'est
+     * plus référencé).
+     */
+    public Uni<Integer> countReferences(String directory, String fileName) {
+        return
+                findById(new FileReference.FileReferenceId(directory, fileName))
+                        .map(reference -> Objects.isNull(reference) ? 0 : reference.getReferences())
+                ;
+    }
+
+    /**
+     * Recherche, parmi des noms de fichiers, ceux qui figurent dans {@code fichier_reference}.
+     *
+     * @param directory Le répertoire des fichiers ({@link #POSTERS} ou {@link #PHOTOS}).
+     * @param fileNames Les noms des fichiers.
+     * @return Un {@link Uni} contenant, parmi ces noms, ceux des fichiers référencés par au moins un film ou une
+     * personne.
+     */
+    public Uni<Set<String>> findReferenced(String directory, Collection<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return Uni.createFrom().item(Set.of());
+        }
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery("SELECT r.fileName FROM FileReference r WHERE r.directory = :directory AND r.fileName IN :fileNames", String.class)
+                                        .setParameter("directory", directory)
+                                        .setParameter("fileNames", fileNames)
+                                        .getResultList()
+                        )
+                        .map(HashSet::new)
+                ;
+    }
+
+    /**
+     * Vérifie que les triggers de {@code db/migration/fileReferences.sql} sont installés : sans eux, le script n'a pas
+     * été exécuté sur la base.
+     *
+     * @return Un {@link Uni} contenant {@code true} si les triggers des films et des personnes existent.
+     */
+    public Uni<Boolean> triggersInstalled() {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery(
+                                                "SELECT COUNT(DISTINCT tgname) FROM pg_trigger WHERE NOT tgisinternal AND tgname IN (:triggers)",
+                                                Long.class
+                                        )
+                                        .setParameter("triggers", TRIGGERS)
+                                        .getSingleResult()
+                        )
+                        .map(count -> count == TRIGGERS.size())
+                ;
+    }
+
+    /**
+     * Compte les fichiers dont le nombre de références dans {@code fichier_reference} diffère de celui calculé sur les
+     * films et les personnes (fichiers absents de la table, en trop, ou mal comptés). La comparaison est faite sur un
+     * même instantané de la base.
+     *
+     * @return Un {@link Uni} contenant le nombre d'écarts (0 si la table est à jour).
+     */
+    public Uni<Long> countDiscrepancies() {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("""
+                                                        SELECT COUNT(*)
+                                                        FROM (SELECT 'posters' AS repertoire, chemin_affiche AS nom, COUNT(*) AS nombre
+                                                              FROM film
+                                                              WHERE chemin_affiche IS NOT NULL AND chemin_affiche <> ''
+                                                              GROUP BY chemin_affiche
+                                                              UNION ALL
+                                                              SELECT 'photos', photo, COUNT(*)
+                                                              FROM personne
+                                                              WHERE photo IS NOT NULL AND photo <> ''
+                                                              GROUP BY photo) attendu
+                                                                 FULL OUTER JOIN fichier_reference fr
+                                                                                 ON fr.repertoire = attendu.repertoire AND fr.nom = attendu.nom
+                                                        WHERE attendu.nombre IS DISTINCT FROM fr.nombre_references
+                                                        """,
+                                                Long.class
+                                        )
+                                        .getSingleResult()
+                        )
+                ;
+    }
+
+    /**
+     * Remplace un nom de fichier par un autre dans les films ou les personnes qui le référencent. Les nombres de
+     * références sont mis à jour par trigger.
+     *
+     * @param directory Le répertoire du fichier ({@link #POSTERS} ou {@link #PHOTOS}).
+     * @param from      L'ancien nom du fichier.
+     * @param to        Le nouveau nom du fichier.
+     * @return Un {@link Uni} contenant le nombre de films ou de personnes modifiés.
+     */
+    public Uni<Integer> replaceReferences(String directory, String from, String to) {
+        final String query = switch (directory) {
+            case POSTERS -> "UPDATE film SET chemin_affiche = :to WHERE chemin_affiche = :from";
+            case PHOTOS -> "UPDATE personne SET photo = :to WHERE photo = :from";
+            default -> throw new IllegalArgumentException("Répertoire inconnu : " + directory);
+        };
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery(query)
+                                        .setParameter("from", from)
+                                        .setParameter("to", to)
+                                        .executeUpdate()
+                        )
+                ;
+    }
+}
@@ -7,8 +7,8 @@ import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.desha.app.domain.entity.MovieActor;
-
-import java.util.List;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.helper.PagedQueryHelper;
 
 @ApplicationScoped
 public class MovieActorRepository implements PanacheRepositoryBase<MovieActor, Long> {
@@ -17,18 +17,23 @@ public class MovieActorRepository implements PanacheRepositoryBase<MovieActor, L
         return count("person.id", id);
     }
 
-    public Uni<List<MovieActor>> findMovieActorsByActor(Long id, Page page, String sortField, Sort.Direction direction) {
+    public Uni<PagedResult<MovieActor>> findMovieActorsByActor(Long id, Page page, String sortField, Sort.Direction direction) {
+        final String query = String.format("""
+                SELECT ma, %s
+                FROM MovieActor ma
+                JOIN FETCH ma.movie
+                WHERE ma.person.id = :id
+                ORDER BY ma.%s %s
+                """, PagedQueryHelper.TOTAL_COLUMN, sortField, (direction == Sort.Direction.Ascending) ? "ASC" : "DESC"
+        );
+
         return
-                find(
-                        """
-                                SELECT ma
-                                FROM MovieActor ma
-                                JOIN FETCH ma.movie
-                                WHERE ma.person.id = :id
-                                """, Sort.by(sortField, direction), Parameters.with("id", id)
-                )
-                        .page(page)
-                        .list()
-                ;
+                PagedQueryHelper.findPage(
+                        query,
+                        Parameters.with("id", id),
+                        page,
+                        row -> (MovieActor) row[0],
+                        () -> countMovieActorsByActor(id)
+                );
     }
 }
\ No newline at end of file
@@ -4,27 +4,84 @@ import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.entity.Movie;
+import org.desha.app.domain.entity.MovieTechnician;
 import org.desha.app.domain.entity.Person;
 import org.desha.app.domain.entity.TechnicalTeam;
+import org.desha.app.domain.record.KeysetCursor;
 import org.desha.app.domain.record.MovieWithAwardsNumber;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.domain.record.Repartition;
+import org.desha.app.helper.KeysetHelper;
 import org.desha.app.helper.MovieRepositoryHelper;
-import org.hibernate.reactive.mutiny.Mutiny;
+import org.desha.app.helper.PagedQueryHelper;
+import org.desha.app.helper.QueryTemplate;
+import org.desha.app.utils.Utils;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
 
+    private static final String COUNT_MOVIES_QUERY = """
+            FROM Movie m
+            WHERE m.searchTitle LIKE :term
+            %1$s
+            """;
+
+    private static final String COUNT_MOVIES_BY_PERSON_QUERY = """
+            FROM Movie m
+            WHERE m.id IN (SELECT mpr.movieId FROM MoviePersonRole mpr WHERE mpr.personId = :personId)
+              AND m.searchTitle LIKE :term
+            %1$s
+            """;
+
+    private static final String FIND_MOVIES_QUERY = """
+            SELECT m, m.awardsNumber AS awardsNumber%3$s
+            FROM Movie m
+            WHERE m.searchTitle LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    private static final String FIND_MOVIES_BY_PERSON_QUERY = """
+            SELECT m, m.awardsNumber AS awardsNumber%3$s
+            FROM Movie m
+            WHERE m.id IN (SELECT mpr.movieId FROM MoviePersonRole mpr WHERE mpr.personId = :personId)
+              AND m.searchTitle LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    private static final String FIND_MOVIES_BY_COUNTRY_QUERY = """
+            SELECT m, m.awardsNumber AS awardsNumber%3$s
+            FROM Movie m
+            JOIN m.countries c
+            WHERE c.id = :id
+              AND m.searchTitle LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    private static final String FIND_MOVIES_BY_CATEGORY_QUERY = """
+            SELECT m, m.awardsNumber AS awardsNumber%3$s
+            FROM Movie m
+            JOIN m.categories c
+            WHERE c.id = :id
+              AND m.searchTitle LIKE :term
+            %1$s
+            %2$s
+            """;
+
     /**
      * Compte le nombre de films correspondant aux critères spécifiés.
      * <p>
@@ -37,19 +94,14 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * @return Un {@link Uni} contenant le nombre de films correspondant aux critères.
      */
     public Uni<Long> countMovies(CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                FROM Movie m
-                WHERE LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, addClauses(criteriaDTO)
-        );
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(COUNT_MOVIES_QUERY, criteriaDTO);
 
-        final Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+        final Parameters params = template.bind(
+                Parameters.with("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return count(query, params);
+        return count(template.query(), params);
     }
 
     /**
@@ -66,21 +118,15 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * @return Un {@link Uni} contenant le nombre de films correspondant aux critères pour cette personne.
      */
     public Uni<Long> countMoviesByPerson(Person person, CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                       FROM Movie m
-                       WHERE (%s)
-                         AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, MovieRepositoryHelper.buildExistsClause(person), addClauses(criteriaDTO)
-        );
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(COUNT_MOVIES_BY_PERSON_QUERY, criteriaDTO);
 
-        Parameters params = addParameters(
-                Parameters.with("person", person)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+        final Parameters params = template.bind(
+                Parameters.with("personId", person.getId())
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return count(query, params);
+        return count(template.query(), params);
     }
 
     /**
@@ -101,10 +147,10 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
                                 FROM Movie m
                                 JOIN m.countries c
                                 WHERE c.id = :id
-                                    AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
+                                    AND m.searchTitle LIKE :term
                                 """,
                         Parameters.with("id", id)
-                                .and("term", "%" + StringUtils.defaultString(term) + "%")
+                                .and("term", Utils.toSearchPattern(term))
                 );
     }
 
@@ -126,10 +172,10 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
                                 FROM Movie m
                                 JOIN m.categories c
                                 WHERE c.id = :id
-                                    AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
+                                    AND m.searchTitle LIKE :term
                                 """,
                         Parameters.with("id", id)
-                                .and("term", "%" + StringUtils.defaultString(term) + "%")
+                                .and("term", Utils.toSearchPattern(term))
                 );
     }
 
@@ -188,38 +234,179 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
     }
 
     /**
-     * Recherche un film par son identifiant en chargeant également l'ensemble de son équipe technique.
+     * Récupère la date de dernière modification de la fiche d'un film (film, pays et catégories).
+     * <p>
+     * La date retournée est la plus récente des dates de mise à jour du film et de ses catégories et pays : elle sert
+     * de validateur aux requêtes conditionnelles sur la fiche du film, sans charger ni le film ni ses collections.
+     *
+     * @param id L'identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas ou
+     * n'a pas de date de mise à jour.
+     */
+    public Uni<LocalDateTime> findLastUpdate(Long id) {
+        return findLastUpdate("""
+                SELECT GREATEST(
+                    m.lastUpdate,
+                    (SELECT MAX(c.lastUpdate) FROM Movie m2 JOIN m2.categories c WHERE m2.id = m.id),
+                    (SELECT MAX(co.lastUpdate) FROM Movie m3 JOIN m3.countries co WHERE m3.id = m.id)
+                )
+                FROM Movie m
+                WHERE m.id = :id
+                """, id
+        );
+    }
+
+    /**
+     * Récupère la date de dernière modification des acteurs d'un film.
+     * <p>
+     * La date retournée est la plus récente des dates de mise à jour du film (modifiée à chaque écriture sur son
+     * casting, voir {@link #touch(Long)}) et des personnes qui y jouent.
+     *
+     * @param id L'identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas ou
+     * n'a pas de date de mise à jour.
+     */
+    public Uni<LocalDateTime> findActorsLastUpdate(Long id) {
+        return findLastUpdate("""
+                SELECT GREATEST(
+                    m.lastUpdate,
+                    (SELECT MAX(p.lastUpdate) FROM MovieActor ma JOIN ma.person p WHERE ma.movie.id = m.id)
+                )
+                FROM Movie m
+                WHERE m.id = :id
+                """, id
+        );
+    }
+
+    /**
+     * Récupère la date de dernière modification de l'équipe technique d'un film.
+     * <p>
+     * La date retournée est la plus récente des dates de mise à jour du film (modifiée à chaque écriture sur ses
+     * techniciens, voir {@link #touch(Long)}) et des personnes qui en font partie.
+     *
+     * @param id L'identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas ou
+     * n'a pas de date de mise à jour.
+     */
+    public Uni<LocalDateTime> findTechnicalTeamLastUpdate(Long id) {
+        return findLastUpdate("""
+                SELECT GREATEST(
+                    m.lastUpdate,
+                    (SELECT MAX(p.lastUpdate) FROM MovieTechnician t JOIN t.person p WHERE t.movie.id = m.id)
+                )
+                FROM Movie m
+                WHERE m.id = :id
+                """, id
+        );
+    }
+
+    /**
+     * Met à jour la date de dernière modification d'un film.
+     * <p>
+     * À appeler dans la transaction de toute écriture sur une collection du film (acteurs, techniciens, catégories,
+     * pays, récompenses) : ces modifications ne modifient pas l'entité {@link Movie} elle-même et ne déclenchent donc
+     * pas son {@code @PreUpdate}.
+     *
+     * @param id L'identifiant du film modifié. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre de lignes mises à jour (0 si le film n'existe pas).
+     */
+    public Uni<Integer> touch(Long id) {
+        return update("lastUpdate = ?1 WHERE id = ?2", LocalDateTime.now(), id);
+    }
+
+    /**
+     * Met à jour la date de dernière modification des films d'une catégorie.
+     * <p>
+     * À appeler dans la transaction de suppression de la catégorie, avant celle-ci : une fois la catégorie supprimée,
+     * sa date de mise à jour ne compte plus dans {@link #findLastUpdate(Long)}, qui pourrait sinon retourner une date
+     * antérieure à la dernière réponse servie.
+     *
+     * @param categoryId L'identifiant de la catégorie. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre de films mis à jour.
+     */
+    public Uni<Integer> touchByCategory(Long categoryId) {
+        return update("""
+                lastUpdate = ?1
+                WHERE id IN (SELECT m.id FROM Movie m JOIN m.categories c WHERE c.id = ?2)
+                """, LocalDateTime.now(), categoryId
+        );
+    }
+
+    /**
+     * Met à jour la date de dernière modification des films dans lesquels une personne joue ou fait partie de l'équipe
+     * technique.
      * <p>
-     * Cette méthode récupère le film avec toutes ses collections techniques (producteurs, réalisateurs, assistants-réalisateur,
-     * scénaristes, compositeurs, musiciens, photographes, costumiers, décorateurs, monteurs, directeurs de casting, artistes,
-     * ingénieurs son, superviseurs VFX/SFX, maquilleurs, coiffeurs et cascadeurs) en utilisant Mutiny pour effectuer des fetch asynchrones.
+     * À appeler dans la transaction de suppression de la personne, avant celle-ci, pour la même raison que
+     * {@link #touchByCategory(Long)} avec {@link #findActorsLastUpdate(Long)} et
+     * {@link #findTechnicalTeamLastUpdate(Long)}.
+     *
+     * @param personId L'identifiant de la personne. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre de films mis à jour.
+     */
+    public Uni<Integer> touchByPerson(Long personId) {
+        return update("""
+                lastUpdate = ?1
+                WHERE id IN (SELECT ma.movie.id FROM MovieActor ma WHERE ma.person.id = ?2)
+                OR id IN (SELECT t.movie.id FROM MovieTechnician t WHERE t.person.id = ?2)
+                """, LocalDateTime.now(), personId
+        );
+    }
+
+    /**
+     * Renseigne le titre normalisé ({@link Utils#normalizeForSearch(String)}) d'un lot de films qui n'en ont pas
+     * encore, sans déclencher leur {@code @PreUpdate} : leur date de mise à jour est conservée.
+     *
+     * @param limit Le nombre maximal de films traités.
+     * @return Un {@link Uni} contenant le nombre de films mis à jour.
+     */
+    public Uni<Integer> fillMissingSearchTitles(int limit) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery("SELECT m.id, m.title FROM Movie m WHERE m.searchTitle IS NULL ORDER BY m.id", Object[].class)
+                                        .setMaxResults(limit)
+                                        .getResultList()
+                        )
+                        .chain(rows ->
+                                Multi.createFrom().iterable(rows)
+                                        .onItem().transformToUniAndConcatenate(row -> update("searchTitle = ?1 WHERE id = ?2", Utils.normalizeForSearch((String) row[1]), row[0]))
+                                        .collect().with(Collectors.summingInt(Integer::intValue))
+                        )
+                ;
+    }
+
+    /**
+     * Recherche l'équipe technique d'un film à partir de son identifiant.
+     * <p>
+     * Après le chargement du film, tous ses techniciens (producteurs, réalisateurs, assistants-réalisateur, scénaristes,
+     * compositeurs, musiciens, photographes, costumiers, décorateurs, monteurs, directeurs de casting, artistes,
+     * ingénieurs son, superviseurs VFX/SFX, maquilleurs, coiffeurs et cascadeurs) sont récupérés par une seule requête
+     * polymorphe sur {@link MovieTechnician}, avec leur personne, puis répartis par type via {@link TechnicalTeam#of}.
+     * L'ensemble coûte deux requêtes, quel que soit le nombre de types de techniciens.
+     * <p>
+     * L'équipe retournée est détachée : les collections de l'entité {@link Movie} ne sont pas initialisées.
      *
      * @param id L'identifiant du film à rechercher. Ne peut pas être {@code null}.
-     * @return Un {@link Uni} contenant le film correspondant avec toutes ses relations d'équipe technique chargées,
-     * ou {@code null} si aucun film n'existe avec cet identifiant.
+     * @return Un {@link Uni} contenant l'équipe technique du film, ou {@code null} si aucun film n'existe avec cet identifiant.
      */
     public Uni<TechnicalTeam> findTechnicalTeam(Long id) {
         return
                 findById(id)
-                        .map(Movie::getTechnicalTeam)
-                        .call(technicalTeam -> Mutiny.fetch(technicalTeam.getMovieProducers()).invoke(technicalTeam::setMovieProducers)
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieDirectors()).invoke(technicalTeam::setMovieDirectors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieAssistantDirectors()).invoke(technicalTeam::setMovieAssistantDirectors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieScreenwriters()).invoke(technicalTeam::setMovieScreenwriters))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieComposers()).invoke(technicalTeam::setMovieComposers))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieMusicians()).invoke(technicalTeam::setMovieMusicians))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMoviePhotographers()).invoke(technicalTeam::setMoviePhotographers))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieCostumeDesigners()).invoke(technicalTeam::setMovieCostumeDesigners))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieSetDesigners()).invoke(technicalTeam::setMovieSetDesigners))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieEditors()).invoke(technicalTeam::setMovieEditors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieCasters()).invoke(technicalTeam::setMovieCasters))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieArtists()).invoke(technicalTeam::setMovieArtists))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieSoundEditors()).invoke(technicalTeam::setMovieSoundEditors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieVfxSupervisors()).invoke(technicalTeam::setMovieVfxSupervisors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieSfxSupervisors()).invoke(technicalTeam::setMovieSfxSupervisors))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieMakeupArtists()).invoke(technicalTeam::setMovieMakeupArtists))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieHairDressers()).invoke(technicalTeam::setMovieHairDressers))
-                                .chain(() -> Mutiny.fetch(technicalTeam.getMovieStuntmen()).invoke(technicalTeam::setMovieStuntmen))
+                        .onItem().ifNotNull().transformToUni(movie ->
+                                getSession()
+                                        .chain(session ->
+                                                session.createSelectionQuery("""
+                                                                SELECT t
+                                                                FROM MovieTechnician t
+                                                                LEFT JOIN FETCH t.person p
+                                                                LEFT JOIN FETCH p.types
+                                                                WHERE t.movie.id = :id
+                                                                ORDER BY t.id
+                                                                """, MovieTechnician.class)
+                                                        .setParameter("id", id)
+                                                        .getResultList()
+                                        )
+                                        .map(TechnicalTeam::of)
                         )
                 ;
     }
@@ -227,44 +414,131 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
     /**
      * Recherche une liste de films avec le nombre de récompenses associées, selon des critères et un tri donnés.
      * <p>
-     * Chaque film retourné contient également le nombre de récompenses ('awardsNumber') calculé à partir
-     * de la table 'MovieAwardsNumber'. Si aucun enregistrement n'existe pour un film, le nombre de récompenses
-     * est considéré comme 0.
+     * Chaque film retourné contient également le nombre de récompenses ('awardsNumber'), lu dans la colonne
+     * dénormalisée {@code film.nombre_recompenses}.
      *
      * @param page        La page à récupérer (pagination). Ne peut pas être {@code null}.
      * @param sort        Le nom du champ utilisé pour trier les résultats. Peut être {@code null} pour l'ordre par défaut.
      * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
      * @param criteriaDTO Les critères de filtrage des films (titre et autres filtres). Ne peut pas être {@code null}.
-     * @return Un {@link Uni} contenant la liste des films avec le nombre de récompenses correspondant aux critères et à la page demandée.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec les films de la page demandée (et leur nombre de récompenses)
+     * ainsi que le nombre total de films correspondant aux critères, obtenus en une seule requête.
      */
-    public Uni<List<MovieWithAwardsNumber>> findMovies(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                       SELECT m, COALESCE((SELECT awardsNumber FROM MovieAwardsNumber man WHERE man.movieId = m.id), 0) AS awardsNumber
-                       FROM Movie m
-                       WHERE LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<MovieWithAwardsNumber>> findMovies(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_QUERY, criteriaDTO, sort, direction, true);
+
+        return
+                PagedQueryHelper.findPage(
+                        template.query(),
+                        buildFindMoviesParameters(template, criteriaDTO),
+                        page,
+                        MovieRepository::toMovieWithAwardsNumber,
+                        () -> countMovies(criteriaDTO)
+                );
+    }
+
+    /**
+     * Recherche une page de films avec le nombre de récompenses associées, sans calculer le nombre total de résultats.
+     * <p>
+     * Variante de {@link #findMovies(Page, String, Sort.Direction, CriteriaDTO)} utilisée lorsque le total est estimé
+     * ou lu depuis le cache : la requête ne porte pas de colonne de comptage et ne parcourt donc que les lignes de la page.
+     *
+     * @param page        La page à récupérer (pagination). Ne peut pas être {@code null}.
+     * @param sort        Le nom du champ utilisé pour trier les résultats.
+     * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
+     * @param criteriaDTO Les critères de filtrage des films. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la liste des {@link MovieWithAwardsNumber} de la page demandée.
+     */
+    public Uni<List<MovieWithAwardsNumber>> findMoviesWithoutTotal(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_QUERY, criteriaDTO, sort, direction, false);
 
-        final Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+        return
+                PagedQueryHelper.findContent(
+                        template.query(),
+                        buildFindMoviesParameters(template, criteriaDTO),
+                        page,
+                        MovieRepository::toMovieWithAwardsNumber
+                );
+    }
+
+    /**
+     * Estime le nombre de films correspondant aux critères à partir du nombre de lignes prévu par le planificateur
+     * de PostgreSQL (fonction {@code count_estimate}, basée sur {@code EXPLAIN}).
+     * <p>
+     * L'estimation ne porte que sur le filtre par titre : elle ne doit être utilisée que si
+     * {@link CriteriaDTO#hasOnlyTermFilter()} est vrai.
+     *
+     * @param criteriaDTO Les critères de filtrage des films. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre estimé de films.
+     */
+    public Uni<Long> estimateMovies(CriteriaDTO criteriaDTO) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("SELECT count_estimate(format('SELECT 1 FROM film WHERE titre_recherche LIKE %L', :term))", Long.class)
+                                        .setParameter("term", Utils.toSearchPattern(criteriaDTO.getTerm()))
+                                        .getSingleResult()
+                        );
+    }
+
+    private Parameters buildFindMoviesParameters(QueryTemplate template, CriteriaDTO criteriaDTO) {
+        return template.bind(
+                Parameters.with("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
+    }
 
-        return
-                find(query, params)
-                        .page(page)
-                        .project(MovieWithAwardsNumber.class)
-                        .list()
-                ;
+    /**
+     * Recherche une page de films avec le nombre de récompenses associées en pagination par curseur (« keyset »).
+     * <p>
+     * Contrairement à la pagination par {@link Page}, qui se traduit par un {@code OFFSET} de plus en plus coûteux à mesure
+     * que l'on avance dans les résultats, cette méthode se positionne directement après le dernier film de la page
+     * précédente grâce au couple (valeur du champ de tri, identifiant) mémorisé dans le curseur.
+     * Le coût d'une page est ainsi indépendant de sa profondeur.
+     * <p>
+     * Seuls les champs de {@link Movie#KEYSET_SORT_FIELDS} peuvent être utilisés comme tri dans ce mode.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de films à retourner.
+     * @param sort        Le nom du champ utilisé pour trier les résultats. Ne peut pas être {@code null}.
+     * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
+     * @param criteriaDTO Les critères de filtrage des films (titre et autres filtres). Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la liste des films avec le nombre de récompenses situés après le curseur.
+     */
+    public Uni<List<MovieWithAwardsNumber>> findMovies(@Nullable KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate clauses = MovieRepositoryHelper.TEMPLATES.clauses(criteriaDTO);
+
+        return KeysetHelper.findAfter(cursor, size, (after, limit) -> {
+                    final String query = String.format("""
+                                   SELECT m, m.awardsNumber AS awardsNumber
+                                   FROM Movie m
+                                   WHERE m.searchTitle LIKE :term
+                            %s
+                            %s
+                            %s
+                            """, clauses.query(), KeysetHelper.buildClause("m", after), KeysetHelper.buildOrderBy("m", sort, direction)
+                    );
+
+                    final Parameters params = KeysetHelper.addParameters(
+                            buildFindMoviesParameters(clauses, criteriaDTO),
+                            after
+                    );
+
+                    return
+                            find(query, params)
+                                    .page(Page.ofSize(limit))
+                                    .project(MovieWithAwardsNumber.class)
+                                    .list()
+                            ;
+                }
+        );
     }
 
     /**
      * Recherche une liste de films avec le nombre de récompenses associées, selon des critères et un tri donnés.
      * <p>
-     * Chaque film retourné contient également le nombre de récompenses ('awardsNumber') calculé à partir de la table
-     * {@code MovieAwardsNumber}. Si aucun enregistrement n'existe pour un film, le nombre de récompenses est considéré comme 0.
+     * Chaque film retourné contient également le nombre de récompenses ('awardsNumber'), lu dans la colonne
+     * dénormalisée {@code film.nombre_recompenses}.
      * <p>
      * Contrairement à la version paginée, cette méthode retourne l'ensemble des résultats correspondant aux critères.
      *
@@ -274,22 +548,10 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * @return Un {@link Uni} contenant la liste des films avec le nombre de récompenses correspondant aux critères.
      */
     public Uni<List<MovieWithAwardsNumber>> findMovies(String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                SELECT m, COALESCE((SELECT awardsNumber FROM MovieAwardsNumber man WHERE man.movieId = m.id), 0) AS awardsNumber
-                FROM Movie m
-                WHERE LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
-
-        Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
-                criteriaDTO
-        );
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_QUERY, criteriaDTO, sort, direction, false);
 
         return
-                find(query, params)
+                find(template.query(), buildFindMoviesParameters(template, criteriaDTO))
                         .project(MovieWithAwardsNumber.class)
                         .list()
                 ;
@@ -300,39 +562,27 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * <p>
      * Cette méthode retourne les films dans lesquels la personne apparaît (acteur, réalisateur, etc.),
      * en appliquant des critères supplémentaires (titre et autres filtres) et un tri donné.
-     * Chaque film est accompagné du nombre de récompenses ({@code awardsNumber}) calculé à partir de
-     * la table {@code MovieAwardsNumber}. Si aucun enregistrement n'existe pour un film, le nombre de récompenses est 0.
+     * Chaque film est accompagné du nombre de récompenses ({@code awardsNumber}), lu dans la colonne dénormalisée
+     * {@code film.nombre_recompenses}.
      *
      * @param person      La personne pour laquelle rechercher les films. Ne peut pas être {@code null}.
      * @param page        La page des résultats à retourner.
      * @param sort        Le nom du champ utilisé pour trier les résultats. Peut être {@code null} pour l'ordre par défaut.
      * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
      * @param criteriaDTO Les critères de filtrage des films (titre et autres filtres). Ne peut pas être {@code null}.
-     * @return Un {@link Uni} contenant la liste paginée des films associés à la personne, avec le nombre de récompenses.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des films associés à la personne, avec le nombre de récompenses,
+     * et le nombre total de films correspondants.
      */
-    public Uni<List<MovieWithAwardsNumber>> findMoviesByPerson(Person person, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                       SELECT m, COALESCE((SELECT awardsNumber FROM MovieAwardsNumber man WHERE man.movieId = m.id), 0) AS awardsNumber
-                       FROM Movie m
-                       WHERE (%s)
-                         AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, MovieRepositoryHelper.buildExistsClause(person), addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<MovieWithAwardsNumber>> findMoviesByPerson(Person person, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_BY_PERSON_QUERY, criteriaDTO, sort, direction, true);
 
-        Parameters params = addParameters(
-                Parameters.with("person", person)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+        final Parameters params = template.bind(
+                Parameters.with("personId", person.getId())
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return
-                find(query, params)
-                        .project(MovieWithAwardsNumber.class)
-                        .page(page)
-                        .list()
-                ;
+        return PagedQueryHelper.findPage(template.query(), params, page, MovieRepository::toMovieWithAwardsNumber, () -> countMoviesByPerson(person, criteriaDTO));
     }
 
     /**
@@ -340,39 +590,26 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * <p>
      * Cette méthode retourne les films liés au pays identifié par {@code id}, en appliquant des critères supplémentaires
      * (titre et autres filtres) et un tri donné. Chaque film est accompagné du nombre de récompenses ({@code awardsNumber})
-     * calculé à partir de la table {@code MovieAwardsNumber}. Si aucun enregistrement n'existe pour un film, le nombre de
-     * récompenses est 0.
+     * lu dans la colonne dénormalisée {@code film.nombre_recompenses}.
      *
      * @param id          L'identifiant du pays dont on souhaite obtenir les films. Ne peut pas être {@code null}.
      * @param page        La page des résultats à retourner.
      * @param sort        Le nom du champ utilisé pour trier les résultats. Peut être {@code null} pour l'ordre par défaut.
      * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
      * @param criteriaDTO Les critères de filtrage des films (titre et autres filtres). Ne peut pas être {@code null}.
-     * @return Un {@link Uni} contenant la liste paginée des films associés au pays, avec le nombre de récompenses.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des films associés au pays, avec le nombre de récompenses,
+     * et le nombre total de films correspondants.
      */
-    public Uni<List<MovieWithAwardsNumber>> findMoviesByCountry(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                       SELECT m, COALESCE((SELECT awardsNumber FROM MovieAwardsNumber man WHERE man.movieId = m.id), 0) AS awardsNumber
-                       FROM Movie m
-                       JOIN m.countries c
-                       WHERE c.id = :id
-                         AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<MovieWithAwardsNumber>> findMoviesByCountry(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_BY_COUNTRY_QUERY, criteriaDTO, sort, direction, true);
 
-        final Parameters params = addParameters(
+        final Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return find(query, params)
-                .page(page)
-                .project(MovieWithAwardsNumber.class)
-                .list()
-                ;
+        return PagedQueryHelper.findPage(template.query(), params, page, MovieRepository::toMovieWithAwardsNumber, () -> countMoviesByCountry(id, criteriaDTO.getTerm()));
     }
 
     /**
@@ -380,76 +617,32 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
      * <p>
      * Cette méthode retourne les films liés à la catégorie identifiée par {@code id}, en appliquant des critères supplémentaires
      * (titre et autres filtres) et un tri donné. Chaque film est accompagné du nombre de récompenses ({@code awardsNumber})
-     * calculé à partir de la table {@code MovieAwardsNumber}. Si aucun enregistrement n'existe pour un film, le nombre de
-     * récompenses est 0.
+     * lu dans la colonne dénormalisée {@code film.nombre_recompenses}.
      *
      * @param id          L'identifiant de la catégorie dont on souhaite obtenir les films. Ne peut pas être {@code null}.
      * @param page        La page des résultats à retourner.
      * @param sort        Le nom du champ utilisé pour trier les résultats. Peut être {@code null} pour l'ordre par défaut.
      * @param direction   La direction du tri ({@link Sort.Direction}). Ne peut pas être {@code null}.
      * @param criteriaDTO Les critères de filtrage des films (titre et autres filtres). Ne peut pas être {@code null}.
-     * @return Un {@link Uni} contenant la liste paginée des films associés à la catégorie, avec le nombre de récompenses.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des films associés à la catégorie, avec le nombre de récompenses,
+     * et le nombre total de films correspondants.
      */
-    public Uni<List<MovieWithAwardsNumber>> findMoviesByCategory(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        final String query = String.format("""
-                       SELECT m, COALESCE((SELECT awardsNumber FROM MovieAwardsNumber man WHERE man.movieId = m.id), 0) AS awardsNumber
-                       FROM Movie m
-                       JOIN m.categories c
-                       WHERE c.id = :id
-                         AND LOWER(FUNCTION('unaccent', m.title)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<MovieWithAwardsNumber>> findMoviesByCategory(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        final QueryTemplate template = MovieRepositoryHelper.TEMPLATES.get(FIND_MOVIES_BY_CATEGORY_QUERY, criteriaDTO, sort, direction, true);
 
-        final Parameters params = addParameters(
+        final Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return
-                find(query, params)
-                        .page(page)
-                        .project(MovieWithAwardsNumber.class)
-                        .list()
-                ;
-    }
-
-    /**
-     * Récupère l'évolution cumulative du nombre de films créés par mois.
-     * <p>
-     * Cette méthode calcule le nombre total de films créés pour chaque mois, puis génère un cumul progressif
-     * afin de suivre l'évolution au fil du temps.
-     *
-     * @return Un {@link Uni} contenant la liste des {@link Repartition}, où chaque élément représente un mois
-     * (au format "MM-YYYY") et le nombre cumulé de films créés jusqu'à ce mois.
-     */
-    public Uni<List<Repartition>> findMoviesCreationDateEvolution() {
-        return
-                find("""
-                        SELECT
-                            mois_creation,
-                            SUM(monthly_count) OVER (ORDER BY mois_creation) AS cumulative_count
-                        FROM (
-                            SELECT
-                                TO_CHAR(m.creationDate, 'MM-YYYY') AS mois_creation,
-                                COUNT(*) AS monthly_count
-                            FROM Movie m
-                            GROUP BY TO_CHAR(m.creationDate, 'MM-YYYY')
-                        ) AS sub
-                        ORDER BY mois_creation
-                        """
-                )
-                        .project(Repartition.class)
-                        .list()
-                ;
+        return PagedQueryHelper.findPage(template.query(), params, page, MovieRepository::toMovieWithAwardsNumber, () -> countMoviesByCategory(id, criteriaDTO.getTerm()));
     }
 
     /**
      * Récupère la répartition des films par date de création.
      * <p>
-     * Cette méthode compte le nombre de films créés pour chaque mois, au format "MM-YYYY".
+     * Cette méthode compte le nombre de films créés pour chaque mois, au format "YYYY-MM" (ordre chronologique).
      *
      * @return Un {@link Uni} contenant la liste des {@link Repartition}, où chaque élément représente un mois
      * et le nombre de films créés pendant ce mois.
@@ -457,7 +650,7 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
     public Uni<List<Repartition>> findMoviesByCreationDateRepartition() {
         return
                 find("""
-                        SELECT CAST(FUNCTION('TO_CHAR', m.creationDate, 'MM-YYYY') AS string) AS mois_creation, COUNT(m)
+                        SELECT CAST(FUNCTION('TO_CHAR', m.creationDate, 'YYYY-MM') AS string) AS mois_creation, COUNT(m)
                         FROM Movie m
                         GROUP BY mois_creation
                         ORDER BY mois_creation
@@ -560,81 +753,70 @@ public class MovieRepository implements PanacheRepositoryBase<Movie, Long> {
                 ;
     }
 
-    private String addSort(String sort, Sort.Direction direction) {
-        if (StringUtils.isEmpty(sort)) return "";
-
-        String dir = (direction == Sort.Direction.Ascending) ? "ASC" : "DESC";
-
-        // Si le critère de tri est le nombre de récompenses
-        if (Objects.equals("awardsCount", sort)) {
-            return String.format(" ORDER BY awardsNumber %s", dir);
-        }
-
-        // Protection basique contre injection ou champ non mappé
-        Set<String> allowedFields = Movie.ALLOWED_SORT_FIELDS;
-        if (!allowedFields.contains(sort)) {
-            throw new IllegalArgumentException("Champ de tri non autorisé : " + sort);
-        }
-
-        // Cas générique pour trier par un autre champ, avec gestion des NULL
-        return String.format(" ORDER BY CASE WHEN m.%s IS NULL THEN 1 ELSE 0 END, m.%s %s", sort, sort, dir);
+    /**
+     * Recalcule le nombre de récompenses dénormalisé ({@code film.nombre_recompenses}) d'un film.
+     * <p>
+     * Le compteur est recompté à partir de {@code ceremonie_recompenses} et {@code recompense} plutôt qu'incrémenté :
+     * l'appel est idempotent et reste exact quel que soit le nombre de récompenses ajoutées ou retirées.
+     * Les modifications en attente doivent avoir été envoyées en base ({@code flush}) avant l'appel.
+     *
+     * @param movieId L'identifiant du film dont le compteur doit être recalculé. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre de lignes mises à jour (0 si le film n'existe pas).
+     */
+    public Uni<Integer> updateAwardsNumber(Long movieId) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("""
+                                                UPDATE film f
+                                                SET nombre_recompenses = (SELECT COUNT(r.id)
+                                                                          FROM ceremonie_recompenses cr
+                                                                          JOIN recompense r ON r.fk_ceremonie_recompenses = cr.id
+                                                                          WHERE cr.fk_film = f.id)
+                                                WHERE f.id = :movieId
+                                                """)
+                                        .setParameter("movieId", movieId)
+                                        .executeUpdate()
+                        );
     }
 
-    private String addClauses(CriteriaDTO criteriaDTO) {
-        StringBuilder query = new StringBuilder();
-
-        Optional.ofNullable(criteriaDTO.getFromReleaseDate()).ifPresent(date -> query.append(" AND m.releaseDate >= :fromReleaseDate"));
-        Optional.ofNullable(criteriaDTO.getToReleaseDate()).ifPresent(date -> query.append(" AND m.releaseDate <= :toReleaseDate"));
-        Optional.ofNullable(criteriaDTO.getFromCreationDate()).ifPresent(date -> query.append(" AND m.creationDate >= :fromCreationDate"));
-        Optional.ofNullable(criteriaDTO.getToCreationDate()).ifPresent(date -> query.append(" AND m.creationDate <= :toCreationDate"));
-        Optional.ofNullable(criteriaDTO.getFromLastUpdate()).ifPresent(date -> query.append(" AND m.lastUpdate >= :fromLastUpdate"));
-        Optional.ofNullable(criteriaDTO.getToLastUpdate()).ifPresent(date -> query.append(" AND m.lastUpdate <= :toLastUpdate"));
-
-        if (Objects.nonNull(criteriaDTO.getCategoryIds()) && !criteriaDTO.getCategoryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM m.categories ca WHERE ca.id IN :categoryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM m.countries c WHERE c.id IN :countryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getUserIds()) && !criteriaDTO.getUserIds().isEmpty()) {
-            query.append(" AND m.user.id IN :userIds");
-        }
-
-        return query.toString();
+    /**
+     * Réconcilie le nombre de récompenses dénormalisé de tous les films avec les récompenses réellement enregistrées.
+     * <p>
+     * Seuls les films dont le compteur diverge sont mis à jour.
+     *
+     * @return Un {@link Uni} contenant le nombre de films corrigés (0 si tous les compteurs étaient exacts).
+     */
+    public Uni<Integer> reconcileAwardsNumbers() {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("""
+                                                UPDATE film f
+                                                SET nombre_recompenses = c.nombre_recompenses
+                                                FROM (SELECT f2.id, COUNT(r.id) AS nombre_recompenses
+                                                      FROM film f2
+                                                      LEFT JOIN ceremonie_recompenses cr ON cr.fk_film = f2.id
+                                                      LEFT JOIN recompense r ON r.fk_ceremonie_recompenses = cr.id
+                                                      GROUP BY f2.id) c
+                                                WHERE c.id = f.id
+                                                  AND f.nombre_recompenses IS DISTINCT FROM c.nombre_recompenses
+                                                """)
+                                        .executeUpdate()
+                        );
     }
 
-    private Parameters addParameters(Parameters params, CriteriaDTO criteriaDTO) {
-        if (Objects.nonNull(criteriaDTO.getFromReleaseDate())) {
-            params.and("fromReleaseDate", criteriaDTO.getFromReleaseDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToReleaseDate())) {
-            params.and("toReleaseDate", criteriaDTO.getToReleaseDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getFromCreationDate())) {
-            params.and("fromCreationDate", criteriaDTO.getFromCreationDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToCreationDate())) {
-            params.and("toCreationDate", criteriaDTO.getToCreationDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getFromLastUpdate())) {
-            params.and("fromLastUpdate", criteriaDTO.getFromLastUpdate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToLastUpdate())) {
-            params.and("toLastUpdate", criteriaDTO.getToLastUpdate());
-        }
-
-        if (Objects.nonNull(criteriaDTO.getCategoryIds()) && !criteriaDTO.getCategoryIds().isEmpty()) {
-            params.and("categoryIds", criteriaDTO.getCategoryIds());
-        }
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            params.and("countryIds", criteriaDTO.getCountryIds());
-        }
-        if (Objects.nonNull(criteriaDTO.getUserIds()) && !criteriaDTO.getUserIds().isEmpty()) {
-            params.and("userIds", criteriaDTO.getUserIds());
-        }
+    private Uni<LocalDateTime> findLastUpdate(String query, Long id) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery(query, LocalDateTime.class)
+                                        .setParameter("id", id)
+                                        .getSingleResultOrNull()
+                        );
+    }
 
-        return params;
+    private static MovieWithAwardsNumber toMovieWithAwardsNumber(Object[] row) {
+        return new MovieWithAwardsNumber((Movie) row[0], ((Number) row[1]).longValue());
     }
 }
@@ -4,21 +4,88 @@ import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.validation.constraints.NotNull;
-import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.entity.Person;
-import org.desha.app.domain.enums.PersonType;
+import org.desha.app.domain.record.KeysetCursor;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.domain.record.PersonWithMoviesNumber;
-import org.desha.app.domain.record.Repartition;
+import org.desha.app.helper.KeysetHelper;
+import org.desha.app.helper.PagedQueryHelper;
+import org.desha.app.helper.PersonRepositoryHelper;
+import org.desha.app.helper.QueryTemplate;
+import org.desha.app.utils.Utils;
 
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
 
+    private static final String COUNT_PERSONS_QUERY = """
+            FROM Person p
+            WHERE p.searchName LIKE :term
+            %1$s
+            """;
+
+    private static final String COUNT_PERSONS_BY_MOVIE_QUERY = """
+            FROM Person p
+            JOIN MoviePerson mp ON p.id = mp.personId
+            WHERE mp.movieId = :id
+                AND p.searchName LIKE :term
+            %1$s
+            """;
+
+    private static final String COUNT_PERSONS_BY_COUNTRY_QUERY = """
+            FROM Person p
+            JOIN p.countries c
+            WHERE c.id = :id
+                AND p.searchName LIKE :term
+            %1$s
+            """;
+
+    private static final String FIND_PERSONS_QUERY = """
+            SELECT p%3$s
+            FROM Person p
+            WHERE p.searchName LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    private static final String FIND_PERSONS_WITH_MOVIES_NUMBER_QUERY = """
+            SELECT p, COALESCE((SELECT moviesNumber FROM PersonMoviesNumber pmn WHERE pmn.personId = p.id), 0) AS moviesNumber, COUNT(a) AS awardsNumber%3$s
+            FROM Person p
+            LEFT JOIN p.awards a
+            WHERE p.searchName LIKE :term
+            %1$s
+            GROUP BY p
+            %2$s
+            """;
+
+    private static final String FIND_PERSONS_BY_MOVIE_QUERY = """
+            SELECT p%3$s
+            FROM Person p
+            JOIN MoviePerson mp ON p.id = mp.personId
+            WHERE mp.movieId = :id
+                AND p.searchName LIKE :term
+            %1$s
+            %2$s
+            """;
+
+    private static final String FIND_PERSONS_BY_COUNTRY_QUERY = """
+            SELECT p%3$s
+            FROM Person p
+            JOIN p.countries c
+            WHERE c.id = :id
+                AND p.searchName LIKE :term
+            %1$s
+            %2$s
+            """;
+
     /**
      * Compte le nombre de personnes correspondant à un terme donné.
      * <p>
@@ -30,19 +97,9 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @return Un {@link Uni} contenant le nombre de personnes correspondant au critère.
      */
     public Uni<Long> countPersons(CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                     FROM Person p
-                     WHERE LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, addClauses(criteriaDTO)
-        );
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(COUNT_PERSONS_QUERY, criteriaDTO);
 
-        Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
-                criteriaDTO
-        );
-
-        return count(query, params);
+        return count(template.query(), buildFindPersonsParameters(template, criteriaDTO));
     }
 
     /**
@@ -59,22 +116,15 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @return Un {@link Uni} contenant le nombre de personnes correspondant au critère pour le film spécifié.
      */
     public Uni<Long> countPersonsByMovie(@NotNull Long id, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                FROM Person p
-                JOIN MoviePerson mp ON p.id = mp.personId
-                WHERE mp.movieId = :id
-                    AND LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, addClauses(criteriaDTO)
-        );
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(COUNT_PERSONS_BY_MOVIE_QUERY, criteriaDTO);
 
-        Parameters params = addParameters(
+        Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return count(query, params);
+        return count(template.query(), params);
     }
 
     /**
@@ -91,22 +141,15 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @return Un {@link Uni} contenant le nombre de personnes correspondant au critère pour le pays spécifié.
      */
     public Uni<Long> countPersonsByCountry(@NotNull Long id, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                FROM Person p
-                JOIN p.countries c
-                WHERE c.id = :id
-                    AND LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, addClauses(criteriaDTO)
-        );
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(COUNT_PERSONS_BY_COUNTRY_QUERY, criteriaDTO);
 
-        Parameters params = addParameters(
+        Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return count(query, params);
+        return count(template.query(), params);
     }
 
     /**
@@ -140,23 +183,133 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @param sort        Le champ sur lequel trier les résultats. Doit appartenir aux champs autorisés.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage supplémentaires. Peut être {@code null} pour ne pas filtrer.
-     * @return Un {@link Uni} contenant la liste des {@link Person} correspondant aux critères.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des {@link Person} correspondant aux critères
+     * et leur nombre total, obtenus en une seule requête.
      */
-    public Uni<List<Person>> findPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                FROM Person p
-                WHERE LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<Person>> findPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_QUERY, criteriaDTO, sort, direction, true);
+
+        return
+                PagedQueryHelper.findPage(
+                        template.query(),
+                        buildFindPersonsParameters(template, criteriaDTO),
+                        page,
+                        row -> (Person) row[0],
+                        () -> countPersons(criteriaDTO)
+                );
+    }
+
+    /**
+     * Recherche une page de personnes sans calculer le nombre total de résultats.
+     * <p>
+     * Variante de {@link #findPersons(Page, String, Sort.Direction, CriteriaDTO)} utilisée lorsque le total est estimé
+     * ou lu depuis le cache.
+     *
+     * @param page        La page à récupérer (numéro de page et taille de page) pour la pagination.
+     * @param sort        Le champ sur lequel trier les résultats. Doit appartenir aux champs autorisés.
+     * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO Les critères de filtrage supplémentaires.
+     * @return Un {@link Uni} contenant la liste des {@link Person} de la page demandée.
+     */
+    public Uni<List<Person>> findPersonsWithoutTotal(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_QUERY, criteriaDTO, sort, direction, false);
+
+        return
+                PagedQueryHelper.findContent(
+                        template.query(),
+                        buildFindPersonsParameters(template, criteriaDTO),
+                        page,
+                        row -> (Person) row[0]
+                );
+    }
 
-        Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+    /**
+     * Estime le nombre de personnes correspondant aux critères à partir du nombre de lignes prévu par le planificateur
+     * de PostgreSQL (fonction {@code count_estimate}, basée sur {@code EXPLAIN}).
+     * <p>
+     * L'estimation ne porte que sur le filtre par nom : elle ne doit être utilisée que si
+     * {@link CriteriaDTO#hasOnlyTermFilter()} est vrai.
+     *
+     * @param criteriaDTO Les critères de filtrage des personnes. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant le nombre estimé de personnes.
+     */
+    public Uni<Long> estimatePersons(CriteriaDTO criteriaDTO) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("SELECT count_estimate(format('SELECT 1 FROM personne WHERE nom_recherche LIKE %L', :term))", Long.class)
+                                        .setParameter("term", Utils.toSearchPattern(criteriaDTO.getTerm()))
+                                        .getSingleResult()
+                        );
+    }
+
+    /**
+     * Récupère la date de dernière modification de la fiche d'une personne (personne et pays).
+     * <p>
+     * La date retournée est la plus récente des dates de mise à jour de la personne et de ses pays : elle sert de
+     * validateur aux requêtes conditionnelles sur la fiche de la personne, sans charger la personne.
+     *
+     * @param id L'identifiant de la personne. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si la personne n'existe pas
+     * ou n'a pas de date de mise à jour.
+     */
+    public Uni<LocalDateTime> findLastUpdate(@NotNull Long id) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery("""
+                                                        SELECT GREATEST(
+                                                            p.lastUpdate,
+                                                            (SELECT MAX(c.lastUpdate) FROM Person p2 JOIN p2.countries c WHERE p2.id = p.id)
+                                                        )
+                                                        FROM Person p
+                                                        WHERE p.id = :id
+                                                        """, LocalDateTime.class
+                                        )
+                                        .setParameter("id", id)
+                                        .getSingleResultOrNull()
+                        );
+    }
+
+    private Parameters buildFindPersonsParameters(QueryTemplate template, CriteriaDTO criteriaDTO) {
+        return template.bind(
+                Parameters.with("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
+    }
 
-        return find(query, params).page(page).list();
+    /**
+     * Recherche et retourne une page de personnes en pagination par curseur (« keyset »).
+     * <p>
+     * La page est positionnée directement après la dernière personne de la page précédente grâce au couple
+     * (valeur du champ de tri, identifiant) mémorisé dans le curseur, ce qui évite le coût croissant d'un {@code OFFSET}.
+     * Seuls les champs de {@link Person#KEYSET_SORT_FIELDS} peuvent être utilisés comme tri dans ce mode.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de personnes à retourner.
+     * @param sort        Le champ sur lequel trier les résultats.
+     * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO Les critères de filtrage supplémentaires.
+     * @return Un {@link Uni} contenant la liste des {@link Person} situées après le curseur.
+     */
+    public Uni<List<Person>> findPersons(KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate clauses = PersonRepositoryHelper.TEMPLATES.clauses(criteriaDTO);
+
+        return KeysetHelper.findAfter(cursor, size, (after, limit) -> {
+                    String query = String.format("""
+                            FROM Person p
+                            WHERE p.searchName LIKE :term
+                            %s
+                            %s
+                            %s
+                            """, clauses.query(), KeysetHelper.buildClause("p", after), KeysetHelper.buildOrderBy("p", sort, direction)
+                    );
+
+                    Parameters params = KeysetHelper.addParameters(buildFindPersonsParameters(clauses, criteriaDTO), after);
+
+                    return find(query, params).page(Page.ofSize(limit)).list();
+                }
+        );
     }
 
     /**
@@ -173,27 +326,19 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @param sort        Le champ sur lequel trier les résultats. Doit appartenir aux champs autorisés.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage supplémentaires. Peut être {@code null} pour ne pas filtrer.
-     * @return Un {@link Uni} contenant la liste des {@link Person} associées au film correspondant aux critères.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des {@link Person} associées au film correspondant aux critères
+     * et leur nombre total.
      */
-    public Uni<List<Person>> findPersonsByMovie(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                SELECT p
-                FROM Person p
-                JOIN MoviePerson mp ON p.id = mp.personId
-                WHERE mp.movieId = :id
-                    AND LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<Person>> findPersonsByMovie(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_BY_MOVIE_QUERY, criteriaDTO, sort, direction, true);
 
-        Parameters params = addParameters(
+        Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        return find(query, params).page(page).list();
+        return PagedQueryHelper.findPage(template.query(), params, page, row -> (Person) row[0], () -> countPersonsByMovie(id, criteriaDTO));
     }
 
     /**
@@ -210,31 +355,87 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @param sort        Le champ sur lequel trier les résultats. Doit appartenir aux champs autorisés.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage supplémentaires. Peut être {@code null} pour ne pas filtrer.
-     * @return Un {@link Uni} contenant la liste des {@link PersonWithMoviesNumber} correspondant aux critères.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des {@link PersonWithMoviesNumber} correspondant aux critères
+     * et leur nombre total.
      */
-    public Uni<List<PersonWithMoviesNumber>> findPersonsWithMoviesNumber(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                SELECT p, COALESCE((SELECT moviesNumber FROM PersonMoviesNumber pmn WHERE pmn.personId = p.id), 0) AS moviesNumber, COUNT(a) AS awardsNumber
-                FROM Person p
-                LEFT JOIN p.awards a
-                WHERE LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                GROUP BY p
-                %s
-                """, addClauses(criteriaDTO), addSort(sort, direction)
-        );
+    public Uni<PagedResult<PersonWithMoviesNumber>> findPersonsWithMoviesNumber(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_WITH_MOVIES_NUMBER_QUERY, criteriaDTO, sort, direction, true);
 
-        Parameters params = addParameters(
-                Parameters.with("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
-                criteriaDTO
-        );
+        return
+                PagedQueryHelper.findPage(
+                        template.query(),
+                        buildFindPersonsParameters(template, criteriaDTO),
+                        page,
+                        PersonRepository::toPersonWithMoviesNumber,
+                        () -> countPersons(criteriaDTO)
+                );
+    }
+
+    /**
+     * Recherche une page de personnes avec le nombre de films et de récompenses associés, sans calculer le nombre total
+     * de résultats.
+     *
+     * @param page        La page à récupérer (numéro de page et taille de page) pour la pagination.
+     * @param sort        Le champ sur lequel trier les résultats.
+     * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO Les critères de filtrage supplémentaires.
+     * @return Un {@link Uni} contenant la liste des {@link PersonWithMoviesNumber} de la page demandée.
+     */
+    public Uni<List<PersonWithMoviesNumber>> findPersonsWithMoviesNumberWithoutTotal(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_WITH_MOVIES_NUMBER_QUERY, criteriaDTO, sort, direction, false);
 
         return
-                find(query, params)
-                        .page(page)
-                        .project(PersonWithMoviesNumber.class)
-                        .list()
-                ;
+                PagedQueryHelper.findContent(
+                        template.query(),
+                        buildFindPersonsParameters(template, criteriaDTO),
+                        page,
+                        PersonRepository::toPersonWithMoviesNumber
+                );
+    }
+
+    private static PersonWithMoviesNumber toPersonWithMoviesNumber(Object[] row) {
+        return new PersonWithMoviesNumber((Person) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+    }
+
+    /**
+     * Recherche et retourne une page de personnes avec le nombre de films et le nombre de récompenses associés,
+     * en pagination par curseur (« keyset »).
+     * <p>
+     * Voir {@link #findPersons(KeysetCursor, int, String, Sort.Direction, CriteriaDTO)} pour le fonctionnement du curseur.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de personnes à retourner.
+     * @param sort        Le champ sur lequel trier les résultats.
+     * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO Les critères de filtrage supplémentaires.
+     * @return Un {@link Uni} contenant la liste des {@link PersonWithMoviesNumber} situées après le curseur.
+     */
+    public Uni<List<PersonWithMoviesNumber>> findPersonsWithMoviesNumber(KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate clauses = PersonRepositoryHelper.TEMPLATES.clauses(criteriaDTO);
+
+        return KeysetHelper.findAfter(cursor, size, (after, limit) -> {
+                    String query = String.format("""
+                            SELECT p, COALESCE((SELECT moviesNumber FROM PersonMoviesNumber pmn WHERE pmn.personId = p.id), 0) AS moviesNumber, COUNT(a) AS awardsNumber
+                            FROM Person p
+                            LEFT JOIN p.awards a
+                            WHERE p.searchName LIKE :term
+                            %s
+                            %s
+                            GROUP BY p
+                            %s
+                            """, clauses.query(), KeysetHelper.buildClause("p", after), KeysetHelper.buildOrderBy("p", sort, direction)
+                    );
+
+                    Parameters params = KeysetHelper.addParameters(buildFindPersonsParameters(clauses, criteriaDTO), after);
+
+                    return
+                            find(query, params)
+                                    .page(Page.ofSize(limit))
+                                    .project(PersonWithMoviesNumber.class)
+                                    .list()
+                            ;
+                }
+        );
     }
 
     /**
@@ -248,143 +449,59 @@ public class PersonRepository implements PanacheRepositoryBase<Person, Long> {
      * @param sort        Le champ sur lequel trier les résultats. Doit appartenir aux champs autorisés.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage supplémentaires. Peut être {@code null} pour ne pas filtrer.
-     * @return Un {@link Uni} contenant la liste des {@link Person} correspondant au critère de pays et aux filtres.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page des {@link Person} correspondant au critère de pays et aux filtres
+     * et leur nombre total.
      */
-    public Uni<List<Person>> findPersonsByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
-        String query = String.format("""
-                FROM Person p
-                JOIN p.countries c
-                WHERE c.id = :id
-                    AND LOWER(FUNCTION('unaccent', p.name)) LIKE LOWER(FUNCTION('unaccent', :term))
-                %s
-                """, addClauses(criteriaDTO)
-        );
+    public Uni<PagedResult<Person>> findPersonsByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        QueryTemplate template = PersonRepositoryHelper.TEMPLATES.get(FIND_PERSONS_BY_COUNTRY_QUERY, criteriaDTO, sort, direction, true);
 
-        Parameters params = addParameters(
+        Parameters params = template.bind(
                 Parameters.with("id", id)
-                        .and("term", "%" + StringUtils.defaultString(criteriaDTO.getTerm()) + "%"),
+                        .and("term", Utils.toSearchPattern(criteriaDTO.getTerm())),
                 criteriaDTO
         );
 
-        Sort finalSort = Sort.by(sort, direction, Sort.NullPrecedence.NULLS_LAST);
-
-        return find(query, finalSort, params)
-                .page(page)
-                .list();
+        return PagedQueryHelper.findPage(template.query(), params, page, row -> (Person) row[0], () -> countPersonsByCountry(id, criteriaDTO));
     }
 
     /**
-     * Retourne l'évolution cumulée du nombre de personnes de type {@link PersonType#ACTOR} créées par mois.
-     * <p>
-     * Chaque enregistrement contient le mois (format "MM-YYYY") et le nombre cumulatif d'acteurs créés jusqu'à ce mois.
-     * La méthode utilise la fonction SQL de fenêtrage {@code SUM(...) OVER (ORDER BY mois_creation)} pour calculer le cumul.
+     * Rafraîchit complètement les tables {@code film_personne} et {@code personne_nombre_films} à partir de l'index
+     * des rôles (fonction {@code rafraichir_film_personne}).
      * <p>
-     * Si aucun acteur n’a été créé, la méthode retourne une liste vide.
+     * Ces tables sont maintenues incrémentalement par trigger ; ce rafraîchissement ne fait que corriger un éventuel écart.
+     * Il bloque les écritures sur les liens film-personne le temps du recalcul et doit être exécuté dans une transaction.
      *
-     * @return Un {@link Uni} contenant une liste de {@link Repartition}, chaque élément représentant
-     * le mois et le nombre cumulé d’acteurs créés.
+     * @return Un {@link Uni} contenant le nombre de lignes corrigées (0 si les tables étaient à jour).
      */
-    public Uni<List<Repartition>> findActorsCreationDateEvolution() {
+    public Uni<Long> refreshMoviePersons() {
         return
-                find("""
-                         SELECT
-                            mois_creation,
-                            SUM(monthly_count) OVER (ORDER BY mois_creation) AS cumulative_count
-                        FROM (
-                            SELECT
-                                TO_CHAR(p.creationDate, 'MM-YYYY') AS mois_creation,
-                                COUNT(*) AS monthly_count
-                            FROM Person p
-                            WHERE ?1 MEMBER OF p.types
-                            GROUP BY TO_CHAR(p.creationDate, 'MM-YYYY')
-                        ) AS sub
-                        ORDER BY mois_creation
-                        """, PersonType.ACTOR
-                )
-                        .project(Repartition.class)
-                        .list()
-                ;
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("SELECT rafraichir_film_personne()", Long.class)
+                                        .getSingleResult()
+                        );
     }
 
-    private String addSort(String sort, Sort.Direction direction) {
-        if (StringUtils.isEmpty(sort)) return "";
-
-        String dir = (direction == Sort.Direction.Ascending) ? "ASC" : "DESC";
-
-        // Si le critère de tri est le nombre de films
-        if ("moviesCount".equals(sort)) {
-            return String.format(" ORDER BY moviesNumber %s", dir);
-        }
-
-        // Si le critère de tri est le nombre de récompenses
-        if ("awardsCount".equals(sort)) {
-            return String.format(" ORDER BY awardsNumber %s", dir);
-        }
-
-        // Protection basique contre injection ou champ non mappé
-        Set<String> allowedFields = Person.ALLOWED_SORT_FIELDS;
-        if (!allowedFields.contains(sort)) {
-            throw new IllegalArgumentException("Champ de tri non autorisé : " + sort);
-        }
-
-        // Cas générique pour trier par un autre champ, avec gestion des NULL
-        return String.format(" ORDER BY CASE WHEN p.%s IS NULL THEN 1 ELSE 0 END, p.%s %s", sort, sort, dir);
-    }
-
-    private String addClauses(CriteriaDTO criteriaDTO) {
-        StringBuilder query = new StringBuilder();
-
-        Optional.ofNullable(criteriaDTO.getFromBirthDate()).ifPresent(date -> query.append(" AND p.dateOfBirth >= :fromBirthDate"));
-        Optional.ofNullable(criteriaDTO.getToBirthDate()).ifPresent(date -> query.append(" AND p.dateOfBirth <= :toBirthDate"));
-        Optional.ofNullable(criteriaDTO.getFromDeathDate()).ifPresent(date -> query.append(" AND p.dateOfDeath >= :fromDeathDate"));
-        Optional.ofNullable(criteriaDTO.getToDeathDate()).ifPresent(date -> query.append(" AND p.dateOfDeath <= :toDeathDate"));
-        Optional.ofNullable(criteriaDTO.getFromCreationDate()).ifPresent(date -> query.append(" AND p.creationDate >= :fromCreationDate"));
-        Optional.ofNullable(criteriaDTO.getToCreationDate()).ifPresent(date -> query.append(" AND p.creationDate <= :toCreationDate"));
-        Optional.ofNullable(criteriaDTO.getFromLastUpdate()).ifPresent(date -> query.append(" AND p.lastUpdate >= :fromLastUpdate"));
-        Optional.ofNullable(criteriaDTO.getToLastUpdate()).ifPresent(date -> query.append(" AND p.lastUpdate <= :toLastUpdate"));
-
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM p.countries c WHERE c.id IN :countryIds)");
-        }
-
-        if (Objects.nonNull(criteriaDTO.getPersonTypes()) && !criteriaDTO.getPersonTypes().isEmpty()) {
-            query.append(" AND EXISTS (SELECT 1 FROM p.types t WHERE t IN :personTypes)");
-        }
-
-        return query.toString();
-    }
-
-    private Parameters addParameters(Parameters params, CriteriaDTO criteriaDTO) {
-        if (Objects.nonNull(criteriaDTO.getFromBirthDate())) {
-            params.and("fromBirthDate", criteriaDTO.getFromBirthDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToBirthDate())) {
-            params.and("toBirthDate", criteriaDTO.getToBirthDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getFromDeathDate())) {
-            params.and("fromDeathDate", criteriaDTO.getFromDeathDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToDeathDate())) {
-            params.and("toDeathDate", criteriaDTO.getToDeathDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getFromCreationDate())) {
-            params.and("fromCreationDate", criteriaDTO.getFromCreationDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToCreationDate())) {
-            params.and("toCreationDate", criteriaDTO.getToCreationDate());
-        }
-        if (Objects.nonNull(criteriaDTO.getFromLastUpdate())) {
-            params.and("fromLastUpdate", criteriaDTO.getFromLastUpdate());
-        }
-        if (Objects.nonNull(criteriaDTO.getToLastUpdate())) {
-            params.and("toLastUpdate", criteriaDTO.getToLastUpdate());
-        }
-        if (Objects.nonNull(criteriaDTO.getCountryIds()) && !criteriaDTO.getCountryIds().isEmpty()) {
-            params.and("countryIds", criteriaDTO.getCountryIds());
-        }
-        if (Objects.nonNull(criteriaDTO.getPersonTypes()) && !criteriaDTO.getPersonTypes().isEmpty()) {
-            params.and("personTypes", criteriaDTO.getPersonTypes());
-        }
-        return params;
+    /**
+     * Renseigne le nom normalisé ({@link Utils#normalizeForSearch(String)}) d'un lot de personnes qui n'en ont pas
+     * encore, sans déclencher leur {@code @PreUpdate} : leur date de mise à jour est conservée.
+     *
+     * @param limit Le nombre maximal de personnes traitées.
+     * @return Un {@link Uni} contenant le nombre de personnes mises à jour.
+     */
+    public Uni<Integer> fillMissingSearchNames(int limit) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery("SELECT p.id, p.name FROM Person p WHERE p.searchName IS NULL ORDER BY p.id", Object[].class)
+                                        .setMaxResults(limit)
+                                        .getResultList()
+                        )
+                        .chain(rows ->
+                                Multi.createFrom().iterable(rows)
+                                        .onItem().transformToUniAndConcatenate(row -> update("searchName = ?1 WHERE id = ?2", Utils.normalizeForSearch((String) row[1]), row[0]))
+                                        .collect().with(Collectors.summingInt(Integer::intValue))
+                        )
+                ;
     }
 }
@@ -0,0 +1,145 @@
+package org.desha.app.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.desha.app.domain.entity.StatsBucket;
+import org.desha.app.domain.enums.Granularity;
+import org.desha.app.domain.record.Repartition;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@ApplicationScoped
+public class StatsBucketRepository implements PanacheRepositoryBase<StatsBucket, StatsBucket.StatsBucketId> {
+
+    private static final LocalDate MIN_PERIOD = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_PERIOD = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Récupère le nombre d'éléments d'une série créés par période, sur un intervalle de dates.
+     * <p>
+     * Seules les périodes de la granularité demandée sont lues : le coût est proportionnel au nombre de périodes
+     * retournées, quelle que soit la taille de la table d'origine. Une période sans création n'apparaît pas.
+     *
+     * @param series      La clé de la série ({@link org.desha.app.domain.enums.StatsSeries#key}).
+     * @param granularity La granularité des périodes.
+     * @param from        La date de début (incluse, la période qui la contient est retournée entière), ou {@code null}.
+     * @param to          La date de fin (incluse), ou {@code null}.
+     * @return Un {@link Uni} contenant une liste de {@link Repartition}, chaque élément représentant une période
+     * (libellé au format {@link Granularity#getPattern()}) et le nombre d'éléments créés pendant celle-ci, dans l'ordre
+     * chronologique.
+     */
+    public Uni<List<Repartition>> findRepartition(String series, Granularity granularity, @Nullable LocalDate from, @Nullable LocalDate to) {
+        return
+                find("""
+                        SELECT CAST(FUNCTION('TO_CHAR', b.period, ?3) AS string), b.total
+                        FROM StatsBucket b
+                        WHERE b.series = ?1
+                          AND b.granularity = ?2
+                          AND b.period BETWEEN ?4 AND ?5
+                        ORDER BY b.period
+                        """,
+                        series,
+                        granularity,
+                        granularity.getPattern(),
+                        Objects.isNull(from) ? MIN_PERIOD : granularity.truncate(from),
+                        Objects.requireNonNullElse(to, MAX_PERIOD)
+                )
+                        .project(Repartition.class)
+                        .list()
+                ;
+    }
+
+    /**
+     * Récupère l'évolution cumulée du nombre d'éléments d'une série, sur un intervalle de dates.
+     * <p>
+     * Le cumul de départ (éléments créés avant la première période) est calculé à partir des années, puis des mois et
+     * des jours qui précèdent le début de l'intervalle, sans parcourir toutes les périodes depuis l'origine.
+     *
+     * @param series      La clé de la série ({@link org.desha.app.domain.enums.StatsSeries#key}).
+     * @param granularity La granularité des périodes.
+     * @param from        La date de début (incluse, la période qui la contient est retournée entière), ou {@code null}.
+     * @param to          La date de fin (incluse), ou {@code null}.
+     * @return Un {@link Uni} contenant une liste de {@link Repartition}, chaque élément représentant une période et le
+     * nombre cumulé d'éléments créés jusqu'à la fin de celle-ci, dans l'ordre chronologique.
+     */
+    public Uni<List<Repartition>> findEvolution(String series, Granularity granularity, @Nullable LocalDate from, @Nullable LocalDate to) {
+        final Uni<Long> initialTotal = Objects.isNull(from)
+                ? Uni.createFrom().item(0L)
+                : countBefore(series, granularity.truncate(from));
+
+        return
+                initialTotal.chain(initial ->
+                        findRepartition(series, granularity, from, to)
+                                .map(repartition -> {
+                                            final List<Repartition> evolution = new ArrayList<>(repartition.size());
+                                            long total = initial;
+                                            for (Repartition element : repartition) {
+                                                total += element.total();
+                                                evolution.add(new Repartition(element.label(), total));
+                                            }
+                                            return evolution;
+                                        }
+                                )
+                )
+                ;
+    }
+
+    /**
+     * Compte les éléments d'une série créés avant une date, en combinant les années complètes qui la précèdent, puis
+     * les mois de son année et les jours de son mois.
+     *
+     * @param series La clé de la série.
+     * @param date   La date (exclue).
+     * @return Un {@link Uni} contenant le nombre d'éléments créés avant la date.
+     */
+    private Uni<Long> countBefore(String series, LocalDate date) {
+        final LocalDate yearStart = Granularity.YEAR.truncate(date);
+        final LocalDate monthStart = Granularity.MONTH.truncate(date);
+
+        return
+                getSession()
+                        .chain(session ->
+                                session.createSelectionQuery("""
+                                                SELECT COALESCE(SUM(b.total), 0)
+                                                FROM StatsBucket b
+                                                WHERE b.series = :series
+                                                  AND ((b.granularity = :year AND b.period < :yearStart)
+                                                    OR (b.granularity = :month AND b.period >= :yearStart AND b.period < :monthStart)
+                                                    OR (b.granularity = :day AND b.period >= :monthStart AND b.period < :date))
+                                                """, Long.class)
+                                        .setParameter("series", series)
+                                        .setParameter("year", Granularity.YEAR)
+                                        .setParameter("month", Granularity.MONTH)
+                                        .setParameter("day", Granularity.DAY)
+                                        .setParameter("yearStart", yearStart)
+                                        .setParameter("monthStart", monthStart)
+                                        .setParameter("date", date)
+                                        .getSingleResult()
+                        );
+    }
+
+    /**
+     * Rafraîchit complètement l'historique des créations à partir des tables d'origine (fonction
+     * {@code rafraichir_statistiques_creation}).
+     * <p>
+     * L'historique est maintenu incrémentalement par trigger ; ce rafraîchissement ne fait que corriger un éventuel
+     * écart. Il ne bloque pas les écritures et doit être exécuté dans une transaction ; une seule instance de
+     * l'application l'exécute à la fois.
+     *
+     * @return Un {@link Uni} contenant le nombre de périodes corrigées (0 si l'historique était à jour, ou s'il est
+     * rafraîchi au même moment par une autre instance).
+     */
+    public Uni<Long> refresh() {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("SELECT rafraichir_statistiques_creation()", Long.class)
+                                        .getSingleResult()
+                        );
+    }
+}
@@ -0,0 +1,44 @@
+package org.desha.app.repository;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.desha.app.domain.entity.StatsSnapshot;
+
+import java.time.LocalDateTime;
+
+@ApplicationScoped
+public class StatsSnapshotRepository implements PanacheRepositoryBase<StatsSnapshot, Short> {
+
+    /**
+     * @return Un {@link Uni} contenant le dernier instantané des statistiques, ou {@code null} s'il n'en existe pas.
+     */
+    public Uni<StatsSnapshot> findLatest() {
+        return findById(StatsSnapshot.ID);
+    }
+
+    /**
+     * Enregistre l'instantané des statistiques, en remplaçant le précédent.
+     *
+     * @param data       Les statistiques sérialisées en JSON.
+     * @param computedAt La date de calcul des statistiques.
+     * @return Un {@link Uni} terminé une fois l'instantané enregistré.
+     */
+    public Uni<Void> save(String data, LocalDateTime computedAt) {
+        return
+                getSession()
+                        .chain(session ->
+                                session.createNativeQuery("""
+                                                INSERT INTO statistiques_snapshot (id, donnees, date_calcul)
+                                                VALUES (:id, CAST(:data AS jsonb), :computedAt)
+                                                ON CONFLICT (id) DO UPDATE SET donnees = EXCLUDED.donnees, date_calcul = EXCLUDED.date_calcul
+                                                """)
+                                        .setParameter("id", StatsSnapshot.ID)
+                                        .setParameter("data", data)
+                                        .setParameter("computedAt", computedAt)
+                                        .executeUpdate()
+                        )
+                        .replaceWithVoid()
+                ;
+    }
+}
@@ -2,6 +2,7 @@ package org.desha.app.service;
 
 import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.tuples.Tuple2;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,7 @@ import org.desha.app.domain.dto.LitePersonDTO;
 import org.desha.app.domain.entity.Person;
 import org.desha.app.mapper.AwardMapper;
 import org.desha.app.repository.AwardRepository;
+import org.desha.app.repository.MovieRepository;
 import org.desha.app.utils.Messages;
 
 import java.util.List;
@@ -25,17 +27,23 @@ public class AwardService {
 
     private final AwardMapper awardMapper;
     private final PersonService personService;
+    private final MovieCacheService movieCacheService;
     private final AwardRepository awardRepository;
+    private final MovieRepository movieRepository;
 
     @Inject
     public AwardService(
             AwardMapper awardMapper,
             PersonService personService,
-            AwardRepository awardRepository
+            MovieCacheService movieCacheService,
+            AwardRepository awardRepository,
+            MovieRepository movieRepository
     ) {
         this.awardMapper = awardMapper;
         this.personService = personService;
+        this.movieCacheService = movieCacheService;
         this.awardRepository = awardRepository;
+        this.movieRepository = movieRepository;
     }
 
     /**
@@ -95,7 +103,9 @@ public class AwardService {
      * Met à jour une récompense existante avec les informations fournies dans un {@link AwardDTO}.
      * <p>
      * Si aucune récompense ne correspond à l’identifiant {@code id}, une exception {@link NotFoundException} est levée.
-     * La méthode applique les modifications à l’entité existante et retourne le {@link AwardDTO} mis à jour.
+     * La méthode applique les modifications à l’entité existante et retourne le {@link AwardDTO} mis à jour. La date de
+     * mise à jour du film concerné est modifiée dans la même transaction, et le film est retiré du cache après sa
+     * validation.
      * <p>
      * En cas d’erreur lors de l’exécution de la transaction, une exception {@link WebApplicationException}
      * est levée avec un statut HTTP 500.
@@ -114,8 +124,11 @@ public class AwardService {
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_AWARD))
                                         .invoke(award -> award.updateAward(awardDTO))
                                         .call(category -> awardRepository.flush())
-                                        .map(awardMapper::todDTO)
+                                        .call(award -> movieRepository.touch(award.getCeremonyAwards().getMovie().getId()))
+                                        .map(award -> Tuple2.of(award.getCeremonyAwards().getMovie().getId(), awardMapper.todDTO(award)))
                         )
+                        .call(result -> movieCacheService.invalidate(result.getItem1()))
+                        .map(Tuple2::getItem2)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -131,7 +144,9 @@ public class AwardService {
      * Supprime une récompense existante à partir de son identifiant.
      * <p>
      * Si aucune récompense ne correspond à l’identifiant {@code id}, une exception {@link NotFoundException} est levée.
-     * La suppression est effectuée dans une transaction et retourne un indicateur de succès.
+     * La suppression est effectuée dans une transaction, qui recalcule également le nombre de récompenses du film
+     * concerné via {@link MovieRepository#updateAwardsNumber(Long)}, et retourne un indicateur de succès. Le film est
+     * retiré du cache après validation de la transaction.
      * <p>
      * En cas d’erreur lors de la suppression, une exception {@link WebApplicationException}
      * est levée avec un statut HTTP 500.
@@ -145,9 +160,16 @@ public class AwardService {
         return
                 Panache
                         .withTransaction(() ->
-                                awardRepository.deleteById(id)
+                                awardRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_AWARD))
+                                        .call(awardRepository::delete)
+                                        .call(awardRepository::flush)
+                                        .call(award -> movieRepository.updateAwardsNumber(award.getCeremonyAwards().getMovie().getId()))
+                                        .call(award -> movieRepository.touch(award.getCeremonyAwards().getMovie().getId()))
+                                        .map(award -> award.getCeremonyAwards().getMovie().getId())
                         )
+                        .call(movieCacheService::invalidate)
+                        .map(movieId -> true)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -0,0 +1,89 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.repository.MovieRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réconciliation de fond du nombre de récompenses dénormalisé des films ({@code film.nombre_recompenses}).
+ * <p>
+ * Le compteur est recalculé à chaque modification des récompenses d'un film (via {@link CeremonyAwardsService},
+ * {@link AwardService} et {@link MovieService}). La réconciliation, planifiée par la propriété
+ * {@code pmdb.movie-awards.reconcile.every}, ne sert qu'à détecter et corriger un éventuel écart.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.movie_awards.drift} : nombre de films corrigés par la dernière réconciliation ;</li>
+ *     <li>{@code pmdb.movie_awards.reconcile} : durée des réconciliations ;</li>
+ *     <li>{@code pmdb.movie_awards.reconcile.failures} : nombre de réconciliations en échec.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class AwardsNumberReconciliationService {
+
+    private final AtomicLong lastDrift = new AtomicLong(0);
+
+    private final MovieRepository movieRepository;
+    private final Timer reconcileTimer;
+    private final Counter reconcileFailures;
+
+    @Inject
+    public AwardsNumberReconciliationService(MovieRepository movieRepository, MeterRegistry registry) {
+        this.movieRepository = movieRepository;
+        this.reconcileTimer = registry.timer("pmdb.movie_awards.reconcile");
+        this.reconcileFailures = registry.counter("pmdb.movie_awards.reconcile.failures");
+        registry.gauge("pmdb.movie_awards.drift", lastDrift);
+    }
+
+    @Scheduled(
+            identity = "movie-awards-reconcile",
+            every = "${pmdb.movie-awards.reconcile.every}",
+            delayed = "${pmdb.movie-awards.reconcile.delayed}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> scheduledReconcile() {
+        return reconcile().replaceWithVoid();
+    }
+
+    /**
+     * Recalcule le nombre de récompenses de tous les films et corrige ceux qui divergent.
+     * <p>
+     * Un écart non nul indique qu'une écriture a contourné les services (écriture directe en base, suppression
+     * d'une cérémonie) : il est journalisé en avertissement.
+     *
+     * @return Un {@link Uni} contenant le nombre de films corrigés.
+     */
+    public Uni<Integer> reconcile() {
+        final long start = System.nanoTime();
+
+        return
+                Panache.withTransaction(movieRepository::reconcileAwardsNumbers)
+                        .invoke(drift -> {
+                                    reconcileTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                                    lastDrift.set(drift);
+                                    if (drift > 0) {
+                                        log.warn("Réconciliation du nombre de récompenses : {} film(s) corrigé(s)", drift);
+                                    } else {
+                                        log.debug("Réconciliation du nombre de récompenses : compteurs à jour");
+                                    }
+                                }
+                        )
+                        .onFailure().invoke(throwable -> {
+                                    reconcileFailures.increment();
+                                    log.error("Erreur lors de la réconciliation du nombre de récompenses", throwable);
+                                }
+                        )
+                ;
+    }
+}
@@ -0,0 +1,248 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.enums.InvalidationScope;
+import org.desha.app.domain.record.InvalidationEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion des invalidations de données en mémoire entre les instances de l'application, via {@code LISTEN/NOTIFY}
+ * de PostgreSQL.
+ * <p>
+ * Chaque instance conserve en mémoire des données dérivées de la base (détails des films, pays, catégories,
+ * statistiques). Après une écriture, l'instance qui l'a traitée met à jour ses propres données puis publie un
+ * {@link InvalidationEvent} ({@code NOTIFY}) sur le canal {@code pmdb.invalidation.channel}
+ * ({@link #publish(InvalidationScope, Long)}). Un message peut aussi porter le contenu de la modification
+ * ({@link #publish(InvalidationScope, Long, String)}), que les autres instances appliquent sans relire la base.
+ * Les autres instances, à l'écoute du canal, le transmettent à leurs services sous forme d'événement CDI asynchrone
+ * ({@code @ObservesAsync InvalidationEvent}) ; une instance ignore ses propres messages.
+ * <p>
+ * L'écoute utilise une connexion dédiée, rétablie automatiquement en cas de perte. Les messages émis pendant une
+ * coupure étant perdus, chaque reconnexion déclenche une invalidation complète ({@link InvalidationScope#ALL}).
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.invalidation.published} : messages publiés ;</li>
+ *     <li>{@code pmdb.invalidation.publish.failures} : publications en échec ;</li>
+ *     <li>{@code pmdb.invalidation.received} : messages reçus d'une autre instance ;</li>
+ *     <li>{@code pmdb.invalidation.connected} : 1 si l'écoute est active, 0 sinon.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class CacheInvalidationService {
+
+    private static final String SEPARATOR = ":";
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+    // Taille maximale d'un message NOTIFY (8000 octets), marge comprise
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicInteger connected = new AtomicInteger(0);
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean(false);
+
+    private final Vertx vertx;
+    private final Event<InvalidationEvent> event;
+    private final boolean enabled;
+    private final String channel;
+    private final PgConnectOptions connectOptions;
+    private final Counter published;
+    private final Counter publishFailures;
+    private final Counter received;
+
+    private PgSubscriber subscriber;
+
+    @Inject
+    public CacheInvalidationService(
+            Vertx vertx,
+            Event<InvalidationEvent> event,
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.invalidation.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "pmdb.invalidation.channel", defaultValue = "pmdb_invalidation") String channel,
+            @ConfigProperty(name = "quarkus.datasource.reactive.url") String url,
+            @ConfigProperty(name = "quarkus.datasource.username") Optional<String> username,
+            @ConfigProperty(name = "quarkus.datasource.password") Optional<String> password
+    ) {
+        this.vertx = vertx;
+        this.event = event;
+        this.enabled = enabled;
+        this.channel = channel;
+        this.connectOptions = PgConnectOptions.fromUri(url.replaceFirst("^vertx-reactive:", ""));
+        username.ifPresent(connectOptions::setUser);
+        password.ifPresent(connectOptions::setPassword);
+        this.published = registry.counter("pmdb.invalidation.published");
+        this.publishFailures = registry.counter("pmdb.invalidation.publish.failures");
+        this.received = registry.counter("pmdb.invalidation.received");
+        registry.gauge("pmdb.invalidation.connected", connected);
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        if (!enabled) {
+            log.info("Diffusion des invalidations désactivée");
+            return;
+        }
+
+        subscriber = PgSubscriber.subscriber(vertx, connectOptions)
+                // Reconnexion après une perte de la connexion d'écoute, avec un délai croissant
+                .reconnectPolicy(retries -> {
+                            connected.set(0);
+                            log.warn("Écoute du canal d'invalidation {} interrompue, tentative de reconnexion {}", channel, retries + 1);
+                            return Math.min(1_000L * (1L << Math.min(retries, 5)), MAX_RECONNECT_DELAY_MS);
+                        }
+                )
+                .closeHandler(() -> {
+                            connected.set(0);
+                            log.info("Écoute du canal d'invalidation {} arrêtée", channel);
+                        }
+                );
+        subscriber.channel(channel)
+                .handler(this::onMessage)
+                .subscribeHandler(this::onSubscribe);
+
+        // La connexion initiale n'est pas couverte par la politique de reconnexion
+        subscriber.connect()
+                .onFailure().invoke(throwable -> log.warn("Connexion au canal d'invalidation {} impossible : {}", channel, throwable.getMessage()))
+                .onFailure().retry().withBackOff(Duration.ofSeconds(1), Duration.ofMillis(MAX_RECONNECT_DELAY_MS)).indefinitely()
+                .subscribe().with(
+                        unused -> log.info("Écoute du canal d'invalidation {} (instance {})", channel, origin),
+                        throwable -> log.error("Écoute du canal d'invalidation {} abandonnée", channel, throwable)
+                );
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        if (Objects.nonNull(subscriber)) {
+            subscriber.closeAndAwait();
+        }
+    }
+
+    /**
+     * Publie une invalidation à destination des autres instances.
+     * <p>
+     * Le message est émis par la session Hibernate courante : appelé dans la transaction d'une écriture, il n'est
+     * délivré qu'à la validation de celle-ci (et jamais en cas d'annulation) ; appelé hors transaction, il est délivré
+     * immédiatement. Un échec de publication est journalisé sans faire échouer l'écriture : les autres instances se
+     * resynchronisent à la prochaine invalidation, ou à l'expiration de leurs caches.
+     *
+     * @param scope La portée de l'invalidation.
+     * @param id    L'identifiant de l'élément modifié, ou {@code null} pour tous les éléments de la portée.
+     * @return Un {@link Uni} terminé une fois le message publié.
+     */
+    public Uni<Void> publish(InvalidationScope scope, @Nullable Long id) {
+        return publish(scope, id, null);
+    }
+
+    /**
+     * Publie une modification à destination des autres instances, avec son contenu.
+     * <p>
+     * Un contenu trop volumineux pour un message {@code NOTIFY} n'est pas transmis : les autres instances reçoivent
+     * alors une simple invalidation, et rechargent les données de la portée.
+     *
+     * @param scope La portée de la modification.
+     * @param id    L'identifiant de l'élément modifié, ou {@code null} pour tous les éléments de la portée.
+     * @param data  Le contenu de la modification, ou {@code null}.
+     * @return Un {@link Uni} terminé une fois le message publié.
+     * @see #publish(InvalidationScope, Long)
+     */
+    public Uni<Void> publish(InvalidationScope scope, @Nullable Long id, @Nullable String data) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+
+        final String header = String.join(SEPARATOR, origin, scope.name(), Objects.isNull(id) ? "" : id.toString());
+        final String payload;
+        if (Objects.isNull(data)) {
+            payload = header;
+        } else if (header.length() + 1 + data.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            log.debug("Contenu de l'invalidation {} trop volumineux, non transmis", header);
+            payload = header;
+        } else {
+            payload = header + SEPARATOR + data;
+        }
+        return
+                Panache.withSession(() ->
+                                Panache.getSession()
+                                        .chain(session ->
+                                                session.createNativeQuery("SELECT 1 FROM pg_notify(:channel, :payload)", Integer.class)
+                                                        .setParameter("channel", channel)
+                                                        .setParameter("payload", payload)
+                                                        .getSingleResult()
+                                        )
+                        )
+                        .invoke(() -> {
+                                    published.increment();
+                                    log.debug("Invalidation publiée : {}", payload);
+                                }
+                        )
+                        .replaceWithVoid()
+                        .onFailure().recoverWithUni(throwable -> {
+                                    publishFailures.increment();
+                                    log.error("Erreur lors de la publication de l'invalidation {}", payload, throwable);
+                                    return Uni.createFrom().voidItem();
+                                }
+                        )
+                ;
+    }
+
+    private void onSubscribe() {
+        connected.set(1);
+        if (!subscribedOnce.compareAndSet(false, true)) {
+            log.info("Écoute du canal d'invalidation {} rétablie : invalidation complète", channel);
+            fire(new InvalidationEvent(InvalidationScope.ALL, null));
+        }
+    }
+
+    private void onMessage(String payload) {
+        // Le contenu éventuel, en dernière position, peut lui-même contenir le séparateur
+        final String[] parts = payload.split(SEPARATOR, 4);
+        if (parts.length < 3) {
+            log.warn("Message d'invalidation ignoré (format inconnu) : {}", payload);
+            return;
+        }
+        if (origin.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            final InvalidationScope scope = InvalidationScope.valueOf(parts[1]);
+            final Long id = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+            final String data = parts.length == 4 ? parts[3] : null;
+            received.increment();
+            log.debug("Invalidation reçue de l'instance {} : {} {}", parts[0], scope, id);
+            fire(new InvalidationEvent(scope, id, data));
+        } catch (IllegalArgumentException e) {
+            log.warn("Message d'invalidation ignoré (contenu invalide) : {}", payload);
+        }
+    }
+
+    private void fire(InvalidationEvent invalidationEvent) {
+        // Les observateurs s'exécutent hors de la boucle d'événements de la connexion d'écoute
+        event.fireAsync(invalidationEvent)
+                .exceptionally(throwable -> {
+                            log.error("Erreur lors du traitement de l'invalidation {}", invalidationEvent, throwable);
+                            return invalidationEvent;
+                        }
+                );
+    }
+}
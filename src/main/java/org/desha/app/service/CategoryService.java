@@ -1,10 +1,12 @@
 package org.desha.app.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.WebApplicationException;
@@ -14,6 +16,10 @@ import org.desha.app.domain.dto.CategoryDTO;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.dto.MovieDTO;
 import org.desha.app.domain.entity.Category;
+import org.desha.app.domain.enums.InvalidationScope;
+import org.desha.app.domain.record.InvalidationEvent;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.helper.ReferenceDataCache;
 import org.desha.app.mapper.CategoryMapper;
 import org.desha.app.mapper.MovieMapper;
 import org.desha.app.repository.CategoryRepository;
@@ -21,30 +27,59 @@ import org.desha.app.repository.MovieRepository;
 import org.desha.app.utils.Messages;
 import org.hibernate.exception.ConstraintViolationException;
 
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.time.LocalDateTime;
+import java.util.*;
 
+/**
+ * Service de gestion des catégories.
+ * <p>
+ * La table des catégories, de petite taille et rarement modifiée, est conservée en mémoire par un
+ * {@link ReferenceDataCache} : le comptage, la recherche, le tri et la pagination des catégories sont effectués sans
+ * requête SQL. Le cache est invalidé après chaque création, mise à jour ou suppression d'une catégorie ; une mise à jour
+ * ou une suppression vide aussi le cache des détails des films ({@link MovieCacheService}). Les invalidations sont
+ * diffusées aux autres instances de l'application par {@link CacheInvalidationService}.
+ */
 @ApplicationScoped
 @Slf4j
 public class CategoryService {
 
     private final CategoryMapper categoryMapper;
     private final MovieMapper movieMapper;
+    private final MovieCacheService movieCacheService;
+    private final CacheInvalidationService cacheInvalidationService;
     private final CategoryRepository categoryRepository;
     private final MovieRepository movieRepository;
+    private final ReferenceDataCache<Category> categories;
 
     @Inject
     public CategoryService(
             CategoryMapper categoryMapper,
             MovieMapper movieMapper,
+            MovieCacheService movieCacheService,
+            CacheInvalidationService cacheInvalidationService,
             CategoryRepository categoryRepository,
-            MovieRepository movieRepository
+            MovieRepository movieRepository,
+            MeterRegistry registry
     ) {
         this.categoryMapper = categoryMapper;
         this.movieMapper = movieMapper;
+        this.movieCacheService = movieCacheService;
+        this.cacheInvalidationService = cacheInvalidationService;
         this.categoryRepository = categoryRepository;
         this.movieRepository = movieRepository;
+        this.categories = new ReferenceDataCache<>(
+                "categories",
+                registry,
+                () -> Panache.withSession(categoryRepository::listAll),
+                Category::getId,
+                Map.of(Category.DEFAULT_SORT, Category::getName),
+                Map.of(
+                        "id", ReferenceDataCache.natural(Category::getId),
+                        Category.DEFAULT_SORT, ReferenceDataCache.text(Category::getName),
+                        "creationDate", ReferenceDataCache.natural(Category::getCreationDate),
+                        "lastUpdate", ReferenceDataCache.natural(Category::getLastUpdate)
+                )
+        );
     }
 
     /**
@@ -63,7 +98,7 @@ public class CategoryService {
      */
     public Uni<Long> count(String term) {
         return
-                categoryRepository.countCategories(term)
+                categories.count(term, Category.DEFAULT_SORT)
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors du comptage des catégories", throwable);
                                     return new WebApplicationException("Erreur lors du comptage des catégories", Response.Status.INTERNAL_SERVER_ERROR);
@@ -121,7 +156,7 @@ public class CategoryService {
      */
     public Uni<CategoryDTO> getById(Long id) {
         return
-                categoryRepository.findById(id)
+                categories.findById(id)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_CATEGORY))
                         .map(categoryMapper::toDTO)
                         .onFailure().transform(e -> {
@@ -135,11 +170,33 @@ public class CategoryService {
                 ;
     }
 
+    /**
+     * Récupère la date de dernière modification d'une catégorie.
+     * <p>
+     * Sert de validateur aux requêtes conditionnelles sur {@link #getById(Long)}. La date est lue dans le cache des
+     * catégories, sans requête en base.
+     *
+     * @param id L'identifiant unique de la catégorie.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si la catégorie n'existe pas.
+     * @throws WebApplicationException en cas d'erreur interne lors de la récupération.
+     */
+    public Uni<LocalDateTime> getLastUpdate(Long id) {
+        return
+                categories.findById(id)
+                        .map(category -> Objects.isNull(category) ? null : category.getLastUpdate())
+                        .onFailure().transform(e -> {
+                                    log.error("Erreur lors de la récupération de la date de mise à jour de la catégorie {}: {}", id, e.getMessage());
+                                    return new WebApplicationException("Erreur lors de la récupération de la catégorie", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
     /**
      * Récupère la liste complète des catégories disponibles.
      * <p>
-     * Cette méthode interroge le dépôt pour retourner toutes les entités {@link Category} persistées en base de données,
-     * sans appliquer de critère de filtrage ni de pagination.
+     * Cette méthode retourne toutes les entités {@link Category} du cache, sans appliquer de critère de filtrage ni de
+     * pagination. Les entités retournées sont détachées et ne doivent servir qu'en lecture.
      * <p>
      * En cas d'échec de l'opération, l'erreur est journalisée, et une {@link WebApplicationException} avec un code HTTP 500 est levée.
      *
@@ -148,7 +205,7 @@ public class CategoryService {
      */
     public Uni<List<Category>> getAll() {
         return
-                categoryRepository.listAll()
+                categories.findAll()
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des catégories: ", throwable);
                                     return new WebApplicationException(
@@ -163,20 +220,21 @@ public class CategoryService {
     /**
      * Récupère une liste paginée et triée de catégories en fonction des critères fournis.
      * <p>
-     * Cette méthode interroge le dépôt afin de retourner les catégories correspondant éventuellement à un terme de recherche.
+     * Cette méthode retourne, depuis le cache, les catégories correspondant éventuellement à un terme de recherche.
      * Les résultats peuvent être paginés et triés selon les paramètres passés.
      *
      * @param page      Les informations de pagination à appliquer (index et taille de page).
      * @param sort      Le champ sur lequel appliquer le tri.
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel. Sinon {@code null}, seules les catégories dont le nom contient ce terme seront incluses.
-     * @return Un {@link Uni} émettant une {@link List} de {@link CategoryDTO} correspondant aux critères de recherche et de tri.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link CategoryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      */
-    public Uni<List<CategoryDTO>> getCategories(Page page, String sort, Sort.Direction direction, String term) {
+    public Uni<PagedResult<CategoryDTO>> getCategories(Page page, String sort, Sort.Direction direction, String term) {
         return
-                categoryRepository
-                        .findCategories(page, sort, direction, term)
-                        .map(categoryMapper::toDTOList)
+                categories
+                        .find(page, sort, direction, term, Category.DEFAULT_SORT)
+                        .map(result -> result.map(categoryMapper::toDTOList))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des catégories: ", throwable);
                                     return new WebApplicationException(
@@ -192,12 +250,17 @@ public class CategoryService {
      * Récupère un ensemble de catégories correspondant aux identifiants fournis.
      * <p>
      * Cette méthode interroge le dépôt pour obtenir les catégories dont l'identifiant
-     * figure dans la liste {@code ids} et retourne le résultat sous forme de {@link Set}.
+     * figure dans la liste {@code ids} et retourne le résultat sous forme de {@link Set}. Les catégories sont destinées à
+     * être associées à une entité : elles sont chargées dans la session courante et non lues dans le cache, dont les
+     * instances sont détachées. Une liste vide ou {@code null} retourne un ensemble vide sans interroger la base.
      *
      * @param ids La liste des identifiants des catégories à récupérer.
      * @return Un {@link Uni} émettant un {@link Set} de {@link Category} correspondant aux identifiants.
      */
     public Uni<Set<Category>> getByIds(List<Long> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return Uni.createFrom().item(new HashSet<>());
+        }
         return categoryRepository.findByIds(ids).map(HashSet::new);
     }
 
@@ -212,21 +275,21 @@ public class CategoryService {
      * @param sort        Le champ sur lequel appliquer le tri.
      * @param direction   La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param criteriaDTO Les critères optionnels de filtrage des films. Peut être {@code null}.
-     * @return Un {@link Uni} émettant une {@link List} de {@link MovieDTO} correspondant à la catégorie et aux critères fournis.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link MovieDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       si la catégorie n'existe pas.
      * @throws WebApplicationException en cas d'erreur interne lors de la récupération des films.
      */
-    public Uni<List<MovieDTO>> getMoviesByCategory(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<PagedResult<MovieDTO>> getMoviesByCategory(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 movieRepository.findMoviesByCategory(id, page, sort, direction, criteriaDTO)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_CATEGORY))
-                        .map(movieWithAwardsNumberList ->
+                        .map(result -> result.map(movieWithAwardsNumberList ->
                                 movieWithAwardsNumberList
                                         .stream()
                                         .map(movieMapper::movieWithAwardsNumberToMovieDTO)
                                         .toList()
-
-                        )
+                        ))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -256,6 +319,8 @@ public class CategoryService {
                             Category category = categoryMapper.toEntity(categoryDTO);
                             return categoryRepository.persist(category);
                         })
+                        .invoke(categories::invalidate)
+                        .call(category -> cacheInvalidationService.publish(InvalidationScope.CATEGORY, category.getId()))
                         .onFailure(ConstraintViolationException.class).transform(throwable -> {
                                     log.error("Contrainte violée lors de la création de la catégorie", throwable);
                                     return new WebApplicationException("Erreur, La catégorie existe déjà ou ne respecte pas les contraintes de validation", Response.Status.CONFLICT);
@@ -293,6 +358,9 @@ public class CategoryService {
                                         .call(category -> categoryRepository.flush())
                                         .map(categoryMapper::toDTO)
                         )
+                        .invoke(categories::invalidate)
+                        .call(() -> cacheInvalidationService.publish(InvalidationScope.CATEGORY, id))
+                        .call(movieCacheService::invalidateAll)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -309,6 +377,8 @@ public class CategoryService {
      * <p>
      * Cette méthode recherche une catégorie par son identifiant et tente de la supprimer. Si aucune catégorie correspondante n'est trouvée,
      * une exception est levée. L'opération est effectuée dans une transaction.
+     * La date de modification des films de la catégorie est mise à jour dans la même transaction, pour invalider les
+     * réponses conditionnelles déjà servies sur leur fiche.
      *
      * @param id L'identifiant de la catégorie à supprimer.
      * @return Un {@link Uni} contenant `true` si la suppression a réussi, `false` sinon.
@@ -318,9 +388,13 @@ public class CategoryService {
         return
                 Panache
                         .withTransaction(() ->
-                                categoryRepository.deleteById(id)
+                                movieRepository.touchByCategory(id)
+                                        .chain(() -> categoryRepository.deleteById(id))
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_CATEGORY))
                         )
+                        .invoke(categories::invalidate)
+                        .call(() -> cacheInvalidationService.publish(InvalidationScope.CATEGORY, id))
+                        .call(movieCacheService::invalidateAll)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -331,4 +405,13 @@ public class CategoryService {
                         )
                 ;
     }
+
+    /**
+     * Vide le cache des catégories à la réception d'une invalidation émise par une autre instance.
+     */
+    void onInvalidation(@ObservesAsync InvalidationEvent event) {
+        if (event.concerns(InvalidationScope.CATEGORY)) {
+            categories.invalidate();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.desha.app.service;
 
 import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.tuples.Tuple2;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.NotFoundException;
@@ -18,6 +19,7 @@ import org.desha.app.domain.entity.Person;
 import org.desha.app.mapper.AwardMapper;
 import org.desha.app.mapper.CeremonyAwardsMapper;
 import org.desha.app.repository.CeremonyAwardsRepository;
+import org.desha.app.repository.MovieRepository;
 import org.desha.app.utils.Messages;
 import org.hibernate.reactive.mutiny.Mutiny;
 
@@ -32,7 +34,9 @@ public class CeremonyAwardsService {
     private final CeremonyAwardsMapper ceremonyAwardsMapper;
     private final AwardService awardService;
     private final CeremonyService ceremonyService;
+    private final MovieCacheService movieCacheService;
     private final CeremonyAwardsRepository ceremonyAwardsRepository;
+    private final MovieRepository movieRepository;
 
     @Inject
     public CeremonyAwardsService(
@@ -40,13 +44,17 @@ public class CeremonyAwardsService {
             CeremonyAwardsMapper ceremonyAwardsMapper,
             AwardService awardService,
             CeremonyService ceremonyService,
-            CeremonyAwardsRepository ceremonyAwardsRepository
+            MovieCacheService movieCacheService,
+            CeremonyAwardsRepository ceremonyAwardsRepository,
+            MovieRepository movieRepository
     ) {
         this.awardMapper = awardMapper;
         this.ceremonyAwardsMapper = ceremonyAwardsMapper;
         this.awardService = awardService;
         this.ceremonyService = ceremonyService;
+        this.movieCacheService = movieCacheService;
         this.ceremonyAwardsRepository = ceremonyAwardsRepository;
+        this.movieRepository = movieRepository;
     }
 
     /**
@@ -114,6 +122,8 @@ public class CeremonyAwardsService {
      *   <li>Récupère les personnes liées aux récompenses fournies grâce au service {@code awardService}.</li>
      *   <li>Associe les récompenses et les personnes à la cérémonie via {@link CeremonyAwards#addAwards(List, java.util.Map)}.</li>
      *   <li>Persiste et flush l’entité mise à jour en base de données.</li>
+     *   <li>Recalcule le nombre de récompenses du film via {@link MovieRepository#updateAwardsNumber(Long)}.</li>
+     *   <li>Retire le film du cache de {@link MovieCacheService} une fois la transaction validée.</li>
      *   <li>Retourne un {@link CeremonyAwardsDTO} représentant l’état de la cérémonie avec ses récompenses mises à jour.</li>
      * </ul>
      *
@@ -144,8 +154,12 @@ public class CeremonyAwardsService {
                                         )
                                         .call(ceremonyAwardsRepository::persist)
                                         .call(ceremonyAwardsRepository::flush)
-                                        .map(ceremonyAwardsMapper::toDTO)
+                                        .call(ceremonyAwards -> movieRepository.updateAwardsNumber(ceremonyAwards.getMovie().getId()))
+                                        .call(ceremonyAwards -> movieRepository.touch(ceremonyAwards.getMovie().getId()))
+                                        .map(ceremonyAwards -> Tuple2.of(ceremonyAwards.getMovie().getId(), ceremonyAwardsMapper.toDTO(ceremonyAwards)))
                         )
+                        .call(result -> movieCacheService.invalidate(result.getItem1()))
+                        .map(Tuple2::getItem2)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -168,7 +182,9 @@ public class CeremonyAwardsService {
      *   <li>Recherche la cérémonie correspondante en base via {@link CeremonyAwardsRepository#findById(Object)}.</li>
      *   <li>Si la cérémonie n’existe pas, lève une exception {@link NotFoundException} avec le message {@code Messages.NOT_FOUND_CEREMONY}.</li>
      *   <li>Charge la liste des récompenses associées à la cérémonie et retire celle correspondant à l’ID fourni.</li>
-     *   <li>Persiste l’entité mise à jour en base de données.</li>
+     *   <li>Persiste et flush l’entité mise à jour en base de données.</li>
+     *   <li>Recalcule le nombre de récompenses du film via {@link MovieRepository#updateAwardsNumber(Long)}.</li>
+     *   <li>Retire le film du cache de {@link MovieCacheService} une fois la transaction validée.</li>
      *   <li>Retourne un {@link CeremonyAwardsDTO} représentant l’état actuel de la cérémonie après suppression.</li>
      * </ul>
      *
@@ -190,8 +206,13 @@ public class CeremonyAwardsService {
                                                         .replaceWith(ceremonyAwards)
                                         )
                                         .call(ceremonyAwardsRepository::persist)
-                                        .map(ceremonyAwardsMapper::toDTO)
+                                        .call(ceremonyAwardsRepository::flush)
+                                        .call(ceremonyAwards -> movieRepository.updateAwardsNumber(ceremonyAwards.getMovie().getId()))
+                                        .call(ceremonyAwards -> movieRepository.touch(ceremonyAwards.getMovie().getId()))
+                                        .map(ceremonyAwards -> Tuple2.of(ceremonyAwards.getMovie().getId(), ceremonyAwardsMapper.toDTO(ceremonyAwards)))
                         )
+                        .call(result -> movieCacheService.invalidate(result.getItem1()))
+                        .map(Tuple2::getItem2)
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -213,7 +234,9 @@ public class CeremonyAwardsService {
      *   <li>Recherche la cérémonie correspondante en base via {@link CeremonyAwardsRepository#findById(Object)}.</li>
      *   <li>Si la cérémonie n’existe pas, lève une exception avec le message {@code Messages.NOT_FOUND_CEREMONY}.</li>
      *   <li>Charge la liste des récompenses liées à la cérémonie et les supprime via {@link CeremonyAwards#clearAwards()}.</li>
-     *   <li>Persiste l’entité mise à jour en base de données.</li>
+     *   <li>Persiste et flush l’entité mise à jour en base de données.</li>
+     *   <li>Recalcule le nombre de récompenses du film via {@link MovieRepository#updateAwardsNumber(Long)}.</li>
+     *   <li>Retire le film du cache de {@link MovieCacheService} une fois la transaction validée.</li>
      *   <li>Retourne {@code true} si l’opération s’est déroulée avec succès.</li>
      * </ul>
      *
@@ -233,9 +256,14 @@ public class CeremonyAwardsService {
                                                         .invoke(awardList -> ceremonyAwards.clearAwards())
                                                         .replaceWith(ceremonyAwards)
                                         )
-                                        .chain(ceremonyAwardsRepository::persist)
-                                        .map(ceremonyAwards -> true)
+                                        .call(ceremonyAwardsRepository::persist)
+                                        .call(ceremonyAwardsRepository::flush)
+                                        .call(ceremonyAwards -> movieRepository.updateAwardsNumber(ceremonyAwards.getMovie().getId()))
+                                        .call(ceremonyAwards -> movieRepository.touch(ceremonyAwards.getMovie().getId()))
+                                        .map(ceremonyAwards -> ceremonyAwards.getMovie().getId())
                         )
+                        .call(movieCacheService::invalidate)
+                        .map(movieId -> true)
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
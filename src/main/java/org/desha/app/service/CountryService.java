@@ -1,11 +1,13 @@
 package org.desha.app.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.NotFoundException;
@@ -17,6 +19,10 @@ import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.dto.LitePersonDTO;
 import org.desha.app.domain.dto.MovieDTO;
 import org.desha.app.domain.entity.Country;
+import org.desha.app.domain.enums.InvalidationScope;
+import org.desha.app.domain.record.InvalidationEvent;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.helper.ReferenceDataCache;
 import org.desha.app.mapper.CountryMapper;
 import org.desha.app.mapper.MovieMapper;
 import org.desha.app.mapper.PersonMapper;
@@ -27,32 +33,75 @@ import org.desha.app.utils.Messages;
 
 import java.util.*;
 
+/**
+ * Service de gestion des pays.
+ * <p>
+ * La table des pays, de petite taille et rarement modifiée, est conservée en mémoire par un {@link ReferenceDataCache} :
+ * le comptage, la recherche, le tri et la pagination des pays sont effectués sans requête SQL. Le cache est invalidé
+ * après chaque mise à jour d'un pays ({@link #update(Long, CountryDTO)}), sur cette instance et, via
+ * {@link CacheInvalidationService}, sur les autres instances de l'application.
+ */
 @ApplicationScoped
 @Slf4j
 public class CountryService {
 
+    private static final String NOM_EN_GB = "nomEnGb";
+
     private final CountryMapper countryMapper;
     private final MovieMapper movieMapper;
     private final PersonMapper personMapper;
+    private final MovieCacheService movieCacheService;
+    private final CacheInvalidationService cacheInvalidationService;
     private final CountryRepository countryRepository;
     private final MovieRepository movieRepository;
     private final PersonRepository personRepository;
+    private final ReferenceDataCache<Country> countries;
 
     @Inject
     public CountryService(
             CountryMapper countryMapper,
             MovieMapper movieMapper,
             PersonMapper personMapper,
+            MovieCacheService movieCacheService,
+            CacheInvalidationService cacheInvalidationService,
             CountryRepository countryRepository,
             MovieRepository movieRepository,
-            PersonRepository personRepository
+            PersonRepository personRepository,
+            MeterRegistry registry
     ) {
         this.countryMapper = countryMapper;
         this.movieMapper = movieMapper;
         this.personMapper = personMapper;
+        this.movieCacheService = movieCacheService;
+        this.cacheInvalidationService = cacheInvalidationService;
         this.countryRepository = countryRepository;
         this.movieRepository = movieRepository;
         this.personRepository = personRepository;
+        this.countries = new ReferenceDataCache<>(
+                "countries",
+                registry,
+                () -> Panache.withSession(countryRepository::listAll),
+                Country::getId,
+                Map.of(
+                        Country.DEFAULT_SORT, Country::getNomFrFr,
+                        NOM_EN_GB, Country::getNomEnGb
+                ),
+                Map.of(
+                        "code", ReferenceDataCache.natural(Country::getCode),
+                        "alpha2", ReferenceDataCache.text(Country::getAlpha2),
+                        "alpha3", ReferenceDataCache.text(Country::getAlpha3),
+                        NOM_EN_GB, ReferenceDataCache.text(Country::getNomEnGb),
+                        Country.DEFAULT_SORT, ReferenceDataCache.text(Country::getNomFrFr)
+                )
+        );
+    }
+
+    /**
+     * @param lang La langue de recherche ("en" pour anglais, autre pour français).
+     * @return Le champ de recherche du nom des pays correspondant à la langue.
+     */
+    private static String searchField(String lang) {
+        return "en".equalsIgnoreCase(lang) ? NOM_EN_GB : Country.DEFAULT_SORT;
     }
 
     /**
@@ -72,7 +121,7 @@ public class CountryService {
      */
     public Uni<Long> countCountries(@Nullable String term, String lang) {
         return
-                countryRepository.countCountries(term, lang)
+                countries.count(term, searchField(lang))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors du comptage des pays: {}", throwable.getMessage());
                                     return new WebApplicationException("Erreur lors du comptage des pays", Response.Status.INTERNAL_SERVER_ERROR);
@@ -154,7 +203,7 @@ public class CountryService {
      */
     public Uni<CountryDTO> getById(@NotNull Long id) {
         return
-                countryRepository.findById(id)
+                countries.findById(id)
                         .onItem().ifNull().failWith(() -> new IllegalArgumentException(Messages.NOT_FOUND_COUNTRY))
                         .map(countryMapper::toDTO)
                         .onFailure().transform(throwable -> {
@@ -180,13 +229,14 @@ public class CountryService {
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel pour filtrer les pays par nom. Peut être {@code null}.
      * @param lang      La langue utilisée pour filtrer les pays. Peut être {@code null}.
-     * @return Un {@link Uni} émettant une {@link List} de {@link CountryDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link CountryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws WebApplicationException si une erreur survient lors de la récupération des pays.
      */
-    public Uni<List<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang) {
+    public Uni<PagedResult<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang) {
         return
-                countryRepository.findCountries(page, sort, direction, term, lang)
-                        .map(countryMapper::toDTOList)
+                countries.find(page, sort, direction, term, searchField(lang))
+                        .map(result -> result.map(countryMapper::toDTOList))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des pays", throwable);
                                     return new WebApplicationException(Messages.ERROR_WHILE_GETTING_COUNTRIES, Response.Status.INTERNAL_SERVER_ERROR);
@@ -209,7 +259,7 @@ public class CountryService {
      */
     public Uni<List<CountryDTO>> getCountries(String sort, Sort.Direction direction, String term) {
         return
-                countryRepository.findCountries(sort, direction, term)
+                countries.find(sort, direction, term, Country.DEFAULT_SORT)
                         .map(countryMapper::toDTOList)
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des pays", throwable);
@@ -223,29 +273,35 @@ public class CountryService {
      * Récupère un ensemble de pays correspondant aux identifiants fournis.
      * <p>
      * Si l’ensemble {@code countries} est {@code null} ou vide, la méthode retourne un ensemble vide.
+     * <p>
+     * Les pays sont destinés à être associés à une entité : ils sont chargés dans la session courante et non lus dans le
+     * cache, dont les instances sont détachées.
      *
      * @param countries Un ensemble de {@link CountryDTO} dont les identifiants doivent être récupérés. Peut être {@code null}.
      * @return Un {@link Uni} émettant un {@link Set} de {@link Country} correspondant aux identifiants fournis.
      */
     public Uni<Set<Country>> getByIds(Set<CountryDTO> countries) {
         return
-                countryRepository.findByIds(
+                getByIds(
                         Optional.ofNullable(countries).orElse(Collections.emptySet())
                                 .stream()
                                 .map(CountryDTO::getId)
                                 .toList()
-                ).map(HashSet::new);
+                );
     }
 
     /**
      * Récupère un ensemble de pays correspondant aux identifiants fournis.
      * <p>
-     * Si la liste {@code ids} est vide ou {@code null}, la méthode retourne un ensemble vide.
+     * Si la liste {@code ids} est vide ou {@code null}, la méthode retourne un ensemble vide sans interroger la base.
      *
      * @param ids La liste des identifiants des pays à récupérer. Peut être {@code null}.
      * @return Un {@link Uni} émettant un {@link Set} de {@link Country} correspondant aux identifiants fournis.
      */
     public Uni<Set<Country>> getByIds(List<Long> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return Uni.createFrom().item(new HashSet<>());
+        }
         return countryRepository.findByIds(ids).map(HashSet::new);
     }
 
@@ -261,21 +317,21 @@ public class CountryService {
      * @param sort        Le champ sur lequel appliquer le tri.
      * @param direction   La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param criteriaDTO Les critères optionnels pour filtrer les films. Peut être {@code null}.
-     * @return Un {@link Uni} émettant une {@link List} de {@link MovieDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link MovieDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       si aucun film n’est trouvé pour le pays fourni.
      * @throws WebApplicationException si une erreur survient lors de la récupération des films.
      */
-    public Uni<List<MovieDTO>> getMoviesByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<PagedResult<MovieDTO>> getMoviesByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 movieRepository.findMoviesByCountry(id, page, sort, direction, criteriaDTO)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_COUNTRY))
-                        .map(movieWithAwardsNumberList ->
+                        .map(result -> result.map(movieWithAwardsNumberList ->
                                 movieWithAwardsNumberList
                                         .stream()
                                         .map(movieMapper::movieWithAwardsNumberToMovieDTO)
                                         .toList()
-
-                        )
+                        ))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des films appartenant au pays {}", id, throwable);
                                     return new WebApplicationException(Messages.ERROR_WHILE_GETTING_MOVIES, Response.Status.INTERNAL_SERVER_ERROR);
@@ -296,15 +352,16 @@ public class CountryService {
      * @param sort        Le champ sur lequel appliquer le tri.
      * @param direction   La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param criteriaDTO Les critères optionnels pour filtrer les personnes. Peut être {@code null}.
-     * @return Un {@link Uni} émettant une {@link List} de {@link LitePersonDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} émettant un {@link PagedResult} avec la page de {@link LitePersonDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       si aucune personne n’est trouvée pour le pays fourni.
      * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
      */
-    public Uni<List<LitePersonDTO>> getPersonsByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<PagedResult<LitePersonDTO>> getPersonsByCountry(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 personRepository.findPersonsByCountry(id, page, sort, direction, criteriaDTO)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_COUNTRY))
-                        .map(personMapper::toLiteDTOList)
+                        .map(result -> result.map(personMapper::toLiteDTOList))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -321,6 +378,8 @@ public class CountryService {
      * <p>
      * Si aucun pays ne correspond à l’identifiant {@code id}, une exception {@link NotFoundException} est levée.
      * La méthode applique les modifications à l’entité existante et retourne le {@link CountryDTO} mis à jour.
+     * Le cache des pays et celui des détails des films ({@link MovieCacheService}) sont invalidés une fois la
+     * transaction validée.
      * En cas d’erreur lors de l’exécution de la transaction, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
      *
      * @param id         L’identifiant du pays à mettre à jour. Ne peut pas être {@code null}.
@@ -339,6 +398,9 @@ public class CountryService {
                                         .call(category -> countryRepository.flush())
                                         .map(countryMapper::toDTO)
                         )
+                        .invoke(countries::invalidate)
+                        .call(() -> cacheInvalidationService.publish(InvalidationScope.COUNTRY, id))
+                        .call(movieCacheService::invalidateAll)
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -349,4 +411,13 @@ public class CountryService {
                         )
                 ;
     }
+
+    /**
+     * Vide le cache des pays à la réception d'une invalidation émise par une autre instance.
+     */
+    void onInvalidation(@ObservesAsync InvalidationEvent event) {
+        if (event.concerns(InvalidationScope.COUNTRY)) {
+            countries.invalidate();
+        }
+    }
 }
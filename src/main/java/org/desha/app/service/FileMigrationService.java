@@ -0,0 +1,128 @@
+package org.desha.app.service;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.entity.Movie;
+import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.record.FileMigrationReport;
+import org.desha.app.repository.FileReferenceRepository;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Migration des fichiers stockés sous leur ancien nom ({@code UUID_nom-d-origine}) vers l'adressage par contenu.
+ * <p>
+ * Chaque fichier encore référencé est copié sous le nom de son contenu, ses références (affiches des films, photos
+ * des personnes) sont mises à jour dans une transaction, puis l'ancien fichier est supprimé. Les fichiers identiques
+ * sont ainsi regroupés en un seul. La migration peut être relancée : les fichiers déjà migrés ne sont plus listés, et
+ * un fichier dont la migration a échoué est conservé sous son ancien nom.
+ */
+@Slf4j
+@ApplicationScoped
+public class FileMigrationService {
+
+    // Répertoire de stockage → répertoire des références en base
+    private static final Map<String, String> DIRECTORIES = Map.of(
+            "posters/", FileReferenceRepository.POSTERS,
+            "photos/", FileReferenceRepository.PHOTOS
+    );
+    // Fichier par défaut de chaque répertoire, qui n'est pas migré
+    private static final Map<String, String> DEFAULT_FILES = Map.of(
+            FileReferenceRepository.POSTERS, Movie.DEFAULT_POSTER,
+            FileReferenceRepository.PHOTOS, Person.DEFAULT_PHOTO
+    );
+
+    private final FileService fileService;
+    private final FileReferenceRepository fileReferenceRepository;
+    private final FileReferenceService fileReferenceService;
+    private final MovieCacheService movieCacheService;
+
+    @Inject
+    public FileMigrationService(
+            FileService fileService,
+            FileReferenceRepository fileReferenceRepository,
+            FileReferenceService fileReferenceService,
+            MovieCacheService movieCacheService
+    ) {
+        this.fileService = fileService;
+        this.fileReferenceRepository = fileReferenceRepository;
+        this.fileReferenceService = fileReferenceService;
+        this.movieCacheService = movieCacheService;
+    }
+
+    /**
+     * Migre les fichiers des affiches et des photos, un fichier à la fois.
+     *
+     * @return Un {@link Uni} contenant le bilan de la migration, ou en échec avec une {@link jakarta.ws.rs.WebApplicationException}
+     * (503) si les références des fichiers ne sont pas utilisables ({@link FileReferenceService#ensureReady()}).
+     */
+    public Uni<FileMigrationReport> migrate() {
+        final AtomicInteger migrated = new AtomicInteger(0);
+        final AtomicInteger unreferenced = new AtomicInteger(0);
+        final AtomicInteger failed = new AtomicInteger(0);
+
+        return
+                // Un fichier absent de fichier_reference n'est pas migré : la table doit être à jour
+                fileReferenceService.ensureReady()
+                        .onItem().transformToMulti(ignored -> Multi.createFrom().iterable(DIRECTORIES.entrySet()))
+                        .onItem().transformToUniAndConcatenate(directory ->
+                                fileService.listLegacyFiles(directory.getKey())
+                                        .onItem().transformToMulti(fileNames -> Multi.createFrom().iterable(fileNames))
+                                        .filter(fileName -> !Objects.equals(fileName, DEFAULT_FILES.get(directory.getValue())))
+                                        .onItem().transformToUniAndConcatenate(fileName ->
+                                                migrate(directory.getKey(), directory.getValue(), fileName)
+                                                        .invoke(result -> {
+                                                                    switch (result) {
+                                                                        case MIGRATED -> migrated.incrementAndGet();
+                                                                        case UNREFERENCED -> unreferenced.incrementAndGet();
+                                                                        case FAILED -> failed.incrementAndGet();
+                                                                    }
+                                                                }
+                                                        )
+                                        )
+                                        .collect().last()
+                        )
+                        .collect().last()
+                        // Les affiches des films en cache portent l'ancien nom
+                        .call(movieCacheService::invalidateAll)
+                        .map(ignored -> new FileMigrationReport(migrated.get(), unreferenced.get(), failed.get()))
+                        .invoke(report -> log.info("Migration des fichiers vers l'adressage par contenu : {}", report))
+                ;
+    }
+
+    private Uni<Result> migrate(String uploadDirectory, String referenceDirectory, String fileName) {
+        return
+                Panache.withSession(() -> fileReferenceRepository.countReferences(referenceDirectory, fileName))
+                        .chain(references -> {
+                                    if (references == 0) {
+                                        return Uni.createFrom().item(Result.UNREFERENCED);
+                                    }
+                                    return
+                                            fileService.importStoredFile(uploadDirectory, fileName)
+                                                    .chain(uploadedFile ->
+                                                            Panache.withTransaction(() -> fileReferenceRepository.replaceReferences(referenceDirectory, fileName, uploadedFile.fileName()))
+                                                                    .invoke(updated -> log.info("Fichier {} migré vers {} ({} référence(s))", fileName, uploadedFile.fileName(), updated))
+                                                    )
+                                                    .call(() -> fileService.deleteFile(uploadDirectory, fileName))
+                                                    .replaceWith(Result.MIGRATED)
+                                            ;
+                                }
+                        )
+                        .onFailure().recoverWithItem(throwable -> {
+                                    log.warn("Migration du fichier {} impossible : {}", fileName, throwable.getMessage());
+                                    return Result.FAILED;
+                                }
+                        )
+                ;
+    }
+
+    private enum Result {
+        MIGRATED, UNREFERENCED, FAILED
+    }
+}
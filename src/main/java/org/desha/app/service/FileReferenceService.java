@@ -0,0 +1,84 @@
+package org.desha.app.service;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.repository.FileReferenceRepository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Vérification de la table {@code fichier_reference}, sur laquelle reposent les suppressions de fichiers stockés
+ * ({@link FileService#release(String, String)}, {@link OrphanFileCleanupService}, {@link FileMigrationService}).
+ * <p>
+ * La table est alimentée et maintenue par les triggers du script {@code db/migration/fileReferences.sql}. Sur une base
+ * où il n'a pas été exécuté, Hibernate la crée vide : tout fichier y paraîtrait orphelin. Elle n'est donc utilisée
+ * qu'une fois les triggers installés et son contenu conforme aux affiches des films et aux photos des personnes. La
+ * vérification est faite au démarrage, puis renouvelée à chaque demande tant qu'elle échoue ; elle n'est plus refaite
+ * une fois réussie, les triggers gardant ensuite la table à jour.
+ */
+@Slf4j
+@ApplicationScoped
+public class FileReferenceService {
+
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+
+    private final FileReferenceRepository fileReferenceRepository;
+
+    @Inject
+    public FileReferenceService(FileReferenceRepository fileReferenceRepository) {
+        this.fileReferenceRepository = fileReferenceRepository;
+    }
+
+    void onStart(@Observes StartupEvent ev) {
+        try {
+            VertxContextSupport.subscribeAndAwait(() -> ensureReady().onFailure(WebApplicationException.class).recoverWithNull());
+        } catch (Throwable throwable) {
+            log.warn("Vérification des références des fichiers impossible au démarrage : {}", throwable.getMessage());
+        }
+    }
+
+    /**
+     * Vérifie que les nombres de références des fichiers peuvent être utilisés.
+     *
+     * @return Un {@link Uni} terminé si la table {@code fichier_reference} est à jour, ou en échec avec une
+     * {@link WebApplicationException} (503) si les triggers sont absents ou si la table diffère des films et des
+     * personnes.
+     */
+    public Uni<Void> ensureReady() {
+        if (ready.get()) {
+            return Uni.createFrom().voidItem();
+        }
+        return
+                Panache.withSession(() ->
+                                fileReferenceRepository.triggersInstalled()
+                                        .chain(installed -> Boolean.TRUE.equals(installed)
+                                                ? fileReferenceRepository.countDiscrepancies()
+                                                : Uni.createFrom().failure(unavailable("triggers de db/migration/fileReferences.sql absents"))
+                                        )
+                        )
+                        .invoke(discrepancies -> {
+                                    if (discrepancies > 0) {
+                                        throw unavailable(discrepancies + " fichier(s) mal comptés, exécuter à nouveau db/migration/fileReferences.sql");
+                                    }
+                                    if (ready.compareAndSet(false, true)) {
+                                        log.info("Références des fichiers à jour : suppression des fichiers non référencés activée");
+                                    }
+                                }
+                        )
+                        .replaceWithVoid()
+                ;
+    }
+
+    private static WebApplicationException unavailable(String reason) {
+        log.error("Références des fichiers inutilisables ({}) : aucun fichier n'est supprimé", reason);
+        return new WebApplicationException("Références des fichiers inutilisables : " + reason, Response.Status.SERVICE_UNAVAILABLE);
+    }
+}
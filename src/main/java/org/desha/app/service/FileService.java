@@ -1,63 +1,702 @@
 package org.desha.app.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.core.file.OpenOptions;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.core.file.FileProps;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.BlobPage;
+import org.desha.app.domain.record.StoredFile;
+import org.desha.app.domain.record.UploadedFile;
 import org.desha.app.exception.FileNotFoundException;
 import org.desha.app.exception.FileUploadException;
+import org.desha.app.repository.FileReferenceRepository;
+import org.desha.app.service.storage.BlobStore;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+/**
+ * Stockage des fichiers téléversés (affiches, photos) : lecture, enregistrement et suppression.
+ * <p>
+ * Les fichiers sont enregistrés dans un {@link BlobStore} (disque local ou stockage compatible S3, selon
+ * {@code pmdb.storage.type}), sous la clé {@code répertoire/nom}. Ils sont adressés par leur contenu : un fichier
+ * téléversé est nommé par l'empreinte SHA-256 de son contenu, et peut donc être partagé par plusieurs films ou
+ * personnes. Un fichier n'est supprimé que lorsqu'aucun film ni aucune personne ne le référence plus
+ * ({@link #release(String, String)}).
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.uploads.active} : téléversements en cours d'écriture ;</li>
+ *     <li>{@code pmdb.uploads.bytes} : octets écrits ;</li>
+ *     <li>{@code pmdb.uploads.rejected} : téléversements refusés, par motif ({@code size} ou {@code type}) ;</li>
+ *     <li>{@code pmdb.uploads.deduplicated} : téléversements d'un contenu déjà stocké.</li>
+ * </ul>
+ */
 @Slf4j
 @ApplicationScoped
 public class FileService {
 
-    private static final String RESOURCES_FOLDER = "src/main/resources/";
+    private static final String UNKNOWN_MIME_TYPE = "";
+    // Nom généré par les premières versions de uploadFile : UUID aléatoire suivi du nom d'origine
+    private static final Pattern GENERATED_NAME = Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+    // Nom généré par uploadFile : empreinte SHA-256 du contenu suivie de l'extension
+    private static final Pattern CONTENT_NAME = Pattern.compile("^[0-9a-f]{64}\\.[a-z]+$");
+    // Nom de fichier demandé : ni séparateur, ni référence au répertoire courant ou parent
+    private static final Pattern SAFE_NAME = Pattern.compile("^(?!\\.\\.?$)[^/\\\\]+$");
+    private static final String PART_SUFFIX = ".part";
+    // Répertoire des fichiers orphelins mis de côté, avant leur suppression définitive
+    private static final String QUARANTINE_DIRECTORY = "quarantine";
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp"
+    );
+    // Signatures des formats d'image acceptés ; le WebP est un conteneur RIFF dont les octets 8 à 11 valent "WEBP"
+    private static final Map<String, byte[]> SIGNATURES = Map.of(
+            "image/jpeg", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF},
+            "image/png", new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'},
+            "image/gif", new byte[]{'G', 'I', 'F', '8'},
+            "image/webp", new byte[]{'R', 'I', 'F', 'F'}
+    );
+    private static final byte[] WEBP_FORMAT = {'W', 'E', 'B', 'P'};
 
-    public Uni<File> getFile(String uploadDirectory, String fileName) {
-        return Uni.createFrom().item(() -> {
-            Path filePath = Paths.get(RESOURCES_FOLDER, uploadDirectory, fileName);
+    // Type MIME par clé de fichier (ou chemin de déclinaison), déterminé au premier accès
+    private final Map<String, String> mimeTypes = new ConcurrentHashMap<>();
+    private final AtomicInteger activeUploads = new AtomicInteger(0);
 
-            if (!Files.exists(filePath)) {
-                log.warn("Requested file not found: {}", filePath);
-                throw new FileNotFoundException("Fichier introuvable: " + fileName);
-            }
+    private final Vertx vertx;
+    private final BlobStore blobStore;
+    private final ImageVariantService imageVariantService;
+    private final FileReferenceRepository fileReferenceRepository;
+    private final FileReferenceService fileReferenceService;
+    private final long maxUploadSize;
+    private final Duration releaseGrace;
+    private final int listPageSize;
+    private final Set<String> allowedTypes;
+    private final Counter uploadedBytes;
+    private final Counter rejectedTooLarge;
+    private final Counter rejectedType;
+    private final Counter deduplicated;
 
-            return filePath.toFile();
-        });
+    @Inject
+    public FileService(
+            Vertx vertx,
+            Instance<BlobStore> blobStores,
+            ImageVariantService imageVariantService,
+            FileReferenceRepository fileReferenceRepository,
+            FileReferenceService fileReferenceService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.uploads.max-size", defaultValue = "10M") MemorySize maxUploadSize,
+            @ConfigProperty(name = "pmdb.uploads.allowed-types", defaultValue = "image/jpeg,image/png,image/gif,image/webp") Set<String> allowedTypes,
+            @ConfigProperty(name = "pmdb.files.release-grace", defaultValue = "10m") Duration releaseGrace,
+            @ConfigProperty(name = "pmdb.storage.list.page-size", defaultValue = "500") int listPageSize
+    ) {
+        this.vertx = vertx;
+        // Implémentation retenue par pmdb.storage.type
+        this.blobStore = blobStores.get();
+        this.imageVariantService = imageVariantService;
+        this.fileReferenceRepository = fileReferenceRepository;
+        this.fileReferenceService = fileReferenceService;
+        this.maxUploadSize = maxUploadSize.asLongValue();
+        this.releaseGrace = releaseGrace;
+        this.listPageSize = listPageSize;
+        this.allowedTypes = Set.copyOf(allowedTypes);
+        this.uploadedBytes = registry.counter("pmdb.uploads.bytes");
+        this.rejectedTooLarge = registry.counter("pmdb.uploads.rejected", "reason", "size");
+        this.rejectedType = registry.counter("pmdb.uploads.rejected", "reason", "type");
+        this.deduplicated = registry.counter("pmdb.uploads.deduplicated");
+        registry.gauge("pmdb.uploads.active", activeUploads);
     }
 
-    public Uni<String> uploadFile(String uploadDirectory, FileUpload file) {
-        // Sauvegarde du fichier
-        return Uni.createFrom().item(() -> {
-            final String fileName = UUID.randomUUID() + "_" + file.fileName();
-            Path destination = Paths.get(RESOURCES_FOLDER, uploadDirectory, fileName);
+    /**
+     * Récupère les informations d'un fichier stocké, sans lire son contenu ni bloquer le thread appelant.
+     * <p>
+     * Le type MIME est déterminé au premier accès au fichier puis conservé en mémoire ; la taille et la date de
+     * modification sont lues dans le stockage.
+     *
+     * @param uploadDirectory Le répertoire du fichier.
+     * @param fileName        Le nom du fichier.
+     * @return Un {@link Uni} contenant le {@link StoredFile}, ou en échec avec une {@link FileNotFoundException} si le
+     * fichier n'existe pas ou si son nom sort du répertoire.
+     */
+    public Uni<StoredFile> getFile(String uploadDirectory, String fileName) {
+        return getFile(uploadDirectory, fileName, null);
+    }
+
+    /**
+     * Récupère les informations d'une image stockée, ou de sa déclinaison la plus proche d'une largeur demandée.
+     * <p>
+     * Si la déclinaison n'est pas encore disponible (génération trop longue, file pleine ou échec), l'original est
+     * retourné sans être marqué immuable, afin que le client ne le conserve pas à la place de la déclinaison. Pour un
+     * stockage distant, l'original est d'abord copié dans le cache des déclinaisons ; l'original lui-même n'est jamais
+     * envoyé par l'application mais par une redirection ({@link StoredFile#location()}).
+     *
+     * @param uploadDirectory Le répertoire du fichier.
+     * @param fileName        Le nom du fichier.
+     * @param width           La largeur demandée, en pixels, ou {@code null} pour l'original.
+     * @return Un {@link Uni} contenant le {@link StoredFile} à servir, ou en échec avec une
+     * {@link FileNotFoundException} si le fichier n'existe pas ou si son nom sort du répertoire.
+     */
+    public Uni<StoredFile> getFile(String uploadDirectory, String fileName, @Nullable Integer width) {
+        if (!SAFE_NAME.matcher(fileName).matches()) {
+            log.warn("Requested file outside of {}: {}", uploadDirectory, fileName);
+            return Uni.createFrom().failure(new FileNotFoundException("Fichier introuvable: " + fileName));
+        }
+
+        final String key = key(uploadDirectory, fileName);
+        return
+                blobStore.stat(key)
+                        .onFailure().transform(throwable -> {
+                                    log.warn("Requested file not found: {}", key);
+                                    return new FileNotFoundException("Fichier introuvable: " + fileName);
+                                }
+                        )
+                        .chain(blob -> {
+                                    final Optional<Path> localPath = blobStore.localPath(key);
+                                    return
+                                            getMimeType(key, localPath.orElse(Paths.get(fileName)))
+                                                    .map(mimeType -> toStoredFile(
+                                                                    localPath.orElse(null),
+                                                                    localPath.isPresent() ? null : blobStore.presignedUrl(key).orElse(null),
+                                                                    fileName,
+                                                                    mimeType,
+                                                                    blob.size(),
+                                                                    blob.lastModified()
+                                                            )
+                                                    )
+                                            ;
+                                }
+                        )
+                        .chain(original -> Objects.isNull(width) ? Uni.createFrom().item(original) : getVariant(uploadDirectory, key, original, width))
+                ;
+    }
+
+    private Uni<StoredFile> getVariant(String uploadDirectory, String key, StoredFile original, int width) {
+        return
+                getLocalOriginal(uploadDirectory, key, original)
+                        .chain(originalPath ->
+                                imageVariantService.getVariant(uploadDirectory, originalPath, width)
+                                        .chain(variant -> {
+                                                    if (variant.isEmpty()) {
+                                                        return Uni.createFrom().item(revalidated(original));
+                                                    }
+                                                    if (variant.get().equals(originalPath)) {
+                                                        return Uni.createFrom().item(original);
+                                                    }
+                                                    final Path variantPath = variant.get();
+                                                    return
+                                                            vertx.fileSystem().props(variantPath.toString())
+                                                                    .chain(props -> getMimeType(variantPath.toString(), variantPath).map(mimeType -> toStoredFile(variantPath, mimeType, props)))
+                                                                    // Déclinaison supprimée entre-temps (éviction du cache)
+                                                                    .onFailure().recoverWithItem(() -> revalidated(original))
+                                                            ;
+                                                }
+                                        )
+                        )
+                        // Copie locale de l'original impossible
+                        .onFailure().recoverWithItem(() -> revalidated(original))
+                ;
+    }
+
+    /**
+     * @return Un {@link Uni} contenant le chemin local de l'original : celui du fichier pour un stockage local, sa copie
+     * dans le cache des déclinaisons (téléchargée si nécessaire) pour un stockage distant.
+     */
+    private Uni<Path> getLocalOriginal(String uploadDirectory, String key, StoredFile original) {
+        if (Objects.nonNull(original.path())) {
+            return Uni.createFrom().item(original.path());
+        }
+
+        final Optional<Path> cached = imageVariantService.getCachedOriginal(uploadDirectory, original.fileName());
+        if (cached.isPresent()) {
+            return Uni.createFrom().item(cached.get());
+        }
+
+        final Path target = imageVariantService.originalPath(uploadDirectory, original.fileName());
+        return
+                blobStore.download(key, target)
+                        .invoke(() -> imageVariantService.addCachedOriginal(target, original.size()))
+                        .replaceWith(target)
+                ;
+    }
+
+    /**
+     * Enregistre un fichier téléversé dans un répertoire de stockage, sans bloquer le thread appelant.
+     * <p>
+     * Le fichier est nommé par l'empreinte SHA-256 de son contenu : un contenu déjà stocké n'occupe pas de place
+     * supplémentaire, et le même nom est retourné.
+     *
+     * @param uploadDirectory Le répertoire de stockage.
+     * @param file            Le fichier reçu.
+     * @return Un {@link Uni} contenant le {@link UploadedFile} enregistré, ou en échec avec une
+     * {@link WebApplicationException} (413 ou 415) si le fichier est refusé, ou une {@link FileUploadException} si
+     * l'écriture échoue.
+     * @see #importFile(String, Path, String, long)
+     */
+    public Uni<UploadedFile> uploadFile(String uploadDirectory, FileUpload file) {
+        return importFile(uploadDirectory, file.uploadedFile(), file.fileName(), file.size());
+    }
+
+    /**
+     * Copie un fichier dans un répertoire de stockage, sous un nom dérivé de l'empreinte SHA-256 de son contenu.
+     * <p>
+     * Le contenu est copié par blocs avec les fichiers asynchrones de Vert.x, vers un fichier temporaire du répertoire
+     * de préparation du stockage ({@link BlobStore#stagingDirectory()}), enregistré une fois la copie terminée : un
+     * fichier incomplet n'est jamais visible. Pendant la copie, la taille est limitée à {@code pmdb.uploads.max-size},
+     * le type est déterminé à partir des premiers octets (le type et le nom annoncés par le client ne sont pas pris en
+     * compte) et doit figurer dans {@code pmdb.uploads.allowed-types}, et l'empreinte est calculée.
+     * <p>
+     * Le fichier est rangé sous deux niveaux de préfixes tirés de l'empreinte ({@code ab/cd/abcd….jpg}). Si le même
+     * contenu est déjà stocké, il est remplacé par la copie identique, ce qui renouvelle sa date de modification (voir
+     * {@link #release(String, String)}).
+     *
+     * @param uploadDirectory Le répertoire de stockage.
+     * @param source          Le fichier à copier, qui n'est pas modifié.
+     * @param displayName     Le nom d'origine du fichier, pour les journaux.
+     * @param declaredSize    La taille annoncée du fichier, pour refuser un fichier trop volumineux sans le lire.
+     * @return Un {@link Uni} contenant le {@link UploadedFile} enregistré, ou en échec avec une
+     * {@link WebApplicationException} (413 ou 415) si le fichier est refusé, ou une {@link FileUploadException} si
+     * l'écriture échoue.
+     */
+    public Uni<UploadedFile> importFile(String uploadDirectory, Path source, String displayName, long declaredSize) {
+        final Path temporary = blobStore.stagingDirectory().resolve(UUID.randomUUID() + PART_SUFFIX);
+
+        if (declaredSize > maxUploadSize) {
+            return Uni.createFrom().failure(tooLarge(displayName));
+        }
+
+        final MessageDigest digest = sha256();
+        final AtomicLong size = new AtomicLong(0);
+        final AtomicReference<String> mimeType = new AtomicReference<>();
+
+        return
+                vertx.fileSystem().mkdirs(temporary.getParent().toString())
+                        .chain(() -> vertx.fileSystem().open(source.toString(), new OpenOptions().setRead(true)))
+                        .chain(input ->
+                                vertx.fileSystem().open(temporary.toString(), new OpenOptions().setWrite(true).setCreateNew(true))
+                                        .chain(target ->
+                                                input.toMulti()
+                                                        .onItem().transformToUniAndConcatenate(buffer -> {
+                                                                    final byte[] bytes = buffer.getBytes();
+                                                                    if (size.addAndGet(bytes.length) > maxUploadSize) {
+                                                                        throw tooLarge(displayName);
+                                                                    }
+                                                                    if (Objects.isNull(mimeType.get())) {
+                                                                        mimeType.set(detectMimeType(bytes, displayName));
+                                                                    }
+                                                                    digest.update(bytes);
+                                                                    uploadedBytes.increment(bytes.length);
+                                                                    return target.write(buffer);
+                                                                }
+                                                        )
+                                                        .onItem().ignoreAsUni()
+                                                        .eventually(target::close)
+                                        )
+                                        .eventually(input::close)
+                        )
+                        .chain(() -> {
+                                    // Fichier vide : aucun bloc lu
+                                    if (Objects.isNull(mimeType.get())) {
+                                        return Uni.createFrom().failure(unsupportedType(displayName));
+                                    }
+                                    final String sha256 = HexFormat.of().formatHex(digest.digest());
+                                    final UploadedFile uploadedFile = new UploadedFile(sha256 + "." + EXTENSIONS.get(mimeType.get()), sha256, size.get(), mimeType.get());
+                                    return store(uploadDirectory, temporary, uploadedFile);
+                                }
+                        )
+                        .onFailure().call(() ->
+                                vertx.fileSystem().delete(temporary.toString())
+                                        .onFailure().recoverWithNull()
+                        )
+                        .onFailure(throwable -> !(throwable instanceof WebApplicationException)).transform(throwable -> {
+                                    log.error("File upload failed: {}", throwable.getMessage());
+                                    return new FileUploadException("Erreur lors de l'upload du fichier " + displayName);
+                                }
+                        )
+                        .onSubscription().invoke(activeUploads::incrementAndGet)
+                        .onTermination().invoke(activeUploads::decrementAndGet)
+                ;
+    }
+
+    /**
+     * Copie un fichier déjà stocké sous un autre nom (fichier antérieur à l'adressage par contenu) sous le nom de son
+     * contenu. L'ancien fichier est conservé.
+     *
+     * @param uploadDirectory Le répertoire de stockage.
+     * @param fileName        Le nom actuel du fichier.
+     * @return Un {@link Uni} contenant le {@link UploadedFile} enregistré.
+     * @see #importFile(String, Path, String, long)
+     */
+    public Uni<UploadedFile> importStoredFile(String uploadDirectory, String fileName) {
+        final String key = key(uploadDirectory, fileName);
+        final Optional<Path> localPath = blobStore.localPath(key);
+        if (localPath.isPresent()) {
+            return importFile(uploadDirectory, localPath.get(), fileName, 0);
+        }
+
+        final Path copy = blobStore.stagingDirectory().resolve(UUID.randomUUID() + PART_SUFFIX);
+        return
+                blobStore.download(key, copy)
+                        .chain(() -> importFile(uploadDirectory, copy, fileName, 0))
+                        .eventually(() -> vertx.fileSystem().delete(copy.toString()).onFailure().recoverWithNull())
+                ;
+    }
+
+    /**
+     * Enregistre un fichier temporaire complet sous la clé de son contenu.
+     */
+    private Uni<UploadedFile> store(String uploadDirectory, Path temporary, UploadedFile uploadedFile) {
+        final String key = key(uploadDirectory, uploadedFile.fileName());
+        return
+                blobStore.stat(key)
+                        .map(blob -> true)
+                        .onFailure(FileNotFoundException.class).recoverWithItem(false)
+                        .call(() -> blobStore.put(key, temporary, uploadedFile.mimeType()))
+                        .map(existing -> {
+                                    mimeTypes.put(key, uploadedFile.mimeType());
+                                    if (Boolean.TRUE.equals(existing)) {
+                                        deduplicated.increment();
+                                        log.info("File already stored: {} ({} bytes)", uploadedFile.fileName(), uploadedFile.size());
+                                    } else {
+                                        // Stockage distant : les déclinaisons seront générées à la première demande
+                                        blobStore.localPath(key).ifPresent(path -> imageVariantService.generateVariants(uploadDirectory, path));
+                                        log.info("File uploaded successfully: {} ({} bytes)", uploadedFile.fileName(), uploadedFile.size());
+                                    }
+                                    return uploadedFile;
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Supprime un fichier stocké s'il n'est plus référencé par aucun film ni aucune personne, après la validation de la
+     * transaction qui a retiré sa dernière référence.
+     * <p>
+     * Le nombre de références est lu dans {@code fichier_reference} ; tant que cette table n'est pas utilisable
+     * ({@link FileReferenceService#ensureReady()}), aucun fichier n'est supprimé. Un fichier modifié depuis moins de {@code pmdb.files.release-grace} est conservé : il peut venir d'être
+     * téléversé à nouveau par une transaction pas encore validée. Il sera supprimé par le nettoyage des fichiers
+     * orphelins ({@link OrphanFileCleanupService}). Les échecs sont journalisés sans être propagés : le fichier reste
+     * alors stocké.
+     *
+     * @param uploadDirectory Le répertoire du fichier.
+     * @param fileName        Le nom du fichier.
+     * @return Un {@link Uni} terminé une fois la vérification (et l'éventuelle suppression) effectuée.
+     */
+    public Uni<Void> release(String uploadDirectory, String fileName) {
+        return
+                fileReferenceService.ensureReady()
+                        .chain(() -> Panache.withSession(() -> fileReferenceRepository.countReferences(referenceDirectory(uploadDirectory), fileName)))
+                        .chain(references -> {
+                                    if (references > 0) {
+                                        log.debug("File {} still referenced {} time(s), kept", fileName, references);
+                                        return Uni.createFrom().voidItem();
+                                    }
+                                    return
+                                            blobStore.stat(key(uploadDirectory, fileName))
+                                                    .chain(blob -> {
+                                                                if (blob.lastModified() > System.currentTimeMillis() - releaseGrace.toMillis()) {
+                                                                    log.info("File {} recently stored, left to the orphan cleanup", fileName);
+                                                                    return Uni.createFrom().voidItem();
+                                                                }
+                                                                return deleteFile(uploadDirectory, fileName);
+                                                            }
+                                                    )
+                                            ;
+                                }
+                        )
+                        .onFailure().recoverWithUni(throwable -> {
+                                    log.warn("Unable to release file {}: {}", fileName, throwable.getMessage());
+                                    return Uni.createFrom().voidItem();
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Parcourt les objets stockés d'un répertoire, y compris les fichiers temporaires, page par page : seule la page
+     * courante ({@code pmdb.storage.list.page-size} objets) est conservée en mémoire.
+     *
+     * @param uploadDirectory Le répertoire de stockage.
+     * @return Un {@link Multi} des objets, dans l'ordre de leurs clés.
+     */
+    public Multi<BlobInfo> listFiles(String uploadDirectory) {
+        final String prefix = referenceDirectory(uploadDirectory) + "/";
+        return
+                Multi.createBy().repeating()
+                        .uni(
+                                () -> new AtomicReference<String>(),
+                                cursor -> blobStore.list(prefix, cursor.get(), listPageSize).invoke(page -> cursor.set(page.cursor()))
+                        )
+                        .whilst(page -> Objects.nonNull(page.cursor()))
+                        .onItem().transformToIterable(BlobPage::blobs)
+                ;
+    }
+
+    /**
+     * Liste les fichiers d'un répertoire qui ne sont pas nommés par leur contenu (fichiers par défaut, fichiers
+     * téléversés avant l'adressage par contenu).
+     *
+     * @param uploadDirectory Le répertoire de stockage.
+     * @return Un {@link Uni} contenant les noms des fichiers.
+     */
+    public Uni<List<String>> listLegacyFiles(String uploadDirectory) {
+        final String prefix = referenceDirectory(uploadDirectory) + "/";
+        return
+                listFiles(uploadDirectory)
+                        .map(blob -> blob.key().substring(prefix.length()))
+                        // Les fichiers adressés par contenu sont rangés sous deux niveaux de préfixes
+                        .filter(fileName -> !fileName.contains("/") && !fileName.startsWith(".") && !CONTENT_NAME.matcher(fileName).matches())
+                        .collect().asList()
+                ;
+    }
+
+    /**
+     * @param uploadDirectory Le répertoire de stockage.
+     * @param blob            Un objet listé par {@link #listFiles(String)}.
+     * @return Le nom du fichier si l'objet est un fichier rangé sous sa clé (voir {@link #listFiles(String)}), vide pour
+     * un fichier temporaire ou un objet rangé ailleurs.
+     */
+    public Optional<String> getStoredFileName(String uploadDirectory, BlobInfo blob) {
+        final String fileName = blob.key().substring(blob.key().lastIndexOf('/') + 1);
+        if (fileName.startsWith(".") || !blob.key().equals(key(uploadDirectory, fileName))) {
+            return Optional.empty();
+        }
+        return Optional.of(fileName);
+    }
 
-            try {
-                File uploadDir = new File(uploadDirectory);
-                if (!uploadDir.exists() && !uploadDir.mkdirs()) {
-                    throw new IOException("Failed to create upload directory: " + uploadDirectory);
-                }
+    /**
+     * @param blob Un objet listé par {@link #listFiles(String)}.
+     * @return {@code true} si l'objet est un fichier temporaire, laissé par une écriture interrompue.
+     */
+    public boolean isTemporary(BlobInfo blob) {
+        final String fileName = blob.key().substring(blob.key().lastIndexOf('/') + 1);
+        return fileName.startsWith(".") && fileName.endsWith(PART_SUFFIX);
+    }
+
+    /**
+     * Met de côté un fichier stocké : il est déplacé sous {@code quarantine/}, où il n'est plus servi, et ses
+     * déclinaisons sont supprimées. Il peut être restauré en le déplaçant à nouveau sous sa clé.
+     * <p>
+     * Le fichier est conservé s'il a été écrit depuis la date indiquée : le même contenu vient d'être téléversé à
+     * nouveau, par une transaction qui va le référencer.
+     *
+     * @param uploadDirectory Le répertoire du fichier.
+     * @param blob            Le fichier.
+     * @param olderThan       La date, en millisecondes depuis l'epoch, avant laquelle le fichier doit avoir été écrit.
+     * @return Un {@link Uni} contenant {@code true} une fois le fichier déplacé, {@code false} s'il a été conservé.
+     */
+    public Uni<Boolean> quarantine(String uploadDirectory, BlobInfo blob, long olderThan) {
+        return
+                blobStore.stat(blob.key())
+                        .chain(current -> {
+                                    if (current.lastModified() >= olderThan) {
+                                        log.info("File {} stored again since listed, kept", blob.key());
+                                        return Uni.createFrom().item(false);
+                                    }
+                                    mimeTypes.remove(blob.key());
+                                    imageVariantService.deleteVariants(uploadDirectory, Paths.get(blob.key().substring(blob.key().lastIndexOf('/') + 1)));
+                                    return blobStore.move(blob.key(), QUARANTINE_DIRECTORY + "/" + blob.key()).replaceWith(true);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * @param uploadDirectory Le répertoire de stockage.
+     * @return Un {@link Multi} des fichiers du répertoire mis de côté par {@link #quarantine(String, BlobInfo, long)},
+     * dans l'ordre de leurs clés. La date de modification d'un fichier est celle de sa mise de côté.
+     */
+    public Multi<BlobInfo> listQuarantinedFiles(String uploadDirectory) {
+        return listFiles(QUARANTINE_DIRECTORY + "/" + referenceDirectory(uploadDirectory));
+    }
+
+    /**
+     * Supprime définitivement un objet listé par {@link #listFiles(String)} ou {@link #listQuarantinedFiles(String)}.
+     *
+     * @param blob L'objet.
+     * @return Un {@link Uni} terminé une fois l'objet supprimé.
+     */
+    public Uni<Void> deleteStoredObject(BlobInfo blob) {
+        return blobStore.delete(blob.key());
+    }
 
-                Files.move(file.uploadedFile(), destination);
-                log.info("File uploaded successfully: {}", fileName);
-                return fileName;
-            } catch (IOException e) {
-                log.error("File upload failed: {}", e.getMessage());
-                throw new FileUploadException("Erreur lors de l'upload du fichier " + fileName);
-            }
-        });
+    /**
+     * Supprime les fichiers du répertoire de préparation ({@link BlobStore#stagingDirectory()}) laissés par des
+     * téléversements interrompus.
+     *
+     * @param olderThan La date, en millisecondes depuis l'epoch, avant laquelle un fichier est considéré abandonné.
+     * @return Un {@link Uni} contenant le nombre d'octets libérés.
+     */
+    public Uni<Long> purgeStagingDirectory(long olderThan) {
+        final String directory = blobStore.stagingDirectory().toString();
+        return
+                vertx.fileSystem().exists(directory)
+                        .chain(exists -> Boolean.TRUE.equals(exists)
+                                ? vertx.fileSystem().readDir(directory)
+                                : Uni.createFrom().item(List.<String>of())
+                        )
+                        .onItem().transformToMulti(paths -> Multi.createFrom().iterable(paths))
+                        .onItem().transformToUniAndConcatenate(path ->
+                                vertx.fileSystem().props(path)
+                                        .chain(props -> props.isRegularFile() && props.lastModifiedTime() < olderThan
+                                                ? vertx.fileSystem().delete(path).replaceWith(props.size())
+                                                : Uni.createFrom().item(0L)
+                                        )
+                                        // Fichier enregistré ou supprimé entre-temps
+                                        .onFailure().recoverWithItem(0L)
+                        )
+                        .collect().with(Collectors.summingLong(Long::longValue))
+                ;
     }
 
-    public void deleteFile(String folder, String fileName) throws IOException {
+    /**
+     * Supprime un fichier stocké et ses déclinaisons, sans vérifier s'il est encore référencé.
+     *
+     * @param folder   Le répertoire du fichier.
+     * @param fileName Le nom du fichier.
+     * @return Un {@link Uni} terminé une fois le fichier supprimé.
+     */
+    public Uni<Void> deleteFile(String folder, String fileName) {
         log.info("Suppression du fichier {}", fileName);
-        FileUtils.forceDelete(Paths.get(RESOURCES_FOLDER, folder, fileName).toFile());
+        final String key = key(folder, fileName);
+        mimeTypes.remove(key);
+        imageVariantService.deleteVariants(folder, Paths.get(fileName));
+        return blobStore.delete(key);
+    }
+
+    /**
+     * Détermine le type MIME d'un fichier, hors du thread d'entrée-sortie au premier accès ({@link Files#probeContentType}
+     * peut lire le fichier ; un fichier distant est reconnu à son extension), puis depuis la mémoire.
+     */
+    private Uni<String> getMimeType(String key, Path filePath) {
+        final String cached = mimeTypes.get(key);
+        if (Objects.nonNull(cached)) {
+            return Uni.createFrom().item(cached);
+        }
+
+        return
+                Uni.createFrom().item(() -> {
+                            try {
+                                return Objects.requireNonNullElse(Files.probeContentType(filePath), UNKNOWN_MIME_TYPE);
+                            } catch (IOException e) {
+                                log.warn("Unable to detect the MIME type of {}: {}", filePath, e.getMessage());
+                                return UNKNOWN_MIME_TYPE;
+                            }
+                        })
+                        .runSubscriptionOn(Infrastructure.getDefaultExecutor()) // déplacer le blocage hors du thread IO
+                        .invoke(mimeType -> mimeTypes.put(key, mimeType))
+                ;
+    }
+
+    /**
+     * Détermine le type MIME d'une image à partir de sa signature (premiers octets du contenu).
+     *
+     * @throws WebApplicationException (415) si la signature n'est pas reconnue ou si le type n'est pas autorisé.
+     */
+    private String detectMimeType(byte[] header, String fileName) {
+        final String mimeType = SIGNATURES.entrySet().stream()
+                .filter(signature -> matches(header, 0, signature.getValue()))
+                .map(Map.Entry::getKey)
+                .filter(type -> !"image/webp".equals(type) || matches(header, 8, WEBP_FORMAT))
+                .findFirst()
+                .orElse(null);
+        if (Objects.isNull(mimeType) || !allowedTypes.contains(mimeType)) {
+            throw unsupportedType(fileName);
+        }
+        return mimeType;
+    }
+
+    private static boolean matches(byte[] bytes, int offset, byte[] expected) {
+        return bytes.length >= offset + expected.length && Arrays.equals(bytes, offset, offset + expected.length, expected, 0, expected.length);
+    }
+
+    private WebApplicationException tooLarge(String fileName) {
+        rejectedTooLarge.increment();
+        log.warn("Upload rejected, file larger than {} bytes: {}", maxUploadSize, fileName);
+        return new WebApplicationException("Le fichier dépasse la taille maximale autorisée", Response.Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    private WebApplicationException unsupportedType(String fileName) {
+        rejectedType.increment();
+        log.warn("Upload rejected, unsupported file type: {}", fileName);
+        return new WebApplicationException("Type de fichier non autorisé", Response.Status.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    /**
+     * Clé d'un fichier dans le stockage : les fichiers nommés par leur empreinte sont rangés sous deux niveaux de
+     * préfixes ({@code posters/ab/cd/abcd….jpg}), les autres (fichiers par défaut, fichiers antérieurs) directement
+     * sous leur répertoire.
+     */
+    private static String key(String uploadDirectory, String fileName) {
+        final String directory = referenceDirectory(uploadDirectory);
+        if (CONTENT_NAME.matcher(fileName).matches()) {
+            return directory + "/" + fileName.substring(0, 2) + "/" + fileName.substring(2, 4) + "/" + fileName;
+        }
+        return directory + "/" + fileName;
+    }
+
+    /**
+     * @return Le répertoire sous lequel les références à un fichier sont comptées ({@code posters/} → {@code posters}).
+     */
+    private static String referenceDirectory(String uploadDirectory) {
+        return uploadDirectory.endsWith("/") ? uploadDirectory.substring(0, uploadDirectory.length() - 1) : uploadDirectory;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StoredFile revalidated(StoredFile file) {
+        return new StoredFile(file.path(), file.fileName(), file.mimeType(), file.size(), file.lastModified(), false, file.location());
+    }
+
+    private static StoredFile toStoredFile(Path filePath, String mimeType, FileProps props) {
+        return toStoredFile(filePath, null, filePath.getFileName().toString(), mimeType, props.size(), props.lastModifiedTime());
+    }
+
+    private static StoredFile toStoredFile(@Nullable Path filePath, @Nullable URI location, String fileName, String mimeType, long size, long lastModified) {
+        return new StoredFile(
+                filePath,
+                fileName,
+                mimeType.isEmpty() ? null : mimeType,
+                size,
+                lastModified,
+                GENERATED_NAME.matcher(fileName).matches() || CONTENT_NAME.matcher(fileName).matches(),
+                location
+        );
     }
 }
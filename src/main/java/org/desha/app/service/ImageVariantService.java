@@ -0,0 +1,449 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Déclinaisons redimensionnées des images téléversées (affiches, photos), servies à la place de l'original lorsque le
+ * client demande une largeur ({@code ?w=320}).
+ * <p>
+ * Les largeurs disponibles sont configurées par {@code pmdb.images.widths} : une demande reçoit la plus petite
+ * déclinaison au moins aussi large, ou l'original si la largeur demandée dépasse la plus grande. Les déclinaisons sont
+ * générées au téléversement ({@link #generateVariants(String, Path)}) et, pour les fichiers plus anciens, à la première
+ * demande ({@link #getVariant(String, Path, int)}). Une image déjà plus étroite que la déclinaison, ou dans un format
+ * autre que JPEG ou PNG, est servie telle quelle. Une image de plus de {@code pmdb.images.max-pixels} pixels n'est
+ * pas décodée et est elle aussi servie telle quelle : ses dimensions sont lues dans son en-tête, sa taille une fois
+ * décodée pouvant être sans rapport avec celle du fichier.
+ * <p>
+ * Le décodage et le réencodage sont exécutés par un nombre borné de threads dédiés
+ * ({@code pmdb.images.workers}), avec une file bornée ({@code pmdb.images.queue.capacity}) : lorsqu'elle est pleine,
+ * la génération est abandonnée et l'original est servi en attendant une demande ultérieure.
+ * <p>
+ * Les déclinaisons forment un cache sur disque ({@code pmdb.images.cache.directory}), dont la taille totale est
+ * bornée par {@code pmdb.images.cache.max-size} : au-delà, les déclinaisons les moins récemment servies sont
+ * supprimées, et seront regénérées à la demande. Lorsque les originaux sont stockés à distance, ce cache conserve aussi
+ * la copie locale des originaux dont une déclinaison a été demandée ({@link #originalPath(String, String)}).
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.images.variants.generated} : déclinaisons générées ;</li>
+ *     <li>{@code pmdb.images.variants.failures} : générations en échec ;</li>
+ *     <li>{@code pmdb.images.variants.rejected} : générations abandonnées, file pleine ;</li>
+ *     <li>{@code pmdb.images.cache.evictions} : déclinaisons supprimées pour respecter la taille du cache ;</li>
+ *     <li>{@code pmdb.images.cache.bytes} : taille du cache, en octets ;</li>
+ *     <li>{@code pmdb.images.queue.size} : générations en attente.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class ImageVariantService {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String ORIGINALS_DIRECTORY = "originals";
+
+    private final Map<Path, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Path, CacheEntry> entries = new ConcurrentHashMap<>();
+    // Déclinaisons inutiles (original assez étroit ou format non pris en charge) : l'original est servi
+    private final Set<Path> unnecessary = ConcurrentHashMap.newKeySet();
+    private final AtomicLong cacheSize = new AtomicLong(0);
+
+    private final List<Integer> widths;
+    private final Path cacheDirectory;
+    private final long maxCacheSize;
+    private final long maxPixels;
+    private final Duration generationTimeout;
+    private final ThreadPoolExecutor executor;
+    private final Counter generated;
+    private final Counter failures;
+    private final Counter rejected;
+    private final Counter evictions;
+
+    @Inject
+    public ImageVariantService(
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.images.widths", defaultValue = "160,320,640") List<Integer> widths,
+            @ConfigProperty(name = "pmdb.images.workers", defaultValue = "2") int workers,
+            @ConfigProperty(name = "pmdb.images.queue.capacity", defaultValue = "100") int queueCapacity,
+            @ConfigProperty(name = "pmdb.images.cache.directory", defaultValue = "${java.io.tmpdir}/pmdb/variants") String cacheDirectory,
+            @ConfigProperty(name = "pmdb.images.cache.max-size", defaultValue = "512M") MemorySize maxCacheSize,
+            @ConfigProperty(name = "pmdb.images.max-pixels", defaultValue = "40000000") long maxPixels,
+            @ConfigProperty(name = "pmdb.images.generation-timeout", defaultValue = "2s") Duration generationTimeout
+    ) {
+        this.widths = widths.stream().filter(width -> width > 0).distinct().sorted().toList();
+        this.cacheDirectory = Paths.get(cacheDirectory).normalize();
+        this.maxCacheSize = maxCacheSize.asLongValue();
+        this.maxPixels = maxPixels;
+        this.generationTimeout = generationTimeout;
+        final AtomicInteger threadCount = new AtomicInteger(0);
+        this.executor = new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.generated = registry.counter("pmdb.images.variants.generated");
+        this.failures = registry.counter("pmdb.images.variants.failures");
+        this.rejected = registry.counter("pmdb.images.variants.rejected");
+        this.evictions = registry.counter("pmdb.images.cache.evictions");
+        registry.gauge("pmdb.images.cache.bytes", cacheSize);
+        registry.gaugeCollectionSize("pmdb.images.queue.size", List.of(), executor.getQueue());
+    }
+
+    /**
+     * Recense les déclinaisons déjà présentes sur disque, hors du démarrage de l'application.
+     */
+    void onStart(@Observes StartupEvent ev) {
+        executor.execute(this::scanCache);
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Demande la génération de toutes les déclinaisons d'une image qui vient d'être téléversée.
+     * <p>
+     * L'appel retourne immédiatement ; une génération en échec ou abandonnée est reprise à la première demande.
+     *
+     * @param directory Le répertoire de l'image (affiches, photos).
+     * @param original  Le chemin de l'image d'origine.
+     */
+    public void generateVariants(String directory, Path original) {
+        widths.forEach(width -> submit(original, variantPath(directory, width, original), width));
+    }
+
+    /**
+     * Retourne la déclinaison d'une image la plus proche d'une largeur, en la générant si nécessaire.
+     * <p>
+     * Une génération nécessaire est attendue au plus {@code pmdb.images.generation-timeout}.
+     *
+     * @param directory      Le répertoire de l'image (affiches, photos).
+     * @param original       Le chemin de l'image d'origine.
+     * @param requestedWidth La largeur demandée, en pixels.
+     * @return Un {@link Uni} contenant le chemin de la déclinaison, celui de l'original si c'est lui qui doit être
+     * servi pour cette largeur, ou vide si la déclinaison n'est pas encore disponible (génération en cours, abandonnée
+     * ou en échec).
+     */
+    public Uni<Optional<Path>> getVariant(String directory, Path original, int requestedWidth) {
+        final Optional<Integer> width = widths.stream().filter(candidate -> candidate >= requestedWidth).findFirst();
+        if (width.isEmpty()) {
+            return Uni.createFrom().item(Optional.of(original));
+        }
+
+        final Path variant = variantPath(directory, width.get(), original);
+        if (unnecessary.contains(variant)) {
+            return Uni.createFrom().item(Optional.of(original));
+        }
+        final CacheEntry entry = entries.get(variant);
+        if (Objects.nonNull(entry)) {
+            entry.touch();
+            return Uni.createFrom().item(Optional.of(variant));
+        }
+
+        return
+                // Copie : l'abandon de l'attente n'annule pas la génération, partagée avec les autres demandes
+                Uni.createFrom().completionStage(() -> submit(original, variant, width.get()).copy())
+                        .map(Optional::of)
+                        .ifNoItem().after(generationTimeout).recoverWithItem(Optional.empty())
+                        .onFailure().recoverWithItem(Optional.empty())
+                ;
+    }
+
+    /**
+     * Supprime les déclinaisons d'une image supprimée, ainsi que sa copie locale.
+     *
+     * @param directory Le répertoire de l'image (affiches, photos).
+     * @param original  Le chemin de l'image d'origine.
+     */
+    public void deleteVariants(String directory, Path original) {
+        widths.forEach(width -> {
+                    final Path variant = variantPath(directory, width, original);
+                    unnecessary.remove(variant);
+                    remove(variant);
+                }
+        );
+        remove(originalPath(directory, original.getFileName().toString()));
+    }
+
+    /**
+     * @param directory Le répertoire de l'image (affiches, photos).
+     * @param fileName  Le nom de l'image.
+     * @return Le chemin de la copie locale d'une image stockée à distance, à partir de laquelle ses déclinaisons sont
+     * générées.
+     */
+    public Path originalPath(String directory, String fileName) {
+        return cacheDirectory.resolve(directory).resolve(ORIGINALS_DIRECTORY).resolve(fileName);
+    }
+
+    /**
+     * @param directory Le répertoire de l'image (affiches, photos).
+     * @param fileName  Le nom de l'image.
+     * @return Le chemin de la copie locale de l'image si elle est dans le cache, vide sinon.
+     */
+    public Optional<Path> getCachedOriginal(String directory, String fileName) {
+        final Path original = originalPath(directory, fileName);
+        final CacheEntry entry = entries.get(original);
+        if (Objects.isNull(entry)) {
+            return Optional.empty();
+        }
+        entry.touch();
+        return Optional.of(original);
+    }
+
+    /**
+     * Ajoute au cache la copie locale d'une image qui vient d'être téléchargée à {@link #originalPath(String, String)}.
+     * La taille du cache est vérifiée à la génération suivante, hors du thread appelant.
+     *
+     * @param original Le chemin de la copie locale.
+     * @param size     La taille de la copie, en octets.
+     */
+    public void addCachedOriginal(Path original, long size) {
+        add(original, size, System.currentTimeMillis());
+    }
+
+    private Path variantPath(String directory, int width, Path original) {
+        return cacheDirectory.resolve(directory).resolve(String.valueOf(width)).resolve(original.getFileName().toString());
+    }
+
+    /**
+     * Confie la génération d'une déclinaison aux threads dédiés, sauf si elle est déjà en cours.
+     *
+     * @return La génération, terminée avec le chemin à servir (déclinaison ou original).
+     */
+    private CompletableFuture<Path> submit(Path original, Path variant, int width) {
+        final CompletableFuture<Path> generation = new CompletableFuture<>();
+        final CompletableFuture<Path> existing = inFlight.putIfAbsent(variant, generation);
+        if (Objects.nonNull(existing)) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> {
+                        try {
+                            generation.complete(generate(original, variant, width));
+                        } catch (Exception e) {
+                            failures.increment();
+                            log.warn("Génération de la déclinaison {} px de {} impossible : {}", width, original.getFileName(), e.getMessage());
+                            generation.completeExceptionally(e);
+                        } finally {
+                            inFlight.remove(variant, generation);
+                        }
+                    }
+            );
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(variant, generation);
+            rejected.increment();
+            log.debug("File de génération des déclinaisons pleine : {} px de {} abandonnée", width, original.getFileName());
+            generation.completeExceptionally(e);
+        }
+        return generation;
+    }
+
+    /**
+     * Décode l'original, le redimensionne à la largeur demandée et enregistre la déclinaison dans le format de
+     * l'original. Exécuté uniquement par les threads dédiés.
+     *
+     * @return Le chemin à servir : la déclinaison, ou l'original si une déclinaison est inutile.
+     */
+    private Path generate(Path original, Path variant, int width) throws IOException {
+        final String format = formatOf(original);
+        final BufferedImage source = Objects.isNull(format) ? null : read(original);
+        if (Objects.isNull(source) || source.getWidth() <= width) {
+            unnecessary.add(variant);
+            return original;
+        }
+
+        final int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+        final boolean jpeg = "jpg".equals(format);
+        final BufferedImage scaled = new BufferedImage(width, height, jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Le JPEG n'a pas de transparence : fond blanc
+            graphics.drawImage(source, 0, 0, width, height, jpeg ? Color.WHITE : null, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Files.createDirectories(variant.getParent());
+        // Écriture dans un fichier temporaire puis renommage : une déclinaison incomplète n'est jamais servie
+        final Path temporary = Files.createTempFile(variant.getParent(), ".", TEMPORARY_SUFFIX);
+        try {
+            if (!ImageIO.write(scaled, format, temporary.toFile())) {
+                throw new IOException("Aucun encodeur " + format);
+            }
+            Files.move(temporary, variant, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        add(variant, Files.size(variant), System.currentTimeMillis());
+        generated.increment();
+        log.debug("Déclinaison {} px de {} générée", width, original.getFileName());
+        evictIfNeeded();
+        return variant;
+    }
+
+    /**
+     * Décode une image après avoir lu ses dimensions dans son en-tête.
+     *
+     * @return L'image décodée, ou {@code null} si aucun décodeur ne la reconnaît ou si elle dépasse
+     * {@code pmdb.images.max-pixels} pixels.
+     */
+    @Nullable
+    private BufferedImage read(Path original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            if (Objects.isNull(input)) {
+                throw new IOException("Lecture de " + original.getFileName() + " impossible");
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Image {} non décodée : {} pixels, au-delà de la limite de {}", original.getFileName(), pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String formatOf(Path file) {
+        final String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return "jpg";
+        }
+        if (name.endsWith(".png")) {
+            return "png";
+        }
+        return null;
+    }
+
+    private void scanCache() {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                        try {
+                            if (file.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                                // Génération interrompue par un arrêt de l'application
+                                Files.deleteIfExists(file);
+                            } else {
+                                add(file, Files.size(file), Files.getLastModifiedTime(file).toMillis());
+                            }
+                        } catch (IOException e) {
+                            log.warn("Déclinaison {} ignorée : {}", file, e.getMessage());
+                        }
+                    }
+            );
+            log.info("Cache des déclinaisons d'images : {} fichier(s), {} octet(s)", entries.size(), cacheSize.get());
+            evictIfNeeded();
+        } catch (IOException e) {
+            log.error("Erreur lors du recensement du cache des déclinaisons d'images {}", cacheDirectory, e);
+        }
+    }
+
+    private void add(Path variant, long size, long lastAccess) {
+        final CacheEntry previous = entries.put(variant, new CacheEntry(size, lastAccess));
+        cacheSize.addAndGet(size - (Objects.isNull(previous) ? 0 : previous.size));
+    }
+
+    private void remove(Path variant) {
+        final CacheEntry entry = entries.remove(variant);
+        if (Objects.nonNull(entry)) {
+            cacheSize.addAndGet(-entry.size);
+        }
+        try {
+            Files.deleteIfExists(variant);
+        } catch (IOException e) {
+            log.warn("Suppression de la déclinaison {} impossible : {}", variant, e.getMessage());
+        }
+    }
+
+    /**
+     * Supprime les déclinaisons les moins récemment servies tant que le cache dépasse sa taille maximale.
+     */
+    private synchronized void evictIfNeeded() {
+        if (cacheSize.get() <= maxCacheSize) {
+            return;
+        }
+
+        // Dates d'accès relevées avant le tri : elles changent pendant que des déclinaisons sont servies
+        final List<EvictionCandidate> candidates = entries.entrySet().stream()
+                .map(entry -> new EvictionCandidate(entry.getKey(), entry.getValue().lastAccess))
+                .sorted(Comparator.comparingLong(EvictionCandidate::lastAccess))
+                .toList();
+        for (EvictionCandidate candidate : candidates) {
+            if (cacheSize.get() <= maxCacheSize) {
+                break;
+            }
+            remove(candidate.path());
+            evictions.increment();
+        }
+        log.debug("Cache des déclinaisons d'images réduit à {} octet(s)", cacheSize.get());
+    }
+
+    private record EvictionCandidate(Path path, long lastAccess) {
+    }
+
+    private static final class CacheEntry {
+
+        private final long size;
+        private volatile long lastAccess;
+
+        private CacheEntry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+
+        private void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+    }
+}
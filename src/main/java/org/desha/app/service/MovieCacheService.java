@@ -0,0 +1,116 @@
+package org.desha.app.service;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.ObservesAsync;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.dto.MovieDTO;
+import org.desha.app.domain.enums.InvalidationScope;
+import org.desha.app.domain.record.InvalidationEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache en lecture des détails d'un film ({@link MovieDTO}) par identifiant.
+ * <p>
+ * Le cache {@value #CACHE_NAME} (Caffeine) est borné en taille et en durée par les propriétés
+ * {@code quarkus.cache.caffeine."movie-details".*}. Les appels concurrents sur un même film absent du cache partagent
+ * un seul chargement. Un chargement en échec (film inexistant, erreur de base) n'est pas conservé.
+ * <p>
+ * Toute écriture modifiant un film, ses pays, ses catégories, ses techniciens ou ses récompenses doit appeler
+ * {@link #invalidate(Long)} une fois sa transaction validée ; une modification d'une donnée partagée par plusieurs
+ * films (pays, catégorie) appelle {@link #invalidateAll()}. Ces invalidations sont diffusées aux autres instances de
+ * l'application par {@link CacheInvalidationService}.
+ * <p>
+ * Le cache est désactivable par la propriété {@code pmdb.movie-cache.enabled}. Les métriques Caffeine
+ * ({@code cache.gets}, {@code cache.evictions}, ...) sont exposées avec le tag {@code cache=movie-details}.
+ * <p>
+ * Les {@link MovieDTO} retournés sont partagés entre les requêtes et ne doivent pas être modifiés.
+ */
+@Slf4j
+@ApplicationScoped
+public class MovieCacheService {
+
+    public static final String CACHE_NAME = "movie-details";
+
+    private final Cache cache;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final boolean enabled;
+
+    @Inject
+    public MovieCacheService(
+            @CacheName(CACHE_NAME) Cache cache,
+            CacheInvalidationService cacheInvalidationService,
+            @ConfigProperty(name = "pmdb.movie-cache.enabled", defaultValue = "true") boolean enabled
+    ) {
+        this.cache = cache;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Retourne les détails d'un film depuis le cache, en les chargeant via {@code loader} s'ils en sont absents.
+     *
+     * @param id     L'identifiant du film.
+     * @param loader Le chargement du film, qui doit échouer (et non retourner {@code null}) si le film n'existe pas.
+     * @return Un {@link Uni} contenant le {@link MovieDTO} du film.
+     */
+    public Uni<MovieDTO> get(Long id, Supplier<Uni<MovieDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return cache.getAsync(id, key -> loader.get());
+    }
+
+    /**
+     * Retire un film du cache, sur cette instance et sur les autres.
+     *
+     * @param id L'identifiant du film modifié ou supprimé.
+     * @return Un {@link Uni} terminé une fois l'entrée retirée.
+     */
+    public Uni<Void> invalidate(Long id) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        log.debug("Invalidation du film {} dans le cache {}", id, CACHE_NAME);
+        return
+                cache.invalidate(id)
+                        .call(() -> cacheInvalidationService.publish(InvalidationScope.MOVIE, id))
+                ;
+    }
+
+    /**
+     * Vide entièrement le cache, sur cette instance et sur les autres.
+     *
+     * @return Un {@link Uni} terminé une fois le cache vidé.
+     */
+    public Uni<Void> invalidateAll() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        log.debug("Vidage du cache {}", CACHE_NAME);
+        return
+                cache.invalidateAll()
+                        .call(() -> cacheInvalidationService.publish(InvalidationScope.MOVIE, null))
+                ;
+    }
+
+    /**
+     * Applique localement une invalidation reçue d'une autre instance.
+     */
+    void onInvalidation(@ObservesAsync InvalidationEvent event) {
+        if (!enabled || !event.concerns(InvalidationScope.MOVIE)) {
+            return;
+        }
+        if (Objects.isNull(event.id())) {
+            cache.invalidateAll().await().indefinitely();
+        } else {
+            cache.invalidate(event.id()).await().indefinitely();
+        }
+    }
+}
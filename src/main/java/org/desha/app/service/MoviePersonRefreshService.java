@@ -0,0 +1,103 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.repository.PersonRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rafraîchissement de fond des tables dérivées {@code film_personne} et {@code personne_nombre_films}.
+ * <p>
+ * Ces tables sont maintenues incrémentalement par trigger à chaque écriture d'un lien film-personne (acteurs et
+ * techniciens, via {@link MovieService} et {@link MovieTechnicianService}). Le rafraîchissement complet, planifié par la
+ * propriété {@code pmdb.movie-persons.refresh.every}, ne sert qu'à corriger un éventuel écart.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.movie_persons.staleness} : secondes écoulées depuis le dernier rafraîchissement réussi
+ *     (depuis le démarrage si aucun n'a encore eu lieu) ;</li>
+ *     <li>{@code pmdb.movie_persons.corrections} : nombre de lignes corrigées par le dernier rafraîchissement ;</li>
+ *     <li>{@code pmdb.movie_persons.refresh} : durée des rafraîchissements ;</li>
+ *     <li>{@code pmdb.movie_persons.refresh.failures} : nombre de rafraîchissements en échec.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class MoviePersonRefreshService {
+
+    private final AtomicReference<Instant> lastRefresh = new AtomicReference<>(Instant.now());
+    private final AtomicLong lastCorrections = new AtomicLong(0);
+
+    private final PersonRepository personRepository;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+
+    @Inject
+    public MoviePersonRefreshService(PersonRepository personRepository, MeterRegistry registry) {
+        this.personRepository = personRepository;
+        this.refreshTimer = registry.timer("pmdb.movie_persons.refresh");
+        this.refreshFailures = registry.counter("pmdb.movie_persons.refresh.failures");
+        registry.gauge("pmdb.movie_persons.staleness", this, service -> service.getStaleness().toSeconds());
+        registry.gauge("pmdb.movie_persons.corrections", lastCorrections);
+    }
+
+    @Scheduled(
+            identity = "movie-persons-refresh",
+            every = "${pmdb.movie-persons.refresh.every}",
+            delayed = "${pmdb.movie-persons.refresh.delayed}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> scheduledRefresh() {
+        return refresh().replaceWithVoid();
+    }
+
+    /**
+     * Rafraîchit complètement les tables dérivées et met à jour les métriques.
+     * <p>
+     * Un écart non nul indique que la maintenance incrémentale a été contournée (écriture directe en base, trigger
+     * désactivé) : il est journalisé en avertissement.
+     *
+     * @return Un {@link Uni} contenant le nombre de lignes corrigées.
+     */
+    public Uni<Long> refresh() {
+        final long start = System.nanoTime();
+
+        return
+                Panache.withTransaction(personRepository::refreshMoviePersons)
+                        .invoke(corrections -> {
+                                    refreshTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                                    lastRefresh.set(Instant.now());
+                                    lastCorrections.set(corrections);
+                                    if (corrections > 0) {
+                                        log.warn("Rafraîchissement des films par personne : {} ligne(s) corrigée(s)", corrections);
+                                    } else {
+                                        log.debug("Rafraîchissement des films par personne : tables à jour");
+                                    }
+                                }
+                        )
+                        .onFailure().invoke(throwable -> {
+                                    refreshFailures.increment();
+                                    log.error("Erreur lors du rafraîchissement des films par personne", throwable);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * @return La durée écoulée depuis le dernier rafraîchissement réussi.
+     */
+    public Duration getStaleness() {
+        return Duration.between(lastRefresh.get(), Instant.now());
+    }
+}
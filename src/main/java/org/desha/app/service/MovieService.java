@@ -16,10 +16,20 @@ import org.desha.app.domain.entity.Category;
 import org.desha.app.domain.entity.Movie;
 import org.desha.app.domain.entity.MovieActor;
 import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.enums.CountStrategy;
+import org.desha.app.domain.enums.Granularity;
 import org.desha.app.domain.enums.NotificationType;
+import org.desha.app.domain.enums.StatsSeries;
+import org.desha.app.domain.record.KeysetCursor;
+import org.desha.app.domain.record.KeysetPage;
+import org.desha.app.domain.record.MovieWithAwardsNumber;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.domain.record.Repartition;
+import org.desha.app.domain.record.StoredFile;
+import org.desha.app.domain.record.UploadedFile;
+import org.desha.app.exception.FileNotFoundException;
 import org.desha.app.exception.MovieUpdateException;
-import org.desha.app.exception.PhotoDeletionException;
+import org.desha.app.helper.StatsChanges;
 import org.desha.app.mapper.*;
 import org.desha.app.repository.*;
 import org.desha.app.utils.Messages;
@@ -27,11 +37,10 @@ import org.desha.app.utils.Utils;
 import org.hibernate.reactive.mutiny.Mutiny;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -54,8 +63,10 @@ public class MovieService {
     private final CeremonyAwardsService ceremonyAwardsService;
     private final CountryService countryService;
     private final FileService fileService;
+    private final MovieCacheService movieCacheService;
     private final NotificationService notificationService;
     private final StatsService statsService;
+    private final TotalCountService totalCountService;
     private final UserNotificationService userNotificationService;
 
     private final CategoryRepository categoryRepository;
@@ -81,6 +92,7 @@ public class MovieService {
             CountryService countryService,
             FileService fileService,
             CategoryService categoryService,
+            MovieCacheService movieCacheService,
             NotificationService notificationService,
             StatsService statsService,
             UserNotificationService userNotificationService,
@@ -89,7 +101,8 @@ public class MovieService {
             MovieActorRepository movieActorRepository,
             MovieRepository movieRepository,
             PersonRepository personRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            TotalCountService totalCountService
     ) {
         this.categoryMapper = categoryMapper;
         this.ceremonyAwardsMapper = ceremonyAwardsMapper;
@@ -106,6 +119,7 @@ public class MovieService {
         this.countryRepository = countryRepository;
         this.fileService = fileService;
         this.categoryService = categoryService;
+        this.movieCacheService = movieCacheService;
         this.movieRepository = movieRepository;
         this.movieActorRepository = movieActorRepository;
         this.userRepository = userRepository;
@@ -113,6 +127,7 @@ public class MovieService {
         this.notificationService = notificationService;
         this.statsService = statsService;
         this.userNotificationService = userNotificationService;
+        this.totalCountService = totalCountService;
     }
 
     /**
@@ -219,7 +234,8 @@ public class MovieService {
     /**
      * Récupère un film ({@link MovieDTO}) à partir de son identifiant.
      * <p>
-     * La méthode récupère également les pays et catégories associés au film.
+     * La méthode récupère également les pays et catégories associés au film. Le résultat est servi par
+     * {@link MovieCacheService}, qui n'interroge la base qu'en l'absence du film dans le cache.
      * Si aucun film ne correspond à l'identifiant fourni, une exception {@link NotFoundException} est levée.
      * <p>
      * En cas d’erreur lors de l’exécution de la requête, une exception {@link WebApplicationException}
@@ -232,9 +248,11 @@ public class MovieService {
      */
     public Uni<MovieDTO> getById(@NotNull Long id) {
         return
-                movieRepository.findByIdWithCountriesAndCategories(id)
-                        .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
-                        .map(movieMapper::toDTO)
+                movieCacheService.get(id, () ->
+                                movieRepository.findByIdWithCountriesAndCategories(id)
+                                        .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
+                                        .map(movieMapper::toDTO)
+                        )
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -246,6 +264,66 @@ public class MovieService {
                 ;
     }
 
+    /**
+     * Récupère la date de dernière modification d'un film, de ses pays et de ses catégories.
+     * <p>
+     * Sert de validateur aux requêtes conditionnelles sur {@link #getById(Long)}, sans charger le film.
+     *
+     * @param id L’identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas.
+     * @throws WebApplicationException si une erreur survient lors de la récupération de la date.
+     */
+    public Uni<LocalDateTime> getLastUpdate(@NotNull Long id) {
+        return
+                movieRepository.findLastUpdate(id)
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la date de mise à jour du film avec l'ID {}", id, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la date de mise à jour du film", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Récupère la date de dernière modification du casting d'un film.
+     * <p>
+     * Sert de validateur aux requêtes conditionnelles sur {@link #getActorsByMovie(Long)}, sans charger les acteurs.
+     *
+     * @param id L’identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas.
+     * @throws WebApplicationException si une erreur survient lors de la récupération de la date.
+     */
+    public Uni<LocalDateTime> getActorsLastUpdate(@NotNull Long id) {
+        return
+                movieRepository.findActorsLastUpdate(id)
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la date de mise à jour des acteurs du film avec l'ID {}", id, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la date de mise à jour des acteurs du film", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Récupère la date de dernière modification de l'équipe technique d'un film.
+     * <p>
+     * Sert de validateur aux requêtes conditionnelles sur {@link #getTechnicalTeam(Long)}, sans charger les techniciens.
+     *
+     * @param id L’identifiant du film. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si le film n'existe pas.
+     * @throws WebApplicationException si une erreur survient lors de la récupération de la date.
+     */
+    public Uni<LocalDateTime> getTechnicalTeamLastUpdate(@NotNull Long id) {
+        return
+                movieRepository.findTechnicalTeamLastUpdate(id)
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la date de mise à jour de l'équipe technique du film avec l'ID {}", id, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la date de mise à jour de l'équipe technique du film", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
     /**
      * Récupère une liste paginée et triée de films correspondant aux critères fournis.
      * <p>
@@ -253,20 +331,80 @@ public class MovieService {
      * Si {@code criteriaDTO} contient des filtres (titre, catégorie, pays, personne, etc.), seuls les films correspondant
      * à ces critères sont retournés.
      * <p>
+     * Le nombre total de films est calculé selon {@code countStrategy} : en {@link CountStrategy#EXACT}, il est obtenu
+     * dans la même requête que la page ; sinon, la page est récupérée sans comptage et le total est fourni par
+     * {@link TotalCountService}, éventuellement de manière approchée.
+     * <p>
      * En cas d’erreur lors de la récupération, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
      *
-     * @param page        Les informations de pagination à appliquer (index et taille de page).
-     * @param sort        Le champ sur lequel appliquer le tri.
+     * @param page          Les informations de pagination à appliquer (index et taille de page).
+     * @param sort          Le champ sur lequel appliquer le tri.
+     * @param direction     La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
+     * @param criteriaDTO   Les critères de filtrage à appliquer. Peut être {@code null} pour récupérer tous les films.
+     * @param countStrategy La stratégie de calcul du nombre total de films.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link MovieDTO} correspondant aux critères fournis
+     * et leur nombre total.
+     * @throws WebApplicationException si une erreur survient lors de la récupération des films.
+     */
+    public Uni<PagedResult<MovieDTO>> getMovies(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO, CountStrategy countStrategy) {
+        final Uni<PagedResult<MovieWithAwardsNumber>> pagedResult;
+        if (countStrategy == CountStrategy.EXACT) {
+            pagedResult = movieRepository.findMovies(page, sort, direction, criteriaDTO);
+        } else {
+            pagedResult = movieRepository.findMoviesWithoutTotal(page, sort, direction, criteriaDTO)
+                    .chain(movieWithAwardsNumberList ->
+                            totalCountService.count(
+                                            TotalCountService.MOVIES,
+                                            countStrategy,
+                                            criteriaDTO,
+                                            () -> movieRepository.countMovies(criteriaDTO),
+                                            () -> movieRepository.estimateMovies(criteriaDTO)
+                                    )
+                                    .map(totalCount -> new PagedResult<>(movieWithAwardsNumberList, totalCount))
+                    );
+        }
+
+        return
+                pagedResult
+                        .map(result -> result.map(movieMapper::movieWithAwardsListToDTOList))
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la liste des films avec les critères {}", criteriaDTO, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la liste des films", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Récupère une page de films en pagination par curseur (« keyset ») correspondant aux critères fournis.
+     * <p>
+     * Les films sont récupérés avec leurs informations sur les récompenses et sont mappés en {@link MovieDTO}.
+     * Si la page est complète, le curseur permettant d'obtenir la page suivante est calculé à partir du dernier film
+     * retourné ; sinon, il vaut {@code null}.
+     * <p>
+     * En cas d’erreur lors de la récupération, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de films à retourner.
+     * @param sort        Le champ sur lequel appliquer le tri. Doit appartenir à {@link Movie#KEYSET_SORT_FIELDS}.
      * @param direction   La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
-     * @param criteriaDTO Les critères de filtrage à appliquer. Peut être {@code null} pour récupérer tous les films.
-     * @return Un {@link Uni} contenant une {@link List} de {@link MovieDTO} correspondant aux critères fournis.
+     * @param criteriaDTO Les critères de filtrage à appliquer.
+     * @return Un {@link Uni} contenant une {@link KeysetPage} de {@link MovieDTO} et le curseur de la page suivante.
      * @throws WebApplicationException si une erreur survient lors de la récupération des films.
      */
-    public Uni<List<MovieDTO>> getMovies(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<KeysetPage<MovieDTO>> getMovies(KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 movieRepository
-                        .findMovies(page, sort, direction, criteriaDTO)
-                        .map(movieMapper::movieWithAwardsListToDTOList)
+                        .findMovies(cursor, size, sort, direction, criteriaDTO)
+                        .map(movieWithAwardsNumberList -> {
+                                    String nextCursor = null;
+                                    if (!movieWithAwardsNumberList.isEmpty() && movieWithAwardsNumberList.size() == size) {
+                                        Movie last = movieWithAwardsNumberList.getLast().movie();
+                                        nextCursor = new KeysetCursor(sort, direction, Movie.KEYSET_SORT_FIELDS.get(sort).apply(last), last.getId()).encode();
+                                    }
+                                    return new KeysetPage<>(movieMapper.movieWithAwardsListToDTOList(movieWithAwardsNumberList), nextCursor);
+                                }
+                        )
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération de la liste des films avec les critères {}", criteriaDTO, throwable);
                                     return new WebApplicationException("Impossible de récupérer la liste des films", Response.Status.INTERNAL_SERVER_ERROR);
@@ -340,13 +478,14 @@ public class MovieService {
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel pour filtrer les pays par nom. Peut être {@code null}.
      * @param lang      La langue utilisée pour le nom du pays (par exemple "fr" ou "en").
-     * @return Un {@link Uni} contenant une {@link List} de {@link CountryDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link CountryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws WebApplicationException si une erreur survient lors de la récupération des pays.
      */
-    public Uni<List<CountryDTO>> getCountriesInMovies(Page page, String sort, Sort.Direction direction, String term, String lang) {
+    public Uni<PagedResult<CountryDTO>> getCountriesInMovies(Page page, String sort, Sort.Direction direction, String term, String lang) {
         return
                 countryRepository.findCountriesInMovies(page, sort, direction, term, lang)
-                        .map(countryMapper::toDTOList)
+                        .map(result -> result.map(countryMapper::toDTOList))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des pays", throwable);
                                     return new WebApplicationException(Messages.ERROR_WHILE_GETTING_COUNTRIES, Response.Status.INTERNAL_SERVER_ERROR);
@@ -366,13 +505,14 @@ public class MovieService {
      * @param sort      Le champ sur lequel appliquer le tri.
      * @param direction La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param term      Un terme de recherche optionnel pour filtrer les catégories par nom. Peut être {@code null}.
-     * @return Un {@link Uni} contenant une {@link List} de {@link CategoryDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link CategoryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws WebApplicationException si une erreur survient lors de la récupération des catégories.
      */
-    public Uni<List<CategoryDTO>> getCategoriesInMovies(Page page, String sort, Sort.Direction direction, String term) {
+    public Uni<PagedResult<CategoryDTO>> getCategoriesInMovies(Page page, String sort, Sort.Direction direction, String term) {
         return
                 categoryRepository.findCategoriesInMovies(page, sort, direction, term)
-                        .map(categoryMapper::toDTOList)
+                        .map(result -> result.map(categoryMapper::toDTOList))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des catégories", throwable);
                                     return new WebApplicationException(Messages.ERROR_WHILE_GETTING_CATEGORIES, Response.Status.INTERNAL_SERVER_ERROR);
@@ -397,17 +537,18 @@ public class MovieService {
      * @param sort        Le champ sur lequel appliquer le tri.
      * @param direction   La direction du tri (ASC ou DESC), définie par {@link Sort.Direction}.
      * @param criteriaDTO Les critères de filtrage à appliquer. Peut être {@code null} pour récupérer toutes les personnes.
-     * @return Un {@link Uni} contenant une {@link List} de {@link LitePersonDTO} correspondant aux critères fournis.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link LitePersonDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       si aucun film ne correspond à l’identifiant fourni.
      * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
      */
-    public Uni<List<LitePersonDTO>> getPersonsByMovie(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<PagedResult<LitePersonDTO>> getPersonsByMovie(@NotNull Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 movieRepository.findById(id)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
                         .flatMap(movie ->
                                 personRepository.findPersonsByMovie(id, page, sort, direction, criteriaDTO)
-                                        .map(personMapper::toLiteDTOList)
+                                        .map(result -> result.map(personMapper::toLiteDTOList))
                         )
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
@@ -564,20 +705,15 @@ public class MovieService {
     /**
      * Récupère l’évolution du nombre de films en fonction de leur date de création.
      * <p>
-     * Cette méthode interroge le dépôt des films pour obtenir une liste de répartitions ({@link Repartition}) représentant l’évolution
-     * statistique dans le temps.
+     * Cette méthode lit l'historique des créations de films par mois ({@link StatsService#getEvolution}) et retourne le
+     * nombre cumulé de films à la fin de chaque mois (libellés au format "YYYY-MM").
      * <p>
      * En cas d’erreur lors de l’exécution de la requête, l’exception est interceptée et loggée, puis transmise telle quelle.
      *
      * @return Un {@link Uni} contenant une liste de {@link Repartition} représentant l’évolution des films par date de création.
      */
     public Uni<List<Repartition>> getMoviesCreationDateEvolution() {
-        return
-                movieRepository.findMoviesCreationDateEvolution()
-                        .onFailure().invoke(failure ->
-                                log.error("Erreur lors de la récupération de l'évolution des films", failure)
-                        )
-                ;
+        return statsService.getEvolution(StatsSeries.MOVIES, null, Granularity.MONTH, null, null, true);
     }
 
     /**
@@ -627,19 +763,21 @@ public class MovieService {
      * Cette méthode s’appuie sur le {@code fileService} pour accéder aux fichiers stockés dans le répertoire des affiches.
      *
      * @param fileName Le nom du fichier de l’affiche à récupérer. Peut être {@code null} ou vide.
-     * @return Un {@link Uni} contenant l’objet {@link File} correspondant à l’affiche trouvée, ou l’affiche par défaut si
+     * @param width    La largeur souhaitée, en pixels, pour recevoir une déclinaison redimensionnée, ou {@code null}
+     *                 pour l’original.
+     * @return Un {@link Uni} contenant le {@link StoredFile} correspondant à l’affiche trouvée, ou l’affiche par défaut si
      * le fichier est manquant ou non spécifié.
      */
-    public Uni<File> getPoster(String fileName) {
+    public Uni<StoredFile> getPoster(String fileName, Integer width) {
         if (Objects.isNull(fileName) || fileName.isBlank()) {
             log.warn("Poster name is missing, returning default poster.");
-            return fileService.getFile(POSTERS_DIR, Movie.DEFAULT_POSTER);
+            return fileService.getFile(POSTERS_DIR, Movie.DEFAULT_POSTER, width);
         }
 
-        return fileService.getFile(POSTERS_DIR, fileName)
+        return fileService.getFile(POSTERS_DIR, fileName, width)
                 .onFailure(FileNotFoundException.class).recoverWithUni(() -> {
                     log.warn("Poster {} not found, returning default poster.", fileName);
-                    return fileService.getFile(POSTERS_DIR, Movie.DEFAULT_POSTER);
+                    return fileService.getFile(POSTERS_DIR, Movie.DEFAULT_POSTER, width);
                 });
     }
 
@@ -648,7 +786,7 @@ public class MovieService {
      * <p>
      * Si le fichier est invalide (nul, vide ou corrompu), la méthode logge un avertissement et retourne le nom de l’affiche par défaut.
      * En cas d’échec lors du téléversement (exception du {@code fileService}), une erreur est loggée et le nom de l’affiche par défaut
-     * est retourné.
+     * est retourné. Un fichier refusé (trop volumineux ou d’un type non autorisé) fait en revanche échouer la requête.
      * </p>
      *
      * @param file L’objet {@link FileUpload} représentant le fichier à téléverser. Peut être {@code null} ou contenir un fichier vide.
@@ -661,7 +799,8 @@ public class MovieService {
         }
 
         return fileService.uploadFile(POSTERS_DIR, file)
-                .onFailure().recoverWithItem(error -> {
+                .map(UploadedFile::fileName)
+                .onFailure(error -> !(error instanceof WebApplicationException)).recoverWithItem(error -> {
                     log.error("Poster upload failed: {}", error.getMessage());
                     return Movie.DEFAULT_POSTER;
                 });
@@ -676,6 +815,7 @@ public class MovieService {
                                     }
 
                                     Movie movie = movieMapper.movieDTOtoMovie(movieDTO);
+                                    final StatsChanges statsChanges = new StatsChanges();
 
                                     return
                                             Panache.withTransaction(() ->
@@ -703,27 +843,17 @@ public class MovieService {
                                                                     })
                                                                     .replaceWith(movie)
                                                                     .chain(movieRepository::persist)
-                                                                    .call(entity ->
-                                                                            statsService.incrementNumberOfMovies()
-                                                                                    .chain(() -> {
-                                                                                        if (Objects.nonNull(movie.getCountries()) && !movie.getCountries().isEmpty()) {
-                                                                                            return statsService.updateMoviesByCountryRepartition();
-                                                                                        }
-                                                                                        return Uni.createFrom().voidItem();
-                                                                                    })
-                                                                                    .chain(() -> {
-                                                                                        if (Objects.nonNull(movie.getCategories()) && !movie.getCategories().isEmpty()) {
-                                                                                            return statsService.updateMoviesByCategoryRepartition();
-                                                                                        }
-                                                                                        return Uni.createFrom().voidItem();
-                                                                                    })
-                                                                    )
+                                                                    .invoke(entity -> statsChanges.movieAdded(movie))
                                                                     .call(entity -> notificationService.createNotification("Le film " + movie.getTitle() + " a été créé.", NotificationType.INFO)
                                                                             .chain(userNotificationService::notifyAdmins)
                                                                     )
                                                                     .map(movieMapper::toDTO) // Retourne le film après la transaction
                                                     )
+                                                    .invoke(() -> statsService.submit(statsChanges))
                                                     .onFailure().transform(throwable -> {
+                                                                if (throwable instanceof WebApplicationException) {
+                                                                    return throwable;
+                                                                }
                                                                 log.error("Erreur lors de la création du film", throwable);
                                                                 return new WebApplicationException("Erreur lors de la création du film", Response.Status.INTERNAL_SERVER_ERROR);
                                                             }
@@ -761,6 +891,7 @@ public class MovieService {
             List<MovieActorDTO> movieActorsDTOList,
             BiFunction<Movie, MovieActorDTO, Uni<MovieActor>> asyncActorFactory
     ) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache.withTransaction(() ->
                                 movieRepository.findById(id)
@@ -774,12 +905,15 @@ public class MovieService {
                                         )
                                         .chain(movieRepository::persist)
                                         .call(movieActorRepository::flush) // Force la génération des IDs
-                                        .call(statsService::updateActorsStats)
+                                        .invoke(statsChanges::actorsChanged)
                                         .call(movie -> notificationService.createNotification("Le casting du film " + movie.getTitle() + " a été modifié.", NotificationType.INFO)
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(this::fetchAndMapActorList) // Convertit les entités en DTO
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -805,6 +939,7 @@ public class MovieService {
      *       </ul>
      *   </li>
      *   <li>Persiste et force la génération des identifiants des {@link org.desha.app.domain.entity.CeremonyAwards}.</li>
+     *   <li>Recalcule le nombre de récompenses du film via {@link MovieRepository#updateAwardsNumber(Long)}.</li>
      *   <li>Persiste les modifications du film.</li>
      *   <li>Crée une notification d’information et l’envoie aux administrateurs.</li>
      * </ul>
@@ -844,13 +979,17 @@ public class MovieService {
                                                 )
                                                 .call(ceremonyAwardsRepository::persist)
                                                 .call(ceremonyAwardsRepository::flush)
+                                                .call(() -> movieRepository.updateAwardsNumber(movieId))
                                                 .call(() -> movieRepository.persist(movie))
                                                 .call(ceremonyAwards -> notificationService.createNotification("Les récompenses du film " + movie.getTitle() + " ont été modifiées.", NotificationType.INFO)
                                                         .chain(userNotificationService::notifyAdmins)
                                                 )
                                                 .map(ceremonyAwardsMapper::toDTO)
                                 )
-                );
+                                .call(() -> movieRepository.touch(movieId))
+                )
+                        .call(() -> movieCacheService.invalidate(movieId))
+                ;
     }
 
     /**
@@ -876,12 +1015,13 @@ public class MovieService {
      * @throws WebApplicationException si une autre erreur non prévue survient.
      */
     public Uni<Set<CategoryDTO>> saveCategories(@NotNull Long id, Set<CategoryDTO> categoryDTOSet) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
                                 movieRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
-                                        .chain(movie -> {
+                                        .chain(movie -> Mutiny.fetch(movie.getCategories()).map(Set::copyOf).chain(before -> {
                                             // Les catégories existantes
                                             List<Long> existingCategoryIds = categoryDTOSet.stream()
                                                     .map(CategoryDTO::getId)
@@ -910,15 +1050,17 @@ public class MovieService {
                                                                         return movie;
                                                                     })
 
-                                                    );
-                                        })
+                                                    )
+                                                    .invoke(updated -> statsChanges.categoriesChanged(before, updated.getCategories()));
+                                        }))
                                         .chain(movieRepository::persist)
-                                        .call(movie -> statsService.updateMoviesByCategoryRepartition().replaceWith(movie))
                                         .call(movie -> notificationService.createNotification("Les catégories du film " + movie.getTitle() + " ont été modifiées.", NotificationType.INFO)
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(this::fetchAndMapCategorySet)
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -951,31 +1093,38 @@ public class MovieService {
      * @throws WebApplicationException si une autre erreur non prévue survient.
      */
     public Uni<Set<CountryDTO>> saveCountries(@NotNull Long id, Set<CountryDTO> countryDTOSet) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
                                 movieRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
                                         .chain(movie ->
-                                                countryService.getByIds(
-                                                                countryDTOSet.stream()
-                                                                        .map(CountryDTO::getId)
-                                                                        .filter(Objects::nonNull)
-                                                                        .toList()
+                                                Mutiny.fetch(movie.getCountries())
+                                                        .map(Set::copyOf)
+                                                        .chain(before ->
+                                                                countryService.getByIds(
+                                                                                countryDTOSet.stream()
+                                                                                        .map(CountryDTO::getId)
+                                                                                        .filter(Objects::nonNull)
+                                                                                        .toList()
+                                                                        )
+                                                                        .invoke(finalCountrySet -> {
+                                                                            movie.setCountries(new HashSet<>(finalCountrySet));
+                                                                            movie.setLastUpdate(LocalDateTime.now());
+                                                                        })
+                                                                        .invoke(() -> statsChanges.countriesChanged(before, movie.getCountries()))
                                                         )
-                                                        .invoke(finalCountrySet -> {
-                                                            movie.setCountries(new HashSet<>(finalCountrySet));
-                                                            movie.setLastUpdate(LocalDateTime.now());
-                                                        })
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .call(movie -> statsService.updateMoviesByCountryRepartition().replaceWith(movie))
                                         .call(movie -> notificationService.createNotification("Les pays du film " + movie.getTitle() + " ont été modifiés.", NotificationType.INFO)
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(this::fetchAndMapCountrySet)
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1013,6 +1162,7 @@ public class MovieService {
             List<MovieActorDTO> movieActorDTOList,
             BiFunction<Movie, MovieActorDTO, Uni<MovieActor>> asyncActorFactory
     ) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache.withTransaction(() ->
                                 movieRepository.findById(id)
@@ -1025,12 +1175,15 @@ public class MovieService {
                                         )
                                         .chain(movieRepository::persist)
                                         .call(movieActorRepository::flush) // Force la génération des IDs
-                                        .call(statsService::updateActorsStats)
+                                        .invoke(statsChanges::actorsChanged)
                                         .call(movie -> notificationService.createNotification("Des acteurs ont été ajoutés au film " + movie.getTitle(), NotificationType.INFO)
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(this::fetchAndMapActorList) // Convertit les entités en DTO
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1062,6 +1215,7 @@ public class MovieService {
      * @throws MovieUpdateException     si une erreur survient lors de l’ajout des catégories.
      */
     public Uni<Set<CategoryDTO>> addCategories(@NotNull Long movieId, Set<CategoryDTO> categoryDTOSet) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1070,18 +1224,22 @@ public class MovieService {
                                         .flatMap(movie ->
                                                 Mutiny.fetch(movie.getCategories())
                                                         .onItem().ifNull().failWith(() -> new WebApplicationException(Messages.NULL_CATEGORIES))
-                                                        .chain(categorySet ->
+                                                        .map(Set::copyOf)
+                                                        .chain(before ->
                                                                 categoryService.getByIds(categoryDTOSet.stream().map(CategoryDTO::getId).toList())
                                                                         .onItem().ifNull().failWith(() -> new IllegalArgumentException("Une ou plusieurs catégories sont introuvables"))
+                                                                        .invoke(movie::addCategories)
+                                                                        .invoke(() -> statsChanges.categoriesChanged(before, movie.getCategories()))
                                                         )
-                                                        .invoke(movie::addCategories)
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCategoryRepartition().replaceWith(movie))
                                         .flatMap(this::fetchAndMapCategorySet)
                                         .invoke(() -> log.info("Catégories ajoutées au film {}", movieId))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1114,6 +1272,7 @@ public class MovieService {
      * @throws MovieUpdateException     si une erreur survient lors de l’ajout des pays.
      */
     public Uni<Set<CountryDTO>> addCountries(@NotNull Long movieId, Set<CountryDTO> countryDTOSet) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1122,18 +1281,22 @@ public class MovieService {
                                         .flatMap(movie ->
                                                 Mutiny.fetch(movie.getCountries())
                                                         .onItem().ifNull().failWith(() -> new WebApplicationException(Messages.NULL_COUNTRIES))
-                                                        .chain(countrySet ->
+                                                        .map(Set::copyOf)
+                                                        .chain(before ->
                                                                 countryService.getByIds(countryDTOSet.stream().map(CountryDTO::getId).toList())
                                                                         .onItem().ifNull().failWith(() -> new IllegalArgumentException("Un ou plusieurs pays sont introuvables"))
+                                                                        .invoke(movie::addCountries)
+                                                                        .invoke(() -> statsChanges.countriesChanged(before, movie.getCountries()))
                                                         )
-                                                        .invoke(movie::addCountries)
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCountryRepartition().replaceWith(movie))
                                         .flatMap(this::fetchAndMapCountrySet)
                                         .invoke(() -> log.info("Pays ajoutés au film {}", movieId))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1177,7 +1340,9 @@ public class MovieService {
                                         )
                                         .chain(movieRepository::persist)
                                         .flatMap(this::fetchAndMapActorList)
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(e -> {
                             if (e instanceof WebApplicationException) {
                                 return e;
@@ -1210,6 +1375,7 @@ public class MovieService {
      * @throws WebApplicationException si une erreur non prévue survient lors de l’opération.
      */
     public Uni<Set<CategoryDTO>> removeCategory(@NotNull Long movieId, @NotNull Long categoryId) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1218,14 +1384,18 @@ public class MovieService {
                                         .chain(movie ->
                                                 Mutiny.fetch(movie.getCategories())
                                                         .onItem().ifNull().failWith(() -> new IllegalStateException(Messages.NULL_CATEGORIES))
-                                                        .invoke(categorySet -> movie.removeCategory(categoryId))
+                                                        .map(Set::copyOf)
+                                                        .invoke(before -> movie.removeCategory(categoryId))
+                                                        .invoke(before -> statsChanges.categoriesChanged(before, movie.getCategories()))
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCategoryRepartition().replaceWith(movie))
                                         .flatMap(this::fetchAndMapCategorySet)
                                         .invoke(() -> log.info("Category {} removed from movie {}", categoryId, movieId))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(e -> {
                             if (e instanceof WebApplicationException) {
                                 return e;
@@ -1257,6 +1427,7 @@ public class MovieService {
      * @throws MovieUpdateException    si une erreur survient lors de la suppression du pays.
      */
     public Uni<Set<CountryDTO>> removeCountry(@NotNull Long movieId, @NotNull Long countryId) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1265,14 +1436,18 @@ public class MovieService {
                                         .chain(movie ->
                                                 Mutiny.fetch(movie.getCountries())
                                                         .onItem().ifNull().failWith(() -> new WebApplicationException(Messages.NULL_COUNTRIES))
-                                                        .invoke(countries -> movie.removeCountry(countryId))
+                                                        .map(Set::copyOf)
+                                                        .invoke(before -> movie.removeCountry(countryId))
+                                                        .invoke(before -> statsChanges.countriesChanged(before, movie.getCountries()))
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCountryRepartition().replaceWith(movie))
                                         .flatMap(this::fetchAndMapCountrySet)
                                         .invoke(() -> log.info("Country {} removed from movie {}", countryId, movieId))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1291,7 +1466,7 @@ public class MovieService {
      *     <li>Charge le film correspondant à l’identifiant {@code movieId} et échoue avec une {@link NotFoundException} si le film n’existe pas.</li>
      *     <li>Récupère l’ensemble des cérémonies de récompenses associées au film et échoue avec une {@link IllegalStateException} si cet ensemble est {@code null}.</li>
      *     <li>Supprime la cérémonie de récompenses identifiée par {@code ceremonyAwardsId} de l’ensemble du film.</li>
-     *     <li>Persiste les modifications du film.</li>
+     *     <li>Persiste les modifications du film et recalcule son nombre de récompenses via {@link MovieRepository#updateAwardsNumber(Long)}.</li>
      *     <li>Convertit l’ensemble restant des cérémonies en {@link CeremonyAwardsDTO} et le retourne.</li>
      * </ul>
      *
@@ -1315,8 +1490,12 @@ public class MovieService {
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
+                                        .call(() -> movieRepository.flush())
+                                        .call(movie -> movieRepository.updateAwardsNumber(movie.getId()))
                                         .map(movie -> ceremonyAwardsMapper.toDTOSet(movie.getCeremoniesAwards()))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(throwable -> {
                             log.error(throwable.getMessage());
                             return new WebApplicationException("Erreur lors de la suppression de la cérémonie", throwable);
@@ -1350,43 +1529,49 @@ public class MovieService {
      * @throws WebApplicationException si une erreur survient lors de la mise à jour du film ou de l’affiche.
      */
     public Uni<MovieDTO> updateMovie(@NotNull Long id, FileUpload file, MovieDTO movieDTO) {
+        final StatsChanges statsChanges = new StatsChanges();
+        // Affiche remplacée, libérée une fois la transaction validée
+        final AtomicReference<String> replacedPoster = new AtomicReference<>();
         return
                 Panache
                         .withTransaction(() ->
                                 movieRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
-                                        .invoke(movie -> movie.updateGeneralInfos(movieDTO))
+                                        .invoke(movie -> {
+                                            // La date de sortie est modifiée par updateGeneralInfos : l'ancienne est relevée avant
+                                            final LocalDate releaseDate = movie.getReleaseDate();
+                                            movie.updateGeneralInfos(movieDTO);
+                                            statsChanges.releaseDateChanged(releaseDate, movie.getReleaseDate());
+                                        })
                                         .call(movie -> {
                                             final String currentPoster = movie.getPosterFileName();
                                             final String dtoPoster = movieDTO.getPosterFileName();
 
                                             if (Objects.nonNull(file)) {
-                                                // Nouveau fichier uploadé → on remplace l'ancienne affiche si elle n'est pas l'affiche par défaut
+                                                // Nouveau fichier uploadé → on remplace l'ancienne affiche
                                                 return uploadPoster(file)
                                                         .onFailure().invoke(error -> log.error("Poster upload failed for movie {}: {}", id, error.getMessage()))
-                                                        .chain(uploadedFileName ->
-                                                                deletePosterIfExists(currentPoster)
-                                                                        .replaceWith(uploadedFileName)
-                                                        )
+                                                        .invoke(() -> replacedPoster.set(currentPoster))
                                                         .invoke(movie::setPosterFileName);
                                             } else if (!Objects.equals(currentPoster, dtoPoster)) {
                                                 // Pas de nouveau fichier, mais différence → on remet l'affiche par défaut
-                                                return
-                                                        deletePosterIfExists(currentPoster)
-                                                                .invoke(() -> movie.setPosterFileName(Movie.DEFAULT_POSTER))
-                                                        ;
+                                                replacedPoster.set(currentPoster);
+                                                movie.setPosterFileName(Movie.DEFAULT_POSTER);
                                             }
                                             // Aucun changement d'affiche
                                             return Uni.createFrom().item(movie);
                                         })
-                                        .chain(movie -> updateCategoriesIfNeeded(movie, movieDTO))
-                                        .chain(movie -> updateCountriesIfNeeded(movie, movieDTO))
-                                        .chain(movie -> updateReleaseDateIfNeeded(movie, movieDTO))
+                                        .chain(movie -> updateCategoriesIfNeeded(movie, movieDTO, statsChanges))
+                                        .chain(movie -> updateCountriesIfNeeded(movie, movieDTO, statsChanges))
                                         .call(movie -> notificationService.createNotification("Le film " + movie.getTitle() + " a été modifié.", NotificationType.INFO)
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .map(movieMapper::toDTO)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
+                        .call(() -> deletePosterIfExists(replacedPoster.get()))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -1398,21 +1583,16 @@ public class MovieService {
                 ;
     }
 
-    private Uni<Movie> updateReleaseDateIfNeeded(Movie movie, MovieDTO movieDTO) {
-        boolean shouldUpdate = Objects.nonNull(movieDTO.getReleaseDate()) && !movieDTO.getReleaseDate().equals(movie.getReleaseDate());
-        return (shouldUpdate ? statsService.updateMoviesByReleaseDateRepartition() : Uni.createFrom().voidItem())
-                .replaceWith(movie);
-    }
-
-    private Uni<Movie> updateCategoriesIfNeeded(Movie movie, MovieDTO movieDTO) {
+    private Uni<Movie> updateCategoriesIfNeeded(Movie movie, MovieDTO movieDTO, StatsChanges statsChanges) {
         return
                 Mutiny.fetch(movie.getCategories())
                         .chain(categories -> {
                                     if (!Utils.categoriesEquals(movieDTO.getCategories(), categories)) {
+                                        final Set<Category> before = Set.copyOf(categories);
                                         return
                                                 categoryService.getByIds(movieDTO.getCategories().stream().map(CategoryDTO::getId).toList())
                                                         .invoke(movie::setCategories)
-                                                        .chain(statsService::updateMoviesByCategoryRepartition)
+                                                        .invoke(() -> statsChanges.categoriesChanged(before, movie.getCategories()))
                                                 ;
                                     }
                                     return Uni.createFrom().nullItem();
@@ -1422,15 +1602,16 @@ public class MovieService {
                 ;
     }
 
-    private Uni<Movie> updateCountriesIfNeeded(Movie movie, MovieDTO movieDTO) {
+    private Uni<Movie> updateCountriesIfNeeded(Movie movie, MovieDTO movieDTO, StatsChanges statsChanges) {
         return
                 Mutiny.fetch(movie.getCountries())
                         .chain(countries -> {
                                     if (!Utils.countriesEquals(movieDTO.getCountries(), countries)) {
+                                        final Set<Country> before = Set.copyOf(countries);
                                         return
                                                 countryService.getByIds(movieDTO.getCountries().stream().map(CountryDTO::getId).toList())
                                                         .invoke(movie::setCountries)
-                                                        .chain(statsService::updateMoviesByCountryRepartition)
+                                                        .invoke(() -> statsChanges.countriesChanged(before, movie.getCountries()))
                                                 ;
                                     }
                                     return Uni.createFrom().nullItem();
@@ -1446,10 +1627,10 @@ public class MovieService {
      * Cette méthode effectue les opérations suivantes dans une transaction :
      * <ul>
      *     <li>Charge le film correspondant à l’identifiant {@code id} et échoue avec une {@link NotFoundException} si le film n’existe pas.</li>
+     *     <li>Retire le film des statistiques (nombre total de films et répartitions).</li>
      *     <li>Supprime les associations entre le film et ses pays.</li>
      *     <li>Supprime les associations entre le film et ses catégories.</li>
      *     <li>Supprime le film de la base de données.</li>
-     *     <li>Met à jour les statistiques des films : décrémente le nombre total de films et recalcul les répartitions par pays et par catégories.</li>
      *     <li>Supprime le fichier d’affiche du film si celui-ci n’est pas l’affiche par défaut.</li>
      * </ul>
      *
@@ -1459,27 +1640,32 @@ public class MovieService {
      * @throws WebApplicationException si une erreur survient lors de la suppression du film ou de ses relations.
      */
     public Uni<Boolean> deleteMovie(@NotNull Long id) {
+        final StatsChanges statsChanges = new StatsChanges();
+        // Affiche du film, libérée une fois la transaction validée
+        final AtomicReference<String> deletedPoster = new AtomicReference<>();
         return
                 Panache.withTransaction(() ->
                                 movieRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_FILM))
                                         .flatMap(movie -> {
-                                                    final String posterFileName = movie.getPosterFileName();
-                                                    return Mutiny.fetch(movie.getCountries()).invoke(countrySet -> movie.clearCountries())
-                                                            .chain(() -> Mutiny.fetch(movie.getCategories()).invoke(categorySet -> movie.clearCategories()))
+                                                    deletedPoster.set(movie.getPosterFileName());
+                                                    return Mutiny.fetch(movie.getCountries())
+                                                            .chain(() -> Mutiny.fetch(movie.getCategories()))
+                                                            // Le film est retiré des statistiques tant que ses pays et catégories sont connus
+                                                            .invoke(() -> statsChanges.movieRemoved(movie))
+                                                            .invoke(() -> {
+                                                                movie.clearCountries();
+                                                                movie.clearCategories();
+                                                            })
                                                             .chain(() ->
                                                                     movieRepository.delete(movie).replaceWith(true)
-                                                                            .chain(aBoolean ->
-                                                                                    statsService.decrementNumberOfMovies()
-                                                                                            .chain(statsService::updateMoviesByCountryRepartition)
-                                                                                            .chain(statsService::updateMoviesByCategoryRepartition)
-                                                                                            .replaceWith(aBoolean)
-                                                                            )
-                                                                            .chain(success -> deletePosterIfExists(posterFileName).replaceWith(success))
                                                             );
                                                 }
                                         )
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
+                        .call(() -> deletePosterIfExists(deletedPoster.get()))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1490,31 +1676,22 @@ public class MovieService {
     }
 
     /**
-     * Supprime le fichier d’affiche d’un film si celui-ci existe et n’est pas l’affiche par défaut.
-     * <p>
-     * Cette méthode vérifie d’abord que le nom de fichier n’est pas {@code null}, vide ou égal à {@link Movie#DEFAULT_POSTER}.
-     * Si c’est le cas, aucune suppression n’est effectuée et la méthode retourne immédiatement.
+     * Supprime le fichier d’affiche d’un film s’il n’est plus utilisé par aucun film et n’est pas l’affiche par défaut.
      * <p>
-     * En cas d’erreur lors de la suppression du fichier, une {@link PhotoDeletionException} est levée.
+     * Une même affiche peut être partagée par plusieurs films (fichiers nommés par leur contenu) : la méthode doit être
+     * appelée après la validation de la transaction qui a retiré l’affiche, pour que le nombre de références lu en base
+     * en tienne compte. Une erreur lors de la suppression est journalisée sans être propagée (voir
+     * {@link FileService#release(String, String)}).
      *
      * @param fileName Le nom du fichier à supprimer. Peut être {@code null} ou vide, auquel cas rien n’est fait.
      * @return Un {@link Uni} qui se complète lorsque l’opération de suppression est terminée.
-     * @throws PhotoDeletionException si une erreur survient lors de la suppression du fichier.
      */
     public Uni<Void> deletePosterIfExists(String fileName) {
         if (Objects.isNull(fileName) || fileName.isBlank() || Objects.equals(fileName, Movie.DEFAULT_POSTER)) {
             return Uni.createFrom().voidItem();
         }
 
-        return Uni.createFrom().item(() -> {
-            try {
-                fileService.deleteFile(POSTERS_DIR, fileName);
-                return null;
-            } catch (IOException e) {
-                log.error("Erreur lors de la suppression de la photo {}: {}", fileName, e.getMessage());
-                throw new PhotoDeletionException("Erreur lors de la suppression de l'affiche " + fileName);
-            }
-        });
+        return fileService.release(POSTERS_DIR, fileName);
     }
 
     /**
@@ -1544,7 +1721,9 @@ public class MovieService {
                                         )
                                         .call(movieRepository::persist)
                                         .map(movie -> true)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -1570,6 +1749,7 @@ public class MovieService {
      * @throws WebApplicationException en cas d’erreur lors de la suppression des catégories.
      */
     public Uni<Boolean> clearCategories(@NotNull Long id) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1578,13 +1758,17 @@ public class MovieService {
                                         .chain(movie ->
                                                 Mutiny.fetch(movie.getCategories())
                                                         .onItem().ifNull().failWith(() -> new IllegalStateException(Messages.NULL_CATEGORIES))
-                                                        .invoke(categorySet -> movie.clearCategories())
+                                                        .map(Set::copyOf)
+                                                        .invoke(before -> movie.clearCategories())
+                                                        .invoke(before -> statsChanges.categoriesChanged(before, movie.getCategories()))
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCategoryRepartition().replaceWith(movie))
                                         .map(movie -> true)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             log.error(throwable.getMessage());
                             log.error("Erreur lors de la suppression des catégories du film {}", id, throwable);
@@ -1608,6 +1792,7 @@ public class MovieService {
      * @throws WebApplicationException en cas d’erreur lors de la suppression des pays.
      */
     public Uni<Boolean> clearCountries(@NotNull Long id) {
+        final StatsChanges statsChanges = new StatsChanges();
         return
                 Panache
                         .withTransaction(() ->
@@ -1616,13 +1801,17 @@ public class MovieService {
                                         .chain(movie ->
                                                 Mutiny.fetch(movie.getCountries())
                                                         .onItem().ifNull().failWith(() -> new IllegalStateException(Messages.NULL_COUNTRIES))
-                                                        .invoke(countries -> movie.clearCountries())
+                                                        .map(Set::copyOf)
+                                                        .invoke(before -> movie.clearCountries())
+                                                        .invoke(before -> statsChanges.countriesChanged(before, movie.getCountries()))
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
-                                        .chain(movie -> statsService.updateMoviesByCountryRepartition().replaceWith(movie))
                                         .map(movie -> true)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             log.error(throwable.getMessage());
                             log.error("Erreur lors de la suppression des pays du film {}", id, throwable);
@@ -1634,7 +1823,8 @@ public class MovieService {
      * Supprime toutes les récompenses associées à un film donné.
      * <p>
      * La méthode récupère le film correspondant à l'identifiant fourni et supprime toutes les cérémonies et récompenses liées.
-     * L’opération est effectuée dans une transaction et persiste les changements. Si le film n’existe pas, une {@link NotFoundException}
+     * L’opération est effectuée dans une transaction qui persiste les changements et remet à zéro le nombre de récompenses
+     * du film via {@link MovieRepository#updateAwardsNumber(Long)}. Si le film n’existe pas, une {@link NotFoundException}
      * est levée. Si la liste des cérémonies et récompenses est {@code null}, une {@link IllegalStateException} est levée.
      *
      * @param id L’identifiant du film dont les récompenses doivent être supprimées. Ne peut pas être {@code null}.
@@ -1656,8 +1846,12 @@ public class MovieService {
                                                         .replaceWith(movie)
                                         )
                                         .chain(movieRepository::persist)
+                                        .call(() -> movieRepository.flush())
+                                        .call(movie -> movieRepository.updateAwardsNumber(movie.getId()))
                                         .map(movie -> true)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             log.error(throwable.getMessage());
                             return new WebApplicationException("Erreur lors de la suppression des cérémonies", throwable);
@@ -27,6 +27,7 @@ import java.util.function.Function;
 @Slf4j
 public class MovieTechnicianService {
 
+    private final MovieCacheService movieCacheService;
     private final MovieRepository movieRepository;
     private final MovieTechnicianRepository movieTechnicianRepository;
     private final MovieTechnicianMapper movieTechnicianMapper;
@@ -34,7 +35,8 @@ public class MovieTechnicianService {
     private final UserNotificationService userNotificationService;
 
     @Inject
-    public MovieTechnicianService(MovieRepository movieRepository, MovieTechnicianRepository movieTechnicianRepository, MovieTechnicianMapper movieTechnicianMapper, NotificationService notificationService, UserNotificationService userNotificationService) {
+    public MovieTechnicianService(MovieCacheService movieCacheService, MovieRepository movieRepository, MovieTechnicianRepository movieTechnicianRepository, MovieTechnicianMapper movieTechnicianMapper, NotificationService notificationService, UserNotificationService userNotificationService) {
+        this.movieCacheService = movieCacheService;
         this.movieRepository = movieRepository;
         this.movieTechnicianRepository = movieTechnicianRepository;
         this.movieTechnicianMapper = movieTechnicianMapper;
@@ -144,7 +146,9 @@ public class MovieTechnicianService {
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(movie -> fetchAndMapTechniciansList(movie, techniciansGetter, nullCheckErrorMessage))
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -208,7 +212,9 @@ public class MovieTechnicianService {
                                                 .chain(userNotificationService::notifyAdmins)
                                         )
                                         .flatMap(movie -> fetchAndMapTechniciansList(movie, techniciansGetter, nullCheckErrorMessage))
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -264,7 +270,9 @@ public class MovieTechnicianService {
                                         )
                                         .chain(movieRepository::persist)
                                         .flatMap(movie -> fetchAndMapTechniciansList(movie, techniciansGetter, nullCheckErrorMessage))
+                                        .call(() -> movieRepository.touch(movieId))
                         )
+                        .call(() -> movieCacheService.invalidate(movieId))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
@@ -319,7 +327,9 @@ public class MovieTechnicianService {
                                         )
                                         .chain(movieRepository::persist)
                                         .map(movie -> true)
+                                        .call(() -> movieRepository.touch(id))
                         )
+                        .call(() -> movieCacheService.invalidate(id))
                         .onFailure().transform(throwable -> {
                             if (throwable instanceof WebApplicationException) {
                                 return throwable;
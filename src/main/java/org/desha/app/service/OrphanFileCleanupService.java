@@ -0,0 +1,318 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.entity.Movie;
+import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.OrphanCleanupReport;
+import org.desha.app.repository.FileReferenceRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nettoyage de fond des affiches et des photos qui ne sont plus référencées par aucun film ni aucune personne.
+ * <p>
+ * Un échec entre le téléversement d'un fichier et la validation de la transaction qui le référence, ou une suppression
+ * différée par {@link FileService#release(String, String)}, laisse des fichiers orphelins dans le stockage. Le
+ * nettoyage, planifié par la propriété {@code pmdb.files.orphans.every}, parcourt les fichiers stockés par lots de
+ * {@code pmdb.files.orphans.batch-size}, et recherche les fichiers de chaque lot parmi les affiches des films et les
+ * photos des personnes : seul le lot courant est conservé en mémoire. Une pause de
+ * {@code pmdb.files.orphans.batch-delay} entre deux lots limite la charge imposée au stockage et à la base.
+ * <p>
+ * Un fichier orphelin écrit depuis plus de {@code pmdb.files.orphans.grace} est mis de côté
+ * ({@link FileService#quarantine(String, BlobInfo, long)}), puis supprimé définitivement après
+ * {@code pmdb.files.orphans.quarantine-retention}. Les fichiers temporaires abandonnés depuis plus de
+ * {@code pmdb.files.orphans.grace} sont supprimés directement. Les fichiers par défaut ne sont jamais nettoyés.
+ * <p>
+ * Les fichiers référencés sont lus dans {@code fichier_reference} : le nettoyage refuse de s'exécuter tant que cette
+ * table n'est pas utilisable ({@link FileReferenceService#ensureReady()}).
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.files.orphans.cleanup} : durée des nettoyages ;</li>
+ *     <li>{@code pmdb.files.orphans.quarantined} : fichiers orphelins mis de côté ;</li>
+ *     <li>{@code pmdb.files.orphans.quarantined.bytes} : octets mis de côté ;</li>
+ *     <li>{@code pmdb.files.orphans.reclaimed.bytes} : octets libérés par les suppressions définitives ;</li>
+ *     <li>{@code pmdb.files.orphans.failures} : fichiers qui n'ont pas pu être traités et nettoyages en échec.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class OrphanFileCleanupService {
+
+    // Répertoire de stockage → répertoire des références en base
+    private static final Map<String, String> DIRECTORIES = Map.of(
+            "posters/", FileReferenceRepository.POSTERS,
+            "photos/", FileReferenceRepository.PHOTOS
+    );
+    // Fichier par défaut de chaque répertoire, jamais référencé en base
+    private static final Map<String, String> DEFAULT_FILES = Map.of(
+            FileReferenceRepository.POSTERS, Movie.DEFAULT_POSTER,
+            FileReferenceRepository.PHOTOS, Person.DEFAULT_PHOTO
+    );
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Vertx vertx;
+    private final FileService fileService;
+    private final FileReferenceRepository fileReferenceRepository;
+    private final FileReferenceService fileReferenceService;
+    private final Duration grace;
+    private final Duration quarantineRetention;
+    private final int batchSize;
+    private final Duration batchDelay;
+    private final Timer cleanupTimer;
+    private final Counter quarantinedFiles;
+    private final Counter quarantinedBytes;
+    private final Counter reclaimedBytes;
+    private final Counter failures;
+
+    @Inject
+    public OrphanFileCleanupService(
+            Vertx vertx,
+            FileService fileService,
+            FileReferenceRepository fileReferenceRepository,
+            FileReferenceService fileReferenceService,
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.files.orphans.grace", defaultValue = "1d") Duration grace,
+            @ConfigProperty(name = "pmdb.files.orphans.quarantine-retention", defaultValue = "7d") Duration quarantineRetention,
+            @ConfigProperty(name = "pmdb.files.orphans.batch-size", defaultValue = "100") int batchSize,
+            @ConfigProperty(name = "pmdb.files.orphans.batch-delay", defaultValue = "200ms") Duration batchDelay
+    ) {
+        this.vertx = vertx;
+        this.fileService = fileService;
+        this.fileReferenceRepository = fileReferenceRepository;
+        this.fileReferenceService = fileReferenceService;
+        this.grace = grace;
+        this.quarantineRetention = quarantineRetention;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchDelay = batchDelay;
+        this.cleanupTimer = registry.timer("pmdb.files.orphans.cleanup");
+        this.quarantinedFiles = registry.counter("pmdb.files.orphans.quarantined");
+        this.quarantinedBytes = registry.counter("pmdb.files.orphans.quarantined.bytes");
+        this.reclaimedBytes = registry.counter("pmdb.files.orphans.reclaimed.bytes");
+        this.failures = registry.counter("pmdb.files.orphans.failures");
+    }
+
+    @Scheduled(
+            identity = "orphan-files-cleanup",
+            every = "${pmdb.files.orphans.every}",
+            delayed = "${pmdb.files.orphans.delayed}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> scheduledCleanup() {
+        return
+                cleanup()
+                        // Nettoyage lancé entre-temps par un administrateur, ou base non migrée (déjà journalisé)
+                        .onFailure(WebApplicationException.class).recoverWithNull()
+                        .replaceWithVoid()
+                ;
+    }
+
+    /**
+     * Met de côté les fichiers orphelins des affiches et des photos, et supprime définitivement ceux mis de côté depuis
+     * plus longtemps que la durée de conservation.
+     *
+     * @return Un {@link Uni} contenant le bilan du nettoyage, ou en échec avec une {@link WebApplicationException}
+     * (409) si un nettoyage est déjà en cours, (503) si les références des fichiers ne sont pas utilisables.
+     */
+    public Uni<OrphanCleanupReport> cleanup() {
+        return Uni.createFrom().deferred(() -> {
+                    if (!running.compareAndSet(false, true)) {
+                        return Uni.createFrom().failure(new WebApplicationException("Un nettoyage des fichiers est déjà en cours", Response.Status.CONFLICT));
+                    }
+                    return run().eventually(() -> running.set(false));
+                }
+        );
+    }
+
+    private Uni<OrphanCleanupReport> run() {
+        final long start = System.nanoTime();
+        final long orphanCutoff = System.currentTimeMillis() - grace.toMillis();
+        final long purgeCutoff = System.currentTimeMillis() - quarantineRetention.toMillis();
+        final Tally tally = new Tally();
+
+        return
+                fileReferenceService.ensureReady()
+                        .onItem().transformToMulti(ignored -> Multi.createFrom().iterable(DIRECTORIES.entrySet()))
+                        .onItem().transformToUniAndConcatenate(directory ->
+                                quarantineOrphans(directory.getKey(), directory.getValue(), orphanCutoff, tally)
+                                        .chain(() -> purgeQuarantine(directory.getKey(), purgeCutoff, tally))
+                        )
+                        .collect().last()
+                        .chain(() -> fileService.purgeStagingDirectory(orphanCutoff))
+                        .map(stagingBytes -> {
+                                    tally.reclaimedBytes.addAndGet(stagingBytes);
+                                    reclaimedBytes.increment(stagingBytes);
+                                    return tally.toReport();
+                                }
+                        )
+                        .invoke(report -> {
+                                    cleanupTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                                    log.info("Nettoyage des fichiers orphelins : {}", report);
+                                }
+                        )
+                        .onFailure().invoke(throwable -> {
+                                    failures.increment();
+                                    log.error("Erreur lors du nettoyage des fichiers orphelins", throwable);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Parcourt les fichiers d'un répertoire par lots, et met de côté ceux qui ne sont plus référencés.
+     */
+    private Uni<Void> quarantineOrphans(String uploadDirectory, String referenceDirectory, long cutoff, Tally tally) {
+        return
+                fileService.listFiles(uploadDirectory)
+                        .group().intoLists().of(batchSize)
+                        .onItem().transformToUniAndConcatenate(batch ->
+                                quarantineOrphans(uploadDirectory, referenceDirectory, batch, cutoff, tally)
+                                        .call(this::pause)
+                        )
+                        .collect().last()
+                        .replaceWithVoid()
+                ;
+    }
+
+    private Uni<Void> quarantineOrphans(String uploadDirectory, String referenceDirectory, List<BlobInfo> batch, long cutoff, Tally tally) {
+        tally.scanned.addAndGet(batch.size());
+
+        final List<BlobInfo> abandoned = new ArrayList<>();
+        // Nom → fichier, pour les fichiers assez anciens pour être orphelins
+        final Map<String, BlobInfo> candidates = new HashMap<>();
+        batch.stream()
+                .filter(blob -> blob.lastModified() < cutoff)
+                .forEach(blob -> {
+                            if (fileService.isTemporary(blob)) {
+                                abandoned.add(blob);
+                            } else {
+                                fileService.getStoredFileName(uploadDirectory, blob)
+                                        .filter(fileName -> !Objects.equals(fileName, DEFAULT_FILES.get(referenceDirectory)))
+                                        .ifPresent(fileName -> candidates.put(fileName, blob));
+                            }
+                        }
+                );
+
+        return
+                purge(abandoned, tally)
+                        .chain(() -> candidates.isEmpty()
+                                ? Uni.createFrom().item(Set.<String>of())
+                                : Panache.withSession(() -> fileReferenceRepository.findReferenced(referenceDirectory, candidates.keySet()))
+                        )
+                        .chain(referenced ->
+                                Multi.createFrom().iterable(candidates.entrySet())
+                                        .filter(candidate -> !referenced.contains(candidate.getKey()))
+                                        .onItem().transformToUniAndConcatenate(orphan -> quarantine(uploadDirectory, orphan.getValue(), cutoff, tally))
+                                        .collect().last()
+                        )
+                        .replaceWithVoid()
+                ;
+    }
+
+    private Uni<Void> quarantine(String uploadDirectory, BlobInfo blob, long cutoff, Tally tally) {
+        return
+                fileService.quarantine(uploadDirectory, blob, cutoff)
+                        .invoke(moved -> {
+                                    if (Boolean.TRUE.equals(moved)) {
+                                        tally.quarantined.incrementAndGet();
+                                        tally.quarantinedBytes.addAndGet(blob.size());
+                                        quarantinedFiles.increment();
+                                        quarantinedBytes.increment(blob.size());
+                                        log.info("Fichier orphelin {} mis de côté ({} octets)", blob.key(), blob.size());
+                                    }
+                                }
+                        )
+                        .onFailure().recoverWithItem(throwable -> {
+                                    tally.failed.incrementAndGet();
+                                    failures.increment();
+                                    log.warn("Mise de côté du fichier {} impossible : {}", blob.key(), throwable.getMessage());
+                                    return false;
+                                }
+                        )
+                        .replaceWithVoid()
+                ;
+    }
+
+    /**
+     * Supprime définitivement, par lots, les fichiers d'un répertoire mis de côté avant la date indiquée.
+     */
+    private Uni<Void> purgeQuarantine(String uploadDirectory, long cutoff, Tally tally) {
+        return
+                fileService.listQuarantinedFiles(uploadDirectory)
+                        .filter(blob -> blob.lastModified() < cutoff)
+                        .group().intoLists().of(batchSize)
+                        .onItem().transformToUniAndConcatenate(batch -> purge(batch, tally).call(this::pause))
+                        .collect().last()
+                        .replaceWithVoid()
+                ;
+    }
+
+    private Uni<Void> purge(List<BlobInfo> blobs, Tally tally) {
+        return
+                Multi.createFrom().iterable(blobs)
+                        .onItem().transformToUniAndConcatenate(blob ->
+                                fileService.deleteStoredObject(blob)
+                                        .invoke(() -> {
+                                                    tally.purged.incrementAndGet();
+                                                    tally.reclaimedBytes.addAndGet(blob.size());
+                                                    reclaimedBytes.increment(blob.size());
+                                                    log.info("Fichier {} supprimé ({} octets)", blob.key(), blob.size());
+                                                }
+                                        )
+                                        .onFailure().recoverWithUni(throwable -> {
+                                                    tally.failed.incrementAndGet();
+                                                    failures.increment();
+                                                    log.warn("Suppression du fichier {} impossible : {}", blob.key(), throwable.getMessage());
+                                                    return Uni.createFrom().voidItem();
+                                                }
+                                        )
+                        )
+                        .collect().last()
+                        .replaceWithVoid()
+                ;
+    }
+
+    /**
+     * Pause entre deux lots, sur un minuteur Vert.x : le traitement reprend sur le même contexte, ce qui permet de
+     * rouvrir une session.
+     */
+    private Uni<Void> pause() {
+        if (batchDelay.isZero() || batchDelay.isNegative()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.createFrom().emitter(emitter -> vertx.setTimer(batchDelay.toMillis(), id -> emitter.complete(null)));
+    }
+
+    private static final class Tally {
+
+        private final AtomicInteger scanned = new AtomicInteger(0);
+        private final AtomicInteger quarantined = new AtomicInteger(0);
+        private final AtomicLong quarantinedBytes = new AtomicLong(0);
+        private final AtomicInteger purged = new AtomicInteger(0);
+        private final AtomicLong reclaimedBytes = new AtomicLong(0);
+        private final AtomicInteger failed = new AtomicInteger(0);
+
+        private OrphanCleanupReport toReport() {
+            return new OrphanCleanupReport(scanned.get(), quarantined.get(), quarantinedBytes.get(), purged.get(), reclaimedBytes.get(), failed.get());
+        }
+    }
+}
@@ -13,22 +13,29 @@ import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.desha.app.domain.dto.*;
 import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.enums.CountStrategy;
 import org.desha.app.domain.enums.PersonType;
-import org.desha.app.exception.PhotoDeletionException;
+import org.desha.app.domain.record.KeysetCursor;
+import org.desha.app.domain.record.KeysetPage;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.domain.record.PersonWithMoviesNumber;
+import org.desha.app.domain.record.StoredFile;
+import org.desha.app.domain.record.UploadedFile;
+import org.desha.app.domain.record.TotalCount;
+import org.desha.app.exception.FileNotFoundException;
+import org.desha.app.helper.StatsChanges;
 import org.desha.app.mapper.*;
 import org.desha.app.repository.*;
 import org.desha.app.utils.Messages;
 import org.hibernate.reactive.mutiny.Mutiny;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -47,6 +54,7 @@ public class PersonService implements PersonServiceInterface {
     private final CountryService countryService;
     private final FileService fileService;
     private final StatsService statsService;
+    private final TotalCountService totalCountService;
 
     private final CategoryRepository categoryRepository;
     private final CountryRepository countryRepository;
@@ -69,7 +77,8 @@ public class PersonService implements PersonServiceInterface {
             MovieRepository movieRepository,
             MovieActorRepository movieActorRepository,
             PersonRepository personRepository,
-            StatsService statsService
+            StatsService statsService,
+            TotalCountService totalCountService
     ) {
         this.awardMapper = awardMapper;
         this.categoryMapper = categoryMapper;
@@ -85,6 +94,7 @@ public class PersonService implements PersonServiceInterface {
         this.movieActorRepository = movieActorRepository;
         this.personRepository = personRepository;
         this.statsService = statsService;
+        this.totalCountService = totalCountService;
     }
 
     /**
@@ -319,6 +329,27 @@ public class PersonService implements PersonServiceInterface {
                 ;
     }
 
+    /**
+     * Récupère la date de dernière modification d'une personne et de ses pays.
+     * <p>
+     * Sert de validateur aux requêtes conditionnelles sur {@link #getById(Long)} et {@link #getLightById(Long)},
+     * sans charger la personne.
+     *
+     * @param id L'identifiant unique de la personne. Ne peut pas être {@code null}.
+     * @return Un {@link Uni} contenant la date de dernière modification, ou {@code null} si la personne n'existe pas.
+     * @throws WebApplicationException si une erreur survient lors de la récupération de la date.
+     */
+    public Uni<LocalDateTime> getLastUpdate(@NotNull Long id) {
+        return
+                personRepository.findLastUpdate(id)
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la date de mise à jour de la personne avec l'ID {}", id, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la date de mise à jour de la personne", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
     /**
      * Récupère une liste de personnes à partir d'une liste d'identifiants.
      * <p>
@@ -332,28 +363,89 @@ public class PersonService implements PersonServiceInterface {
         return personRepository.findByIds(ids);
     }
 
+    /**
+     * Récupère une liste paginée de personnes sous forme allégée ({@link LitePersonDTO}) selon des critères de recherche, de tri et de pagination.
+     * <p>
+     * Le nombre total de personnes est calculé de manière exacte, dans la même requête que la page.
+     * Voir {@link #getLightPersons(Page, String, Sort.Direction, CriteriaDTO, CountStrategy)}.
+     *
+     * @param page        La page à récupérer (pagination).
+     * @param sort        Le nom du champ à utiliser pour le tri.
+     * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO Les critères de filtrage et de recherche des personnes.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link LitePersonDTO} correspondant aux critères fournis
+     * et leur nombre total.
+     * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
+     */
+    public Uni<PagedResult<LitePersonDTO>> getLightPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+        return getLightPersons(page, sort, direction, criteriaDTO, CountStrategy.EXACT);
+    }
+
     /**
      * Récupère une liste paginée de personnes sous forme allégée ({@link LitePersonDTO}) selon des critères de recherche, de tri et de pagination.
      * <p>
      * Les informations retournées sont limitées à celles contenues dans {@link LitePersonDTO}, ce qui permet d’optimiser les performances
      * lorsque les détails complets des personnes ne sont pas nécessaires.
      * <p>
+     * Le nombre total de personnes est calculé selon {@code countStrategy} (voir {@link TotalCountService}).
+     * <p>
      * En cas d’erreur lors de la récupération des données, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
      *
-     * @param page        La page à récupérer (pagination).
-     * @param sort        Le nom du champ à utiliser pour le tri.
+     * @param page          La page à récupérer (pagination).
+     * @param sort          Le nom du champ à utiliser pour le tri.
+     * @param direction     La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO   Les critères de filtrage et de recherche des personnes.
+     * @param countStrategy La stratégie de calcul du nombre total de personnes.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link LitePersonDTO} correspondant aux critères fournis
+     * et leur nombre total.
+     * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
+     */
+    public Uni<PagedResult<LitePersonDTO>> getLightPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO, CountStrategy countStrategy) {
+        final Uni<PagedResult<Person>> pagedResult;
+        if (countStrategy == CountStrategy.EXACT) {
+            pagedResult = personRepository.findPersons(page, sort, direction, criteriaDTO);
+        } else {
+            pagedResult = personRepository.findPersonsWithoutTotal(page, sort, direction, criteriaDTO)
+                    .chain(personList ->
+                            countPersons(TotalCountService.LIGHT_PERSONS, countStrategy, criteriaDTO)
+                                    .map(totalCount -> new PagedResult<>(personList, totalCount))
+                    );
+        }
+
+        return
+                pagedResult
+                        .map(result -> result.map(personMapper::toLiteDTOList))
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la liste des personnes pour la page {}, tri {}, direction {}", page, sort, direction, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la liste des personnes selon les critères fournis", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
+    /**
+     * Récupère une page de personnes sous forme allégée ({@link LitePersonDTO}) en pagination par curseur (« keyset »).
+     * <p>
+     * Si la page est complète, le curseur permettant d'obtenir la page suivante est calculé à partir de la dernière
+     * personne retournée ; sinon, il vaut {@code null}.
+     * <p>
+     * En cas d’erreur lors de la récupération des données, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de personnes à retourner.
+     * @param sort        Le nom du champ à utiliser pour le tri. Doit appartenir à {@link Person#KEYSET_SORT_FIELDS}.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage et de recherche des personnes.
-     * @return Un {@link Uni} contenant la liste paginée de {@link LitePersonDTO} correspondant aux critères.
+     * @return Un {@link Uni} contenant une {@link KeysetPage} de {@link LitePersonDTO} et le curseur de la page suivante.
      * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
      */
-    public Uni<List<LitePersonDTO>> getLightPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<KeysetPage<LitePersonDTO>> getLightPersons(KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 personRepository
-                        .findPersons(page, sort, direction, criteriaDTO)
-                        .map(personMapper::toLiteDTOList)
+                        .findPersons(cursor, size, sort, direction, criteriaDTO)
+                        .map(personList -> new KeysetPage<>(personMapper.toLiteDTOList(personList), buildNextCursor(personList, size, sort, direction)))
                         .onFailure().transform(throwable -> {
-                                    log.error("Erreur lors de la récupération de la liste des personnes pour la page {}, tri {}, direction {}", page, sort, direction, throwable);
+                                    log.error("Erreur lors de la récupération de la liste des personnes après le curseur {}, tri {}, direction {}", cursor, sort, direction, throwable);
                                     return new WebApplicationException("Impossible de récupérer la liste des personnes selon les critères fournis", Response.Status.INTERNAL_SERVER_ERROR);
                                 }
                         )
@@ -365,29 +457,102 @@ public class PersonService implements PersonServiceInterface {
      * selon des critères de recherche, de tri et de pagination.
      * <p>
      * Cette méthode permet de lister les personnes avec des informations statistiques sur leur participation à des films.
+     * Le nombre total de personnes est calculé selon {@code countStrategy} (voir {@link TotalCountService}).
      * <p>
      * En cas d’erreur lors de la récupération des données, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
      *
-     * @param page        La page à récupérer (pagination).
-     * @param sort        Le nom du champ à utiliser pour le tri.
+     * @param page          La page à récupérer (pagination).
+     * @param sort          Le nom du champ à utiliser pour le tri.
+     * @param direction     La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
+     * @param criteriaDTO   Les critères de filtrage et de recherche des personnes.
+     * @param countStrategy La stratégie de calcul du nombre total de personnes.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link PersonDTO} correspondant aux critères fournis
+     * et leur nombre total.
+     * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
+     */
+    public Uni<PagedResult<PersonDTO>> getPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO, CountStrategy countStrategy) {
+        final Uni<PagedResult<PersonWithMoviesNumber>> pagedResult;
+        if (countStrategy == CountStrategy.EXACT) {
+            pagedResult = personRepository.findPersonsWithMoviesNumber(page, sort, direction, criteriaDTO);
+        } else {
+            pagedResult = personRepository.findPersonsWithMoviesNumberWithoutTotal(page, sort, direction, criteriaDTO)
+                    .chain(personWithMoviesNumberList ->
+                            countPersons(TotalCountService.PERSONS, countStrategy, criteriaDTO)
+                                    .map(totalCount -> new PagedResult<>(personWithMoviesNumberList, totalCount))
+                    );
+        }
+
+        return
+                pagedResult
+                        .map(result -> result.map(personMapper::toDTOWithNumbersList))
+                        .onFailure().transform(throwable -> {
+                                    log.error("Erreur lors de la récupération de la liste des personnes pour la page {}, tri {}, direction {}", page, sort, direction, throwable);
+                                    return new WebApplicationException("Impossible de récupérer la liste des personnes selon les critères fournis", Response.Status.INTERNAL_SERVER_ERROR);
+                                }
+                        )
+                ;
+    }
+
+    private Uni<TotalCount> countPersons(String endpoint, CountStrategy countStrategy, CriteriaDTO criteriaDTO) {
+        return
+                totalCountService.count(
+                        endpoint,
+                        countStrategy,
+                        criteriaDTO,
+                        () -> personRepository.countPersons(criteriaDTO),
+                        () -> personRepository.estimatePersons(criteriaDTO)
+                );
+    }
+
+    /**
+     * Récupère une page de personnes ({@link PersonDTO}) avec le nombre de films et le nombre de récompenses associés,
+     * en pagination par curseur (« keyset »).
+     * <p>
+     * En cas d’erreur lors de la récupération des données, une exception {@link WebApplicationException} est levée avec un statut HTTP 500.
+     *
+     * @param cursor      Le curseur de la page précédente. Peut être {@code null} pour la première page.
+     * @param size        Le nombre maximal de personnes à retourner.
+     * @param sort        Le nom du champ à utiliser pour le tri. Doit appartenir à {@link Person#KEYSET_SORT_FIELDS}.
      * @param direction   La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param criteriaDTO Les critères de filtrage et de recherche des personnes.
-     * @return Un {@link Uni} contenant la liste paginée de {@link PersonDTO} correspondant aux critères.
+     * @return Un {@link Uni} contenant une {@link KeysetPage} de {@link PersonDTO} et le curseur de la page suivante.
      * @throws WebApplicationException si une erreur survient lors de la récupération des personnes.
      */
-    public Uni<List<PersonDTO>> getPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<KeysetPage<PersonDTO>> getPersons(KeysetCursor cursor, int size, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 personRepository
-                        .findPersonsWithMoviesNumber(page, sort, direction, criteriaDTO)
-                        .map(personMapper::toDTOWithNumbersList)
+                        .findPersonsWithMoviesNumber(cursor, size, sort, direction, criteriaDTO)
+                        .map(personWithMoviesNumberList ->
+                                new KeysetPage<>(
+                                        personMapper.toDTOWithNumbersList(personWithMoviesNumberList),
+                                        buildNextCursor(personWithMoviesNumberList.stream().map(PersonWithMoviesNumber::person).toList(), size, sort, direction)
+                                )
+                        )
                         .onFailure().transform(throwable -> {
-                                    log.error("Erreur lors de la récupération de la liste des personnes pour la page {}, tri {}, direction {}", page, sort, direction, throwable);
+                                    log.error("Erreur lors de la récupération de la liste des personnes après le curseur {}, tri {}, direction {}", cursor, sort, direction, throwable);
                                     return new WebApplicationException("Impossible de récupérer la liste des personnes selon les critères fournis", Response.Status.INTERNAL_SERVER_ERROR);
                                 }
                         )
                 ;
     }
 
+    /**
+     * Calcule le curseur de la page suivante à partir de la dernière personne de la page courante.
+     *
+     * @param personList La page courante.
+     * @param size       La taille de page demandée.
+     * @param sort       Le champ de tri.
+     * @param direction  La direction du tri.
+     * @return Le curseur encodé, ou {@code null} si la page courante est la dernière.
+     */
+    private String buildNextCursor(List<Person> personList, int size, String sort, Sort.Direction direction) {
+        if (personList.isEmpty() || personList.size() < size) {
+            return null;
+        }
+        Person last = personList.getLast();
+        return new KeysetCursor(sort, direction, Person.KEYSET_SORT_FIELDS.get(sort).apply(last), last.getId()).encode();
+    }
+
     /**
      * Récupère la liste des rôles (MovieActorDTO) d'un acteur donné.
      * <p>
@@ -401,13 +566,14 @@ public class PersonService implements PersonServiceInterface {
      * @param page      Les informations de pagination.
      * @param sort      Le champ utilisé pour le tri.
      * @param direction La direction du tri (ASC ou DESC).
-     * @return Un {@link Uni} contenant la liste des {@link MovieActorDTO} correspondant aux rôles de l'acteur.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link MovieActorDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws WebApplicationException si une erreur survient lors de la récupération des rôles.
      */
-    public Uni<List<MovieActorDTO>> getRoles(@NotNull Long id, Page page, String sort, Sort.Direction direction) {
+    public Uni<PagedResult<MovieActorDTO>> getRoles(@NotNull Long id, Page page, String sort, Sort.Direction direction) {
         return
                 movieActorRepository.findMovieActorsByActor(id, page, sort, direction)
-                        .map(movieActorMapper::toDTOListWithoutPerson)
+                        .map(result -> result.map(movieActorMapper::toDTOListWithoutPerson))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des rôles de l'acteur avec l'ID {} pour la page {}, tri {}, direction {}", id, page, sort, direction, throwable);
                                     return new WebApplicationException("Impossible de récupérer la liste des rôles de l'acteur selon les critères fournis", Response.Status.INTERNAL_SERVER_ERROR);
@@ -454,18 +620,19 @@ public class PersonService implements PersonServiceInterface {
      * @param sort        Le champ sur lequel appliquer le tri.
      * @param direction   La direction du tri (ASC ou DESC).
      * @param criteriaDTO Les critères supplémentaires de filtrage des films.
-     * @return Un {@link Uni} contenant la liste des {@link MovieDTO} correspondant à la personne et aux critères fournis.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link MovieDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       Si aucune personne n'existe avec l'identifiant fourni.
      * @throws WebApplicationException En cas d'erreur lors de la récupération des films pour cette personne.
      */
-    public Uni<List<MovieDTO>> getMoviesByPerson(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
+    public Uni<PagedResult<MovieDTO>> getMoviesByPerson(Long id, Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO) {
         return
                 personRepository.findById(id)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_PERSON))
                         .chain(person ->
                                 movieRepository
                                         .findMoviesByPerson(person, page, sort, direction, criteriaDTO)
-                                        .map(movieMapper::toDTOWithAwardsNumberList)
+                                        .map(result -> result.map(movieMapper::toDTOWithAwardsNumberList))
                         )
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
@@ -492,13 +659,14 @@ public class PersonService implements PersonServiceInterface {
      * @param direction La direction du tri (ASC ou DESC).
      * @param term      Le terme de recherche pour filtrer les noms de pays.
      * @param lang      La langue utilisée pour les noms de pays.
-     * @return Un {@link Uni} contenant la liste des {@link CountryDTO} correspondant aux critères.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link CountryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws WebApplicationException si une erreur survient lors de la récupération des pays.
      */
-    public Uni<List<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang) {
+    public Uni<PagedResult<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang) {
         return
                 countryRepository.findPersonCountries(page, sort, direction, term, lang)
-                        .map(countryMapper::toDTOList)
+                        .map(result -> result.map(countryMapper::toDTOList))
                         .onFailure().transform(throwable -> {
                                     log.error("Erreur lors de la récupération des pays associés aux personnes pour la page {}, tri {}, direction {}", page, sort, direction, throwable);
                                     return new WebApplicationException("Impossible de récupérer la liste des pays associés aux personne", Response.Status.INTERNAL_SERVER_ERROR);
@@ -525,17 +693,18 @@ public class PersonService implements PersonServiceInterface {
      * @param direction La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param term      Terme optionnel pour filtrer les pays par nom. Peut être {@code null}.
      * @param lang      Langue utilisée pour filtrer ou localiser les noms des pays.
-     * @return Un {@link Uni} contenant la liste des {@link CountryDTO} correspondant aux films de la personne.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link CountryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       si aucune personne n'est trouvée avec l'identifiant fourni.
      * @throws WebApplicationException si une erreur survient lors de la récupération des données.
      */
-    public Uni<List<CountryDTO>> getMovieCountriesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction direction, String term, String lang) {
+    public Uni<PagedResult<CountryDTO>> getMovieCountriesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction direction, String term, String lang) {
         return
                 personRepository.findById(id)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_PERSON))
                         .flatMap(person ->
                                 countryRepository.findMovieCountriesByPerson(person, page, sort, direction, term, lang)
-                                        .map(countryMapper::toDTOList)
+                                        .map(result -> result.map(countryMapper::toDTOList))
                         )
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
@@ -565,17 +734,18 @@ public class PersonService implements PersonServiceInterface {
      * @param sort      Le nom du champ utilisé pour trier les résultats.
      * @param direction La direction du tri ({@link Sort.Direction#Ascending} ou {@link Sort.Direction#Descending}).
      * @param term      Terme optionnel pour filtrer les catégories par nom. Peut être {@code null}.
-     * @return Un {@link Uni} contenant la liste des {@link CategoryDTO} correspondant aux films de la personne.
+     * @return Un {@link Uni} contenant un {@link PagedResult} avec la page de {@link CategoryDTO} correspondant aux critères fournis
+     * et leur nombre total.
      * @throws NotFoundException       Si aucune personne n'est trouvée avec l'identifiant fourni.
      * @throws WebApplicationException Si une erreur survient lors de la récupération des données.
      */
-    public Uni<List<CategoryDTO>> getMovieCategoriesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction direction, String term) {
+    public Uni<PagedResult<CategoryDTO>> getMovieCategoriesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction direction, String term) {
         return
                 personRepository.findById(id)
                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_PERSON))
                         .flatMap(person ->
                                 categoryRepository.findMovieCategoriesByPerson(person, page, sort, direction, term)
-                                        .map(categoryMapper::toDTOList)
+                                        .map(result -> result.map(categoryMapper::toDTOList))
                         )
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
@@ -643,19 +813,21 @@ public class PersonService implements PersonServiceInterface {
      * Les accès aux fichiers sont réalisés via le {@link FileService}.
      *
      * @param fileName Le nom du fichier de la photo à récupérer. Peut être {@code null} ou vide.
-     * @return Un {@link Uni} contenant le {@link File} correspondant à la photo demandée ou à la photo par défaut.
+     * @param width    La largeur souhaitée, en pixels, pour recevoir une déclinaison redimensionnée, ou {@code null}
+     *                 pour l'original.
+     * @return Un {@link Uni} contenant le {@link StoredFile} correspondant à la photo demandée ou à la photo par défaut.
      */
-    public Uni<File> getPhoto(String fileName) {
+    public Uni<StoredFile> getPhoto(String fileName, Integer width) {
         if (Objects.isNull(fileName) || fileName.isBlank()) {
             log.warn("Photo name is missing, returning default photo.");
-            return fileService.getFile(PHOTOS_DIR, Person.DEFAULT_PHOTO);
+            return fileService.getFile(PHOTOS_DIR, Person.DEFAULT_PHOTO, width);
         }
 
         return
-                fileService.getFile(PHOTOS_DIR, fileName)
+                fileService.getFile(PHOTOS_DIR, fileName, width)
                         .onFailure(FileNotFoundException.class).recoverWithUni(() -> {
                                     log.warn("Photo {} not found, returning default photo.", fileName);
-                                    return fileService.getFile(PHOTOS_DIR, Person.DEFAULT_PHOTO);
+                                    return fileService.getFile(PHOTOS_DIR, Person.DEFAULT_PHOTO, width);
                                 }
                         )
                 ;
@@ -665,7 +837,8 @@ public class PersonService implements PersonServiceInterface {
      * Uploade une photo fournie via un {@link FileUpload} dans le répertoire des photos.
      * <p>
      * Si le fichier fourni est {@code null}, invalide ou vide, la méthode retourne le nom de la photo par défaut.
-     * En cas d'échec de l'upload, la méthode récupère également le nom de la photo par défaut et logue l'erreur.
+     * En cas d'échec de l'upload, la méthode récupère également le nom de la photo par défaut et logue l'erreur. Un fichier
+     * refusé (trop volumineux ou d'un type non autorisé) fait en revanche échouer la requête.
      * <p>
      * L'upload réel est délégué au {@link FileService}.
      *
@@ -680,7 +853,8 @@ public class PersonService implements PersonServiceInterface {
 
         return
                 fileService.uploadFile(PHOTOS_DIR, file)
-                        .onFailure().recoverWithItem(error -> {
+                        .map(UploadedFile::fileName)
+                        .onFailure(error -> !(error instanceof WebApplicationException)).recoverWithItem(error -> {
                                     log.error("Photo upload failed: {}", error.getMessage());
                                     return Person.DEFAULT_PHOTO;
                                 }
@@ -716,9 +890,9 @@ public class PersonService implements PersonServiceInterface {
     /**
      * Met à jour les informations d'une personne existante, y compris sa photo et les pays associés.
      * <p>
-     * Si un nouveau fichier photo est fourni, il sera téléchargé et la photo précédente sera supprimée
-     * (sauf si c'était la photo par défaut). Si aucun fichier n'est fourni mais que le nom de la photo
-     * change, la photo par défaut sera réattribuée.
+     * Si un nouveau fichier photo est fourni, il sera téléchargé et la photo précédente sera supprimée après la
+     * validation de la transaction, si plus aucune personne ne l'utilise (sauf si c'était la photo par défaut). Si aucun
+     * fichier n'est fourni mais que le nom de la photo change, la photo par défaut sera réattribuée.
      * <p>
      * Les pays associés à la personne sont mis à jour en fonction de la liste fournie dans {@code personDTO}.
      * <p>
@@ -741,6 +915,8 @@ public class PersonService implements PersonServiceInterface {
      *                                 </ul>
      */
     public Uni<PersonDTO> update(@NotNull Long id, FileUpload file, PersonDTO personDTO) {
+        // Photo remplacée, libérée une fois la transaction validée
+        final AtomicReference<String> replacedPhoto = new AtomicReference<>();
         return
                 Panache.withTransaction(() ->
                                 personRepository.findById(id)
@@ -757,23 +933,19 @@ public class PersonService implements PersonServiceInterface {
                                             if (Objects.nonNull(file)) {
                                                 return uploadPhoto(file)
                                                         .onFailure().invoke(error -> log.error("Échec du téléchargement de la photo pour la personne avec l'ID {} : {}", id, error.getMessage()))
-                                                        .chain(uploadedFileName ->
-                                                                deletePhotoIfExists(currentPhoto) // On supprime l'ancien fichier si ce n'est pas le fichier par défaut
-                                                                        .replaceWith(uploadedFileName)
-                                                        )
+                                                        .invoke(() -> replacedPhoto.set(currentPhoto))
                                                         .invoke(person::setPhotoFileName);
                                             } else if (!Objects.equals(currentPhoto, dtoPhoto)) {
                                                 // Pas de nouveau fichier, mais différence → on remet la photo par défaut
-                                                return
-                                                        deletePhotoIfExists(currentPhoto)
-                                                                .invoke(() -> person.setPhotoFileName(Person.DEFAULT_PHOTO))
-                                                        ;
+                                                replacedPhoto.set(currentPhoto);
+                                                person.setPhotoFileName(Person.DEFAULT_PHOTO);
                                             }
                                             // Aucun changement de photo
                                             return Uni.createFrom().item(person);
                                         })
                                         .map(personMapper::toDTO)
                         )
+                        .call(() -> deletePhotoIfExists(replacedPhoto.get()))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -786,31 +958,24 @@ public class PersonService implements PersonServiceInterface {
     }
 
     /**
-     * Supprime un fichier photo existant associé à une personne.
+     * Supprime un fichier photo s'il n'est plus utilisé par aucune personne.
      * <p>
      * Si le nom de fichier est {@code null}, vide ou correspond à la photo par défaut de la personne, aucune action n'est effectuée.
      * <p>
-     * En cas d'erreur lors de la suppression du fichier, une exception
-     * {@link PhotoDeletionException} est levée et un message d'erreur explicite est enregistré dans les logs.
+     * Une même photo peut être partagée par plusieurs personnes (fichiers nommés par leur contenu) : la méthode doit
+     * être appelée après la validation de la transaction qui a retiré la photo, pour que le nombre de références lu en
+     * base en tienne compte. Une erreur lors de la suppression est journalisée sans être propagée (voir
+     * {@link FileService#release(String, String)}).
      *
      * @param fileName Le nom du fichier photo à supprimer. Peut être {@code null} ou vide, auquel cas la méthode ne fait rien.
      * @return Un {@link Uni} complété lorsque l'opération est terminée.
-     * @throws PhotoDeletionException Si la suppression du fichier échoue.
      */
     public Uni<Void> deletePhotoIfExists(String fileName) {
         if (Objects.isNull(fileName) || fileName.isBlank() || Objects.equals(fileName, Person.DEFAULT_PHOTO)) {
             return Uni.createFrom().voidItem();
         }
 
-        return Uni.createFrom().item(() -> {
-            try {
-                fileService.deleteFile(PHOTOS_DIR, fileName);
-                return null;
-            } catch (IOException e) {
-                log.error("Erreur lors de la suppression de la photo {}: {}", fileName, e.getMessage());
-                throw new PhotoDeletionException("Erreur lors de la suppression de la photo " + fileName);
-            }
-        });
+        return fileService.release(PHOTOS_DIR, fileName);
     }
 
     /**
@@ -899,6 +1064,7 @@ public class PersonService implements PersonServiceInterface {
                                                         )
                                                         .replaceWith(person)
                                         )
+                                        .invoke(person -> person.setLastUpdate(LocalDateTime.now()))
                                         .chain(personRepository::persist)
                                         .flatMap(this::fetchAndMapCountries)
                         )
@@ -948,6 +1114,7 @@ public class PersonService implements PersonServiceInterface {
                                                         .invoke(countries -> person.removeCountry(countryId))
                                                         .replaceWith(person)
                                         )
+                                        .invoke(person -> person.setLastUpdate(LocalDateTime.now()))
                                         .chain(personRepository::persist)
                                         .flatMap(this::fetchAndMapCountries)
                         )
@@ -968,6 +1135,8 @@ public class PersonService implements PersonServiceInterface {
      * Cette opération :
      * <ul>
      *   <li>Recherche la personne dans la base de données ;</li>
+     *   <li>Met à jour la date de modification des films dans lesquels elle joue ou a travaillé, qui invalide les
+     *   réponses conditionnelles déjà servies sur leurs acteurs et leur équipe technique ;</li>
      *   <li>Supprime l'entité si elle existe ;</li>
      *   <li>Met à jour les statistiques des acteurs ;</li>
      *   <li>Supprime la photo associée, si ce n'est pas la photo par défaut.</li>
@@ -979,20 +1148,26 @@ public class PersonService implements PersonServiceInterface {
      * @throws WebApplicationException si une erreur survient lors de la suppression de la personne ou de ses données associées.
      */
     public Uni<Boolean> deletePerson(@NotNull Long id) {
+        final StatsChanges statsChanges = new StatsChanges();
+        // Photo de la personne, libérée une fois la transaction validée
+        final AtomicReference<String> deletedPhoto = new AtomicReference<>();
         return
                 Panache.withTransaction(() ->
                                 personRepository.findById(id)
                                         .onItem().ifNull().failWith(() -> new NotFoundException(Messages.NOT_FOUND_PERSON))
                                         .flatMap(person -> {
-                                                    final String photoFileName = person.getPhotoFileName();
+                                                    deletedPhoto.set(person.getPhotoFileName());
                                                     return
-                                                            personRepository.delete(person).replaceWith(true)
-                                                                    .call(aBoolean -> statsService.updateActorsStats())
-                                                                    .call(aBoolean -> deletePhotoIfExists(photoFileName))
+                                                            movieRepository.touchByPerson(id)
+                                                                    .chain(() -> personRepository.delete(person))
+                                                                    .replaceWith(true)
+                                                                    .invoke(statsChanges::actorsChanged)
                                                             ;
                                                 }
                                         )
                         )
+                        .invoke(() -> statsService.submit(statsChanges))
+                        .call(() -> deletePhotoIfExists(deletedPhoto.get()))
                         .onFailure().transform(throwable -> {
                                     if (throwable instanceof WebApplicationException) {
                                         return throwable;
@@ -1030,6 +1205,7 @@ public class PersonService implements PersonServiceInterface {
                                                         .invoke(countries -> person.clearCountries())
                                                         .replaceWith(person)
                                         )
+                                        .invoke(person -> person.setLastUpdate(LocalDateTime.now()))
                                         .chain(personRepository::persist)
                                         .map(t -> true)
                         )
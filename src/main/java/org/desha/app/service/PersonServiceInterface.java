@@ -9,6 +9,8 @@ import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.dto.MovieDTO;
 import org.desha.app.domain.dto.PersonDTO;
 import org.desha.app.domain.entity.Person;
+import org.desha.app.domain.enums.CountStrategy;
+import org.desha.app.domain.record.PagedResult;
 import org.jboss.resteasy.reactive.multipart.FileUpload;
 
 import java.util.List;
@@ -26,13 +28,13 @@ public interface PersonServiceInterface {
 
     Uni<List<Person>> getByIds(List<Long> ids);
 
-    Uni<List<PersonDTO>> getPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO);
+    Uni<PagedResult<PersonDTO>> getPersons(Page page, String sort, Sort.Direction direction, CriteriaDTO criteriaDTO, CountStrategy countStrategy);
 
     Uni<List<PersonDTO>> getAll();
 
-    Uni<List<MovieDTO>> getMoviesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction sortDirection, CriteriaDTO criteriaDTO);
+    Uni<PagedResult<MovieDTO>> getMoviesByPerson(@NotNull Long id, Page page, String sort, Sort.Direction sortDirection, CriteriaDTO criteriaDTO);
 
-    Uni<List<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang);
+    Uni<PagedResult<CountryDTO>> getCountries(Page page, String sort, Sort.Direction direction, String term, String lang);
 
     Uni<PersonDTO> save(PersonDTO personDTO);
 
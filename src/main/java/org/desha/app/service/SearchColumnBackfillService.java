@@ -0,0 +1,101 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.repository.MovieRepository;
+import org.desha.app.repository.PersonRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Renseignement de fond des colonnes de recherche normalisées ({@code film.titre_recherche},
+ * {@code personne.nom_recherche}) restées vides.
+ * <p>
+ * Ces colonnes sont calculées par l'application ({@link org.desha.app.utils.Utils#normalizeForSearch(String)}) à chaque
+ * écriture d'un film ou d'une personne, avec la normalisation appliquée aux termes recherchés. Les lignes antérieures à
+ * leur création (script {@code db/migration/searchTrigramIndexes.sql}) sont renseignées ici, par lots de
+ * {@code pmdb.search.backfill.batch-size}, plutôt que par le script : une normalisation calculée en SQL
+ * ({@code unaccent}) ne traite pas tous les caractères comme celle de l'application, et ces lignes ne seraient plus
+ * trouvées.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.search.backfill.rows} : lignes renseignées.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class SearchColumnBackfillService {
+
+    private final MovieRepository movieRepository;
+    private final PersonRepository personRepository;
+    private final int batchSize;
+    private final Counter filledRows;
+
+    @Inject
+    public SearchColumnBackfillService(
+            MovieRepository movieRepository,
+            PersonRepository personRepository,
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.search.backfill.batch-size", defaultValue = "500") int batchSize
+    ) {
+        this.movieRepository = movieRepository;
+        this.personRepository = personRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.filledRows = registry.counter("pmdb.search.backfill.rows");
+    }
+
+    @Scheduled(
+            identity = "search-columns-backfill",
+            every = "${pmdb.search.backfill.every}",
+            delayed = "${pmdb.search.backfill.delayed}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> scheduledBackfill() {
+        return backfill().replaceWithVoid();
+    }
+
+    /**
+     * Renseigne les colonnes de recherche vides des films, puis des personnes.
+     *
+     * @return Un {@link Uni} contenant le nombre de lignes renseignées.
+     */
+    public Uni<Integer> backfill() {
+        return
+                fill(movieRepository::fillMissingSearchTitles)
+                        .chain(movies ->
+                                fill(personRepository::fillMissingSearchNames)
+                                        .invoke(persons -> {
+                                                    if (movies + persons > 0) {
+                                                        log.info("Colonnes de recherche renseignées : {} film(s), {} personne(s)", movies, persons);
+                                                    }
+                                                }
+                                        )
+                                        .map(persons -> movies + persons)
+                        )
+                        .onFailure().invoke(throwable -> log.error("Erreur lors du renseignement des colonnes de recherche", throwable))
+                ;
+    }
+
+    /**
+     * Traite des lots, chacun dans sa propre transaction, jusqu'à un lot incomplet.
+     */
+    private Uni<Integer> fill(IntFunction<Uni<Integer>> batch) {
+        return
+                Multi.createBy().repeating()
+                        .uni(() -> Panache.withTransaction(() -> batch.apply(batchSize)))
+                        .whilst(filled -> filled == batchSize)
+                        .invoke(filled -> filledRows.increment(filled))
+                        .collect().with(Collectors.summingInt(Integer::intValue))
+                ;
+    }
+}
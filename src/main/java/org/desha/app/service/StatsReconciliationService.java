@@ -0,0 +1,78 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Réconciliation de fond des statistiques des films tenues en mémoire par {@link StatsService}.
+ * <p>
+ * Les répartitions sont mises à jour par différences à chaque écriture. La réconciliation, planifiée par la propriété
+ * {@code pmdb.stats.reconcile.every}, les recalcule en base et ne sert qu'à détecter et corriger un éventuel écart.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.stats.drift} : nombre de compteurs corrigés par la dernière réconciliation ;</li>
+ *     <li>{@code pmdb.stats.reconcile} : durée des réconciliations ;</li>
+ *     <li>{@code pmdb.stats.reconcile.failures} : nombre de réconciliations en échec.</li>
+ * </ul>
+ */
+@Slf4j
+@ApplicationScoped
+public class StatsReconciliationService {
+
+    private final AtomicLong lastDrift = new AtomicLong(0);
+
+    private final StatsService statsService;
+    private final Timer reconcileTimer;
+    private final Counter reconcileFailures;
+
+    @Inject
+    public StatsReconciliationService(StatsService statsService, MeterRegistry registry) {
+        this.statsService = statsService;
+        this.reconcileTimer = registry.timer("pmdb.stats.reconcile");
+        this.reconcileFailures = registry.counter("pmdb.stats.reconcile.failures");
+        registry.gauge("pmdb.stats.drift", lastDrift);
+    }
+
+    @Scheduled(
+            identity = "stats-reconcile",
+            every = "${pmdb.stats.reconcile.every}",
+            delayed = "${pmdb.stats.reconcile.delayed}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    Uni<Void> scheduledReconcile() {
+        return reconcile().replaceWithVoid();
+    }
+
+    /**
+     * Recalcule les répartitions des films en base et corrige les compteurs qui divergent.
+     *
+     * @return Un {@link Uni} contenant le nombre de compteurs corrigés.
+     */
+    public Uni<Integer> reconcile() {
+        final long start = System.nanoTime();
+
+        return
+                statsService.reconcile()
+                        .invoke(drift -> {
+                                    reconcileTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                                    lastDrift.set(drift);
+                                }
+                        )
+                        .onFailure().invoke(throwable -> {
+                                    reconcileFailures.increment();
+                                    log.error("Erreur lors de la réconciliation des statistiques", throwable);
+                                }
+                        )
+                ;
+    }
+}
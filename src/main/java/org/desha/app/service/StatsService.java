@@ -1,84 +1,365 @@
 package org.desha.app.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import io.quarkus.vertx.VertxContextSupport;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.ObservesAsync;
 import jakarta.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.desha.app.domain.dto.CriteriaDTO;
 import org.desha.app.domain.dto.MovieStatsDTO;
+import org.desha.app.domain.enums.Granularity;
+import org.desha.app.domain.enums.InvalidationScope;
 import org.desha.app.domain.enums.PersonType;
+import org.desha.app.domain.enums.StatsDimension;
+import org.desha.app.domain.enums.StatsSeries;
+import org.desha.app.domain.record.InvalidationEvent;
 import org.desha.app.domain.record.Repartition;
+import org.desha.app.domain.record.StatsDelta;
+import org.desha.app.helper.RepartitionCounter;
+import org.desha.app.helper.StatsChanges;
 import org.desha.app.repository.MovieRepository;
 import org.desha.app.repository.PersonRepository;
+import org.desha.app.repository.StatsBucketRepository;
+import org.desha.app.repository.StatsSnapshotRepository;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.Flow;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * Statistiques des films et des acteurs (compteurs et répartitions), conservées en mémoire et diffusées aux clients
+ * abonnés ({@link #getStatsPublisher()}).
+ * <p>
+ * Au démarrage, les statistiques sont d'abord chargées depuis le dernier instantané enregistré
+ * ({@link org.desha.app.domain.entity.StatsSnapshot}), puis recalculées en arrière-plan ({@link #isFresh()}).
+ * <p>
+ * Les répartitions des films sont tenues en mémoire sous forme de compteurs ({@link RepartitionCounter}) : les
+ * services relèvent dans leur transaction les variations induites par une écriture ({@link StatsChanges}) et les
+ * transmettent après validation ({@link #submit(StatsChanges)}). Elles sont appliquées hors de la requête de
+ * l'utilisateur, par lots, par un consommateur unique qui n'ajuste que les compteurs concernés, sans relecture de la
+ * base. L'évolution du nombre de films est le cumul de la répartition par mois de création. Un écart éventuel est
+ * corrigé par une réconciliation périodique ({@link #reconcile()}, {@link StatsReconciliationService}), qui enregistre
+ * aussi l'instantané.
+ * <p>
+ * Les évolutions sur un intervalle et une granularité quelconques ({@link #getEvolution}) sont lues dans l'historique
+ * des créations ({@link org.desha.app.domain.entity.StatsBucket}), tenu à jour par trigger.
+ * <p>
+ * Les variations regroupées de chaque lot sont diffusées aux autres instances de l'application par
+ * {@link CacheInvalidationService}, qui les appliquent à leur tour sans relire la base. Une instance ne recharge
+ * l'ensemble de ses statistiques ({@link #reload()}) qu'après une perte de messages : reconnexion au canal, file
+ * pleine, ou lot trop volumineux pour être diffusé.
+ * <p>
+ * Métriques exposées :
+ * <ul>
+ *     <li>{@code pmdb.stats.queue.size} : variations en attente ;</li>
+ *     <li>{@code pmdb.stats.queue.overflows} : variations abandonnées, file pleine ;</li>
+ *     <li>{@code pmdb.stats.batch.size} : nombre de variations par lot ;</li>
+ *     <li>{@code pmdb.stats.batch.failures} : lots en échec.</li>
+ * </ul>
+ */
 @Slf4j
 @ApplicationScoped
 public class StatsService {
 
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
     private final AtomicLong movieCount = new AtomicLong(0);
     private final AtomicLong actorCount = new AtomicLong(0);
-    private List<Repartition> moviesByReleaseDateRepartition = new ArrayList<>();
-    private List<Repartition> moviesByCategoryRepartition = new ArrayList<>();
-    private List<Repartition> moviesByCountryRepartition = new ArrayList<>();
-    private List<Repartition> moviesByUserRepartition = new ArrayList<>();
-    private List<Repartition> moviesByCreationDateRepartition = new ArrayList<>();
-    private List<Repartition> moviesNumberEvolution = new ArrayList<>();
-    private List<Repartition> actorsNumberEvolution = new ArrayList<>();
+    private volatile LocalDateTime computedAt;
+    private volatile boolean fresh;
+    private final RepartitionCounter moviesByReleaseDate = new RepartitionCounter(RepartitionCounter.BY_LABEL);
+    private final RepartitionCounter moviesByCategory = new RepartitionCounter(RepartitionCounter.BY_TOTAL_DESC);
+    private final RepartitionCounter moviesByCountry = new RepartitionCounter(RepartitionCounter.BY_TOTAL_DESC);
+    private final RepartitionCounter moviesByUser = new RepartitionCounter(RepartitionCounter.BY_TOTAL_DESC);
+    private final RepartitionCounter moviesByCreationDate = new RepartitionCounter(RepartitionCounter.BY_LABEL);
+    private volatile List<Repartition> actorsNumberEvolution = new ArrayList<>();
 
     private final BroadcastProcessor<MovieStatsDTO> statsProcessor = BroadcastProcessor.create();
 
+    private final BlockingQueue<StatsDelta> queue;
+    // Variations reçues des autres instances : appliquées, mais pas diffusées de nouveau
+    private final BlockingQueue<StatsDelta> remoteQueue;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicBoolean resyncRequired = new AtomicBoolean(false);
+    private final AtomicBoolean reloadRequired = new AtomicBoolean(false);
+    private final AtomicBoolean reconcileRequired = new AtomicBoolean(false);
+    private final Queue<CompletableFuture<Integer>> pendingReconciliations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean emitScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final CacheInvalidationService cacheInvalidationService;
     private final MovieRepository movieRepository;
     private final PersonRepository personRepository;
+    private final StatsBucketRepository statsBucketRepository;
+    private final StatsSnapshotRepository statsSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration debounce;
+    private final Duration streamThrottle;
+    private final Counter queueOverflows;
+    private final Counter batchFailures;
+    private final DistributionSummary batchSizes;
 
     @Inject
-    public StatsService(MovieRepository movieRepository, PersonRepository personRepository) {
+    public StatsService(
+            CacheInvalidationService cacheInvalidationService,
+            MovieRepository movieRepository,
+            PersonRepository personRepository,
+            StatsBucketRepository statsBucketRepository,
+            StatsSnapshotRepository statsSnapshotRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @ConfigProperty(name = "pmdb.stats.debounce", defaultValue = "200ms") Duration debounce,
+            @ConfigProperty(name = "pmdb.stats.queue.capacity", defaultValue = "10000") int queueCapacity,
+            @ConfigProperty(name = "pmdb.stats.stream.throttle", defaultValue = "1s") Duration streamThrottle
+    ) {
+        this.cacheInvalidationService = cacheInvalidationService;
         this.movieRepository = movieRepository;
         this.personRepository = personRepository;
+        this.statsBucketRepository = statsBucketRepository;
+        this.statsSnapshotRepository = statsSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.debounce = debounce;
+        this.streamThrottle = streamThrottle;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.remoteQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueOverflows = registry.counter("pmdb.stats.queue.overflows");
+        this.batchFailures = registry.counter("pmdb.stats.batch.failures");
+        this.batchSizes = registry.summary("pmdb.stats.batch.size");
+        registry.gaugeCollectionSize("pmdb.stats.queue.size", List.of(), queue);
     }
 
+    /**
+     * Charge l'instantané des statistiques (une seule requête) puis confie leur recalcul au consommateur de la file :
+     * le démarrage n'attend pas les requêtes d'agrégation.
+     */
     void onStart(@Observes StartupEvent ev) throws Throwable {
-        VertxContextSupport.subscribeAndAwait(() ->
-                Panache.withSession(() ->
-                        movieRepository.count()
-                                .invoke(movieCount::set)
-                                .chain(() -> personRepository.countPersons(CriteriaDTO.builder().personTypes(Set.of(PersonType.ACTOR)).build())
-                                        .invoke(actorCount::set))
-                                .chain(() -> movieRepository.findMoviesByReleaseDateRepartition()
-                                        .invoke(repartition -> moviesByReleaseDateRepartition = repartition))
-                                .chain(() -> movieRepository.findMoviesByCategoryRepartition()
-                                        .invoke(repartition -> moviesByCategoryRepartition = repartition))
-                                .chain(() -> movieRepository.findMoviesByCountryRepartition()
-                                        .invoke(repartition -> moviesByCountryRepartition = repartition))
-                                .chain(() -> movieRepository.findMoviesByUserRepartition()
-                                        .invoke(repartition -> moviesByUserRepartition = repartition))
-                                .chain(() -> movieRepository.findMoviesByCreationDateRepartition()
-                                        .invoke(repartition -> moviesByCreationDateRepartition = repartition))
-                                .chain(() -> movieRepository.findMoviesCreationDateEvolution()
-                                        .invoke(repartition -> moviesNumberEvolution = repartition))
-                                .chain(() -> personRepository.findActorsCreationDateEvolution()
-                                        .invoke(repartition -> actorsNumberEvolution = repartition))
-                                .invoke(() -> {
-                                    MovieStatsDTO stats = getCurrentStats();
-                                    statsProcessor.onNext(stats);
-                                    log.info("MovieStats emitted: {}", stats);
-                                })
-                )
-        );
+        VertxContextSupport.subscribeAndAwait(this::loadSnapshot);
+        reloadRequired.set(true);
+        scheduleDrain();
+    }
+
+    void onStop(@Observes ShutdownEvent ev) {
+        executor.shutdownNow();
+        try {
+            // Les variations appliquées depuis le dernier recalcul sont conservées pour le prochain démarrage
+            VertxContextSupport.subscribeAndAwait(this::saveSnapshot);
+        } catch (Throwable throwable) {
+            log.warn("Enregistrement de l'instantané des statistiques impossible à l'arrêt : {}", throwable.getMessage());
+        }
+    }
+
+    /**
+     * Applique les variations diffusées par une autre instance, ou recharge toutes les statistiques si l'invalidation
+     * n'en porte pas (reconnexion au canal, lot trop volumineux, resynchronisation de l'autre instance).
+     * <p>
+     * Les variations sont confiées au consommateur de la file, comme celles de l'instance, pour ne pas s'intercaler
+     * avec l'application d'un lot.
+     */
+    void onInvalidation(@ObservesAsync InvalidationEvent event) {
+        if (!event.concerns(InvalidationScope.STATS)) {
+            return;
+        }
+
+        final List<StatsDelta> deltas = event.scope() == InvalidationScope.STATS ? decodeDeltas(event.data()) : null;
+        if (Objects.isNull(deltas)) {
+            reloadRequired.set(true);
+        } else {
+            for (StatsDelta delta : deltas) {
+                if (!remoteQueue.offer(delta)) {
+                    queueOverflows.increment();
+                    log.warn("File des statistiques pleine : les statistiques seront rechargées depuis la base");
+                    reloadRequired.set(true);
+                    break;
+                }
+            }
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * Indique si des statistiques sont disponibles : recalculées depuis le démarrage, ou chargées depuis l'instantané.
+     *
+     * @return {@code true} si des statistiques peuvent être servies.
+     */
+    public boolean isAvailable() {
+        return Objects.nonNull(computedAt);
+    }
+
+    /**
+     * Indique si les statistiques ont été recalculées depuis le démarrage de l'application.
+     *
+     * @return {@code false} tant que les statistiques servies sont celles de l'instantané.
+     */
+    public boolean isFresh() {
+        return fresh;
+    }
+
+    /**
+     * @return La date du dernier calcul complet des statistiques servies, ou {@code null} si aucune n'est disponible.
+     */
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    /**
+     * Charge le dernier instantané des statistiques, pour les servir en attendant leur recalcul.
+     *
+     * @return Un {@link Uni} terminé une fois l'instantané chargé, ou s'il n'existe pas ou est illisible.
+     */
+    private Uni<Void> loadSnapshot() {
+        return
+                Panache.withSession(statsSnapshotRepository::findLatest)
+                        .invoke(snapshot -> {
+                                    if (Objects.isNull(snapshot)) {
+                                        log.info("Aucun instantané des statistiques : attente du recalcul");
+                                        return;
+                                    }
+                                    try {
+                                        apply(objectMapper.readValue(snapshot.getData(), MovieStatsDTO.class));
+                                        computedAt = snapshot.getComputedAt();
+                                        log.info("Instantané des statistiques du {} chargé", computedAt);
+                                        updateAndEmitStats();
+                                    } catch (JsonProcessingException e) {
+                                        log.warn("Instantané des statistiques illisible, ignoré : {}", e.getMessage());
+                                    }
+                                }
+                        )
+                        .replaceWithVoid()
+                        .onFailure().recoverWithUni(throwable -> {
+                                    log.warn("Chargement de l'instantané des statistiques impossible : {}", throwable.getMessage());
+                                    return Uni.createFrom().voidItem();
+                                }
+                        )
+                ;
     }
 
+    /**
+     * Enregistre les statistiques courantes comme instantané.
+     *
+     * @return Un {@link Uni} terminé une fois l'instantané enregistré ; un échec est seulement journalisé.
+     */
+    private Uni<Void> saveSnapshot() {
+        if (!isAvailable()) {
+            return Uni.createFrom().voidItem();
+        }
+
+        final String data;
+        try {
+            data = objectMapper.writeValueAsString(getCurrentStats());
+        } catch (JsonProcessingException e) {
+            log.error("Erreur lors de la sérialisation des statistiques", e);
+            return Uni.createFrom().voidItem();
+        }
+        return
+                Panache.withTransaction(() -> statsSnapshotRepository.save(data, computedAt))
+                        .onFailure().recoverWithUni(throwable -> {
+                                    log.error("Erreur lors de l'enregistrement de l'instantané des statistiques", throwable);
+                                    return Uni.createFrom().voidItem();
+                                }
+                        )
+                ;
+    }
+
+    private void apply(MovieStatsDTO stats) {
+        movieCount.set(stats.movieCount());
+        actorCount.set(stats.actorCount());
+        moviesByReleaseDate.reset(Objects.requireNonNullElse(stats.byReleaseDate(), List.of()));
+        moviesByCategory.reset(Objects.requireNonNullElse(stats.byCategory(), List.of()));
+        moviesByCountry.reset(Objects.requireNonNullElse(stats.byCountry(), List.of()));
+        moviesByUser.reset(Objects.requireNonNullElse(stats.byUser(), List.of()));
+        moviesByCreationDate.reset(Objects.requireNonNullElse(stats.byCreationDate(), List.of()));
+        actorsNumberEvolution = Objects.requireNonNullElse(stats.actorsNumberEvolution(), List.of());
+    }
+
+    /**
+     * Recharge toutes les statistiques depuis la base, les diffuse aux clients abonnés et les enregistre comme
+     * instantané. Exécuté uniquement par le consommateur de la file.
+     * <p>
+     * Les requêtes, indépendantes, sont exécutées simultanément, chacune dans sa propre session.
+     */
+    private void reload() throws Exception {
+        final long start = System.nanoTime();
+        final LocalDateTime now = LocalDateTime.now();
+
+        try (ExecutorService tasks = Executors.newVirtualThreadPerTaskExecutor()) {
+            final Future<Long> movies = tasks.submit(() -> query(movieRepository::count));
+            final Future<Long> actors = tasks.submit(() -> query(() -> personRepository.countPersons(CriteriaDTO.builder().personTypes(Set.of(PersonType.ACTOR)).build())));
+            final Future<List<Repartition>> byReleaseDate = tasks.submit(() -> query(movieRepository::findMoviesByReleaseDateRepartition));
+            final Future<List<Repartition>> byCategory = tasks.submit(() -> query(movieRepository::findMoviesByCategoryRepartition));
+            final Future<List<Repartition>> byCountry = tasks.submit(() -> query(movieRepository::findMoviesByCountryRepartition));
+            final Future<List<Repartition>> byUser = tasks.submit(() -> query(movieRepository::findMoviesByUserRepartition));
+            final Future<List<Repartition>> byCreationDate = tasks.submit(() -> query(movieRepository::findMoviesByCreationDateRepartition));
+            final Future<List<Repartition>> actorsEvolution = tasks.submit(() -> query(this::findActorsEvolution));
+
+            movieCount.set(movies.get());
+            actorCount.set(actors.get());
+            moviesByReleaseDate.reset(byReleaseDate.get());
+            moviesByCategory.reset(byCategory.get());
+            moviesByCountry.reset(byCountry.get());
+            moviesByUser.reset(byUser.get());
+            moviesByCreationDate.reset(byCreationDate.get());
+            actorsNumberEvolution = actorsEvolution.get();
+        }
+
+        computedAt = now;
+        fresh = true;
+        log.info("Statistiques recalculées en {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+        updateAndEmitStats();
+        VertxContextSupport.subscribeAndAwait(this::saveSnapshot);
+    }
+
+    /**
+     * Exécute une requête dans une session dédiée, sur son propre contexte Vert.x, et attend son résultat.
+     */
+    private <T> T query(Supplier<Uni<T>> query) throws Exception {
+        try {
+            return VertxContextSupport.subscribeAndAwait(() -> Panache.withSession(query));
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new ExecutionException(throwable);
+        }
+    }
+
+    /**
+     * Demande la diffusion des statistiques courantes aux clients abonnés.
+     * <p>
+     * Les demandes sont regroupées : une seule diffusion a lieu par fenêtre de {@code pmdb.stats.stream.throttle},
+     * à la fin de celle-ci, avec les statistiques à jour à cet instant.
+     */
     public void updateAndEmitStats() {
+        if (emitScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::emit, streamThrottle.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void emit() {
+        emitScheduled.set(false);
         statsProcessor.onNext(getCurrentStats());
     }
 
@@ -87,16 +368,20 @@ public class StatsService {
                 MovieStatsDTO.build(
                         movieCount.get(),
                         actorCount.get(),
-                        moviesByReleaseDateRepartition,
-                        moviesByCategoryRepartition,
-                        moviesByCountryRepartition,
-                        moviesByUserRepartition,
-                        moviesByCreationDateRepartition,
-                        moviesNumberEvolution,
+                        moviesByReleaseDate.snapshot(),
+                        moviesByCategory.snapshot(),
+                        moviesByCountry.snapshot(),
+                        moviesByUser.snapshot(),
+                        moviesByCreationDate.snapshot(),
+                        moviesByCreationDate.cumulative(),
                         actorsNumberEvolution
                 );
     }
 
+    /**
+     * @return Les statistiques courantes, suivies de chaque nouvelle diffusion (au plus une par fenêtre de
+     * {@code pmdb.stats.stream.throttle}).
+     */
     public Flow.Publisher<MovieStatsDTO> getStatsPublisher() {
         return Multi.createBy().concatenating().streams(
                 Multi.createFrom().item(getCurrentStats()),
@@ -104,138 +389,307 @@ public class StatsService {
         );
     }
 
-    public Uni<Void> incrementNumberOfMovies() {
-        return
-                updateMoviesByReleaseDateRepartition()
-                        .invoke(movieCount::incrementAndGet)
-                        .chain(this::updateMoviesByCreationDateRepartition)
-                        .chain(this::updateMoviesByUserRepartition)
-                        .chain(this::updateMoviesNumberEvolution)
-                        .invoke(this::updateAndEmitStats)
-                        .onFailure().invoke(t -> log.error("Error while incrementing number of movies", t))
-                ;
+    /**
+     * Transmet les modifications des statistiques relevées par une écriture, une fois sa transaction validée.
+     * <p>
+     * Les variations sont ajoutées à une file bornée et l'appel retourne immédiatement : il n'exécute aucune requête
+     * et ne peut pas faire échouer l'écriture. Un consommateur unique les applique par lots, après un délai de
+     * regroupement ({@code pmdb.stats.debounce}) : les variations d'un même compteur sont cumulées, les statistiques
+     * des acteurs ne sont recalculées qu'une fois par lot, puis les statistiques sont diffusées et signalées aux autres
+     * instances une seule fois. Si la file est pleine, les variations sont abandonnées et le lot suivant recharge
+     * l'ensemble des statistiques depuis la base.
+     *
+     * @param changes Les modifications relevées.
+     */
+    public void submit(StatsChanges changes) {
+        final List<StatsDelta> deltas = changes.getDeltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        for (StatsDelta delta : deltas) {
+            if (!queue.offer(delta)) {
+                queueOverflows.increment();
+                log.warn("File des statistiques pleine : les statistiques seront rechargées depuis la base");
+                resyncRequired.set(true);
+                break;
+            }
+        }
+        scheduleDrain();
     }
 
-    public Uni<Void> decrementNumberOfMovies() {
+    /**
+     * Compare les statistiques des films tenues en mémoire à celles calculées en base, et corrige les écarts.
+     * <p>
+     * Un écart apparaît si la base est modifiée sans passer par les services, ou si une variation est appliquée après
+     * un rechargement qui la prenait déjà en compte. Un écart non nul est journalisé en avertissement.
+     * <p>
+     * La réconciliation est confiée au consommateur de la file, comme un rechargement : elle ne s'intercale pas avec
+     * l'application d'un lot, dont les variations seraient sinon écrasées par les valeurs lues en base. Les demandes
+     * reçues pendant qu'un lot est appliqué sont regroupées en une seule réconciliation.
+     *
+     * @return Un {@link Uni} contenant le nombre de compteurs corrigés.
+     */
+    public Uni<Integer> reconcile() {
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+        pendingReconciliations.add(result);
+        reconcileRequired.set(true);
+        scheduleDrain();
+        return Uni.createFrom().completionStage(result);
+    }
+
+    /**
+     * Réconcilie les statistiques et transmet le résultat aux demandes en attente. Exécuté uniquement par le
+     * consommateur de la file.
+     */
+    private void reconcilePending() {
+        final List<CompletableFuture<Integer>> waiting = new ArrayList<>();
+        CompletableFuture<Integer> next;
+        while ((next = pendingReconciliations.poll()) != null) {
+            waiting.add(next);
+        }
+
+        try {
+            final int drift = VertxContextSupport.subscribeAndAwait(this::reconcileCounters);
+            waiting.forEach(future -> future.complete(drift));
+        } catch (Throwable throwable) {
+            waiting.forEach(future -> future.completeExceptionally(throwable));
+        }
+    }
+
+    /**
+     * L'historique des créations ({@link org.desha.app.domain.entity.StatsBucket}) est d'abord rafraîchi : ses
+     * périodes corrigées comptent dans l'écart.
+     */
+    private Uni<Integer> reconcileCounters() {
+        final AtomicInteger drift = new AtomicInteger(0);
         return
-                updateMoviesByReleaseDateRepartition()
-                        .invoke(movieCount::decrementAndGet)
-                        .chain(this::updateMoviesByCreationDateRepartition)
-                        .chain(this::updateMoviesByUserRepartition)
-                        .chain(this::updateMoviesNumberEvolution)
-                        .invoke(this::updateAndEmitStats)
-                        .onFailure().invoke(t -> log.error("Error while decrementing number of movies", t))
+                Panache.withTransaction(statsBucketRepository::refresh)
+                        .invoke(corrections -> drift.addAndGet(Math.toIntExact(corrections)))
+                        .chain(() -> Panache.withSession(() ->
+                                movieRepository.count()
+                                        .invoke(count -> {
+                                                    if (movieCount.getAndSet(count) != count) {
+                                                        drift.incrementAndGet();
+                                                    }
+                                                }
+                                        )
+                                        .chain(movieRepository::findMoviesByReleaseDateRepartition)
+                                        .invoke(repartition -> drift.addAndGet(moviesByReleaseDate.reconcile(repartition)))
+                                        .chain(movieRepository::findMoviesByCategoryRepartition)
+                                        .invoke(repartition -> drift.addAndGet(moviesByCategory.reconcile(repartition)))
+                                        .chain(movieRepository::findMoviesByCountryRepartition)
+                                        .invoke(repartition -> drift.addAndGet(moviesByCountry.reconcile(repartition)))
+                                        .chain(movieRepository::findMoviesByUserRepartition)
+                                        .invoke(repartition -> drift.addAndGet(moviesByUser.reconcile(repartition)))
+                                        .chain(movieRepository::findMoviesByCreationDateRepartition)
+                                        .invoke(repartition -> drift.addAndGet(moviesByCreationDate.reconcile(repartition)))
+                                        .chain(this::findActorsEvolution)
+                                        .invoke(repartition -> actorsNumberEvolution = repartition)
+                        ))
+                        .map(unused -> drift.get())
+                        .invoke(count -> {
+                                    if (count > 0) {
+                                        log.warn("Réconciliation des statistiques : {} compteur(s) corrigé(s)", count);
+                                        updateAndEmitStats();
+                                    } else {
+                                        log.debug("Réconciliation des statistiques : compteurs à jour");
+                                    }
+                                }
+                        )
+                        .call(this::saveSnapshot)
                 ;
     }
 
-    public Uni<Void> updateActorsStats() {
-        return
-                updateNumberOfActors()
-                        .chain(this::updateActorsNumberEvolution)
-                        .onFailure().invoke(t -> log.error("Error while updating number of actors", t));
+    private void scheduleDrain() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.schedule(this::drain, debounce.toMillis(), TimeUnit.MILLISECONDS);
+        }
     }
 
-    private Uni<Void> updateNumberOfActors() {
-        return
-                Panache.withTransaction(() ->
-                        personRepository.countPersons(CriteriaDTO.builder().personTypes(Set.of(PersonType.ACTOR)).build())
-                                .invoke(aLong -> {
-                                            actorCount.set(aLong);
-                                            updateAndEmitStats();
-                                            log.info("Actors number updated: {}", aLong);
-                                        }
-                                ).replaceWithVoid()
-                );
+    /**
+     * Applique un lot de variations, puis les réconciliations demandées. Exécuté uniquement par le consommateur de la
+     * file.
+     */
+    private void drain() {
+        // Les variations ajoutées à partir d'ici déclenchent un nouveau lot
+        scheduled.set(false);
+
+        final List<StatsDelta> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        final List<StatsDelta> remote = new ArrayList<>();
+        remoteQueue.drainTo(remote);
+        final boolean resync = resyncRequired.getAndSet(false);
+        final boolean reloadAll = reloadRequired.getAndSet(false);
+        final boolean reconcile = reconcileRequired.getAndSet(false);
+        if (batch.isEmpty() && remote.isEmpty() && !resync && !reloadAll && !reconcile) {
+            return;
+        }
+
+        if (!batch.isEmpty() || !remote.isEmpty() || resync || reloadAll) {
+            applyOrReload(batch, remote, resync, reloadAll);
+        }
+        // Après le lot : la réconciliation part des compteurs qui incluent ses variations
+        if (reconcile) {
+            reconcilePending();
+        }
     }
 
-    public Uni<Void> updateMoviesByReleaseDateRepartition() {
-        return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesByReleaseDateRepartition()
-                                .invoke(repartition -> {
-                                            moviesByReleaseDateRepartition = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies by release date repartition updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+    private void applyOrReload(List<StatsDelta> batch, List<StatsDelta> remote, boolean resync, boolean reloadAll) {
+        try {
+            if (resync || reloadAll) {
+                // Les variations en attente ont été validées en base : le rechargement les prend en compte
+                reload();
+            } else {
+                final Map<StatsDimension, Map<String, Long>> all = coalesce(batch);
+                remote.forEach(delta -> merge(all, delta));
+                applyBatch(all, batch.size() + remote.size());
+            }
+            // Variations perdues : les autres instances rechargent leurs statistiques
+            if (resync) {
+                VertxContextSupport.subscribeAndAwait(() -> publishStats(null));
+            } else if (!batch.isEmpty()) {
+                // Les variations reçues d'une autre instance, ou un rechargement demandé au démarrage, ne sont pas
+                // diffusés de nouveau
+                final String data = encodeDeltas(coalesce(batch));
+                VertxContextSupport.subscribeAndAwait(() -> publishStats(data));
+            }
+            batchSizes.record(batch.size());
+        } catch (Throwable throwable) {
+            batchFailures.increment();
+            log.error("Erreur lors de la mise à jour des statistiques : elles seront rechargées depuis la base", throwable);
+            resyncRequired.set(true);
+            executor.schedule(this::scheduleDrain, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+        }
     }
 
-    public Uni<Void> updateMoviesByCategoryRepartition() {
-        return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesByCategoryRepartition()
-                                .invoke(repartition -> {
-                                            moviesByCategoryRepartition = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies by category repartition updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+    private static Map<StatsDimension, Map<String, Long>> coalesce(List<StatsDelta> deltas) {
+        final Map<StatsDimension, Map<String, Long>> coalesced = new EnumMap<>(StatsDimension.class);
+        deltas.forEach(delta -> merge(coalesced, delta));
+        return coalesced;
     }
 
-    public Uni<Void> updateMoviesByCountryRepartition() {
-        return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesByCountryRepartition()
-                                .invoke(repartition -> {
-                                            moviesByCountryRepartition = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies by country repartition updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+    private static void merge(Map<StatsDimension, Map<String, Long>> coalesced, StatsDelta delta) {
+        coalesced.computeIfAbsent(delta.dimension(), dimension -> new HashMap<>())
+                .merge(delta.label(), delta.delta(), Long::sum);
     }
 
-    private Uni<Void> updateMoviesByUserRepartition() {
-        return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesByUserRepartition()
-                                .invoke(repartition -> {
-                                            moviesByUserRepartition = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies by user repartition updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+    private void applyBatch(Map<StatsDimension, Map<String, Long>> coalesced, int size) throws Throwable {
+        coalesced.forEach((dimension, deltas) ->
+                deltas.forEach((label, delta) -> {
+                            switch (dimension) {
+                                case MOVIES -> movieCount.addAndGet(delta);
+                                case RELEASE_DATE -> moviesByReleaseDate.add(label, delta);
+                                case CREATION_DATE -> moviesByCreationDate.add(label, delta);
+                                case USER -> moviesByUser.add(label, delta);
+                                case CATEGORY -> moviesByCategory.add(label, delta);
+                                case COUNTRY -> moviesByCountry.add(label, delta);
+                                case ACTORS -> {
+                                    // Recalculées en base après l'application des variations
+                                }
+                            }
+                        }
+                )
+        );
+
+        if (coalesced.containsKey(StatsDimension.ACTORS)) {
+            VertxContextSupport.subscribeAndAwait(this::refreshActorsStats);
+        }
+        updateAndEmitStats();
+        log.debug("Statistiques mises à jour : {} variation(s) regroupée(s)", size);
     }
 
-    private Uni<Void> updateMoviesByCreationDateRepartition() {
+    private Uni<Void> refreshActorsStats() {
         return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesByCreationDateRepartition()
-                                .invoke(repartition -> {
-                                            moviesByCreationDateRepartition = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies by creation date repartition updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
+                Panache.withSession(() ->
+                        personRepository.countPersons(CriteriaDTO.builder().personTypes(Set.of(PersonType.ACTOR)).build())
+                                .invoke(actorCount::set)
+                                .chain(this::findActorsEvolution)
+                                .invoke(repartition -> actorsNumberEvolution = repartition)
+                                .replaceWithVoid()
                 );
     }
 
-    private Uni<Void> updateMoviesNumberEvolution() {
+    /**
+     * Récupère l'évolution du nombre d'éléments d'une série créés par période, à partir de l'historique des créations.
+     * <p>
+     * Le coût est proportionnel au nombre de périodes retournées. Les libellés des périodes
+     * ({@link Granularity#getPattern()}) sont triés dans l'ordre chronologique.
+     *
+     * @param series      La série.
+     * @param personType  Le type de personne, obligatoire pour la série {@link StatsSeries#PERSONS}.
+     * @param granularity La granularité des périodes. Les récompenses ne sont historisées que par année.
+     * @param from        La date de début (incluse), ou {@code null}.
+     * @param to          La date de fin (incluse), ou {@code null}.
+     * @param cumulative  {@code true} pour le nombre cumulé d'éléments à la fin de chaque période, {@code false} pour le
+     *                    nombre d'éléments créés pendant chaque période.
+     * @return Un {@link Uni} contenant une liste de {@link Repartition}, dans l'ordre chronologique.
+     */
+    public Uni<List<Repartition>> getEvolution(StatsSeries series, @Nullable PersonType personType, Granularity granularity, @Nullable LocalDate from, @Nullable LocalDate to, boolean cumulative) {
+        final String key = series.key(personType);
         return
-                Panache.withTransaction(() ->
-                        movieRepository.findMoviesCreationDateEvolution()
-                                .invoke(repartition -> {
-                                            moviesNumberEvolution = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Movies number evolution updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+                Panache.withSession(() ->
+                        cumulative
+                                ? statsBucketRepository.findEvolution(key, granularity, from, to)
+                                : statsBucketRepository.findRepartition(key, granularity, from, to)
+                )
+                        .onFailure().invoke(failure ->
+                                log.error("Erreur lors de la récupération de l'évolution de la série {}", key, failure)
+                        )
+                ;
     }
 
-    private Uni<Void> updateActorsNumberEvolution() {
-        return
-                Panache.withTransaction(() ->
-                        personRepository.findActorsCreationDateEvolution()
-                                .invoke(repartition -> {
-                                            actorsNumberEvolution = repartition; // ← mise à jour locale
-                                            updateAndEmitStats();
-                                            log.info("Actors number evolution updated: {}", repartition);
-                                        }
-                                ).replaceWithVoid()
-                );
+    private Uni<List<Repartition>> findActorsEvolution() {
+        return statsBucketRepository.findEvolution(StatsSeries.PERSONS.key(PersonType.ACTOR), Granularity.MONTH, null, null);
+    }
+
+    /**
+     * Diffuse les variations regroupées d'un lot aux autres instances, ou une simple invalidation si {@code data} est
+     * {@code null}.
+     */
+    private Uni<Void> publishStats(@Nullable String data) {
+        return cacheInvalidationService.publish(InvalidationScope.STATS, null, data);
+    }
+
+    /**
+     * @return Les variations non nulles sous forme JSON, ou {@code null} si elles ne peuvent pas être sérialisées (les
+     * autres instances rechargent alors leurs statistiques).
+     */
+    @Nullable
+    private String encodeDeltas(Map<StatsDimension, Map<String, Long>> coalesced) {
+        final List<StatsDelta> deltas = new ArrayList<>();
+        coalesced.forEach((dimension, byLabel) ->
+                byLabel.forEach((label, delta) -> {
+                            // Les acteurs sont recalculés en base par chaque instance
+                            if (delta != 0 || dimension == StatsDimension.ACTORS) {
+                                deltas.add(new StatsDelta(dimension, label, delta));
+                            }
+                        }
+                )
+        );
+        try {
+            return objectMapper.writeValueAsString(deltas);
+        } catch (JsonProcessingException e) {
+            log.warn("Sérialisation des variations des statistiques impossible : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Les variations diffusées par une autre instance, ou {@code null} si l'invalidation n'en porte pas ou
+     * qu'elles sont illisibles.
+     */
+    @Nullable
+    private List<StatsDelta> decodeDeltas(@Nullable String data) {
+        if (Objects.isNull(data)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(data, new TypeReference<List<StatsDelta>>() {
+            });
+        } catch (JsonProcessingException e) {
+            log.warn("Variations des statistiques reçues illisibles : {}", e.getMessage());
+            return null;
+        }
     }
 }
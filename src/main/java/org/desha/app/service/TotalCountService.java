@@ -0,0 +1,133 @@
+package org.desha.app.service;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.dto.CriteriaDTO;
+import org.desha.app.domain.enums.CountStrategy;
+import org.desha.app.domain.record.TotalCount;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Slf4j
+@ApplicationScoped
+public class TotalCountService {
+
+    public static final String MOVIES = "movies";
+    public static final String PERSONS = "persons";
+    public static final String LIGHT_PERSONS = "persons-light";
+
+    private static final String STRATEGY_PROPERTY_PREFIX = "pmdb.count.strategy.";
+    private static final int MAX_CACHED_COUNTS = 1000;
+
+    private record CachedCount(long value, Instant expiresAt) {
+    }
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    private final Config config;
+    private final CountStrategy defaultStrategy;
+    private final Duration cacheTtl;
+
+    @Inject
+    public TotalCountService(
+            Config config,
+            @ConfigProperty(name = "pmdb.count.strategy.default", defaultValue = "exact") String defaultStrategy,
+            @ConfigProperty(name = "pmdb.count.cache-ttl", defaultValue = "30s") Duration cacheTtl
+    ) {
+        this.config = config;
+        this.defaultStrategy = parseStrategy(defaultStrategy);
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Retourne la stratégie de comptage configurée pour un endpoint.
+     * <p>
+     * La stratégie est lue dans la propriété {@code pmdb.count.strategy.<endpoint>} ({@code exact}, {@code estimated}
+     * ou {@code cached}). À défaut, la valeur de {@code pmdb.count.strategy.default} est utilisée.
+     *
+     * @param endpoint Le nom de l'endpoint (par exemple {@link #MOVIES}).
+     * @return La {@link CountStrategy} à appliquer.
+     */
+    public CountStrategy getStrategy(String endpoint) {
+        return
+                config.getOptionalValue(STRATEGY_PROPERTY_PREFIX + endpoint, String.class)
+                        .map(TotalCountService::parseStrategy)
+                        .orElse(defaultStrategy);
+    }
+
+    /**
+     * Calcule le nombre total de résultats d'un endpoint selon la stratégie fournie.
+     * <p>
+     * <ul>
+     *     <li>{@link CountStrategy#EXACT} : le comptage exact est exécuté.</li>
+     *     <li>{@link CountStrategy#ESTIMATED} : l'estimation du planificateur est utilisée si seul le terme de recherche
+     *     est renseigné ; sinon, la stratégie {@link CountStrategy#CACHED} est appliquée.</li>
+     *     <li>{@link CountStrategy#CACHED} : le dernier comptage exact pour les mêmes critères normalisés est réutilisé
+     *     tant qu'il n'a pas expiré ; sinon, il est recalculé puis mis en cache.</li>
+     * </ul>
+     * Le {@link TotalCount} retourné indique si la valeur est exacte à l'instant de la requête.
+     * <p>
+     * Les comptages sont exécutés séquentiellement par l'appelant (même session réactive) : cette méthode ne doit pas
+     * être combinée en parallèle avec la requête de la page.
+     *
+     * @param endpoint       Le nom de l'endpoint, utilisé dans la clé de cache.
+     * @param strategy       La stratégie de comptage à appliquer.
+     * @param criteriaDTO    Les critères de filtrage de la requête.
+     * @param exactCount     Le comptage exact.
+     * @param estimatedCount L'estimation du planificateur, utilisable lorsque seul le terme de recherche est renseigné.
+     * @return Un {@link Uni} contenant le {@link TotalCount} calculé.
+     */
+    public Uni<TotalCount> count(String endpoint, CountStrategy strategy, CriteriaDTO criteriaDTO, Supplier<Uni<Long>> exactCount, Supplier<Uni<Long>> estimatedCount) {
+        return switch (strategy) {
+            case EXACT -> exactCount.get().map(total -> new TotalCount(total, true));
+            case ESTIMATED -> criteriaDTO.hasOnlyTermFilter()
+                    ? estimatedCount.get().map(total -> new TotalCount(total, false))
+                    : countWithCache(endpoint, criteriaDTO, exactCount);
+            case CACHED -> countWithCache(endpoint, criteriaDTO, exactCount);
+        };
+    }
+
+    private Uni<TotalCount> countWithCache(String endpoint, CriteriaDTO criteriaDTO, Supplier<Uni<Long>> exactCount) {
+        final String key = endpoint + "#" + criteriaDTO.toCacheKey();
+        final Instant now = Instant.now();
+
+        CachedCount cachedCount = cachedCounts.get(key);
+        if (cachedCount != null && cachedCount.expiresAt().isAfter(now)) {
+            return Uni.createFrom().item(new TotalCount(cachedCount.value(), false));
+        }
+
+        return
+                exactCount.get()
+                        .invoke(total -> {
+                                    evictExpired(now);
+                                    cachedCounts.put(key, new CachedCount(total, now.plus(cacheTtl)));
+                                }
+                        )
+                        .map(total -> new TotalCount(total, true))
+                ;
+    }
+
+    private void evictExpired(Instant now) {
+        if (cachedCounts.size() < MAX_CACHED_COUNTS) {
+            return;
+        }
+        cachedCounts.values().removeIf(cachedCount -> !cachedCount.expiresAt().isAfter(now));
+        if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+            log.warn("Cache des comptages plein ({} entrées), vidage complet", cachedCounts.size());
+            cachedCounts.clear();
+        }
+    }
+
+    private static CountStrategy parseStrategy(String value) {
+        return CountStrategy.valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,96 @@
+package org.desha.app.service.storage;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Nullable;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.BlobPage;
+import org.desha.app.exception.FileNotFoundException;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Stockage des fichiers téléversés (affiches, photos), adressés par une clé de la forme {@code répertoire/…/nom}.
+ * <p>
+ * L'implémentation est choisie au démarrage par {@code pmdb.storage.type} : {@code local} (par défaut,
+ * {@link LocalBlobStore}) ou {@code s3} ({@link S3BlobStore}). Les {@link Uni} retournés reprennent sur le contexte
+ * Vert.x de l'appelant, ce qui permet d'enchaîner des accès à la base.
+ */
+public interface BlobStore {
+
+    /**
+     * @param key La clé de l'objet.
+     * @return Un {@link Uni} contenant la taille et la date de l'objet, ou en échec avec une
+     * {@link FileNotFoundException} si l'objet n'existe pas.
+     */
+    Uni<BlobInfo> stat(String key);
+
+    /**
+     * Enregistre un fichier sous une clé, en remplaçant l'objet existant. L'objet n'est visible qu'une fois écrit en
+     * entier.
+     *
+     * @param key         La clé de l'objet.
+     * @param source      Le fichier à enregistrer, déplacé ou supprimé par l'appel : il ne doit plus être utilisé.
+     * @param contentType Le type MIME du fichier.
+     * @return Un {@link Uni} terminé une fois l'objet enregistré.
+     */
+    Uni<Void> put(String key, Path source, String contentType);
+
+    /**
+     * Copie un objet dans un fichier local, remplacé une fois la copie terminée.
+     *
+     * @param key    La clé de l'objet.
+     * @param target Le fichier de destination.
+     * @return Un {@link Uni} terminé une fois la copie effectuée, ou en échec avec une {@link FileNotFoundException}
+     * si l'objet n'existe pas.
+     */
+    Uni<Void> download(String key, Path target);
+
+    /**
+     * Déplace un objet sous une autre clé, en remplaçant l'objet existant. La date de modification de l'objet déplacé
+     * est celle du déplacement.
+     *
+     * @param key    La clé de l'objet.
+     * @param target La nouvelle clé de l'objet.
+     * @return Un {@link Uni} terminé une fois l'objet déplacé, ou en échec avec une {@link FileNotFoundException} si
+     * l'objet n'existe pas.
+     */
+    Uni<Void> move(String key, String target);
+
+    /**
+     * Supprime un objet ; un objet inexistant est ignoré.
+     *
+     * @param key La clé de l'objet.
+     * @return Un {@link Uni} terminé une fois l'objet supprimé.
+     */
+    Uni<Void> delete(String key);
+
+    /**
+     * Liste les objets dont la clé commence par un préfixe, une page à la fois, dans l'ordre des clés.
+     *
+     * @param prefix Le préfixe des clés ({@code posters/}).
+     * @param cursor Le curseur retourné par la page précédente, ou {@code null} pour la première page.
+     * @param limit  Le nombre maximal d'objets de la page.
+     * @return Un {@link Uni} contenant la page.
+     */
+    Uni<BlobPage> list(String prefix, @Nullable String cursor, int limit);
+
+    /**
+     * @param key La clé de l'objet.
+     * @return Le chemin local de l'objet, qui peut être envoyé directement, ou vide si l'objet est distant.
+     */
+    Optional<Path> localPath(String key);
+
+    /**
+     * @param key La clé de l'objet.
+     * @return Une adresse temporaire permettant au client de télécharger l'objet sans passer par l'application, ou
+     * vide si le stockage n'en fournit pas.
+     */
+    Optional<URI> presignedUrl(String key);
+
+    /**
+     * @return Le répertoire des fichiers en cours d'écriture avant leur enregistrement par {@link #put}.
+     */
+    Path stagingDirectory();
+}
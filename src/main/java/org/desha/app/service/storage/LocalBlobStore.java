@@ -0,0 +1,234 @@
+package org.desha.app.service.storage;
+
+import io.quarkus.arc.lookup.LookupUnlessProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.BlobPage;
+import org.desha.app.exception.FileNotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * Stockage des fichiers sur un système de fichiers local, sous le répertoire {@code pmdb.storage.local.root}.
+ * <p>
+ * Un fichier est d'abord déplacé dans un fichier temporaire du répertoire de destination, puis renommé de façon
+ * atomique : un fichier incomplet n'est jamais visible sous sa clé. Les fichiers en cours d'écriture sont préparés dans
+ * le sous-répertoire {@code .staging} de la racine, sur le même système de fichiers, pour que ces déplacements soient
+ * de simples renommages.
+ * <p>
+ * Les accès au disque sont exécutés sur les threads de travail de Vert.x.
+ */
+@Slf4j
+@ApplicationScoped
+@LookupUnlessProperty(name = "pmdb.storage.type", stringValue = "s3")
+public class LocalBlobStore implements BlobStore {
+
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final String PART_SUFFIX = ".part";
+
+    private final Vertx vertx;
+    private final Path root;
+
+    @Inject
+    public LocalBlobStore(
+            Vertx vertx,
+            @ConfigProperty(name = "pmdb.storage.local.root", defaultValue = "src/main/resources") String root
+    ) {
+        this.vertx = vertx;
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        log.info("Stockage des fichiers sur disque : {}", this.root);
+    }
+
+    @Override
+    public Uni<BlobInfo> stat(String key) {
+        return vertx.executeBlocking(() -> {
+                    try {
+                        final BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+                        if (!attributes.isRegularFile()) {
+                            throw new FileNotFoundException("Fichier introuvable: " + key);
+                        }
+                        return new BlobInfo(key, attributes.size(), attributes.lastModifiedTime().toMillis());
+                    } catch (NoSuchFileException e) {
+                        throw new FileNotFoundException("Fichier introuvable: " + key);
+                    }
+                }, false
+        );
+    }
+
+    @Override
+    public Uni<Void> put(String key, Path source, String contentType) {
+        return vertx.executeBlocking(() -> {
+                    final Path target = resolve(key);
+                    Files.createDirectories(target.getParent());
+                    final Path temporary = target.resolveSibling("." + UUID.randomUUID() + PART_SUFFIX);
+                    try {
+                        Files.move(source, temporary);
+                        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(temporary);
+                    }
+                    return null;
+                }, false
+        );
+    }
+
+    @Override
+    public Uni<Void> download(String key, Path target) {
+        return vertx.executeBlocking(() -> {
+                    final Path source = resolve(key);
+                    if (!Files.isRegularFile(source)) {
+                        throw new FileNotFoundException("Fichier introuvable: " + key);
+                    }
+                    Files.createDirectories(target.getParent());
+                    final Path temporary = target.resolveSibling("." + UUID.randomUUID() + PART_SUFFIX);
+                    try {
+                        Files.copy(source, temporary);
+                        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        Files.deleteIfExists(temporary);
+                    }
+                    return null;
+                }, false
+        );
+    }
+
+    @Override
+    public Uni<Void> move(String key, String target) {
+        return vertx.executeBlocking(() -> {
+                    final Path source = resolve(key);
+                    final Path destination = resolve(target);
+                    Files.createDirectories(destination.getParent());
+                    try {
+                        Files.move(source, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (NoSuchFileException e) {
+                        throw new FileNotFoundException("Fichier introuvable: " + key);
+                    }
+                    Files.setLastModifiedTime(destination, FileTime.fromMillis(System.currentTimeMillis()));
+                    return null;
+                }, false
+        );
+    }
+
+    @Override
+    public Uni<Void> delete(String key) {
+        return vertx.executeBlocking(() -> {
+                    Files.deleteIfExists(resolve(key));
+                    return null;
+                }, false
+        );
+    }
+
+    /**
+     * Parcourt l'arborescence du préfixe dans l'ordre des clés, en sautant les répertoires dont toutes les clés
+     * précèdent le curseur, et s'arrête dès la page remplie : chaque page ne lit que les répertoires situés sur le
+     * chemin du curseur et ceux de la page, quel que soit le nombre de fichiers.
+     */
+    @Override
+    public Uni<BlobPage> list(String prefix, @Nullable String cursor, int limit) {
+        return vertx.executeBlocking(() -> {
+                    final Path start = resolve(prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix);
+                    final Path directory = prefix.endsWith("/") ? start : start.getParent();
+                    if (!Files.isDirectory(directory)) {
+                        return new BlobPage(List.of(), null);
+                    }
+
+                    // Un élément de plus que la page indique s'il reste des fichiers après elle
+                    final List<BlobInfo> page = new ArrayList<>(limit + 1);
+                    collect(directory, prefix, cursor, limit + 1, page);
+                    if (page.size() > limit) {
+                        page.removeLast();
+                        return new BlobPage(List.copyOf(page), page.getLast().key());
+                    }
+                    return new BlobPage(List.copyOf(page), null);
+                }, false
+        );
+    }
+
+    /**
+     * Ajoute à la page les fichiers d'un répertoire et de ses sous-répertoires, dans l'ordre des clés. Les entrées d'un
+     * répertoire sont triées sur leur clé suivie de {@code /} pour les sous-répertoires : c'est l'ordre dans lequel
+     * leurs clés se comparent à celles des fichiers voisins.
+     *
+     * @return {@code false} si la page est remplie.
+     */
+    private boolean collect(Path directory, String prefix, @Nullable String cursor, int size, List<BlobInfo> page) throws IOException {
+        final TreeMap<String, Path> entries = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                entries.put(keyOf(entry) + (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS) ? "/" : ""), entry);
+            }
+        } catch (NoSuchFileException e) {
+            // Répertoire supprimé pendant le parcours
+            return true;
+        }
+
+        for (Map.Entry<String, Path> entry : entries.entrySet()) {
+            final String key = entry.getKey();
+            if (key.endsWith("/")) {
+                final boolean matchesPrefix = key.startsWith(prefix) || prefix.startsWith(key);
+                final boolean afterCursor = Objects.isNull(cursor) || key.compareTo(cursor) > 0 || cursor.startsWith(key);
+                if (matchesPrefix && afterCursor && !collect(entry.getValue(), prefix, cursor, size, page)) {
+                    return false;
+                }
+            } else if (key.startsWith(prefix) && (Objects.isNull(cursor) || key.compareTo(cursor) > 0)) {
+                final BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry.getValue(), BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (NoSuchFileException e) {
+                    // Fichier supprimé pendant le parcours
+                    log.debug("Fichier {} ignoré : {}", entry.getValue(), e.getMessage());
+                    continue;
+                }
+                if (attributes.isRegularFile()) {
+                    page.add(new BlobInfo(key, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    if (page.size() == size) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Path stagingDirectory() {
+        return root.resolve(STAGING_DIRECTORY);
+    }
+
+    /**
+     * @throws FileNotFoundException si la clé désigne un chemin hors de la racine.
+     */
+    private Path resolve(String key) {
+        final Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new FileNotFoundException("Fichier introuvable: " + key);
+        }
+        return path;
+    }
+
+    private String keyOf(Path file) {
+        return root.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,242 @@
+package org.desha.app.service.storage;
+
+import io.quarkus.arc.lookup.LookupIfProperty;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.file.CopyOptions;
+import io.vertx.mutiny.core.Context;
+import io.vertx.mutiny.core.Vertx;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.BlobPage;
+import org.desha.app.exception.FileNotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import software.amazon.awssdk.core.FileRequestBodyConfiguration;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Stockage des fichiers dans un bucket compatible avec l'API S3 ({@code pmdb.storage.s3.bucket}), partagé par toutes
+ * les instances de l'application. Le client est configuré par les propriétés {@code quarkus.s3.*} (point d'accès,
+ * région, identifiants) : un serveur MinIO local peut être utilisé en précisant son adresse et l'accès par chemin.
+ * <p>
+ * Un fichier plus volumineux que {@code pmdb.storage.s3.part-size} est envoyé en plusieurs parties lues depuis le
+ * disque l'une après l'autre ; S3 ne rend l'objet visible qu'une fois toutes les parties reçues. Les objets sont servis
+ * par des adresses signées valables {@code pmdb.storage.s3.presigned-url-ttl}, vers lesquelles les clients sont
+ * redirigés : le contenu des images ne transite pas par l'application.
+ * <p>
+ * Les fichiers téléversés sont écrits sur le disque local avant leur envoi, dans
+ * {@code pmdb.storage.s3.staging-directory} (par défaut un sous-répertoire du répertoire temporaire du système).
+ * <p>
+ * Les réponses du client S3 arrivent sur ses propres threads : elles sont renvoyées sur le contexte Vert.x de l'appelant.
+ */
+@Slf4j
+@ApplicationScoped
+@LookupIfProperty(name = "pmdb.storage.type", stringValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private static final String PART_SUFFIX = ".part";
+    // Taille minimale d'une partie imposée par S3, sauf pour la dernière
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final Vertx vertx;
+    private final S3AsyncClient client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long partSize;
+    private final Duration presignedUrlTtl;
+    private final String cacheControl;
+    private final Path stagingDirectory;
+
+    @Inject
+    public S3BlobStore(
+            Vertx vertx,
+            S3AsyncClient client,
+            S3Presigner presigner,
+            @ConfigProperty(name = "pmdb.storage.s3.bucket") String bucket,
+            @ConfigProperty(name = "pmdb.storage.s3.part-size", defaultValue = "8M") MemorySize partSize,
+            @ConfigProperty(name = "pmdb.storage.s3.presigned-url-ttl", defaultValue = "10m") Duration presignedUrlTtl,
+            @ConfigProperty(name = "pmdb.storage.s3.cache-control", defaultValue = "public, max-age=31536000, immutable") String cacheControl,
+            @ConfigProperty(name = "pmdb.storage.s3.staging-directory", defaultValue = "${java.io.tmpdir}/pmdb/staging") String stagingDirectory
+    ) {
+        this.vertx = vertx;
+        this.client = client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize.asLongValue());
+        this.presignedUrlTtl = presignedUrlTtl;
+        this.cacheControl = cacheControl;
+        this.stagingDirectory = Paths.get(stagingDirectory).toAbsolutePath().normalize();
+        log.info("Stockage des fichiers dans le bucket S3 {}", bucket);
+    }
+
+    @Override
+    public Uni<BlobInfo> stat(String key) {
+        return
+                onContext(() -> client.headObject(request -> request.bucket(bucket).key(key)))
+                        .map(response -> new BlobInfo(key, response.contentLength(), response.lastModified().toEpochMilli()))
+                        .onFailure(S3BlobStore::isNotFound).transform(throwable -> new FileNotFoundException("Fichier introuvable: " + key))
+                ;
+    }
+
+    @Override
+    public Uni<Void> put(String key, Path source, String contentType) {
+        return
+                vertx.fileSystem().props(source.toString())
+                        .chain(props -> props.size() > partSize
+                                ? putMultipart(key, source, contentType, props.size())
+                                : onContext(() -> client.putObject(
+                                        request -> request.bucket(bucket).key(key).contentType(contentType).cacheControl(cacheControl).contentLength(props.size()),
+                                        AsyncRequestBody.fromFile(source)
+                                )).replaceWithVoid()
+                        )
+                        .eventually(() -> vertx.fileSystem().delete(source.toString()).onFailure().recoverWithNull())
+                ;
+    }
+
+    /**
+     * Envoie un fichier en plusieurs parties, l'une après l'autre ; l'envoi est annulé en cas d'échec pour que S3
+     * libère les parties déjà reçues.
+     */
+    private Uni<Void> putMultipart(String key, Path source, String contentType, long size) {
+        final int parts = (int) ((size + partSize - 1) / partSize);
+        return
+                onContext(() -> client.createMultipartUpload(request -> request.bucket(bucket).key(key).contentType(contentType).cacheControl(cacheControl)))
+                        .chain(upload ->
+                                Multi.createFrom().range(0, parts)
+                                        .onItem().transformToUniAndConcatenate(index -> {
+                                                    final int partNumber = index + 1;
+                                                    final long offset = index * partSize;
+                                                    final long length = Math.min(partSize, size - offset);
+                                                    return
+                                                            onContext(() -> client.uploadPart(
+                                                                    request -> request.bucket(bucket).key(key).uploadId(upload.uploadId()).partNumber(partNumber).contentLength(length),
+                                                                    AsyncRequestBody.fromFile(FileRequestBodyConfiguration.builder().path(source).position(offset).numBytesToRead(length).build())
+                                                            ))
+                                                                    .map(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build())
+                                                            ;
+                                                }
+                                        )
+                                        .collect().asList()
+                                        .chain(completedParts -> onContext(() -> client.completeMultipartUpload(
+                                                request -> request.bucket(bucket).key(key).uploadId(upload.uploadId()).multipartUpload(completed -> completed.parts(completedParts))
+                                        )))
+                                        .onFailure().call(() ->
+                                                onContext(() -> client.abortMultipartUpload(request -> request.bucket(bucket).key(key).uploadId(upload.uploadId())))
+                                                        .onFailure().recoverWithNull()
+                                        )
+                        )
+                        .invoke(() -> log.debug("Objet {} envoyé en {} parties ({} octets)", key, parts, size))
+                        .replaceWithVoid()
+                ;
+    }
+
+    @Override
+    public Uni<Void> download(String key, Path target) {
+        final Path temporary = target.resolveSibling("." + UUID.randomUUID() + PART_SUFFIX);
+        return
+                vertx.fileSystem().mkdirs(target.getParent().toString())
+                        .chain(() -> onContext(() -> client.getObject(request -> request.bucket(bucket).key(key), AsyncResponseTransformer.toFile(temporary))))
+                        .chain(() -> vertx.fileSystem().move(temporary.toString(), target.toString(), new CopyOptions().setReplaceExisting(true).setAtomicMove(true)))
+                        .onFailure().call(() -> vertx.fileSystem().delete(temporary.toString()).onFailure().recoverWithNull())
+                        .onFailure(S3BlobStore::isNotFound).transform(throwable -> new FileNotFoundException("Fichier introuvable: " + key))
+                ;
+    }
+
+    /**
+     * S3 ne permet pas de renommer un objet : il est copié sous la nouvelle clé, puis supprimé.
+     */
+    @Override
+    public Uni<Void> move(String key, String target) {
+        return
+                onContext(() -> client.copyObject(request -> request.sourceBucket(bucket).sourceKey(key).destinationBucket(bucket).destinationKey(target)))
+                        .onFailure(S3BlobStore::isNotFound).transform(throwable -> new FileNotFoundException("Fichier introuvable: " + key))
+                        .chain(() -> delete(key))
+                ;
+    }
+
+    @Override
+    public Uni<Void> delete(String key) {
+        return
+                onContext(() -> client.deleteObject(request -> request.bucket(bucket).key(key)))
+                        .replaceWithVoid()
+                ;
+    }
+
+    @Override
+    public Uni<BlobPage> list(String prefix, @Nullable String cursor, int limit) {
+        return
+                onContext(() -> client.listObjectsV2(request -> request.bucket(bucket).prefix(prefix).maxKeys(limit).continuationToken(cursor)))
+                        .map(response -> new BlobPage(
+                                        response.contents().stream()
+                                                .map(object -> new BlobInfo(object.key(), object.size(), object.lastModified().toEpochMilli()))
+                                                .toList(),
+                                        Boolean.TRUE.equals(response.isTruncated()) ? response.nextContinuationToken() : null
+                                )
+                        )
+                ;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> presignedUrl(String key) {
+        try {
+            return Optional.of(
+                    presigner.presignGetObject(request -> request
+                                    .signatureDuration(presignedUrlTtl)
+                                    .getObjectRequest(object -> object.bucket(bucket).key(key))
+                            )
+                            .url()
+                            .toURI()
+            );
+        } catch (URISyntaxException e) {
+            log.warn("Adresse signée de l'objet {} invalide : {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Path stagingDirectory() {
+        return stagingDirectory;
+    }
+
+    /**
+     * Exécute une requête du client S3 et reprend sur le contexte Vert.x de l'abonné, s'il y en a un.
+     */
+    private <T> Uni<T> onContext(Supplier<CompletableFuture<T>> request) {
+        return Uni.createFrom().deferred(() -> {
+                    final Context context = Vertx.currentContext();
+                    final Uni<T> response = Uni.createFrom().completionStage(request);
+                    return Objects.isNull(context) ? response : response.emitOn(context::runOnContext);
+                }
+        );
+    }
+
+    private static boolean isNotFound(Throwable throwable) {
+        return throwable instanceof NoSuchKeyException || (throwable instanceof S3Exception exception && exception.statusCode() == 404);
+    }
+}
@@ -1,11 +1,13 @@
 package org.desha.app.utils;
 
 import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
 import org.desha.app.domain.dto.CategoryDTO;
 import org.desha.app.domain.dto.CountryDTO;
 import org.desha.app.domain.entity.Category;
 import org.desha.app.domain.entity.Country;
 
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
 
@@ -27,4 +29,41 @@ public class Utils {
                         .equals(c2.stream().map(Country::getId).toList())
                 ;
     }
+
+    /**
+     * Normalise une chaîne pour la recherche : suppression des accents, passage en minuscules et suppression
+     * des espaces superflus.
+     * <p>
+     * Cette normalisation est la seule appliquée aux colonnes de recherche persistées ({@code titre_recherche},
+     * {@code nom_recherche}) comme aux termes saisis par l'utilisateur, afin que la comparaison puisse s'appuyer sur
+     * les index trigrammes : les colonnes ne doivent jamais être calculées en SQL (voir
+     * {@link org.desha.app.service.SearchColumnBackfillService}).
+     *
+     * @param value La chaîne à normaliser. Peut être {@code null}.
+     * @return La chaîne normalisée, ou une chaîne vide si {@code value} est {@code null}.
+     */
+    public String normalizeForSearch(String value) {
+        return StringUtils.stripAccents(StringUtils.defaultString(value)).toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Construit le motif {@code LIKE} utilisé pour filtrer une colonne de recherche normalisée.
+     * <p>
+     * Les caractères spéciaux du terme ({@code %}, {@code _}) sont échappés par {@code \}, le caractère
+     * d'échappement par défaut de PostgreSQL : ils sont recherchés tels quels.
+     *
+     * @param term Le terme de recherche saisi. Peut être {@code null}.
+     * @return Le motif {@code %terme%} normalisé.
+     */
+    public String toSearchPattern(String term) {
+        return "%" + escapeLikePattern(normalizeForSearch(term)) + "%";
+    }
+
+    private String escapeLikePattern(String value) {
+        return
+                value.replace("\\", "\\\\")
+                        .replace("%", "\\%")
+                        .replace("_", "\\_")
+                ;
+    }
 }
@@ -0,0 +1,9 @@
+CREATE OR REPLACE FUNCTION count_estimate(query TEXT) RETURNS BIGINT AS
+$$
+DECLARE
+    plan JSONB;
+BEGIN
+    EXECUTE 'EXPLAIN (FORMAT JSON) ' || query INTO plan;
+    RETURN (plan -> 0 -> 'Plan' ->> 'Plan Rows')::BIGINT;
+END;
+$$ LANGUAGE plpgsql VOLATILE STRICT;
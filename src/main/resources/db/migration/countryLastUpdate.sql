@@ -0,0 +1,9 @@
+-- Date de dernière modification des pays, utilisée (avec celles des films, personnes et catégories) comme validateur
+-- des requêtes conditionnelles (ETag / Last-Modified) sur les fiches qui affichent des pays.
+ALTER TABLE pays
+    ADD COLUMN IF NOT EXISTS date_mise_a_jour TIMESTAMP;
+
+-- Alimentation initiale
+UPDATE pays
+SET date_mise_a_jour = now()
+WHERE date_mise_a_jour IS NULL;
@@ -0,0 +1,92 @@
+-- Nombre de références à chaque fichier stocké (FileReference) : affiches des films (film.chemin_affiche) et photos
+-- des personnes (personne.photo). Les fichiers téléversés sont nommés par l'empreinte SHA-256 de leur contenu : un même
+-- fichier peut être référencé plusieurs fois, et n'est supprimé que lorsqu'il n'est plus référencé.
+CREATE TABLE IF NOT EXISTS fichier_reference
+(
+    repertoire        VARCHAR(32)  NOT NULL,
+    nom               VARCHAR(255) NOT NULL,
+    nombre_references INTEGER      NOT NULL,
+    PRIMARY KEY (repertoire, nom)
+);
+
+-- Ajoute une variation au nombre de références d'un fichier. Un fichier qui n'est plus référencé est retiré de la
+-- table.
+CREATE OR REPLACE FUNCTION ajouter_reference_fichier(p_repertoire TEXT, p_nom TEXT, p_delta INTEGER) RETURNS VOID AS
+$$
+DECLARE
+    v_total INTEGER;
+BEGIN
+    IF p_nom IS NULL OR p_nom = '' THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO fichier_reference AS fr (repertoire, nom, nombre_references)
+    VALUES (p_repertoire, p_nom, p_delta)
+    ON CONFLICT (repertoire, nom) DO UPDATE SET nombre_references = fr.nombre_references + p_delta
+    RETURNING nombre_references INTO v_total;
+
+    IF v_total <= 0 THEN
+        DELETE
+        FROM fichier_reference
+        WHERE repertoire = p_repertoire
+          AND nom = p_nom;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maj_reference_fichier_film() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM ajouter_reference_fichier('posters', OLD.chemin_affiche, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM ajouter_reference_fichier('posters', NEW.chemin_affiche, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_film_reference_fichier ON film;
+CREATE TRIGGER trg_film_reference_fichier
+    AFTER INSERT OR DELETE OR UPDATE OF chemin_affiche
+    ON film
+    FOR EACH ROW
+EXECUTE FUNCTION maj_reference_fichier_film();
+
+CREATE OR REPLACE FUNCTION maj_reference_fichier_personne() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM ajouter_reference_fichier('photos', OLD.photo, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM ajouter_reference_fichier('photos', NEW.photo, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_personne_reference_fichier ON personne;
+CREATE TRIGGER trg_personne_reference_fichier
+    AFTER INSERT OR DELETE OR UPDATE OF photo
+    ON personne
+    FOR EACH ROW
+EXECUTE FUNCTION maj_reference_fichier_personne();
+
+-- Alimentation initiale (et recalcul complet en cas d'écart)
+LOCK TABLE film, personne IN SHARE MODE;
+DELETE
+FROM fichier_reference;
+INSERT INTO fichier_reference (repertoire, nom, nombre_references)
+SELECT 'posters', chemin_affiche, COUNT(*)
+FROM film
+WHERE chemin_affiche IS NOT NULL
+  AND chemin_affiche <> ''
+GROUP BY chemin_affiche
+UNION ALL
+SELECT 'photos', photo, COUNT(*)
+FROM personne
+WHERE photo IS NOT NULL
+  AND photo <> ''
+GROUP BY photo;
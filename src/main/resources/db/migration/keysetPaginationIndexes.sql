@@ -0,0 +1,22 @@
+-- Index de la pagination par curseur (KeysetHelper), un par champ de Movie.KEYSET_SORT_FIELDS et
+-- Person.KEYSET_SORT_FIELDS : (champ, id) pour le tri ascendant, (champ DESC NULLS LAST, id DESC) pour le tri
+-- descendant. Chaque page est lue par un seul parcours d'intervalle dans l'ordre du tri.
+CREATE INDEX IF NOT EXISTS idx_film_titre_id ON film (titre, id);
+CREATE INDEX IF NOT EXISTS idx_film_date_sortie_id ON film (date_sortie, id);
+CREATE INDEX IF NOT EXISTS idx_film_date_creation_id ON film (date_creation, id);
+CREATE INDEX IF NOT EXISTS idx_film_date_mise_a_jour_id ON film (date_mise_a_jour, id);
+
+CREATE INDEX IF NOT EXISTS idx_film_titre_id_desc ON film (titre DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_film_date_sortie_id_desc ON film (date_sortie DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_film_date_creation_id_desc ON film (date_creation DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_film_date_mise_a_jour_id_desc ON film (date_mise_a_jour DESC NULLS LAST, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_personne_nom_id ON personne (nom, id);
+CREATE INDEX IF NOT EXISTS idx_personne_date_naissance_id ON personne (date_naissance, id);
+CREATE INDEX IF NOT EXISTS idx_personne_date_creation_id ON personne (date_creation, id);
+CREATE INDEX IF NOT EXISTS idx_personne_date_mise_a_jour_id ON personne (date_mise_a_jour, id);
+
+CREATE INDEX IF NOT EXISTS idx_personne_nom_id_desc ON personne (nom DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_personne_date_naissance_id_desc ON personne (date_naissance DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_personne_date_creation_id_desc ON personne (date_creation DESC NULLS LAST, id DESC);
+CREATE INDEX IF NOT EXISTS idx_personne_date_mise_a_jour_id_desc ON personne (date_mise_a_jour DESC NULLS LAST, id DESC);
@@ -0,0 +1,22 @@
+-- Remplacement de la vue films_nombre_recompenses_vue (agrégat sur ceremonie_recompenses/recompense recalculé
+-- pour chaque film lu) par un compteur dénormalisé sur la table film.
+-- Le compteur est recalculé par l'application à chaque modification des récompenses d'un film
+-- (MovieRepository#updateAwardsNumber) et réconcilié périodiquement (AwardsNumberReconciliationService).
+ALTER TABLE film
+    ADD COLUMN IF NOT EXISTS nombre_recompenses BIGINT NOT NULL DEFAULT 0;
+
+-- Tri par nombre de récompenses (id en second critère pour un ordre stable)
+CREATE INDEX IF NOT EXISTS idx_film_nombre_recompenses ON film (nombre_recompenses, id);
+
+-- Alimentation initiale
+UPDATE film f
+SET nombre_recompenses = c.nombre_recompenses
+FROM (SELECT f2.id, COUNT(r.id) AS nombre_recompenses
+      FROM film f2
+      LEFT JOIN ceremonie_recompenses cr ON cr.fk_film = f2.id
+      LEFT JOIN recompense r ON r.fk_ceremonie_recompenses = cr.id
+      GROUP BY f2.id) c
+WHERE c.id = f.id
+  AND f.nombre_recompenses IS DISTINCT FROM c.nombre_recompenses;
+
+DROP VIEW IF EXISTS films_nombre_recompenses_vue;
@@ -0,0 +1,112 @@
+-- Index unifié des participations d'une personne à un film, tous rôles confondus.
+-- Une ligne par couple (personne, film, type de rôle) ; nombre_liens compte les lignes des tables lnk_film_* correspondantes
+-- (une personne peut tenir plusieurs rôles du même type dans un film).
+CREATE TABLE IF NOT EXISTS film_personne_role
+(
+    fk_personne  BIGINT      NOT NULL REFERENCES personne (id) ON DELETE CASCADE,
+    fk_film      BIGINT      NOT NULL REFERENCES film (id) ON DELETE CASCADE,
+    role_type    VARCHAR(32) NOT NULL,
+    nombre_liens INTEGER     NOT NULL DEFAULT 1,
+    PRIMARY KEY (fk_personne, fk_film, role_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_film_personne_role_film ON film_personne_role (fk_film, fk_personne);
+
+-- Maintenance de l'index à chaque écriture dans une table lnk_film_*.
+-- TG_ARGV[0] : le type de rôle (valeur de PersonType), TG_ARGV[1] : le nom de la colonne portant la personne.
+CREATE OR REPLACE FUNCTION maj_film_personne_role() RETURNS TRIGGER AS
+$$
+DECLARE
+    v_type              TEXT := TG_ARGV[0];
+    v_colonne           TEXT := TG_ARGV[1];
+    v_ancienne_personne BIGINT;
+    v_nouvelle_personne BIGINT;
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        v_ancienne_personne := (to_jsonb(OLD) ->> v_colonne)::BIGINT;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        v_nouvelle_personne := (to_jsonb(NEW) ->> v_colonne)::BIGINT;
+    END IF;
+
+    IF TG_OP = 'UPDATE'
+        AND OLD.fk_film IS NOT DISTINCT FROM NEW.fk_film
+        AND v_ancienne_personne IS NOT DISTINCT FROM v_nouvelle_personne THEN
+        RETURN NULL;
+    END IF;
+
+    IF v_ancienne_personne IS NOT NULL AND OLD.fk_film IS NOT NULL THEN
+        UPDATE film_personne_role
+        SET nombre_liens = nombre_liens - 1
+        WHERE fk_personne = v_ancienne_personne
+          AND fk_film = OLD.fk_film
+          AND role_type = v_type;
+
+        DELETE
+        FROM film_personne_role
+        WHERE fk_personne = v_ancienne_personne
+          AND fk_film = OLD.fk_film
+          AND role_type = v_type
+          AND nombre_liens <= 0;
+    END IF;
+
+    IF v_nouvelle_personne IS NOT NULL AND NEW.fk_film IS NOT NULL THEN
+        INSERT INTO film_personne_role (fk_personne, fk_film, role_type)
+        VALUES (v_nouvelle_personne, NEW.fk_film, v_type)
+        ON CONFLICT (fk_personne, fk_film, role_type) DO UPDATE SET nombre_liens = film_personne_role.nombre_liens + 1;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Création des triggers et alimentation initiale à partir des tables existantes.
+DO
+$$
+DECLARE
+    v_lien RECORD;
+BEGIN
+    FOR v_lien IN
+        SELECT *
+        FROM (VALUES ('lnk_film_acteur', 'ACTOR', 'fk_acteur'),
+                     ('lnk_film_producteur', 'PRODUCER', 'fk_personne'),
+                     ('lnk_film_realisateur', 'DIRECTOR', 'fk_personne'),
+                     ('lnk_film_assistant_realisateur', 'ASSISTANT_DIRECTOR', 'fk_personne'),
+                     ('lnk_film_scenariste', 'SCREENWRITER', 'fk_personne'),
+                     ('lnk_film_compositeur', 'COMPOSER', 'fk_personne'),
+                     ('lnk_film_musicien', 'MUSICIAN', 'fk_personne'),
+                     ('lnk_film_photographe', 'PHOTOGRAPHER', 'fk_personne'),
+                     ('lnk_film_costumier', 'COSTUME_DESIGNER', 'fk_personne'),
+                     ('lnk_film_decorateur', 'SET_DESIGNER', 'fk_personne'),
+                     ('lnk_film_monteur', 'EDITOR', 'fk_personne'),
+                     ('lnk_film_casteur', 'CASTER', 'fk_personne'),
+                     ('lnk_film_artiste', 'ARTIST', 'fk_personne'),
+                     ('lnk_film_ingenieur_son', 'SOUND_EDITOR', 'fk_personne'),
+                     ('lnk_film_specialiste_effets_visuels', 'VFX_SUPERVISOR', 'fk_personne'),
+                     ('lnk_film_specialiste_effets_speciaux', 'SFX_SUPERVISOR', 'fk_personne'),
+                     ('lnk_film_maquilleur', 'MAKEUP_ARTIST', 'fk_personne'),
+                     ('lnk_film_coiffeur', 'HAIR_DRESSER', 'fk_personne'),
+                     ('lnk_film_cascadeur', 'STUNT_MAN', 'fk_personne')) AS liens (nom_table, role_type, colonne)
+        LOOP
+            -- Les tables des techniciens ont été regroupées dans lnk_film_technicien (voir movieTechnicianTable.sql)
+            IF to_regclass(v_lien.nom_table) IS NULL THEN
+                CONTINUE;
+            END IF;
+
+            EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_film_personne_role ON %1$I', v_lien.nom_table);
+            EXECUTE format(
+                    'CREATE TRIGGER trg_%1$s_film_personne_role AFTER INSERT OR UPDATE OR DELETE ON %1$I '
+                        'FOR EACH ROW EXECUTE FUNCTION maj_film_personne_role(%2$L, %3$L)',
+                    v_lien.nom_table, v_lien.role_type, v_lien.colonne
+                    );
+            EXECUTE format(
+                    'INSERT INTO film_personne_role (fk_personne, fk_film, role_type, nombre_liens) '
+                        'SELECT %3$I, fk_film, %2$L, COUNT(*) FROM %1$I '
+                        'WHERE %3$I IS NOT NULL AND fk_film IS NOT NULL '
+                        'GROUP BY %3$I, fk_film '
+                        'ON CONFLICT (fk_personne, fk_film, role_type) DO UPDATE SET nombre_liens = EXCLUDED.nombre_liens',
+                    v_lien.nom_table, v_lien.role_type, v_lien.colonne
+                    );
+        END LOOP;
+END;
+$$;
@@ -0,0 +1,122 @@
+-- Remplacement des vues film_personne_vue et personne_nombre_films_vue (UNION des 19 tables lnk_film_* à chaque lecture)
+-- par des tables maintenues incrémentalement à partir de l'index film_personne_role (voir moviePersonRoleIndex.sql).
+DROP VIEW IF EXISTS film_personne_vue;
+DROP VIEW IF EXISTS personne_nombre_films_vue;
+
+-- Les tables dérivées n'ont pas de clé étrangère : elles ne sont modifiées que par les triggers ci-dessous,
+-- y compris lors des suppressions en cascade d'un film ou d'une personne.
+CREATE TABLE IF NOT EXISTS film_personne
+(
+    fk_film      BIGINT  NOT NULL,
+    fk_personne  BIGINT  NOT NULL,
+    nombre_roles INTEGER NOT NULL DEFAULT 1,
+    PRIMARY KEY (fk_film, fk_personne)
+);
+
+CREATE INDEX IF NOT EXISTS idx_film_personne_personne ON film_personne (fk_personne, fk_film);
+
+CREATE TABLE IF NOT EXISTS personne_nombre_films
+(
+    fk_personne  BIGINT PRIMARY KEY,
+    nombre_films BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_personne_nombre_films_nombre ON personne_nombre_films (nombre_films, fk_personne);
+
+-- Maintenance incrémentale : chaque type de rôle ajouté ou retiré dans film_personne_role met à jour le couple
+-- (film, personne) et, lorsque ce couple apparaît ou disparaît, le nombre de films de la personne.
+CREATE OR REPLACE FUNCTION maj_film_personne() RETURNS TRIGGER AS
+$$
+DECLARE
+    v_roles INTEGER;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO film_personne AS fp (fk_film, fk_personne)
+        VALUES (NEW.fk_film, NEW.fk_personne)
+        ON CONFLICT (fk_film, fk_personne) DO UPDATE SET nombre_roles = fp.nombre_roles + 1
+        RETURNING nombre_roles INTO v_roles;
+
+        IF v_roles = 1 THEN
+            INSERT INTO personne_nombre_films AS pnf (fk_personne, nombre_films)
+            VALUES (NEW.fk_personne, 1)
+            ON CONFLICT (fk_personne) DO UPDATE SET nombre_films = pnf.nombre_films + 1;
+        END IF;
+
+        RETURN NULL;
+    END IF;
+
+    UPDATE film_personne
+    SET nombre_roles = nombre_roles - 1
+    WHERE fk_film = OLD.fk_film
+      AND fk_personne = OLD.fk_personne
+    RETURNING nombre_roles INTO v_roles;
+
+    IF v_roles IS NOT NULL AND v_roles <= 0 THEN
+        DELETE FROM film_personne WHERE fk_film = OLD.fk_film AND fk_personne = OLD.fk_personne;
+
+        UPDATE personne_nombre_films SET nombre_films = nombre_films - 1 WHERE fk_personne = OLD.fk_personne;
+        DELETE FROM personne_nombre_films WHERE fk_personne = OLD.fk_personne AND nombre_films <= 0;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_film_personne_role_film_personne ON film_personne_role;
+CREATE TRIGGER trg_film_personne_role_film_personne
+    AFTER INSERT OR DELETE
+    ON film_personne_role
+    FOR EACH ROW
+EXECUTE FUNCTION maj_film_personne();
+
+-- Rafraîchissement complet : recalcule les tables dérivées à partir de film_personne_role et corrige les écarts.
+-- Retourne le nombre de lignes corrigées (0 si les tables étaient à jour).
+CREATE OR REPLACE FUNCTION rafraichir_film_personne() RETURNS BIGINT AS
+$$
+DECLARE
+    v_corrections BIGINT := 0;
+    v_lignes      BIGINT;
+BEGIN
+    -- Bloque les écritures concurrentes sur les liens le temps du recalcul (même ordre de verrouillage que les triggers)
+    LOCK TABLE film_personne_role IN SHARE MODE;
+    LOCK TABLE film_personne, personne_nombre_films IN SHARE ROW EXCLUSIVE MODE;
+
+    INSERT INTO film_personne AS fp (fk_film, fk_personne, nombre_roles)
+    SELECT fk_film, fk_personne, COUNT(*)
+    FROM film_personne_role
+    GROUP BY fk_film, fk_personne
+    ON CONFLICT (fk_film, fk_personne) DO UPDATE SET nombre_roles = EXCLUDED.nombre_roles
+    WHERE fp.nombre_roles <> EXCLUDED.nombre_roles;
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    DELETE
+    FROM film_personne fp
+    WHERE NOT EXISTS (SELECT 1
+                      FROM film_personne_role r
+                      WHERE r.fk_film = fp.fk_film
+                        AND r.fk_personne = fp.fk_personne);
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    INSERT INTO personne_nombre_films AS pnf (fk_personne, nombre_films)
+    SELECT fk_personne, COUNT(*)
+    FROM film_personne
+    GROUP BY fk_personne
+    ON CONFLICT (fk_personne) DO UPDATE SET nombre_films = EXCLUDED.nombre_films
+    WHERE pnf.nombre_films <> EXCLUDED.nombre_films;
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    DELETE
+    FROM personne_nombre_films pnf
+    WHERE NOT EXISTS (SELECT 1 FROM film_personne fp WHERE fp.fk_personne = pnf.fk_personne);
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    RETURN v_corrections;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Alimentation initiale
+SELECT rafraichir_film_personne();
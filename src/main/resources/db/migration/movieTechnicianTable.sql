@@ -0,0 +1,121 @@
+-- Regroupement des 18 tables lnk_film_* des techniciens (héritage TABLE_PER_CLASS de MovieTechnician) dans la table
+-- unique lnk_film_technicien (héritage SINGLE_TABLE), la colonne role_type portant le type de technicien.
+-- Les identifiants sont conservés : ils proviennent déjà d'une séquence commune à toute la hiérarchie.
+CREATE TABLE IF NOT EXISTS lnk_film_technicien
+(
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    fk_film     BIGINT REFERENCES film (id),
+    fk_personne BIGINT REFERENCES personne (id),
+    role        VARCHAR(255),
+    role_type   VARCHAR(32)  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_lnk_film_technicien_film ON lnk_film_technicien (fk_film, role_type);
+CREATE INDEX IF NOT EXISTS idx_lnk_film_technicien_personne ON lnk_film_technicien (fk_personne, role_type);
+
+-- Le trigger d'index film_personne_role n'est créé qu'après la reprise : les liens déplacés y figurent déjà.
+DROP TRIGGER IF EXISTS trg_lnk_film_technicien_film_personne_role ON lnk_film_technicien;
+
+-- Les anciennes vues film_personne_vue et personne_nombre_films_vue lisent les tables supprimées ci-dessous : elles sont
+-- supprimées ici si moviePersonTables.sql, qui les remplace par des tables, n'a pas encore été exécuté.
+DROP VIEW IF EXISTS film_personne_vue;
+DROP VIEW IF EXISTS personne_nombre_films_vue;
+
+-- Reprise des données puis suppression des anciennes tables (et de leurs triggers)
+DO
+$$
+DECLARE
+    v_lien RECORD;
+BEGIN
+    FOR v_lien IN
+        SELECT *
+        FROM (VALUES ('lnk_film_producteur', 'PRODUCER'),
+                     ('lnk_film_realisateur', 'DIRECTOR'),
+                     ('lnk_film_assistant_realisateur', 'ASSISTANT_DIRECTOR'),
+                     ('lnk_film_scenariste', 'SCREENWRITER'),
+                     ('lnk_film_compositeur', 'COMPOSER'),
+                     ('lnk_film_musicien', 'MUSICIAN'),
+                     ('lnk_film_photographe', 'PHOTOGRAPHER'),
+                     ('lnk_film_costumier', 'COSTUME_DESIGNER'),
+                     ('lnk_film_decorateur', 'SET_DESIGNER'),
+                     ('lnk_film_monteur', 'EDITOR'),
+                     ('lnk_film_casteur', 'CASTER'),
+                     ('lnk_film_artiste', 'ARTIST'),
+                     ('lnk_film_ingenieur_son', 'SOUND_EDITOR'),
+                     ('lnk_film_specialiste_effets_visuels', 'VFX_SUPERVISOR'),
+                     ('lnk_film_specialiste_effets_speciaux', 'SFX_SUPERVISOR'),
+                     ('lnk_film_maquilleur', 'MAKEUP_ARTIST'),
+                     ('lnk_film_coiffeur', 'HAIR_DRESSER'),
+                     ('lnk_film_cascadeur', 'STUNT_MAN')) AS liens (nom_table, role_type)
+        LOOP
+            IF to_regclass(v_lien.nom_table) IS NULL THEN
+                CONTINUE;
+            END IF;
+
+            EXECUTE format(
+                    'INSERT INTO lnk_film_technicien (id, fk_film, fk_personne, role, role_type) '
+                        'SELECT id, fk_film, fk_personne, role, %2$L FROM %1$I '
+                        'ON CONFLICT (id) DO NOTHING',
+                    v_lien.nom_table, v_lien.role_type
+                    );
+            EXECUTE format('DROP TABLE %I', v_lien.nom_table);
+        END LOOP;
+END;
+$$;
+
+-- Maintenance de l'index film_personne_role (voir moviePersonRoleIndex.sql) : le type de rôle est lu dans la ligne
+-- et non plus passé en argument du trigger.
+CREATE OR REPLACE FUNCTION maj_film_personne_role_technicien() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.fk_film IS NOT DISTINCT FROM NEW.fk_film
+        AND OLD.fk_personne IS NOT DISTINCT FROM NEW.fk_personne
+        AND OLD.role_type IS NOT DISTINCT FROM NEW.role_type THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        IF OLD.fk_personne IS NOT NULL AND OLD.fk_film IS NOT NULL THEN
+            UPDATE film_personne_role
+            SET nombre_liens = nombre_liens - 1
+            WHERE fk_personne = OLD.fk_personne
+              AND fk_film = OLD.fk_film
+              AND role_type = OLD.role_type;
+
+            DELETE
+            FROM film_personne_role
+            WHERE fk_personne = OLD.fk_personne
+              AND fk_film = OLD.fk_film
+              AND role_type = OLD.role_type
+              AND nombre_liens <= 0;
+        END IF;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        IF NEW.fk_personne IS NOT NULL AND NEW.fk_film IS NOT NULL THEN
+            INSERT INTO film_personne_role (fk_personne, fk_film, role_type)
+            VALUES (NEW.fk_personne, NEW.fk_film, NEW.role_type)
+            ON CONFLICT (fk_personne, fk_film, role_type) DO UPDATE SET nombre_liens = film_personne_role.nombre_liens + 1;
+        END IF;
+    END IF;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_lnk_film_technicien_film_personne_role
+    AFTER INSERT OR UPDATE OR DELETE
+    ON lnk_film_technicien
+    FOR EACH ROW
+EXECUTE FUNCTION maj_film_personne_role_technicien();
+
+-- Réalignement de l'index sur la nouvelle table (sans effet si la reprise est complète)
+INSERT INTO film_personne_role AS fpr (fk_personne, fk_film, role_type, nombre_liens)
+SELECT fk_personne, fk_film, role_type, COUNT(*)
+FROM lnk_film_technicien
+WHERE fk_personne IS NOT NULL
+  AND fk_film IS NOT NULL
+GROUP BY fk_personne, fk_film, role_type
+ON CONFLICT (fk_personne, fk_film, role_type) DO UPDATE SET nombre_liens = EXCLUDED.nombre_liens
+WHERE fpr.nombre_liens <> EXCLUDED.nombre_liens;
@@ -0,0 +1,24 @@
+-- Colonnes de recherche normalisées (film.titre_recherche, personne.nom_recherche) et leurs index trigrammes.
+-- La normalisation est celle de l'application (Utils.normalizeForSearch) : les colonnes sont renseignées à chaque
+-- écriture, et les lignes existantes par la tâche de fond SearchColumnBackfillService. Elles ne sont pas calculées ici
+-- avec unaccent, qui ne traite pas tous les caractères comme l'application (œ, æ, ß...).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE film ADD COLUMN IF NOT EXISTS titre_recherche VARCHAR(255);
+ALTER TABLE personne ADD COLUMN IF NOT EXISTS nom_recherche VARCHAR(255);
+
+-- Une version précédente de ce script renseignait les colonnes avec unaccent : les valeurs contenant des caractères
+-- non ASCII sont effacées pour être recalculées par l'application. Les autres sont identiques.
+UPDATE film
+   SET titre_recherche = NULL
+ WHERE octet_length(titre) <> char_length(titre);
+
+UPDATE personne
+   SET nom_recherche = NULL
+ WHERE octet_length(nom) <> char_length(nom);
+
+CREATE INDEX IF NOT EXISTS idx_film_titre_recherche_trgm
+    ON film USING gin (titre_recherche gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_personne_nom_recherche_trgm
+    ON personne USING gin (nom_recherche gin_trgm_ops);
@@ -0,0 +1,172 @@
+-- Historique des créations (StatsBucket) : nombre de films, de personnes par type et de récompenses créés par jour,
+-- par mois et par année. Remplace le recalcul complet des évolutions (GROUP BY TO_CHAR(date_creation, 'MM-YYYY') sur
+-- toute la table) par la lecture des seules périodes demandées.
+CREATE TABLE IF NOT EXISTS statistiques_creation
+(
+    serie       VARCHAR(64) NOT NULL,
+    granularite VARCHAR(8)  NOT NULL,
+    periode     DATE        NOT NULL,
+    total       BIGINT      NOT NULL,
+    PRIMARY KEY (serie, granularite, periode)
+);
+
+-- Ajoute une variation aux périodes contenant une date, pour chaque granularité demandée (DAY, MONTH, YEAR).
+-- Une période dont le total revient à zéro est supprimée. Les granularités sont toujours traitées dans le même ordre,
+-- pour que deux écritures concurrentes verrouillent les périodes dans le même ordre.
+CREATE OR REPLACE FUNCTION ajouter_statistiques_creation(p_serie TEXT, p_date TIMESTAMP, p_delta BIGINT,
+                                                         p_granularites TEXT[] DEFAULT ARRAY ['DAY', 'MONTH', 'YEAR'])
+    RETURNS VOID AS
+$$
+DECLARE
+    v_granularite TEXT;
+    v_periode     DATE;
+    v_total       BIGINT;
+BEGIN
+    IF p_date IS NULL THEN
+        RETURN;
+    END IF;
+
+    FOREACH v_granularite IN ARRAY p_granularites
+        LOOP
+            v_periode := DATE_TRUNC(LOWER(v_granularite), p_date)::DATE;
+
+            INSERT INTO statistiques_creation AS sc (serie, granularite, periode, total)
+            VALUES (p_serie, v_granularite, v_periode, p_delta)
+            ON CONFLICT (serie, granularite, periode) DO UPDATE SET total = sc.total + p_delta
+            RETURNING total INTO v_total;
+
+            IF v_total <= 0 THEN
+                DELETE
+                FROM statistiques_creation
+                WHERE serie = p_serie
+                  AND granularite = v_granularite
+                  AND periode = v_periode;
+            END IF;
+        END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION maj_statistiques_creation_film() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM ajouter_statistiques_creation('MOVIES', NEW.date_creation, 1);
+    ELSE
+        PERFORM ajouter_statistiques_creation('MOVIES', OLD.date_creation, -1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_film_statistiques_creation ON film;
+CREATE TRIGGER trg_film_statistiques_creation
+    AFTER INSERT OR DELETE
+    ON film
+    FOR EACH ROW
+EXECUTE FUNCTION maj_statistiques_creation_film();
+
+-- Une personne compte dans la série de chacun de ses types, à sa date de création. L'application supprime les types
+-- d'une personne avant la personne elle-même ; si la personne n'existe déjà plus, l'écart est corrigé au prochain
+-- rafraîchissement.
+CREATE OR REPLACE FUNCTION maj_statistiques_creation_personne_type() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM ajouter_statistiques_creation('PERSONS:' || NEW.type,
+                                              (SELECT date_creation FROM personne WHERE id = NEW.fk_personne), 1);
+    ELSE
+        PERFORM ajouter_statistiques_creation('PERSONS:' || OLD.type,
+                                              (SELECT date_creation FROM personne WHERE id = OLD.fk_personne), -1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_personne_type_statistiques_creation ON personne_type;
+CREATE TRIGGER trg_personne_type_statistiques_creation
+    AFTER INSERT OR DELETE
+    ON personne_type
+    FOR EACH ROW
+EXECUTE FUNCTION maj_statistiques_creation_personne_type();
+
+-- Les récompenses n'ont pas de date de création : elles sont comptées par année de récompense, à la seule granularité
+-- annuelle.
+CREATE OR REPLACE FUNCTION maj_statistiques_creation_recompense() RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.annee IS NOT NULL THEN
+        PERFORM ajouter_statistiques_creation('AWARDS', MAKE_DATE(OLD.annee, 1, 1), -1, ARRAY ['YEAR']);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.annee IS NOT NULL THEN
+        PERFORM ajouter_statistiques_creation('AWARDS', MAKE_DATE(NEW.annee, 1, 1), 1, ARRAY ['YEAR']);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_recompense_statistiques_creation ON recompense;
+CREATE TRIGGER trg_recompense_statistiques_creation
+    AFTER INSERT OR DELETE OR UPDATE OF annee
+    ON recompense
+    FOR EACH ROW
+EXECUTE FUNCTION maj_statistiques_creation_recompense();
+
+-- Rafraîchissement complet : recalcule l'historique à partir des tables d'origine et corrige les écarts.
+-- Retourne le nombre de périodes corrigées (0 si l'historique était à jour, ou si une autre instance le rafraîchit).
+-- Aucune table n'est verrouillée : les écritures ne sont pas bloquées pendant le recalcul. Une période modifiée par
+-- une transaction concurrente peut être corrigée à tort avec la valeur lue au début du recalcul ; le rafraîchissement
+-- suivant la rétablit, la correction étant idempotente.
+CREATE OR REPLACE FUNCTION rafraichir_statistiques_creation() RETURNS BIGINT AS
+$$
+DECLARE
+    v_corrections BIGINT := 0;
+    v_lignes      BIGINT;
+BEGIN
+    -- Une seule instance à la fois : les autres ne refont pas le même recalcul
+    IF NOT pg_try_advisory_xact_lock(hashtext('rafraichir_statistiques_creation')) THEN
+        RETURN 0;
+    END IF;
+
+    CREATE TEMPORARY TABLE statistiques_creation_attendues ON COMMIT DROP AS
+    WITH evenements AS (SELECT 'MOVIES' AS serie, f.date_creation AS date_evenement, ARRAY ['DAY', 'MONTH', 'YEAR'] AS granularites
+                        FROM film f
+                        UNION ALL
+                        SELECT 'PERSONS:' || pt.type, p.date_creation, ARRAY ['DAY', 'MONTH', 'YEAR']
+                        FROM personne_type pt
+                                 JOIN personne p ON p.id = pt.fk_personne
+                        UNION ALL
+                        SELECT 'AWARDS', MAKE_DATE(r.annee, 1, 1), ARRAY ['YEAR']
+                        FROM recompense r
+                        WHERE r.annee IS NOT NULL)
+    SELECT e.serie, g.granularite, DATE_TRUNC(LOWER(g.granularite), e.date_evenement)::DATE AS periode, COUNT(*) AS total
+    FROM evenements e
+             CROSS JOIN UNNEST(e.granularites) AS g(granularite)
+    WHERE e.date_evenement IS NOT NULL
+    GROUP BY 1, 2, 3;
+
+    INSERT INTO statistiques_creation AS sc (serie, granularite, periode, total)
+    SELECT serie, granularite, periode, total
+    FROM statistiques_creation_attendues
+    ON CONFLICT (serie, granularite, periode) DO UPDATE SET total = EXCLUDED.total
+    WHERE sc.total <> EXCLUDED.total;
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    DELETE
+    FROM statistiques_creation sc
+    WHERE NOT EXISTS (SELECT 1
+                      FROM statistiques_creation_attendues a
+                      WHERE a.serie = sc.serie
+                        AND a.granularite = sc.granularite
+                        AND a.periode = sc.periode);
+    GET DIAGNOSTICS v_lignes = ROW_COUNT;
+    v_corrections := v_corrections + v_lignes;
+
+    DROP TABLE statistiques_creation_attendues;
+
+    RETURN v_corrections;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Alimentation initiale
+SELECT rafraichir_statistiques_creation();
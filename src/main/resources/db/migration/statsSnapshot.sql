@@ -0,0 +1,8 @@
+-- Instantané des dernières statistiques calculées (MovieStatsDTO sérialisé), chargé au démarrage de l'application
+-- en attendant leur recalcul (StatsService). Une seule ligne, d'identifiant 1.
+CREATE TABLE IF NOT EXISTS statistiques_snapshot
+(
+    id          SMALLINT PRIMARY KEY,
+    donnees     JSONB     NOT NULL,
+    date_calcul TIMESTAMP NOT NULL
+);
@@ -13,6 +13,7 @@ import org.desha.app.data.Utils;
 import org.desha.app.domain.dto.CategoryDTO;
 import org.desha.app.domain.dto.MovieDTO;
 import org.desha.app.domain.entity.Category;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.service.CategoryService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -52,6 +53,8 @@ class CategoryEndPointTest {
     void shouldReturnCategory() {
         CategoryDTO mockCategoryDTO = Factory.mockCategoryDTO();
 
+        when(categoryService.getLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(mockCategoryDTO.getLastUpdate()));
         when(categoryService.getById(any()))
                 .thenReturn(Uni.createFrom().item(mockCategoryDTO));
 
@@ -74,7 +77,7 @@ class CategoryEndPointTest {
         List<CategoryDTO> mockCategoryDTOList = Factory.mockCategoryDTOList(10);
 
         when(categoryService.getCategories(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockCategoryDTOList));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockCategoryDTOList, (long) mockCategoryDTOList.size())));
 
         given()
                 .when()
@@ -101,7 +104,7 @@ class CategoryEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoCategoriesFound() {
         when(categoryService.getCategories(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -117,10 +120,7 @@ class CategoryEndPointTest {
         List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(60);
 
         when(categoryService.getMoviesByCategory(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockMovieDTOList));
-
-        when(categoryService.countMoviesByCategory(any(), any()))
-                .thenReturn(Uni.createFrom().item((long) mockMovieDTOList.size()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockMovieDTOList, (long) mockMovieDTOList.size())));
 
         given()
                 .when()
@@ -176,7 +176,7 @@ class CategoryEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoMoviesFound() {
         when(categoryService.getMoviesByCategory(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
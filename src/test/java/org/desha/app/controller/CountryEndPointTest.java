@@ -11,6 +11,7 @@ import org.desha.app.domain.dto.CategoryDTO;
 import org.desha.app.domain.dto.CountryDTO;
 import org.desha.app.domain.dto.LitePersonDTO;
 import org.desha.app.domain.dto.MovieDTO;
+import org.desha.app.domain.record.PagedResult;
 import org.desha.app.service.CountryService;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -74,7 +75,7 @@ class CountryEndPointTest {
         List<CountryDTO> mockCountryDTOList = Factory.mockCountryDTOList(100);
 
         when(countryService.getCountries(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockCountryDTOList));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockCountryDTOList, (long) mockCountryDTOList.size())));
 
         given()
                 .when()
@@ -107,7 +108,7 @@ class CountryEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoCountriesFound() {
         when(countryService.getCountries(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -123,10 +124,7 @@ class CountryEndPointTest {
         List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(60);
 
         when(countryService.getMoviesByCountry(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockMovieDTOList));
-
-        when(countryService.countMoviesByCountry(any(), any()))
-                .thenReturn(Uni.createFrom().item((long) mockMovieDTOList.size()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockMovieDTOList, (long) mockMovieDTOList.size())));
 
         given()
                 .when()
@@ -182,7 +180,7 @@ class CountryEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoMoviesFound() {
         when(countryService.getMoviesByCountry(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -199,10 +197,7 @@ class CountryEndPointTest {
         List<LitePersonDTO> mockLitePersonDTOList = Factory.mockLitePersonDTOList(20);
 
         when(countryService.getPersonsByCountry(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockLitePersonDTOList));
-
-        when(countryService.countPersonsByCountry(any(), any()))
-                .thenReturn(Uni.createFrom().item((long) mockLitePersonDTOList.size()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockLitePersonDTOList, (long) mockLitePersonDTOList.size())));
 
         given()
                 .when()
@@ -233,7 +228,7 @@ class CountryEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoPersonsFound() {
         when(countryService.getPersonsByCountry(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
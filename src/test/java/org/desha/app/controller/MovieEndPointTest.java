@@ -3,13 +3,20 @@ package org.desha.app.controller;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.quarkus.test.security.TestSecurity;
 import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
 import org.desha.app.data.Factory;
 import org.desha.app.data.Utils;
 import org.desha.app.domain.dto.*;
+import org.desha.app.domain.record.KeysetPage;
 import org.desha.app.domain.record.Repartition;
+import org.desha.app.domain.record.PagedResult;
+import org.desha.app.domain.record.StoredFile;
+import org.desha.app.service.FileService;
 import org.desha.app.service.MovieService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -19,6 +26,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -29,6 +37,10 @@ import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @QuarkusTest
@@ -39,6 +51,12 @@ class MovieEndPointTest {
     @InjectMock
     MovieService movieService;
 
+    @Inject
+    FileService fileService;
+
+    @ConfigProperty(name = "pmdb.uploads.max-size")
+    MemorySize maxUploadSize;
+
     @Test
     void shouldReturnNumberSuccessfully() {
         when(movieService.count(any()))
@@ -57,6 +75,8 @@ class MovieEndPointTest {
     void shouldReturnMovieSuccessfully() {
         MovieDTO mockMovieDTO = Factory.mockMovieDTO();
 
+        when(movieService.getLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(mockMovieDTO.getLastUpdate()));
         when(movieService.getById(any()))
                 .thenReturn(Uni.createFrom().item(mockMovieDTO));
 
@@ -83,6 +103,42 @@ class MovieEndPointTest {
         ;
     }
 
+    @Test
+    void shouldReturnNotModifiedWhenMovieIsUnchanged() {
+        MovieDTO mockMovieDTO = Factory.mockMovieDTO();
+
+        when(movieService.getLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(mockMovieDTO.getLastUpdate()));
+        when(movieService.getById(any()))
+                .thenReturn(Uni.createFrom().item(mockMovieDTO));
+
+        String entityTag =
+                given()
+                        .when()
+                        .get("/1")
+                        .then()
+                        .statusCode(200)
+                        .header("ETag", Matchers.notNullValue())
+                        .header("Last-Modified", Matchers.notNullValue())
+                        .extract()
+                        .header("ETag");
+
+        clearInvocations(movieService);
+
+        given()
+                .header("If-None-Match", entityTag)
+                .when()
+                .get("/1")
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo(entityTag))
+                .body(Matchers.emptyOrNullString())
+        ;
+
+        // Le film n'est ni chargé ni converti lorsque le client en possède la version courante
+        verify(movieService, never()).getById(any());
+    }
+
     @Test
     void shouldReturnMoviesByTitleSuccessfully() {
         List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(5);
@@ -161,11 +217,8 @@ class MovieEndPointTest {
 
         List<MovieDTO> mockMovieDTOSubList = mockMovieDTOList.subList(0, size);
 
-        when(movieService.getMovies(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockMovieDTOSubList));
-
-        when(movieService.count(any()))
-                .thenReturn(Uni.createFrom().item((long) mockMovieDTOList.size()));
+        when(movieService.getMovies(any(), any(), any(), any(), any()))
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockMovieDTOSubList, (long) mockMovieDTOList.size())));
 
         given()
                 .when()
@@ -220,11 +273,8 @@ class MovieEndPointTest {
 
     @Test
     void shouldReturnNoContentWhenNoMoviesFound() {
-        when(movieService.getMovies(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-
-        when(movieService.count(any()))
-                .thenReturn(Uni.createFrom().item(0L));
+        when(movieService.getMovies(any(), any(), any(), any(), any()))
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -236,6 +286,84 @@ class MovieEndPointTest {
         ;
     }
 
+    @Test
+    void shouldFlagApproximateTotalCount() {
+        List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(20);
+
+        when(movieService.getMovies(any(), any(), any(), any(), any()))
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockMovieDTOList, 1500L, false)));
+
+        given()
+                .when()
+                .get("?size=20")
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", "1500")
+                .header("X-Total-Count-Exact", "false")
+        ;
+    }
+
+    @Test
+    void shouldNotFlagExactTotalCount() {
+        List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(20);
+
+        when(movieService.getMovies(any(), any(), any(), any(), any()))
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockMovieDTOList, 20L)));
+
+        given()
+                .when()
+                .get("?size=20")
+                .then()
+                .statusCode(200)
+                .header("X-Total-Count", "20")
+                .header("X-Total-Count-Exact", Matchers.nullValue())
+        ;
+    }
+
+    @Test
+    void shouldReturnMoviesWithNextCursorInKeysetMode() {
+        final int size = 20;
+        List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(size);
+
+        when(movieService.getMovies(any(), anyInt(), any(), any(), any()))
+                .thenReturn(Uni.createFrom().item(new KeysetPage<>(mockMovieDTOList, "next-cursor")));
+
+        given()
+                .when()
+                .get("?size=20&after=")
+                .then()
+                .statusCode(200)
+                .header("X-Next-Cursor", "next-cursor")
+                .header("X-Total-Count", Matchers.nullValue())
+                .body(
+                        "size()", Matchers.is(size),
+                        "id", Matchers.contains(mockMovieDTOList.stream()
+                                .map(movieDTO -> movieDTO.getId().intValue())
+                                .toArray(Integer[]::new))
+                )
+        ;
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenKeysetCursorIsInvalid() {
+        given()
+                .when()
+                .get("?after=not-a-cursor")
+                .then()
+                .statusCode(400)
+        ;
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenKeysetSortIsNotSupported() {
+        given()
+                .when()
+                .get("?after=&sort=awardsCount")
+                .then()
+                .statusCode(400)
+        ;
+    }
+
     @Test
     void shouldReturnAllMoviesSuccessfully() {
         List<MovieDTO> mockMovieDTOList = Factory.mockMovieDTOList(60);
@@ -243,9 +371,6 @@ class MovieEndPointTest {
         when(movieService.getMovies(any(), any(), any()))
                 .thenReturn(Uni.createFrom().item(mockMovieDTOList));
 
-        when(movieService.count(any()))
-                .thenReturn(Uni.createFrom().item((long) mockMovieDTOList.size()));
-
         given()
                 .when()
                 .get("/all")
@@ -317,10 +442,7 @@ class MovieEndPointTest {
         List<CountryDTO> mockCountryDTOList = Factory.mockCountryDTOList(20);
 
         when(movieService.getCountriesInMovies(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockCountryDTOList));
-
-        when(movieService.countCountriesInMovies(any(), any()))
-                .thenReturn(Uni.createFrom().item((long) mockCountryDTOList.size()));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockCountryDTOList, (long) mockCountryDTOList.size())));
 
         given()
                 .when()
@@ -354,10 +476,7 @@ class MovieEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoCountriesInMovies() {
         when(movieService.getCountriesInMovies(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-
-        when(movieService.countCountriesInMovies(any(), any()))
-                .thenReturn(Uni.createFrom().item(0L));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -374,10 +493,7 @@ class MovieEndPointTest {
         List<CategoryDTO> mockCategoryDTOList = Factory.mockCategoryDTOList(5);
 
         when(movieService.getCategoriesInMovies(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockCategoryDTOList));
-
-        when(movieService.countCategoriesInMovies(any()))
-                .thenReturn(Uni.createFrom().item(5L));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockCategoryDTOList, 5L)));
 
         given()
                 .when()
@@ -405,10 +521,7 @@ class MovieEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoCategoriesInMovies() {
         when(movieService.getCategoriesInMovies(any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-
-        when(movieService.countCategoriesInMovies(any()))
-                .thenReturn(Uni.createFrom().item(0L));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -425,10 +538,7 @@ class MovieEndPointTest {
         List<LitePersonDTO> mockLitePersonDTOList = Factory.mockLitePersonDTOList(5);
 
         when(movieService.getPersonsByMovie(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(mockLitePersonDTOList));
-
-        when(movieService.countPersonsByMovie(any(), any()))
-                .thenReturn(Uni.createFrom().item(5L));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(mockLitePersonDTOList, 5L)));
 
         given()
                 .when()
@@ -459,10 +569,7 @@ class MovieEndPointTest {
     @Test
     void shouldReturnNoContentWhenNoPersonsByMovie() {
         when(movieService.getPersonsByMovie(any(), any(), any(), any(), any()))
-                .thenReturn(Uni.createFrom().item(Collections.emptyList()));
-
-        when(movieService.countPersonsByMovie(any(), any()))
-                .thenReturn(Uni.createFrom().item(0L));
+                .thenReturn(Uni.createFrom().item(new PagedResult<>(Collections.emptyList(), 0L)));
 
         given()
                 .when()
@@ -478,6 +585,8 @@ class MovieEndPointTest {
     void shouldReturnTechnicalTeamSuccessfully() {
         TechnicalTeamDTO mockTechnicalTeamDTO = Factory.mockTechnicalTeamDTO();
 
+        when(movieService.getTechnicalTeamLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(LocalDateTime.now()));
         when(movieService.getTechnicalTeam(any()))
                 .thenReturn(Uni.createFrom().item(mockTechnicalTeamDTO));
 
@@ -549,6 +658,8 @@ class MovieEndPointTest {
     void shouldReturnActorsByMovieSuccessfully() {
         List<MovieActorDTO> mockMovieActorDTOList = Factory.mockMovieActorDTOList(5);
 
+        when(movieService.getActorsLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(LocalDateTime.now()));
         when(movieService.getActorsByMovie(any()))
                 .thenReturn(Uni.createFrom().item(mockMovieActorDTOList));
 
@@ -589,6 +700,8 @@ class MovieEndPointTest {
 
     @Test
     void shouldReturnNoContentWhenNoActorsByMovie() {
+        when(movieService.getActorsLastUpdate(any()))
+                .thenReturn(Uni.createFrom().item(LocalDateTime.now()));
         when(movieService.getActorsByMovie(any()))
                 .thenReturn(Uni.createFrom().item(Collections.emptyList()));
 
@@ -968,6 +1081,149 @@ class MovieEndPointTest {
         tempFile.delete();
     }
 
+    @Test
+    void shouldReturnPartialContentWhenPosterRangeIsRequested() throws IOException {
+        File tempFile = Factory.mockFile();
+        StoredFile storedFile = Factory.mockStoredFile(tempFile);
+
+        when(movieService.getPoster(any(), any()))
+                .thenReturn(Uni.createFrom().item(storedFile));
+
+        given()
+                .header("Range", "bytes=0-3")
+                .when()
+                .get("/posters/" + storedFile.fileName())
+                .then()
+                .statusCode(206)
+                .header("Content-Range", equalTo("bytes 0-3/" + tempFile.length()))
+                .header("Content-Length", equalTo("4"))
+                .body(equalTo("fake"))
+        ;
+
+        tempFile.delete();
+    }
+
+    @Test
+    void shouldReturnRangeNotSatisfiableWhenPosterRangeIsOutsideFile() throws IOException {
+        File tempFile = Factory.mockFile();
+        StoredFile storedFile = Factory.mockStoredFile(tempFile);
+
+        when(movieService.getPoster(any(), any()))
+                .thenReturn(Uni.createFrom().item(storedFile));
+
+        given()
+                .header("Range", "bytes=" + tempFile.length() + "-")
+                .when()
+                .get("/posters/" + storedFile.fileName())
+                .then()
+                .statusCode(416)
+                .header("Content-Range", equalTo("bytes */" + tempFile.length()))
+        ;
+
+        tempFile.delete();
+    }
+
+    @Test
+    void shouldReturnWholePosterWhenIfRangeDoesNotMatch() throws IOException {
+        File tempFile = Factory.mockFile();
+        StoredFile storedFile = Factory.mockStoredFile(tempFile);
+
+        when(movieService.getPoster(any(), any()))
+                .thenReturn(Uni.createFrom().item(storedFile));
+
+        given()
+                .header("Range", "bytes=0-3")
+                .header("If-Range", "\"version-precedente\"")
+                .when()
+                .get("/posters/" + storedFile.fileName())
+                .then()
+                .statusCode(200)
+                .header("Content-Range", Matchers.nullValue())
+                .body(equalTo("fake image data"))
+        ;
+
+        tempFile.delete();
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenPosterIsUnchanged() throws IOException {
+        File tempFile = Factory.mockFile();
+        StoredFile storedFile = Factory.mockStoredFile(tempFile);
+
+        when(movieService.getPoster(any(), any()))
+                .thenReturn(Uni.createFrom().item(storedFile));
+
+        String entityTag =
+                given()
+                        .when()
+                        .get("/posters/" + storedFile.fileName())
+                        .then()
+                        .statusCode(200)
+                        .header("Cache-Control", Matchers.containsString("immutable"))
+                        .extract()
+                        .header("ETag");
+
+        given()
+                .header("If-None-Match", entityTag)
+                .when()
+                .get("/posters/" + storedFile.fileName())
+                .then()
+                .statusCode(304)
+                .header("ETag", equalTo(entityTag))
+        ;
+
+        tempFile.delete();
+    }
+
+    @Test
+    void shouldReturnPayloadTooLargeWhenPosterExceedsMaxSize() throws IOException {
+        MovieDTO mockMovieDTO = Factory.mockMovieDTO();
+        mockMovieDTO.setId(null);
+
+        File tempFile = File.createTempFile("test-upload", ".jpg");
+        Files.write(tempFile.toPath(), new byte[(int) maxUploadSize.asLongValue() + 1]);
+
+        // L'affiche est enregistrée par le service de fichiers, qui la refuse
+        when(movieService.saveMovie(any(), any()))
+                .thenAnswer(invocation -> fileService.uploadFile("posters/", invocation.getArgument(0)).replaceWith(mockMovieDTO));
+
+        given()
+                .multiPart("file", tempFile, "image/jpeg")
+                .multiPart("movieDTO", mockMovieDTO, "application/json")
+                .when()
+                .post()
+                .then()
+                .statusCode(413)
+                .body(equalTo("Le fichier dépasse la taille maximale autorisée"))
+        ;
+
+        tempFile.delete();
+    }
+
+    @Test
+    void shouldReturnUnsupportedMediaTypeWhenPosterIsNotAnImage() throws IOException {
+        MovieDTO mockMovieDTO = Factory.mockMovieDTO();
+        mockMovieDTO.setId(null);
+
+        // Le type annoncé par le client est ignoré : le contenu ne commence par aucune signature d'image
+        File tempFile = Factory.mockFile();
+
+        when(movieService.saveMovie(any(), any()))
+                .thenAnswer(invocation -> fileService.uploadFile("posters/", invocation.getArgument(0)).replaceWith(mockMovieDTO));
+
+        given()
+                .multiPart("file", tempFile, "image/jpeg")
+                .multiPart("movieDTO", mockMovieDTO, "application/json")
+                .when()
+                .post()
+                .then()
+                .statusCode(415)
+                .body(equalTo("Type de fichier non autorisé"))
+        ;
+
+        tempFile.delete();
+    }
+
     @Test
     void shouldReturnBadRequestIfTitleIsMissing() throws IOException {
         MovieDTO mockMovieDTO = Factory.mockMovieDTO();
@@ -4,6 +4,7 @@ import lombok.experimental.UtilityClass;
 import org.desha.app.domain.dto.*;
 import org.desha.app.domain.entity.Category;
 import org.desha.app.domain.record.Repartition;
+import org.desha.app.domain.record.StoredFile;
 
 import java.io.File;
 import java.io.IOException;
@@ -259,4 +260,8 @@ public class Factory {
         Files.writeString(tempFile.toPath(), "fake image data");
         return tempFile;
     }
+
+    public StoredFile mockStoredFile(File file) {
+        return new StoredFile(file.toPath(), "0f1e2d3c4b5a.jpg", "image/jpeg", file.length(), file.lastModified(), true, null);
+    }
 }
@@ -0,0 +1,48 @@
+package org.desha.app.helper;
+
+import org.desha.app.domain.record.Repartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepartitionCounterTest {
+
+    @Test
+    void shouldApplyDeltasAndDropEmptyLabels() {
+        RepartitionCounter counter = new RepartitionCounter(RepartitionCounter.BY_TOTAL_DESC);
+        counter.reset(List.of(new Repartition("Drame", 2L), new Repartition("Comédie", 1L)));
+
+        counter.add("Comédie", -1);
+        counter.add("Western", 1);
+        counter.add("Drame", 1);
+
+        assertEquals(List.of(new Repartition("Drame", 3L), new Repartition("Western", 1L)), counter.snapshot());
+    }
+
+    @Test
+    void shouldKeepNullLabelLast() {
+        RepartitionCounter counter = new RepartitionCounter(RepartitionCounter.BY_LABEL);
+
+        counter.add(null, 1);
+        counter.add("2000", 2);
+        counter.add("1990", 1);
+
+        assertEquals(List.of(new Repartition("1990", 1L), new Repartition("2000", 2L), new Repartition(null, 1L)), counter.snapshot());
+        assertEquals(List.of(new Repartition("1990", 1L), new Repartition("2000", 3L), new Repartition(null, 4L)), counter.cumulative());
+    }
+
+    @Test
+    void shouldReconcileWithReferenceRepartition() {
+        RepartitionCounter counter = new RepartitionCounter(RepartitionCounter.BY_LABEL);
+        counter.reset(List.of(new Repartition("1990", 1L), new Repartition("2000", 2L)));
+        counter.add("2010", 1);
+
+        List<Repartition> reference = List.of(new Repartition("1990", 1L), new Repartition("2000", 3L));
+
+        assertEquals(2, counter.reconcile(reference));
+        assertEquals(reference, counter.snapshot());
+        assertEquals(0, counter.reconcile(reference));
+    }
+}
@@ -0,0 +1,177 @@
+package org.desha.app.repository;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.quarkus.test.vertx.RunOnVertxContext;
+import io.quarkus.test.vertx.UniAsserter;
+import io.quarkus.vertx.VertxContextSupport;
+import jakarta.inject.Inject;
+import org.desha.app.domain.entity.*;
+import org.desha.app.domain.enums.PersonType;
+import org.hibernate.reactive.mutiny.Mutiny;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requêtes du dépôt des films, sur une base PostgreSQL dédiée démarrée pour les tests : le schéma est créé par
+ * Hibernate, et la vue des utilisateurs (alimentée par Keycloak hors des tests) contient un utilisateur de test.
+ */
+@QuarkusTest
+@TestProfile(MovieRepositoryTest.DedicatedDatabaseProfile.class)
+class MovieRepositoryTest {
+
+    @Inject
+    MovieRepository movieRepository;
+
+    @Inject
+    Mutiny.SessionFactory sessionFactory;
+
+    private Long movieId;
+    private Long personId;
+
+    @AfterEach
+    void cleanUp() throws Throwable {
+        if (Objects.isNull(movieId)) {
+            return;
+        }
+        VertxContextSupport.subscribeAndAwait(() ->
+                Panache.withTransaction(() ->
+                        Panache.getSession()
+                                .chain(session ->
+                                        session.createMutationQuery("DELETE FROM MovieTechnician t WHERE t.movie.id = :id")
+                                                .setParameter("id", movieId)
+                                                .executeUpdate()
+                                )
+                                .chain(() -> movieRepository.deleteById(movieId))
+                                .chain(() -> Person.deleteById(personId))
+                )
+        );
+    }
+
+    @Test
+    @RunOnVertxContext
+    void shouldLoadTechnicalTeamWithTwoStatements(UniAsserter asserter) {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        // GIVEN : un film avec un réalisateur et un producteur
+        asserter.execute(() ->
+                Panache.withTransaction(() ->
+                        Panache.getSession().chain(session -> {
+                                    final Movie movie = Movie.builder()
+                                            .title("Film de test " + UUID.randomUUID())
+                                            .user(session.getReference(User.class, DedicatedDatabaseResource.USER_ID))
+                                            .build();
+                                    final Person person = Person.build("Technicien de test", null);
+                                    person.addType(PersonType.DIRECTOR);
+                                    person.addType(PersonType.PRODUCER);
+                                    return
+                                            session.persistAll(movie, person, MovieDirector.build(movie, person), MovieProducer.build(movie, person))
+                                                    .invoke(() -> {
+                                                                movieId = movie.getId();
+                                                                personId = person.getId();
+                                                            }
+                                                    );
+                                }
+                        )
+                )
+        );
+        asserter.execute(statistics::clear);
+
+        // WHEN
+        asserter.assertThat(
+                () -> Panache.withSession(() -> movieRepository.findTechnicalTeam(movieId)),
+                technicalTeam -> {
+                    // THEN : deux requêtes SQL, le chargement du film par identifiant et une seule requête polymorphe sur
+                    // les techniciens ; aucune collection ni entité n'est chargée par une requête secondaire
+                    assertThat(technicalTeam.getMovieDirectors()).hasSize(1);
+                    assertThat(technicalTeam.getMovieProducers()).hasSize(1);
+                    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+                    assertThat(statistics.getCollectionFetchCount()).isZero();
+                    assertThat(statistics.getEntityFetchCount()).isZero();
+                }
+        );
+    }
+
+    public static class DedicatedDatabaseProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("quarkus.hibernate-orm.database.generation", "drop-and-create");
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(DedicatedDatabaseResource.class));
+        }
+    }
+
+    public static class DedicatedDatabaseResource implements QuarkusTestResourceLifecycleManager {
+
+        static final UUID USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        private static final String DATABASE = "pmdb";
+        private static final String USER = "postgres";
+        private static final String PASSWORD = "postgres";
+        private static final int PORT = 5432;
+
+        private GenericContainer<?> container;
+
+        @Override
+        public Map<String, String> start() {
+            container = new GenericContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                    .withEnv("POSTGRES_DB", DATABASE)
+                    .withEnv("POSTGRES_USER", USER)
+                    .withEnv("POSTGRES_PASSWORD", PASSWORD)
+                    .withExposedPorts(PORT)
+                    .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 2));
+            container.start();
+
+            final String address = container.getHost() + ":" + container.getMappedPort(PORT) + "/" + DATABASE;
+            seedUsers("jdbc:postgresql://" + address);
+            return Map.of(
+                    "quarkus.datasource.reactive.url", "vertx-reactive:postgresql://" + address,
+                    "quarkus.datasource.username", USER,
+                    "quarkus.datasource.password", PASSWORD
+            );
+        }
+
+        /**
+         * Crée la vue des utilisateurs, qu'Hibernate ne crée pas ({@link User} est une entité en lecture seule sur une
+         * requête), sur une table contenant l'utilisateur de test.
+         */
+        private void seedUsers(String url) {
+            try (Connection connection = DriverManager.getConnection(url, USER, PASSWORD);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE utilisateur_test (id UUID PRIMARY KEY, pseudo VARCHAR(255), email VARCHAR(255), email_verifie BOOLEAN, nom VARCHAR(255), prenom VARCHAR(255))");
+                statement.execute("INSERT INTO utilisateur_test VALUES ('" + USER_ID + "', 'test', 'test@pmdb.local', TRUE, 'Test', 'Utilisateur')");
+                statement.execute("CREATE VIEW utilisateurs_vue AS SELECT * FROM utilisateur_test");
+            } catch (SQLException e) {
+                throw new IllegalStateException("Création de la vue des utilisateurs impossible", e);
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CaffeineCache;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.vertx.VertxContextSupport;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Tuple;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.inject.Inject;
+import org.desha.app.data.Factory;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Diffusion des invalidations entre deux instances partageant la même base : l'application testée, et une seconde
+ * instance simulée par une connexion PostgreSQL indépendante qui publie et écoute sur le même canal.
+ */
+@QuarkusTest
+class CacheInvalidationServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Inject
+    MovieCacheService movieCacheService;
+
+    @Inject
+    @CacheName(MovieCacheService.CACHE_NAME)
+    Cache cache;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    Pool pool;
+
+    @ConfigProperty(name = "pmdb.invalidation.channel")
+    String channel;
+
+    @ConfigProperty(name = "quarkus.datasource.reactive.url")
+    String url;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    String username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    String password;
+
+    @BeforeEach
+    void awaitListening() throws InterruptedException {
+        awaitCondition(() -> registry.get("pmdb.invalidation.connected").gauge().value() == 1, "écoute du canal d'invalidation");
+    }
+
+    @Test
+    void shouldEvictMovieWhenAnotherInstancePublishesInvalidation() throws InterruptedException {
+        // GIVEN
+        movieCacheService.get(42L, () -> Uni.createFrom().item(Factory.mockMovieDTO())).await().atMost(TIMEOUT);
+        assertThat(cache.as(CaffeineCache.class).keySet()).contains(42L);
+
+        // WHEN
+        pool.preparedQuery("SELECT pg_notify($1, $2)")
+                .execute(Tuple.of(channel, "autre-instance:MOVIE:42"))
+                .await().atMost(TIMEOUT);
+
+        // THEN
+        awaitCondition(() -> !cache.as(CaffeineCache.class).keySet().contains(42L), "éviction du film 42");
+    }
+
+    @Test
+    void shouldPublishInvalidationToOtherInstancesAndIgnoreItsOwn() throws Throwable {
+        // GIVEN : une seconde instance à l'écoute du canal
+        CompletableFuture<String> payload = new CompletableFuture<>();
+        CompletableFuture<Void> listening = new CompletableFuture<>();
+        PgSubscriber otherInstance = PgSubscriber.subscriber(
+                vertx,
+                PgConnectOptions.fromUri(url.replaceFirst("^vertx-reactive:", "")).setUser(username).setPassword(password)
+        );
+        otherInstance.channel(channel)
+                .handler(payload::complete)
+                .subscribeHandler(() -> listening.complete(null));
+        otherInstance.connect().await().atMost(TIMEOUT);
+        listening.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        final double received = registry.get("pmdb.invalidation.received").counter().count();
+
+        try {
+            // WHEN
+            VertxContextSupport.subscribeAndAwait(() -> movieCacheService.invalidate(7L));
+
+            // THEN : le message est reçu par l'autre instance
+            assertThat(payload.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).endsWith(":MOVIE:7");
+
+            // THEN : il n'est pas appliqué une seconde fois par son émetteur. Les notifications sont distribuées dans
+            // l'ordre de leur validation : une fois reçu le message témoin publié ensuite par l'autre instance,
+            // l'émetteur a forcément déjà traité le sien
+            pool.preparedQuery("SELECT pg_notify($1, $2)")
+                    .execute(Tuple.of(channel, "autre-instance:MOVIE:8"))
+                    .await().atMost(TIMEOUT);
+            awaitCondition(() -> registry.get("pmdb.invalidation.received").counter().count() > received, "réception du message témoin");
+            assertThat(registry.get("pmdb.invalidation.received").counter().count()).isEqualTo(received + 1);
+        } finally {
+            otherInstance.closeAndAwait();
+        }
+    }
+
+    private static void awaitCondition(BooleanSupplier condition, String description) throws InterruptedException {
+        final long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("Délai dépassé : %s", description).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.desha.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Choix de la déclinaison servie, limite de pixels et réduction du cache des déclinaisons, sur des images générées
+ * dans un répertoire temporaire.
+ */
+class ImageVariantServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String DIRECTORY = "posters";
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private ImageVariantService imageVariantService;
+
+    @AfterEach
+    void tearDown() {
+        imageVariantService.onStop(null);
+    }
+
+    @Test
+    void shouldServeSmallestVariantAtLeastAsWideAsRequested() throws IOException {
+        // GIVEN
+        imageVariantService = service(40_000_000L, 512 * 1024 * 1024);
+        final Path original = image("affiche.png", 800, 400);
+
+        // WHEN
+        final Optional<Path> variant = imageVariantService.getVariant(DIRECTORY, original, 200).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(variant).hasValue(cacheDirectory().resolve(DIRECTORY).resolve("320").resolve("affiche.png"));
+        final BufferedImage scaled = ImageIO.read(variant.orElseThrow().toFile());
+        assertThat(scaled.getWidth()).isEqualTo(320);
+        assertThat(scaled.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    void shouldServeOriginalBeyondLargestWidth() throws IOException {
+        // GIVEN
+        imageVariantService = service(40_000_000L, 512 * 1024 * 1024);
+        final Path original = image("affiche.png", 800, 400);
+
+        // WHEN
+        final Optional<Path> variant = imageVariantService.getVariant(DIRECTORY, original, 1000).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(variant).hasValue(original);
+    }
+
+    @Test
+    void shouldServeOriginalWhenNarrowerThanVariant() throws IOException {
+        // GIVEN
+        imageVariantService = service(40_000_000L, 512 * 1024 * 1024);
+        final Path original = image("photo.png", 100, 150);
+
+        // WHEN
+        final Optional<Path> variant = imageVariantService.getVariant(DIRECTORY, original, 160).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(variant).hasValue(original);
+        assertThat(cacheDirectory().resolve(DIRECTORY).resolve("160").resolve("photo.png")).doesNotExist();
+    }
+
+    @Test
+    void shouldNotDecodeImageAboveMaxPixels() throws IOException {
+        // GIVEN : 40 000 pixels pour une limite de 10 000
+        imageVariantService = service(10_000L, 512 * 1024 * 1024);
+        final Path original = image("affiche.png", 200, 200);
+
+        // WHEN
+        final Optional<Path> variant = imageVariantService.getVariant(DIRECTORY, original, 160).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(variant).hasValue(original);
+        assertThat(cacheDirectory().resolve(DIRECTORY).resolve("160").resolve("affiche.png")).doesNotExist();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyServedFiles() throws IOException, InterruptedException {
+        // GIVEN : deux copies locales d'un million d'octets déclarés pour un cache d'un million et demi, la première
+        // servie après l'ajout de la seconde
+        imageVariantService = service(40_000_000L, 1_500_000);
+        final Path first = cachedOriginal("premiere.png");
+        Thread.sleep(5);
+        final Path second = cachedOriginal("seconde.png");
+        Thread.sleep(5);
+        assertThat(imageVariantService.getCachedOriginal(DIRECTORY, "premiere.png")).hasValue(first);
+        Thread.sleep(5);
+
+        // WHEN : la génération d'une déclinaison déclenche la réduction du cache
+        final Optional<Path> variant = imageVariantService.getVariant(DIRECTORY, image("affiche.png", 800, 400), 200).await().atMost(TIMEOUT);
+
+        // THEN : seule la copie la moins récemment servie est supprimée
+        assertThat(variant).isPresent();
+        assertThat(second).doesNotExist();
+        assertThat(imageVariantService.getCachedOriginal(DIRECTORY, "seconde.png")).isEmpty();
+        assertThat(first).exists();
+        assertThat(imageVariantService.getCachedOriginal(DIRECTORY, "premiere.png")).hasValue(first);
+        assertThat(registry.counter("pmdb.images.cache.evictions").count()).isEqualTo(1);
+    }
+
+    private ImageVariantService service(long maxPixels, long maxCacheSize) {
+        return new ImageVariantService(
+                registry,
+                List.of(160, 320, 640),
+                1,
+                10,
+                cacheDirectory().toString(),
+                new MemorySize(BigInteger.valueOf(maxCacheSize)),
+                maxPixels,
+                TIMEOUT
+        );
+    }
+
+    private Path cacheDirectory() {
+        return temporaryDirectory.resolve("variants");
+    }
+
+    private Path cachedOriginal(String fileName) throws IOException {
+        final Path original = imageVariantService.originalPath(DIRECTORY, fileName);
+        Files.createDirectories(original.getParent());
+        Files.write(original, new byte[16]);
+        imageVariantService.addCachedOriginal(original, 1_000_000);
+        return original;
+    }
+
+    private Path image(String fileName, int width, int height) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.ORANGE);
+            graphics.fillRect(0, 0, width, height);
+        } finally {
+            graphics.dispose();
+        }
+        final Path file = Files.createDirectories(temporaryDirectory.resolve("originals")).resolve(fileName);
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+}
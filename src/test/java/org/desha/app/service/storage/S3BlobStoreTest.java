@@ -0,0 +1,219 @@
+package org.desha.app.service.storage;
+
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.desha.app.domain.record.BlobInfo;
+import org.desha.app.domain.record.BlobPage;
+import org.desha.app.exception.FileNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stockage des fichiers dans un bucket S3, servi par un serveur MinIO démarré pour les tests.
+ */
+@QuarkusTest
+@TestProfile(S3BlobStoreTest.MinioProfile.class)
+class S3BlobStoreTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String BUCKET = "pmdb-files";
+    // Taille minimale d'une partie imposée par S3
+    private static final int PART_SIZE = 5 * 1024 * 1024;
+
+    @Inject
+    S3BlobStore blobStore;
+
+    @Inject
+    S3AsyncClient client;
+
+    @BeforeEach
+    void createBucket() {
+        client.createBucket(request -> request.bucket(BUCKET))
+                .exceptionally(throwable -> {
+                            if (throwable.getCause() instanceof BucketAlreadyOwnedByYouException) {
+                                return null;
+                            }
+                            throw new IllegalStateException(throwable);
+                        }
+                )
+                .join();
+    }
+
+    @Test
+    void shouldPutAndStatSmallFile() throws IOException {
+        // GIVEN
+        final String key = "posters/" + UUID.randomUUID() + ".jpg";
+        final Path source = stage(randomBytes(1024));
+
+        // WHEN
+        blobStore.put(key, source, "image/jpeg").await().atMost(TIMEOUT);
+
+        // THEN : le fichier préparé est supprimé une fois envoyé
+        final BlobInfo info = blobStore.stat(key).await().atMost(TIMEOUT);
+        assertThat(info.key()).isEqualTo(key);
+        assertThat(info.size()).isEqualTo(1024);
+        assertThat(source).doesNotExist();
+    }
+
+    @Test
+    void shouldPutLargeFileInSeveralParts() throws IOException {
+        // GIVEN : trois parties, la dernière incomplète
+        final String key = "posters/" + UUID.randomUUID() + ".jpg";
+        final byte[] content = randomBytes(2 * PART_SIZE + 1024);
+        final Path source = stage(content);
+        final Path target = blobStore.stagingDirectory().resolve(UUID.randomUUID() + ".jpg");
+
+        // WHEN
+        blobStore.put(key, source, "image/jpeg").await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(blobStore.stat(key).await().atMost(TIMEOUT).size()).isEqualTo(content.length);
+        blobStore.download(key, target).await().atMost(TIMEOUT);
+        assertThat(Files.readAllBytes(target)).isEqualTo(content);
+        Files.delete(target);
+    }
+
+    @Test
+    void shouldFailToStatMissingFile() {
+        assertThatThrownBy(() -> blobStore.stat("posters/" + UUID.randomUUID() + ".jpg").await().atMost(TIMEOUT))
+                .isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    void shouldListFilesByPage() throws IOException {
+        // GIVEN
+        final String prefix = "list-" + UUID.randomUUID() + "/";
+        for (String name : List.of("a.jpg", "b.jpg", "c.jpg")) {
+            blobStore.put(prefix + name, stage(randomBytes(16)), "image/jpeg").await().atMost(TIMEOUT);
+        }
+
+        // WHEN
+        final BlobPage first = blobStore.list(prefix, null, 2).await().atMost(TIMEOUT);
+        final BlobPage second = blobStore.list(prefix, first.cursor(), 2).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(first.blobs()).extracting(BlobInfo::key).containsExactly(prefix + "a.jpg", prefix + "b.jpg");
+        assertThat(first.cursor()).isNotNull();
+        assertThat(second.blobs()).extracting(BlobInfo::key).containsExactly(prefix + "c.jpg");
+        assertThat(second.cursor()).isNull();
+    }
+
+    @Test
+    void shouldMoveFile() throws IOException {
+        // GIVEN
+        final String key = "posters/" + UUID.randomUUID() + ".jpg";
+        final String target = "posters/" + UUID.randomUUID() + ".jpg";
+        blobStore.put(key, stage(randomBytes(64)), "image/jpeg").await().atMost(TIMEOUT);
+
+        // WHEN
+        blobStore.move(key, target).await().atMost(TIMEOUT);
+
+        // THEN
+        assertThat(blobStore.stat(target).await().atMost(TIMEOUT).size()).isEqualTo(64);
+        assertThatThrownBy(() -> blobStore.stat(key).await().atMost(TIMEOUT)).isInstanceOf(FileNotFoundException.class);
+    }
+
+    @Test
+    void shouldServeFileThroughPresignedUrl() throws IOException, InterruptedException {
+        // GIVEN
+        final String key = "posters/" + UUID.randomUUID() + ".jpg";
+        final byte[] content = randomBytes(256);
+        blobStore.put(key, stage(content), "image/jpeg").await().atMost(TIMEOUT);
+
+        // WHEN
+        final URI url = blobStore.presignedUrl(key).orElseThrow();
+        final HttpResponse<byte[]> response;
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            response = httpClient.send(HttpRequest.newBuilder(url).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+        }
+
+        // THEN
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo(content);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+    }
+
+    private Path stage(byte[] content) throws IOException {
+        Files.createDirectories(blobStore.stagingDirectory());
+        return Files.write(blobStore.stagingDirectory().resolve(UUID.randomUUID() + ".part"), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        final byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    public static class MinioProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "pmdb.storage.type", "s3",
+                    "pmdb.storage.s3.bucket", BUCKET,
+                    "pmdb.storage.s3.part-size", "5M",
+                    "quarkus.s3.path-style-access", "true",
+                    "quarkus.s3.aws.credentials.type", "static",
+                    "quarkus.s3.aws.credentials.static-provider.access-key-id", MinioResource.USER,
+                    "quarkus.s3.aws.credentials.static-provider.secret-access-key", MinioResource.PASSWORD
+            );
+        }
+
+        @Override
+        public List<TestResourceEntry> testResources() {
+            return List.of(new TestResourceEntry(MinioResource.class));
+        }
+    }
+
+    public static class MinioResource implements QuarkusTestResourceLifecycleManager {
+
+        static final String USER = "minioadmin";
+        static final String PASSWORD = "minioadmin";
+        private static final int PORT = 9000;
+
+        private GenericContainer<?> container;
+
+        @Override
+        public Map<String, String> start() {
+            container = new GenericContainer<>(DockerImageName.parse("minio/minio:RELEASE.2024-10-13T13-34-11Z"))
+                    .withEnv("MINIO_ROOT_USER", USER)
+                    .withEnv("MINIO_ROOT_PASSWORD", PASSWORD)
+                    .withCommand("server", "/data")
+                    .withExposedPorts(PORT)
+                    .waitingFor(Wait.forHttp("/minio/health/live").forPort(PORT));
+            container.start();
+            return Map.of("quarkus.s3.endpoint-override", "http://" + container.getHost() + ":" + container.getMappedPort(PORT));
+        }
+
+        @Override
+        public void stop() {
+            if (container != null) {
+                container.stop();
+            }
+        }
+    }
+}